@@ -0,0 +1,100 @@
+package com.example.tasktracker.benchmark;
+
+import com.example.tasktracker.admission.AdmissionControlFilter;
+import com.example.tasktracker.admission.AdmissionEndpoint;
+import com.example.tasktracker.admission.ConcurrencyLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Cost the {@link AdmissionControlFilter} adds to a request, with the rest of the chain empty:
+ * admitting one of 10,000 clients through a token bucket and a concurrency limit, rejecting a
+ * client that is over its rate, and four threads admitting requests of one client, which
+ * contend on its bucket.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AdmissionControlBenchmark {
+  private static final int CLIENTS = 10_000;
+  private static final FilterChain EMPTY_CHAIN = (request, response) -> { };
+
+  private AdmissionControlFilter filter;
+
+  @Setup(Level.Trial)
+  public void createFilter() {
+    filter = new AdmissionControlFilter(List.of(
+        new AdmissionEndpoint("list", "GET", "/api/tasks", 1e9, 1_000_000_000, CLIENTS,
+            new ConcurrencyLimiter(64, 128, Duration.ofSeconds(1)), request -> 1),
+        new AdmissionEndpoint("export", "GET", "/api/tasks/export", 1e-3, 1, CLIENTS, null,
+            request -> 1)),
+        "X-API-Key");
+  }
+
+  /**
+   * Pre-built requests, one per client, so the measurement does not include building them.
+   */
+  @State(Scope.Thread)
+  public static class Requests {
+    MockHttpServletRequest[] clients;
+    MockHttpServletRequest limited;
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Setup(Level.Trial)
+    public void buildRequests() {
+      clients = new MockHttpServletRequest[CLIENTS];
+      for (int i = 0; i < CLIENTS; i++) {
+        clients[i] = new MockHttpServletRequest("GET", "/api/tasks");
+        clients[i].addHeader("X-API-Key", "client-" + i);
+      }
+      limited = new MockHttpServletRequest("GET", "/api/tasks/export");
+      limited.addHeader("X-API-Key", "client-0");
+    }
+  }
+
+  @Benchmark
+  public int admitted(Requests requests) throws IOException, ServletException {
+    return filter(requests.clients[ThreadLocalRandom.current().nextInt(CLIENTS)], requests);
+  }
+
+  @Benchmark
+  public int rateLimited(Requests requests) throws IOException, ServletException {
+    requests.response = new MockHttpServletResponse();
+    return filter(requests.limited, requests);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public int concurrentAdmittedOneClient(Requests requests)
+      throws IOException, ServletException {
+    return filter(requests.clients[0], requests);
+  }
+
+  private int filter(MockHttpServletRequest request, Requests requests)
+      throws IOException, ServletException {
+    filter.doFilter(request, requests.response, EMPTY_CHAIN);
+    return requests.response.getStatus();
+  }
+}
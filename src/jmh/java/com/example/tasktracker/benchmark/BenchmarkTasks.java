@@ -0,0 +1,66 @@
+package com.example.tasktracker.benchmark;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.InMemoryTaskRepository;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.repository.columnar.ColumnarTaskRepository;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Deterministic task data shared by the benchmarks: statuses cycle through every value and due
+ * dates spread over the next year, so filters select predictable fractions of the store.
+ */
+final class BenchmarkTasks {
+  static final int DUE_DATE_SPREAD_DAYS = 365;
+
+  private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+  private BenchmarkTasks() {
+  }
+
+  static Task task(int index, LocalDate today) {
+    return task(index, today, UUID.randomUUID());
+  }
+
+  static Task task(int index, LocalDate today, UUID id) {
+    return Task.builder()
+        .id(id)
+        .title("Task " + index)
+        .description("Benchmark task number " + index)
+        .dueDate(today.plusDays(index % DUE_DATE_SPREAD_DAYS))
+        .status(STATUSES[index % STATUSES.length])
+        .build();
+  }
+
+  static List<Task> tasks(int count) {
+    LocalDate today = LocalDate.now();
+    List<Task> tasks = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      tasks.add(task(i, today));
+    }
+    return tasks;
+  }
+
+  static InMemoryTaskRepository repository(List<Task> tasks) {
+    InMemoryTaskRepository repository = new InMemoryTaskRepository();
+    repository.loadAll(tasks);
+    return repository;
+  }
+
+  /**
+   * Bulk-loads {@code tasks} into the store named by a benchmark's {@code store} parameter:
+   * {@code memory} or {@code columnar}.
+   */
+  static TaskRepository repository(String store, List<Task> tasks) {
+    if ("columnar".equals(store)) {
+      ColumnarTaskRepository repository = new ColumnarTaskRepository();
+      repository.loadAll(tasks);
+      return repository;
+    }
+    return repository(tasks);
+  }
+}
@@ -0,0 +1,111 @@
+package com.example.tasktracker.benchmark;
+
+import com.example.tasktracker.controller.TaskController;
+import com.example.tasktracker.json.TaskJsonWriter;
+import com.example.tasktracker.repository.InMemoryTaskRepository;
+import com.example.tasktracker.service.TaskJsonCache;
+import com.example.tasktracker.service.TaskListCoalescer;
+import com.example.tasktracker.service.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+/**
+ * Compares creating a batch of tasks with one {@code POST /api/tasks} per task against a single
+ * {@code POST /api/tasks/bulk}. Both go through the full MVC stack (routing, JSON binding,
+ * validation and serialization); only the network is left out. Each operation creates
+ * {@code batchSize} tasks, so the ratio of the two scores is the throughput gain.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkCreateBenchmark {
+  @Param({"100", "1000"})
+  private int batchSize;
+
+  private ValidatorFactory validatorFactory;
+  private MockMvc mockMvc;
+  private List<String> singleBodies;
+  private String bulkBody;
+
+  @Setup(Level.Trial)
+  public void prepareBodies() {
+    validatorFactory = Validation.buildDefaultValidatorFactory();
+    String dueDate = LocalDate.now().plusDays(7).toString();
+    singleBodies = new ArrayList<>(batchSize);
+    StringBuilder bulk = new StringBuilder("[");
+    for (int i = 0; i < batchSize; i++) {
+      String body = """
+          {"title": "Task %d", "description": "Loaded by benchmark", "dueDate": "%s"}"""
+          .formatted(i, dueDate);
+      singleBodies.add(body);
+      bulk.append(i == 0 ? "" : ",").append(body);
+    }
+    bulkBody = bulk.append(']').toString();
+  }
+
+  @Setup(Level.Iteration)
+  public void resetStore() {
+    ObjectMapper mapper = JsonMapper.builder().findAndAddModules().build();
+    InMemoryTaskRepository repository = new InMemoryTaskRepository();
+    TaskService service = new TaskService(repository);
+    TaskController controller = new TaskController(service,
+        new TaskJsonCache(repository, mapper, 1),
+        new TaskListCoalescer(service, new TaskJsonWriter(), -1), mapper,
+        validatorFactory.getValidator());
+    mockMvc = MockMvcBuilders.standaloneSetup(controller)
+        .setMessageConverters(new MappingJackson2HttpMessageConverter(mapper))
+        .build();
+  }
+
+  @TearDown(Level.Trial)
+  public void closeValidator() {
+    validatorFactory.close();
+  }
+
+  @Benchmark
+  public int oneRequestPerTask() throws Exception {
+    int status = 0;
+    for (String body : singleBodies) {
+      status += mockMvc.perform(MockMvcRequestBuilders.post("/api/tasks")
+              .contentType(MediaType.APPLICATION_JSON)
+              .content(body))
+          .andReturn().getResponse().getStatus();
+    }
+    return status;
+  }
+
+  @Benchmark
+  public int bulkRequest() throws Exception {
+    return mockMvc.perform(MockMvcRequestBuilders.post("/api/tasks/bulk")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(bulkBody))
+        .andReturn().getResponse().getContentLength();
+  }
+}
@@ -0,0 +1,99 @@
+package com.example.tasktracker.benchmark;
+
+import com.example.tasktracker.controller.TaskController;
+import com.example.tasktracker.json.TaskJsonWriter;
+import com.example.tasktracker.repository.InMemoryTaskRepository;
+import com.example.tasktracker.service.TaskJsonCache;
+import com.example.tasktracker.service.TaskListCoalescer;
+import com.example.tasktracker.service.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+/**
+ * A dashboard polling {@code GET /api/tasks?status=IN_PROGRESS} on an unchanged store, through
+ * the full MVC stack: without {@code If-None-Match}, so every poll queries and serializes the
+ * list, versus revalidating the entity tag of the previous poll and getting 304. Run with
+ * {@code -prof gc} for the allocation per poll.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConditionalListBenchmark {
+  @Param({"1000", "100000"})
+  private int storeSize;
+
+  private ValidatorFactory validatorFactory;
+  private MockMvc mockMvc;
+  private String entityTag;
+
+  @Setup(Level.Trial)
+  public void fillStore() throws Exception {
+    validatorFactory = Validation.buildDefaultValidatorFactory();
+    ObjectMapper mapper = JsonMapper.builder()
+        .findAndAddModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+    InMemoryTaskRepository repository =
+        BenchmarkTasks.repository(BenchmarkTasks.tasks(storeSize));
+    TaskService service = new TaskService(repository);
+    TaskController controller = new TaskController(service,
+        new TaskJsonCache(repository, mapper, 1),
+        new TaskListCoalescer(service, new TaskJsonWriter(), 50_000), mapper,
+        validatorFactory.getValidator());
+    mockMvc = MockMvcBuilders.standaloneSetup(controller)
+        .setMessageConverters(new ByteArrayHttpMessageConverter(),
+            new MappingJackson2HttpMessageConverter(mapper))
+        .build();
+    entityTag = poll().getHeader(HttpHeaders.ETAG);
+  }
+
+  @TearDown(Level.Trial)
+  public void closeValidator() {
+    validatorFactory.close();
+  }
+
+  @Benchmark
+  public int unconditionalPoll() throws Exception {
+    return poll().getContentAsByteArray().length;
+  }
+
+  @Benchmark
+  public int conditionalPoll() throws Exception {
+    return mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks")
+            .param("status", "IN_PROGRESS")
+            .header(HttpHeaders.IF_NONE_MATCH, entityTag))
+        .andReturn().getResponse().getStatus();
+  }
+
+  private MockHttpServletResponse poll() throws Exception {
+    return mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks").param("status", "IN_PROGRESS"))
+        .andReturn().getResponse();
+  }
+}
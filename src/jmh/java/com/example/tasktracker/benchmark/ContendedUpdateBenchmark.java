@@ -0,0 +1,95 @@
+package com.example.tasktracker.benchmark;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.InMemoryTaskRepository;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.repository.TaskVersionConflictException;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Status updates from 8 threads on a small set of hot tasks. {@code unconditional} is the old
+ * read-modify-save path, which loses updates under contention; {@code compareAndUpdate} applies
+ * the change atomically; {@code compareAndUpdateWithRetry} is what an {@code If-Match} client
+ * does, re-reading and retrying after every version conflict.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class ContendedUpdateBenchmark {
+  private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+  @Param({"1", "16", "1024"})
+  private int hotKeys;
+
+  private InMemoryTaskRepository repository;
+  private UUID[] ids;
+
+  @Setup(Level.Trial)
+  public void createTasks() {
+    repository = new InMemoryTaskRepository();
+    ids = new UUID[hotKeys];
+    for (int i = 0; i < hotKeys; i++) {
+      ids[i] = repository.save(Task.builder()
+          .title("Hot task " + i)
+          .description("Updated concurrently")
+          .dueDate(LocalDate.now().plusDays(i % 30))
+          .build()).getId();
+    }
+  }
+
+  @Benchmark
+  public Task unconditional() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    Task existing = repository.findById(ids[random.nextInt(hotKeys)]).orElseThrow();
+    return repository.save(existing.toBuilder().status(randomStatus(random)).build());
+  }
+
+  @Benchmark
+  public Task compareAndUpdate() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    TaskStatus status = randomStatus(random);
+    return repository.compareAndUpdate(ids[random.nextInt(hotKeys)], TaskRepository.ANY_VERSION,
+        task -> task.toBuilder().status(status).build()).orElseThrow();
+  }
+
+  @Benchmark
+  public Task compareAndUpdateWithRetry() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    UUID id = ids[random.nextInt(hotKeys)];
+    TaskStatus status = randomStatus(random);
+    while (true) {
+      Task read = repository.findById(id).orElseThrow();
+      try {
+        return repository.compareAndUpdate(id, read.getVersion(),
+            task -> task.toBuilder().status(status).build()).orElseThrow();
+      } catch (TaskVersionConflictException ex) {
+        // Another thread won; re-read and try again.
+      }
+    }
+  }
+
+  private static TaskStatus randomStatus(ThreadLocalRandom random) {
+    return STATUSES[random.nextInt(STATUSES.length)];
+  }
+}
@@ -0,0 +1,67 @@
+package com.example.tasktracker.benchmark;
+
+import com.example.tasktracker.json.TaskJsonWriter;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.service.TaskListCoalescer;
+import com.example.tasktracker.service.TaskService;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A status board refresh: 16 threads asking for the same unpaged {@code ?status=PENDING} list
+ * at once, each writing it to a discarding stream in place of the response. Compares every
+ * request querying and serializing its own list with requests coalesced by the
+ * {@link TaskListCoalescer}. The store is not written, so every request can join the one in
+ * flight.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Threads(16)
+public class ListCoalescingBenchmark {
+  @Param({"10000", "100000"})
+  private int storeSize;
+
+  private TaskService service;
+  private TaskJsonWriter writer;
+  private TaskListCoalescer coalescer;
+
+  @Setup(Level.Trial)
+  public void fillStore() {
+    service = new TaskService(BenchmarkTasks.repository(BenchmarkTasks.tasks(storeSize)));
+    writer = new TaskJsonWriter();
+    coalescer = new TaskListCoalescer(service, writer, Long.MAX_VALUE);
+  }
+
+  @Benchmark
+  public long eachRequest() throws IOException {
+    service.modificationCount(TaskStatus.PENDING);
+    writer.writeArray(service.findTasks(TaskStatus.PENDING, null), OutputStream.nullOutputStream());
+    return 0;
+  }
+
+  @Benchmark
+  public long coalesced() throws IOException {
+    long count = service.modificationCount(TaskStatus.PENDING);
+    byte[] json = coalescer.findTasksJson(TaskStatus.PENDING, null, count).orElseThrow();
+    OutputStream.nullOutputStream().write(json);
+    return json.length;
+  }
+}
@@ -0,0 +1,96 @@
+package com.example.tasktracker.benchmark;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.overdue.OverdueTaskScheduler;
+import com.example.tasktracker.repository.InMemoryTaskRepository;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of one overdue check. {@code idleCheck} is a check on a day when nothing has become
+ * overdue and {@code dayBecameOverdue} the check right after midnight, which reports the open
+ * tasks of one day (about a 365th of the store); both go through the {@link OverdueTaskScheduler}
+ * filled with every open task. {@code scanCheck} is what finding the same tasks costs without
+ * the scheduler: a due-date query over the store for everything not completed and no longer due.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class OverdueSchedulerBenchmark {
+  @Param({"100000", "1000000"})
+  private int storeSize;
+
+  private LocalDate today;
+  private InMemoryTaskRepository repository;
+  private OverdueTaskScheduler idle;
+  private OverdueTaskScheduler afterMidnight;
+  private List<Task> dueToday;
+
+  @Setup(Level.Trial)
+  public void fillStore() {
+    List<Task> tasks = BenchmarkTasks.tasks(storeSize);
+    today = LocalDate.now(ZoneOffset.UTC);
+    repository = BenchmarkTasks.repository(tasks);
+    idle = scheduler(today);
+    try (Stream<Task> all = repository.streamAll()) {
+      idle.addAll(all);
+    }
+    afterMidnight = scheduler(today.plusDays(1));
+    dueToday = tasks.stream()
+        .filter(task -> task.getStatus() != TaskStatus.COMPLETED)
+        .filter(task -> task.getDueDate().equals(today))
+        .toList();
+  }
+
+  /**
+   * Files today's open tasks again, as their writes would have, before each check reports them.
+   */
+  @Setup(Level.Invocation)
+  public void fileDueToday() {
+    for (Task task : dueToday) {
+      afterMidnight.onWrite(null, task);
+    }
+  }
+
+  @Benchmark
+  public int idleCheck() {
+    return idle.processDue();
+  }
+
+  @Benchmark
+  public int dayBecameOverdue() {
+    return afterMidnight.processDue();
+  }
+
+  @Benchmark
+  public long scanCheck() {
+    return repository.findDueOnOrBefore(today).stream()
+        .filter(task -> task.getStatus() != TaskStatus.COMPLETED)
+        .count();
+  }
+
+  private OverdueTaskScheduler scheduler(LocalDate day) {
+    Clock clock = Clock.fixed(day.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+    return new OverdueTaskScheduler(clock, 1000, event -> { });
+  }
+}
@@ -0,0 +1,124 @@
+package com.example.tasktracker.benchmark;
+
+import com.example.tasktracker.TaskTrackerApiApplication;
+import com.example.tasktracker.replication.ReplicationFollower;
+import com.example.tasktracker.repository.TaskRepository;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Read throughput over HTTP as followers are added. A leader holding {@code storeSize} tasks and
+ * {@code followers} followers replicating it run in-process; 32 client threads spread paged
+ * status reads round-robin over all nodes. Every node shares this JVM's CPUs, so the numbers
+ * only show read scaling on a machine with cores to spare for each node; run the nodes as
+ * separate processes on separate hosts for a real capacity figure.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Threads(32)
+public class ReplicationReadBenchmark {
+  @Param({"0", "1", "2"})
+  private int followers;
+
+  @Param({"100000"})
+  private int storeSize;
+
+  private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+  private final AtomicInteger next = new AtomicInteger();
+  private HttpClient client;
+  private HttpRequest[] reads;
+
+  @Setup(Level.Trial)
+  public void startNodes() throws InterruptedException {
+    ConfigurableApplicationContext leader = start("task-tracker.replication.role=leader");
+    leader.getBean(TaskRepository.class).saveAll(BenchmarkTasks.tasks(storeSize));
+    URI leaderUrl = url(leader);
+    for (int i = 0; i < followers; i++) {
+      ConfigurableApplicationContext follower = start(
+          "task-tracker.replication.role=follower",
+          "task-tracker.replication.leader-url=" + leaderUrl,
+          "task-tracker.overdue.check-interval=0");
+      // The store is written before the followers start, so it all arrives in the snapshot.
+      ReplicationFollower replica = follower.getBean(ReplicationFollower.class);
+      while (replica.lag() != 0) {
+        TimeUnit.MILLISECONDS.sleep(50);
+      }
+    }
+    client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+    reads = nodes.stream()
+        .map(node -> url(node).resolve("/api/tasks?status=PENDING&limit=50"))
+        .map(uri -> HttpRequest.newBuilder(uri).GET().build())
+        .toArray(HttpRequest[]::new);
+  }
+
+  @TearDown(Level.Trial)
+  public void stopNodes() {
+    client.close();
+    for (int i = nodes.size() - 1; i >= 0; i--) {
+      nodes.get(i).close();
+    }
+  }
+
+  @Benchmark
+  public int readPage() throws IOException, InterruptedException {
+    HttpRequest read = reads[Math.floorMod(next.getAndIncrement(), reads.length)];
+    int status = client.send(read, HttpResponse.BodyHandlers.discarding()).statusCode();
+    if (status != 200) {
+      throw new IllegalStateException("Read failed with status " + status);
+    }
+    return status;
+  }
+
+  /**
+   * Starts a node with {@code properties} as command-line arguments, which take precedence over
+   * {@code application.properties}.
+   */
+  private ConfigurableApplicationContext start(String... properties) {
+    List<String> args = new ArrayList<>(List.of("--server.port=0", "--logging.level.root=WARN",
+        "--task-tracker.admission.enabled=false"));
+    for (String property : properties) {
+      args.add("--" + property);
+    }
+    ConfigurableApplicationContext node = new SpringApplicationBuilder(
+        TaskTrackerApiApplication.class).run(args.toArray(String[]::new));
+    nodes.add(node);
+    return node;
+  }
+
+  private static URI url(ConfigurableApplicationContext node) {
+    int port = ((WebServerApplicationContext) node).getWebServer().getPort();
+    return URI.create("http://localhost:" + port);
+  }
+}
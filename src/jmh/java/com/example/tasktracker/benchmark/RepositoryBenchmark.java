@@ -0,0 +1,119 @@
+package com.example.tasktracker.benchmark;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.InMemoryTaskRepository;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.repository.columnar.ColumnarTaskRepository;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Point lookups, filtered queries and overwrites on {@link InMemoryTaskRepository} and
+ * {@link ColumnarTaskRepository} at several store sizes. Saves replace existing tasks, so the
+ * store size stays fixed. The {@code concurrent*} variants run the same operation on 4 threads,
+ * and the {@code mixed} group runs paged reads alongside a writer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RepositoryBenchmark {
+  @Param({"1000", "100000", "1000000"})
+  private int storeSize;
+
+  @Param({"memory", "columnar"})
+  private String store;
+
+  private List<Task> tasks;
+  private TaskRepository repository;
+  private LocalDate dueWithinWeek;
+
+  @Setup(Level.Trial)
+  public void fillStore() {
+    tasks = BenchmarkTasks.tasks(storeSize);
+    repository = BenchmarkTasks.repository(store, tasks);
+    dueWithinWeek = LocalDate.now().plusDays(7);
+  }
+
+  @Benchmark
+  public Optional<Task> findById() {
+    return repository.findById(randomTask().getId());
+  }
+
+  @Benchmark
+  @Threads(4)
+  public Optional<Task> concurrentFindById() {
+    return findById();
+  }
+
+  @Benchmark
+  public Task save() {
+    return repository.save(randomTask());
+  }
+
+  @Benchmark
+  @Threads(4)
+  public Task concurrentSave() {
+    return save();
+  }
+
+  /**
+   * Selects about 2% of the store through the due date index.
+   */
+  @Benchmark
+  public List<Task> findDueWithinWeek() {
+    return repository.findDueOnOrBefore(dueWithinWeek);
+  }
+
+  /**
+   * Selects about a third of the store through the status index.
+   */
+  @Benchmark
+  public List<Task> findByStatus() {
+    return repository.findByStatus(TaskStatus.IN_PROGRESS);
+  }
+
+  @Benchmark
+  public List<Task> findFirstPage() {
+    return repository.findPage(TaskStatus.PENDING, null, null, 100);
+  }
+
+  @Benchmark
+  @Group("mixed")
+  @GroupThreads(3)
+  public List<Task> mixedFindPage() {
+    return findFirstPage();
+  }
+
+  @Benchmark
+  @Group("mixed")
+  @GroupThreads(1)
+  public Task mixedSave() {
+    return save();
+  }
+
+  private Task randomTask() {
+    return tasks.get(ThreadLocalRandom.current().nextInt(storeSize));
+  }
+}
@@ -0,0 +1,96 @@
+package com.example.tasktracker.benchmark;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.InMemoryTaskRepository;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.repository.columnar.ColumnarTaskRepository;
+import com.example.tasktracker.repository.sharded.ShardedTaskRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Write scaling of single and sharded repositories: every operation overwrites a random task of
+ * a 1M-task store with a new status, which moves it between status indexes. The thread count is
+ * JMH's {@code -t}, so a scaling curve is one run per count:
+ * <pre>
+ * for t in 1 2 4 8 16 32 64; do
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.args="ShardScalingBenchmark -t $t"
+ * done
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ShardScalingBenchmark {
+  private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+  @Param({"memory", "columnar", "sharded-memory", "sharded-columnar"})
+  private String store;
+
+  @Param({"16"})
+  private int shards;
+
+  @Param({"1000000"})
+  private int storeSize;
+
+  private List<Task> tasks;
+  private TaskRepository repository;
+
+  @Setup(Level.Trial)
+  public void fillStore() {
+    tasks = BenchmarkTasks.tasks(storeSize);
+    repository = switch (store) {
+      case "memory" -> new InMemoryTaskRepository();
+      case "columnar" -> new ColumnarTaskRepository();
+      case "sharded-memory" -> sharded(InMemoryTaskRepository::new);
+      case "sharded-columnar" -> sharded(ColumnarTaskRepository::new);
+      default -> throw new IllegalArgumentException("Unknown store " + store);
+    };
+    repository.saveAll(tasks);
+  }
+
+  @Benchmark
+  public Task overwrite() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    Task task = tasks.get(random.nextInt(storeSize));
+    return repository.save(task.toBuilder()
+        .status(STATUSES[random.nextInt(STATUSES.length)])
+        .build());
+  }
+
+  @Benchmark
+  public Task compareAndUpdate() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    TaskStatus status = STATUSES[random.nextInt(STATUSES.length)];
+    return repository.compareAndUpdate(tasks.get(random.nextInt(storeSize)).getId(),
+        TaskRepository.ANY_VERSION, task -> task.toBuilder().status(status).build())
+        .orElseThrow();
+  }
+
+  private TaskRepository sharded(Supplier<TaskRepository> shard) {
+    List<TaskRepository> stores = new ArrayList<>(shards);
+    for (int i = 0; i < shards; i++) {
+      stores.add(shard.get());
+    }
+    return new ShardedTaskRepository(stores);
+  }
+}
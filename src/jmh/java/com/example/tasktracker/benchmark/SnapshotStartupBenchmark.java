@@ -0,0 +1,143 @@
+package com.example.tasktracker.benchmark;
+
+import com.example.tasktracker.dto.TaskResponse;
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.InMemoryTaskRepository;
+import com.example.tasktracker.repository.wal.TaskSnapshot;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time to rebuild a fully indexed {@link InMemoryTaskRepository} at startup from a
+ * {@link TaskSnapshot} versus from a Jackson NDJSON snapshot of the same tasks, the format of
+ * the export endpoint. Both are bulk-loaded, so the difference between them is the decoding
+ * cost. Use
+ * {@code -p taskCount=5000000} (and a large enough heap via {@code -jvmArgs -Xmx8g}) for the
+ * production-sized case.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SnapshotStartupBenchmark {
+  @Param({"1000000"})
+  private int taskCount;
+
+  private final ObjectMapper mapper = JsonMapper.builder().findAndAddModules().build();
+  private Path directory;
+  private Path binary;
+  private Path json;
+
+  @Setup(Level.Trial)
+  public void writeSnapshots() throws IOException {
+    directory = Files.createTempDirectory("snapshot-benchmark");
+    binary = directory.resolve("tasks.bin");
+    json = directory.resolve("tasks.ndjson");
+    TaskSnapshot.write(binary, tasks());
+    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(json), 1 << 16);
+         JsonGenerator generator = mapper.createGenerator(out)) {
+      Iterator<Task> tasks = tasks();
+      while (tasks.hasNext()) {
+        Task task = tasks.next();
+        mapper.writeValue(generator, new TaskResponse(task.getId(), task.getTitle(),
+            task.getDescription(), task.getDueDate(), task.getStatus(), task.getParentId(),
+            task.getVersion()));
+        generator.writeRaw('\n');
+      }
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void deleteSnapshots() throws IOException {
+    Files.deleteIfExists(binary);
+    Files.deleteIfExists(json);
+    Files.deleteIfExists(directory);
+  }
+
+  /**
+   * The recovery path of the write-ahead-log repository: parallel mmap decode plus bulk load.
+   */
+  @Benchmark
+  public InMemoryTaskRepository loadBinarySnapshot() throws IOException {
+    InMemoryTaskRepository repository = new InMemoryTaskRepository();
+    repository.loadAll(TaskSnapshot.readAll(binary));
+    return repository;
+  }
+
+  /**
+   * Same format, but indexing task by task as {@code save} would.
+   */
+  @Benchmark
+  public InMemoryTaskRepository loadBinarySnapshotTaskByTask() throws IOException {
+    InMemoryTaskRepository repository = new InMemoryTaskRepository();
+    TaskSnapshot.read(binary, repository::save);
+    return repository;
+  }
+
+  @Benchmark
+  public InMemoryTaskRepository loadJsonSnapshot() throws IOException {
+    List<Task> loaded = new ArrayList<>(taskCount);
+    try (InputStream in = new BufferedInputStream(Files.newInputStream(json), 1 << 16);
+         MappingIterator<TaskResponse> tasks = mapper.readerFor(TaskResponse.class)
+             .readValues(mapper.createParser(in))) {
+      while (tasks.hasNext()) {
+        TaskResponse task = tasks.next();
+        loaded.add(Task.builder()
+            .id(task.id())
+            .title(task.title())
+            .description(task.description())
+            .dueDate(task.dueDate())
+            .status(task.status())
+            .version(task.version())
+            .build());
+      }
+    }
+    InMemoryTaskRepository repository = new InMemoryTaskRepository();
+    repository.loadAll(loaded);
+    return repository;
+  }
+
+  private Iterator<Task> tasks() {
+    LocalDate today = LocalDate.now();
+    TaskStatus[] statuses = TaskStatus.values();
+    return IntStream.range(0, taskCount)
+        .mapToObj(i -> Task.builder()
+            .title("Task " + i)
+            .description("Snapshot benchmark task number " + i)
+            .dueDate(today.plusDays(i % 365))
+            .status(statuses[i % statuses.length])
+            .build())
+        .iterator();
+  }
+}
@@ -0,0 +1,167 @@
+package com.example.tasktracker.benchmark;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.InMemoryTaskRepository;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.repository.columnar.ColumnarTaskRepository;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Memory footprint and GC pauses of {@link InMemoryTaskRepository} versus
+ * {@link ColumnarTaskRepository} holding the same tasks. The trial setup bulk-loads the store
+ * and prints the heap it retains after a full GC, plus the off-heap text of the columnar store.
+ * The benchmarks then overwrite random tasks with a new status or a new description, or look
+ * them up, and every iteration prints the stop-the-world pauses it caused (count, total,
+ * longest). Rewriting descriptions makes the columnar store compact its text area over and
+ * over; it is sampled per write, so the percentiles show what a compaction adds to the writes
+ * that run it.
+ *
+ * <p>The default 4 GB heap holds the in-memory store up to a few million tasks; pass a larger one
+ * for the bigger sizes, e.g. {@code -jvmArgsAppend -Xmx24g -p storeSize=50000000}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class StoreFootprintBenchmark {
+  private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+  @Param({"1000000", "10000000", "50000000"})
+  private int storeSize;
+
+  @Param({"memory", "columnar"})
+  private String store;
+
+  private long[] idHigh;
+  private long[] idLow;
+  private LocalDate today;
+  private TaskRepository repository;
+  private final AtomicLong pauseCount = new AtomicLong();
+  private final AtomicLong pauseMillis = new AtomicLong();
+  private final AtomicLong longestPauseMillis = new AtomicLong();
+
+  @Setup(Level.Trial)
+  public void fillStore() {
+    SplittableRandom random = new SplittableRandom(42);
+    idHigh = new long[storeSize];
+    idLow = new long[storeSize];
+    for (int i = 0; i < storeSize; i++) {
+      idHigh[i] = random.nextLong();
+      idLow[i] = random.nextLong();
+    }
+    today = LocalDate.now();
+    long heapBefore = heapAfterGc();
+    long offHeapBefore = directMemory();
+
+    List<Task> tasks = new ArrayList<>(storeSize);
+    for (int i = 0; i < storeSize; i++) {
+      tasks.add(BenchmarkTasks.task(i, today, new UUID(idHigh[i], idLow[i])));
+    }
+    repository = BenchmarkTasks.repository(store, tasks);
+    tasks = null;
+
+    long heap = heapAfterGc() - heapBefore;
+    long offHeap = directMemory() - offHeapBefore;
+    System.out.printf("%n%s store of %,d tasks: %,d MB heap + %,d MB off-heap, %d bytes/task%n",
+        store, storeSize, heap >> 20, offHeap >> 20, (heap + offHeap) / storeSize);
+    recordPauses();
+  }
+
+  @TearDown(Level.Iteration)
+  public void reportPauses() {
+    System.out.printf("%nGC pauses: %d, %d ms total, %d ms longest%n",
+        pauseCount.getAndSet(0), pauseMillis.getAndSet(0), longestPauseMillis.getAndSet(0));
+  }
+
+  @Benchmark
+  public Task overwrite() {
+    int index = ThreadLocalRandom.current().nextInt(storeSize);
+    Task task = BenchmarkTasks.task(index, today, new UUID(idHigh[index], idLow[index]));
+    return repository.save(task.toBuilder()
+        .status(STATUSES[ThreadLocalRandom.current().nextInt(STATUSES.length)])
+        .build());
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public Task rewriteText() {
+    int index = ThreadLocalRandom.current().nextInt(storeSize);
+    Task task = BenchmarkTasks.task(index, today, new UUID(idHigh[index], idLow[index]));
+    return repository.save(task.toBuilder()
+        .description("Rewritten " + ThreadLocalRandom.current().nextLong())
+        .build());
+  }
+
+  @Benchmark
+  public Optional<Task> findById() {
+    int index = ThreadLocalRandom.current().nextInt(storeSize);
+    return repository.findById(new UUID(idHigh[index], idLow[index]));
+  }
+
+  private void recordPauses() {
+    NotificationListener listener = (notification, handback) -> {
+      if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION
+          .equals(notification.getType())) {
+        return;
+      }
+      GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo
+          .from((CompositeData) notification.getUserData());
+      // Concurrent cycles run alongside the application; only count stop-the-world pauses.
+      if (info.getGcName().contains("Concurrent")) {
+        return;
+      }
+      long millis = info.getGcInfo().getDuration();
+      pauseCount.incrementAndGet();
+      pauseMillis.addAndGet(millis);
+      longestPauseMillis.accumulateAndGet(millis, Math::max);
+    };
+    for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+      ((NotificationEmitter) collector).addNotificationListener(listener, null, null);
+    }
+  }
+
+  private static long heapAfterGc() {
+    System.gc();
+    System.gc();
+    return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+  }
+
+  private static long directMemory() {
+    return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+        .filter(pool -> "direct".equals(pool.getName()))
+        .mapToLong(BufferPoolMXBean::getMemoryUsed)
+        .sum();
+  }
+}
@@ -0,0 +1,62 @@
+package com.example.tasktracker.benchmark;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of creating tasks through {@link Task.Builder}, including the random UUID of new tasks.
+ * Run with {@code -prof gc} to see the bytes allocated per task.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskBuilderBenchmark {
+  private final LocalDate dueDate = LocalDate.now().plusDays(7);
+  private final Task existing = Task.builder()
+      .title("Existing task")
+      .description("Copied by status updates")
+      .dueDate(dueDate)
+      .build();
+
+  @Benchmark
+  public Task buildNewTask() {
+    return Task.builder()
+        .title("New task")
+        .description("Built from a request")
+        .dueDate(dueDate)
+        .status(TaskStatus.PENDING)
+        .build();
+  }
+
+  /**
+   * Random UUIDs draw from a shared {@code SecureRandom}, so this shows whether that contends.
+   */
+  @Benchmark
+  @Threads(4)
+  public Task concurrentBuildNewTask() {
+    return buildNewTask();
+  }
+
+  /**
+   * The copy made by every status update.
+   */
+  @Benchmark
+  public Task copyWithNewStatus() {
+    return existing.toBuilder().status(TaskStatus.COMPLETED).build();
+  }
+}
@@ -0,0 +1,109 @@
+package com.example.tasktracker.benchmark;
+
+import com.example.tasktracker.dto.TaskResponse;
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.InMemoryTaskRepository;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.service.TaskJsonCache;
+import com.example.tasktracker.service.TaskService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The body of {@code GET /api/tasks/{id}} on a read-heavy mix: serializing a fresh
+ * {@link TaskResponse} on every read versus serving it from the {@link TaskJsonCache}. With
+ * {@code updatePercent} above zero that share of operations changes a task's status first, which
+ * invalidates its cached bytes. Run with {@code -prof gc} for the allocation per read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskJsonCacheBenchmark {
+  @Param({"100000"})
+  private int storeSize;
+
+  @Param({"0", "5"})
+  private int updatePercent;
+
+  private TaskRepository repository;
+  private TaskService service;
+  private TaskJsonCache cache;
+  private ObjectWriter writer;
+  private UUID[] ids;
+
+  @Setup(Level.Trial)
+  public void fillStore() {
+    ObjectMapper mapper = JsonMapper.builder()
+        .findAndAddModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+    List<Task> tasks = BenchmarkTasks.tasks(storeSize);
+    InMemoryTaskRepository store = BenchmarkTasks.repository(tasks);
+    repository = store;
+    service = new TaskService(store);
+    cache = new TaskJsonCache(store, mapper, storeSize);
+    writer = mapper.writerFor(TaskResponse.class);
+    ids = tasks.stream().map(Task::getId).toArray(UUID[]::new);
+  }
+
+  @Benchmark
+  public byte[] serializeEachRead() throws JsonProcessingException {
+    UUID id = nextId();
+    return writer.writeValueAsBytes(service.getTask(id));
+  }
+
+  @Benchmark
+  public byte[] cachedRead() {
+    return cache.get(nextId()).json();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public byte[] concurrentSerializeEachRead() throws JsonProcessingException {
+    return serializeEachRead();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public byte[] concurrentCachedRead() {
+    return cachedRead();
+  }
+
+  /**
+   * Picks a random task, first changing its status in {@code updatePercent} of the calls.
+   */
+  private UUID nextId() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    UUID id = ids[random.nextInt(ids.length)];
+    if (random.nextInt(100) < updatePercent) {
+      TaskStatus status = TaskStatus.values()[random.nextInt(TaskStatus.values().length)];
+      repository.compareAndUpdate(id, TaskRepository.ANY_VERSION,
+          task -> task.toBuilder().status(status).build());
+    }
+    return id;
+  }
+}
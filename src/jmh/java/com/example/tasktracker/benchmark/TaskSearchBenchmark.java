@@ -0,0 +1,165 @@
+package com.example.tasktracker.benchmark;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.search.SearchHit;
+import com.example.tasktracker.search.SearchQuery;
+import com.example.tasktracker.search.TaskSearchIndex;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Query latency and memory of the {@link TaskSearchIndex}. Task text is drawn from a
+ * {@value #VOCABULARY}-word vocabulary with Zipf-distributed word frequencies, like natural
+ * language: a 4-word title and a 12-word description per task. The trial setup prints the time
+ * to index the store, the heap the index retains after a full GC and its own estimate.
+ *
+ * <p>Queries cover a term in about a third of the tasks, an AND of two such terms, a term in a
+ * few hundred tasks, and a two-letter prefix matching more terms than the
+ * {@value #PREFIX_EXPANSIONS} it expands to; {@code reindex} replaces the text of a random task.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskSearchBenchmark {
+  private static final int VOCABULARY = 50_000;
+  private static final int TITLE_WORDS = 4;
+  private static final int DESCRIPTION_WORDS = 12;
+  private static final int LIMIT = 20;
+  private static final int PREFIX_EXPANSIONS = 128;
+
+  @Param({"1000000"})
+  private int storeSize;
+
+  private String[] words;
+  private double[] cumulative;
+  private UUID[] ids;
+  private TaskSearchIndex index;
+  private SearchQuery common;
+  private SearchQuery twoCommon;
+  private SearchQuery rare;
+  private SearchQuery prefix;
+
+  @Setup(Level.Trial)
+  public void buildIndex() {
+    words = new String[VOCABULARY];
+    cumulative = new double[VOCABULARY];
+    double total = 0;
+    for (int rank = 0; rank < VOCABULARY; rank++) {
+      words[rank] = word(rank);
+      total += 1.0 / (rank + 1);
+      cumulative[rank] = total;
+    }
+    for (int rank = 0; rank < VOCABULARY; rank++) {
+      cumulative[rank] /= total;
+    }
+    SplittableRandom random = new SplittableRandom(42);
+    ids = new UUID[storeSize];
+    for (int i = 0; i < storeSize; i++) {
+      ids[i] = new UUID(random.nextLong(), random.nextLong());
+    }
+    long heapBefore = heapAfterGc();
+    long start = System.nanoTime();
+    index = new TaskSearchIndex(PREFIX_EXPANSIONS);
+    for (int i = 0; i < storeSize; i++) {
+      index.onWrite(null, task(ids[i], random));
+    }
+    long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    long heap = heapAfterGc() - heapBefore;
+    System.out.printf("%nIndexed %,d tasks in %,d ms: %,d terms, %,d MB heap (%d bytes/task),"
+            + " estimated %,d MB%n", storeSize, millis, index.termCount(), heap >> 20,
+        heap / storeSize, index.estimatedBytes() >> 20);
+
+    common = SearchQuery.parse(words[1]);
+    twoCommon = SearchQuery.parse(words[1] + " " + words[3]);
+    rare = SearchQuery.parse(words[5_000]);
+    prefix = SearchQuery.parse(words[0].substring(0, 2) + "*");
+  }
+
+  @Benchmark
+  public List<SearchHit> commonTerm() {
+    return index.search(common, LIMIT);
+  }
+
+  @Benchmark
+  public List<SearchHit> twoCommonTerms() {
+    return index.search(twoCommon, LIMIT);
+  }
+
+  @Benchmark
+  public List<SearchHit> rareTerm() {
+    return index.search(rare, LIMIT);
+  }
+
+  @Benchmark
+  public List<SearchHit> prefixTerm() {
+    return index.search(prefix, LIMIT);
+  }
+
+  @Benchmark
+  public UUID reindex() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    UUID id = ids[random.nextInt(storeSize)];
+    index.onWrite(null, task(id, new SplittableRandom(random.nextLong())));
+    return id;
+  }
+
+  private Task task(UUID id, SplittableRandom random) {
+    return Task.builder()
+        .id(id)
+        .title(text(random, TITLE_WORDS))
+        .description(text(random, DESCRIPTION_WORDS))
+        .build();
+  }
+
+  private String text(SplittableRandom random, int count) {
+    StringBuilder text = new StringBuilder(count * 8);
+    for (int i = 0; i < count; i++) {
+      int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+      text.append(words[rank >= 0 ? rank : Math.min(-rank - 1, VOCABULARY - 1)]).append(' ');
+    }
+    return text.toString();
+  }
+
+  /**
+   * A distinct pronounceable word per rank, alternating consonants and vowels.
+   */
+  private static String word(int rank) {
+    String consonants = "bcdfghklmnprstvz";
+    String vowels = "aeiou";
+    StringBuilder word = new StringBuilder();
+    int value = rank;
+    do {
+      word.append(consonants.charAt(value % consonants.length()));
+      value /= consonants.length();
+      word.append(vowels.charAt(value % vowels.length()));
+      value /= vowels.length();
+    } while (value > 0);
+    return word.toString();
+  }
+
+  private static long heapAfterGc() {
+    System.gc();
+    System.gc();
+    return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+  }
+}
@@ -0,0 +1,96 @@
+package com.example.tasktracker.benchmark;
+
+import com.example.tasktracker.dto.TaskResponse;
+import com.example.tasktracker.json.TaskJsonWriter;
+import com.example.tasktracker.model.Task;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Jackson serialization of a {@code List<TaskResponse>}, the body of {@code GET /api/tasks}, with
+ * a mapper configured like Spring Boot's (ISO dates, JSR-310 module).
+ *
+ * <p>{@code responsesThenJackson} and {@code taskJsonWriter} start from the repository's tasks
+ * and write into a reused stream, as a response body would be: the former is the path through a
+ * {@code TaskResponse} per task, the latter the {@link TaskJsonWriter}. Run with
+ * {@code -prof gc} to compare their allocation per list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskSerializationBenchmark {
+  @Param({"10", "1000", "10000"})
+  private int listSize;
+
+  private ObjectWriter writer;
+  private List<TaskResponse> responses;
+  private List<Task> tasks;
+  private TaskJsonWriter taskJsonWriter;
+  private ByteArrayOutputStream body;
+
+  @Setup(Level.Trial)
+  public void prepareResponses() {
+    writer = JsonMapper.builder()
+        .findAndAddModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build()
+        .writerFor(new TypeReference<List<TaskResponse>>() { });
+    tasks = BenchmarkTasks.tasks(listSize);
+    responses = tasks.stream().map(TaskSerializationBenchmark::toResponse).toList();
+    taskJsonWriter = new TaskJsonWriter();
+    body = new ByteArrayOutputStream(listSize * 256);
+  }
+
+  @Benchmark
+  public byte[] serialize() throws JsonProcessingException {
+    return writer.writeValueAsBytes(responses);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public byte[] concurrentSerialize() throws JsonProcessingException {
+    return serialize();
+  }
+
+  @Benchmark
+  public int responsesThenJackson() throws IOException {
+    body.reset();
+    writer.writeValue(body, tasks.stream().map(TaskSerializationBenchmark::toResponse).toList());
+    return body.size();
+  }
+
+  @Benchmark
+  public int taskJsonWriter() throws IOException {
+    body.reset();
+    taskJsonWriter.writeArray(tasks, body);
+    return body.size();
+  }
+
+  private static TaskResponse toResponse(Task task) {
+    return new TaskResponse(task.getId(), task.getTitle(), task.getDescription(),
+        task.getDueDate(), task.getStatus(), task.getParentId(), task.getVersion());
+  }
+}
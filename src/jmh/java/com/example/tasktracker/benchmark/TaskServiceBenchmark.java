@@ -0,0 +1,66 @@
+package com.example.tasktracker.benchmark;
+
+import com.example.tasktracker.dto.TaskResponse;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.service.TaskService;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link TaskService#getTasks} end to end below the controller: the repository query plus
+ * mapping every {@code Task} to a {@link TaskResponse}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceBenchmark {
+  @Param({"1000", "100000"})
+  private int storeSize;
+
+  private TaskService service;
+  private LocalDate dueWithinWeek;
+
+  @Setup(Level.Trial)
+  public void fillStore() {
+    service = new TaskService(BenchmarkTasks.repository(BenchmarkTasks.tasks(storeSize)));
+    dueWithinWeek = LocalDate.now().plusDays(7);
+  }
+
+  @Benchmark
+  public List<TaskResponse> getAllTasks() {
+    return service.getTasks(null, null);
+  }
+
+  @Benchmark
+  public List<TaskResponse> getTasksByStatus() {
+    return service.getTasks(TaskStatus.PENDING, null);
+  }
+
+  @Benchmark
+  public List<TaskResponse> getTasksByStatusAndDueDate() {
+    return service.getTasks(TaskStatus.PENDING, dueWithinWeek);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public List<TaskResponse> concurrentGetTasksByStatus() {
+    return getTasksByStatus();
+  }
+}
@@ -0,0 +1,99 @@
+package com.example.tasktracker.benchmark;
+
+import com.example.tasktracker.dto.TaskStats;
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.InMemoryTaskRepository;
+import com.example.tasktracker.service.TaskStatsService;
+import com.example.tasktracker.stats.HistogramInterval;
+import com.example.tasktracker.stats.TaskStatistics;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Statistics read from the incrementally maintained {@link TaskStatistics} versus computed by
+ * scanning the store, both with a 28-day histogram and a weekly one over the next year, plus the
+ * cost the counters add to a write that moves a task to another status and due date.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskStatsBenchmark {
+  private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+  @Param({"100000", "1000000"})
+  private int storeSize;
+
+  @Param({"true", "false"})
+  private boolean counters;
+
+  private List<Task> tasks;
+  private LocalDate today;
+  private InMemoryTaskRepository repository;
+  private TaskStatsService statsService;
+
+  @Setup(Level.Trial)
+  public void fillStore() {
+    tasks = BenchmarkTasks.tasks(storeSize);
+    today = LocalDate.now();
+    repository = BenchmarkTasks.repository(tasks);
+    TaskStatistics statistics = new TaskStatistics(Clock.systemDefaultZone());
+    try (Stream<Task> all = repository.streamAll()) {
+      statistics.addAll(all);
+    }
+    if (counters) {
+      repository.addWriteListener(statistics);
+    }
+    statsService = new TaskStatsService(statistics);
+  }
+
+  @Benchmark
+  public TaskStats incrementalDays() {
+    return statsService.getStats(today, null, null, HistogramInterval.DAY);
+  }
+
+  @Benchmark
+  public TaskStats incrementalWeeks() {
+    return statsService.getStats(today, null, today.plusYears(1), HistogramInterval.WEEK);
+  }
+
+  /**
+   * What a stats request would cost without the counters: one pass over every task.
+   */
+  @Benchmark
+  public TaskStats scanDays() {
+    TaskStatistics scanned = new TaskStatistics(Clock.systemDefaultZone());
+    try (Stream<Task> all = repository.streamAll()) {
+      scanned.addAll(all);
+    }
+    return new TaskStatsService(scanned).getStats(today, null, null, HistogramInterval.DAY);
+  }
+
+  @Benchmark
+  public Task overwrite() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    return repository.save(tasks.get(random.nextInt(storeSize)).toBuilder()
+        .status(STATUSES[random.nextInt(STATUSES.length)])
+        .dueDate(today.plusDays(random.nextInt(BenchmarkTasks.DUE_DATE_SPREAD_DAYS)))
+        .build());
+  }
+}
@@ -0,0 +1,112 @@
+package com.example.tasktracker.benchmark;
+
+import com.example.tasktracker.dto.TaskRollup;
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.InMemoryTaskRepository;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.service.TaskTreeService;
+import com.example.tasktracker.tree.TaskTree;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A project of {@code depth} levels below its root with ten subtasks per task. Compares the
+ * root's roll-up read from the {@link TaskTree}'s counters with counting the statuses of its
+ * subtree read in one call, and what the counters add to a status change: of a leaf, which
+ * updates every ancestor, and of the root, which has none.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TaskTreeBenchmark {
+  private static final int FANOUT = 10;
+  private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+  @Param({"3", "5"})
+  private int depth;
+
+  private InMemoryTaskRepository repository;
+  private TaskTreeService treeService;
+  private UUID root;
+  private List<UUID> leaves;
+
+  @Setup(Level.Trial)
+  public void buildTree() {
+    repository = new InMemoryTaskRepository();
+    TaskTree tree = new TaskTree();
+    repository.addWriteListener(tree);
+    treeService = new TaskTreeService(repository, tree);
+    LocalDate today = LocalDate.now();
+    int index = 0;
+    root = repository.save(BenchmarkTasks.task(index++, today)).getId();
+    List<UUID> level = List.of(root);
+    for (int d = 0; d < depth; d++) {
+      List<UUID> next = new ArrayList<>(level.size() * FANOUT);
+      for (UUID parent : level) {
+        for (int i = 0; i < FANOUT; i++) {
+          Task task = BenchmarkTasks.task(index++, today).toBuilder().parentId(parent).build();
+          next.add(repository.save(task).getId());
+        }
+      }
+      level = next;
+    }
+    leaves = level;
+  }
+
+  @Benchmark
+  public TaskRollup rollupFromCounters() {
+    return treeService.getRollup(root);
+  }
+
+  /**
+   * What a roll-up would cost without the counters: reading the whole subtree, here in one call
+   * rather than one request per task, and counting it.
+   */
+  @Benchmark
+  public long[] rollupByWalkingSubtree() {
+    long[] counts = new long[STATUSES.length];
+    List<Task> subtree = treeService.findSubtree(root);
+    for (int i = 1; i < subtree.size(); i++) {
+      counts[subtree.get(i).getStatus().ordinal()]++;
+    }
+    return counts;
+  }
+
+  @Benchmark
+  public Optional<Task> updateLeafStatus() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    return updateStatus(leaves.get(random.nextInt(leaves.size())));
+  }
+
+  @Benchmark
+  public Optional<Task> updateRootStatus() {
+    return updateStatus(root);
+  }
+
+  private Optional<Task> updateStatus(UUID id) {
+    TaskStatus status = STATUSES[ThreadLocalRandom.current().nextInt(STATUSES.length)];
+    return repository.compareAndUpdate(id, TaskRepository.ANY_VERSION,
+        task -> task.toBuilder().status(status).build());
+  }
+}
@@ -0,0 +1,72 @@
+package com.example.tasktracker.benchmark;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.repository.wal.DurabilityMode;
+import com.example.tasktracker.repository.wal.WalTaskRepository;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Write throughput of {@link WalTaskRepository} per durability mode. Runs with 8 writer threads
+ * by default so group commit has something to batch; use {@code -t 1} for the uncontended cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class WalWriteBenchmark {
+  @Param({"SYNC", "INTERVAL", "OS"})
+  private DurabilityMode durability;
+
+  private Path directory;
+  private WalTaskRepository repository;
+
+  @Setup(Level.Iteration)
+  public void open() throws IOException {
+    directory = Files.createTempDirectory("wal-benchmark");
+    repository = new WalTaskRepository(directory, durability, Duration.ofMillis(10),
+        Duration.ZERO);
+  }
+
+  @TearDown(Level.Iteration)
+  public void close() throws IOException {
+    repository.close();
+    try (Stream<Path> files = Files.walk(directory)) {
+      for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(file);
+      }
+    }
+  }
+
+  @Benchmark
+  public Task save() {
+    return repository.save(Task.builder()
+        .title("Benchmark task")
+        .description("Written through the write-ahead log")
+        .dueDate(LocalDate.now())
+        .build());
+  }
+}
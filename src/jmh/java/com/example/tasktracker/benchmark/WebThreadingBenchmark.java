@@ -0,0 +1,118 @@
+package com.example.tasktracker.benchmark;
+
+import com.example.tasktracker.TaskTrackerApiApplication;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Load test of the whole application over HTTP in platform-thread and virtual-thread mode.
+ *
+ * <p>The application runs in-process on the write-ahead-log repository with {@code SYNC}
+ * durability, so every create blocks its request thread until the log is fsynced. 256 client
+ * threads, more than Tomcat's 200 platform request threads, split between creates and paged
+ * reads. Sample-time mode reports p99 latency; throughput mode reports requests per second. Use
+ * {@code -bm sample} or {@code -bm thrpt} to run only one of them and {@code -tg} to change the
+ * concurrency, e.g. {@code -tg 256,768}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class WebThreadingBenchmark {
+  @Param({"platform", "virtual"})
+  private String threads;
+
+  private Path directory;
+  private ConfigurableApplicationContext context;
+  private HttpClient client;
+  private HttpRequest create;
+  private HttpRequest page;
+
+  @Setup(Level.Trial)
+  public void startApplication() throws IOException {
+    directory = Files.createTempDirectory("web-threading-benchmark");
+    // Command-line arguments, unlike builder properties, override application.properties.
+    context = new SpringApplicationBuilder(TaskTrackerApiApplication.class)
+        .run(
+            "--server.port=0",
+            "--spring.threads.virtual.enabled=" + "virtual".equals(threads),
+            "--task-tracker.repository.type=wal",
+            "--task-tracker.repository.wal.directory=" + directory,
+            "--task-tracker.repository.wal.durability=SYNC",
+            "--task-tracker.repository.wal.snapshot-interval=0s",
+            "--task-tracker.admission.enabled=false",
+            "--logging.level.root=WARN");
+    int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+    URI tasks = URI.create("http://localhost:" + port + "/api/tasks");
+    client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    create = HttpRequest.newBuilder(tasks)
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString("""
+            {"title": "Load test", "description": "Created under load", "dueDate": "%s"}
+            """.formatted(LocalDate.now().plusDays(7))))
+        .build();
+    page = HttpRequest.newBuilder(URI.create(tasks + "?status=PENDING&limit=50")).GET().build();
+  }
+
+  @TearDown(Level.Trial)
+  public void stopApplication() throws IOException {
+    client.close();
+    context.close();
+    try (Stream<Path> files = Files.walk(directory)) {
+      for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(file);
+      }
+    }
+  }
+
+  @Benchmark
+  @Group("load")
+  @GroupThreads(128)
+  public int createTask() throws IOException, InterruptedException {
+    return send(create);
+  }
+
+  @Benchmark
+  @Group("load")
+  @GroupThreads(128)
+  public int readPage() throws IOException, InterruptedException {
+    return send(page);
+  }
+
+  private int send(HttpRequest request) throws IOException, InterruptedException {
+    int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    if (status >= 400) {
+      throw new IllegalStateException("Request failed with status " + status);
+    }
+    return status;
+  }
+}
@@ -0,0 +1,164 @@
+package com.example.tasktracker.admission;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Admits or sheds each request according to the most specific {@link AdmissionEndpoint} that
+ * covers it; requests no endpoint covers pass through.
+ *
+ * <p>The client is identified by the {@code clientHeader} request header, such as an API key,
+ * or by its remote address if the header is missing. The header is taken as given, so it only
+ * separates clients that an authenticating proxy in front has vouched for.
+ *
+ * <p>A request first takes a token from its client's bucket, then permits from the endpoint's
+ * concurrency limit, if any. Either failing answers {@code 429 Too Many Requests} with a
+ * {@code Retry-After}: the time until the client's next token, or the queue timeout when the
+ * endpoint is overloaded. Permits of a request that goes asynchronous, such as an export, are
+ * held until its response completes.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+  private final List<AdmissionEndpoint> endpoints;
+  private final String clientHeader;
+
+  public AdmissionControlFilter(List<AdmissionEndpoint> endpoints, String clientHeader) {
+    this.endpoints = endpoints.stream().sorted(AdmissionEndpoint.SPECIFICITY).toList();
+    this.clientHeader = clientHeader;
+  }
+
+  /**
+   * The endpoints, most specific first, in an unmodifiable list.
+   */
+  @SuppressFBWarnings("EI_EXPOSE_REP")
+  public List<AdmissionEndpoint> endpoints() {
+    return endpoints;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain chain) throws ServletException, IOException {
+    AdmissionEndpoint endpoint = endpoint(request);
+    if (endpoint == null) {
+      chain.doFilter(request, response);
+      return;
+    }
+    long wait = endpoint.tryAcquireToken(client(request), System.nanoTime());
+    if (wait > 0) {
+      reject(endpoint, Rejection.RATE_LIMITED, ceilSeconds(wait), response);
+      return;
+    }
+    ConcurrencyLimiter limiter = endpoint.limiter();
+    if (limiter == null) {
+      endpoint.admitted();
+      chain.doFilter(request, response);
+      return;
+    }
+    int weight = endpoint.weigh(request);
+    Rejection rejection;
+    try {
+      rejection = limiter.acquire(weight);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      rejection = Rejection.QUEUE_TIMEOUT;
+    }
+    if (rejection != null) {
+      reject(endpoint, rejection, ceilSeconds(limiter.queueTimeoutNanos()), response);
+      return;
+    }
+    endpoint.admitted();
+    Release release = new Release(limiter, weight);
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      if (request.isAsyncStarted()) {
+        request.getAsyncContext().addListener(release);
+      } else {
+        release.run();
+      }
+    }
+  }
+
+  private AdmissionEndpoint endpoint(HttpServletRequest request) {
+    PathContainer path = PathContainer.parsePath(
+        request.getRequestURI().substring(request.getContextPath().length()));
+    for (AdmissionEndpoint endpoint : endpoints) {
+      if (endpoint.matches(request.getMethod(), path)) {
+        return endpoint;
+      }
+    }
+    return null;
+  }
+
+  private String client(HttpServletRequest request) {
+    String client = request.getHeader(clientHeader);
+    return client == null || client.isBlank() ? request.getRemoteAddr() : client;
+  }
+
+  private static void reject(AdmissionEndpoint endpoint, Rejection rejection,
+      long retryAfterSeconds, HttpServletResponse response) throws IOException {
+    endpoint.rejected(rejection);
+    response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, retryAfterSeconds)));
+    response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(),
+        rejection == Rejection.RATE_LIMITED
+            ? "Rate limit of " + endpoint.name() + " exceeded"
+            : endpoint.name() + " is overloaded");
+  }
+
+  private static long ceilSeconds(long nanos) {
+    return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+  }
+
+  /**
+   * Returns a request's permits once, when it completes, fails or times out.
+   */
+  private static final class Release implements Runnable, AsyncListener {
+    private final ConcurrencyLimiter limiter;
+    private final int weight;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    Release(ConcurrencyLimiter limiter, int weight) {
+      this.limiter = limiter;
+      this.weight = weight;
+    }
+
+    @Override
+    public void run() {
+      if (released.compareAndSet(false, true)) {
+        limiter.release(weight);
+      }
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+      run();
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+      run();
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+      run();
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+      event.getAsyncContext().addListener(this);
+    }
+  }
+}
@@ -0,0 +1,150 @@
+package com.example.tasktracker.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * Admission limits of one endpoint: a token bucket per client, and optionally a concurrency
+ * limit shared by all clients. Also counts what happened to the requests it saw.
+ *
+ * <p>Buckets are kept in a Caffeine cache bounded to {@code maxClients} and dropped once unused
+ * for as long as they take to fill up, since a new bucket is full too.
+ */
+public final class AdmissionEndpoint {
+  /**
+   * Most specific first: by path pattern, then endpoints bound to a method before the others.
+   */
+  static final Comparator<AdmissionEndpoint> SPECIFICITY =
+      Comparator.comparing((AdmissionEndpoint endpoint) -> endpoint.pattern,
+              PathPattern.SPECIFICITY_COMPARATOR)
+          .thenComparing(endpoint -> endpoint.method == null);
+
+  private final String name;
+  private final String method;
+  private final PathPattern pattern;
+  private final double rate;
+  private final int burst;
+  private final Cache<String, TokenBucket> buckets;
+  private final ConcurrencyLimiter limiter;
+  private final ToIntFunction<HttpServletRequest> weigher;
+  private final LongAdder admitted = new LongAdder();
+  private final Map<Rejection, LongAdder> rejected = new EnumMap<>(Rejection.class);
+
+  /**
+   * Creates an endpoint.
+   *
+   * @param method HTTP method it covers, or {@code null} for every method
+   * @param path path pattern it covers, such as {@code /api/tasks/**}
+   * @param rate requests per second each client may make; 0 for no rate limit
+   * @param burst requests a client may make at once after being idle
+   * @param maxClients number of clients whose buckets are kept
+   * @param limiter concurrency limit, or {@code null} for none
+   * @param weigher permits a request takes from {@code limiter}
+   */
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public AdmissionEndpoint(String name, String method, String path, double rate, int burst,
+      int maxClients, ConcurrencyLimiter limiter, ToIntFunction<HttpServletRequest> weigher) {
+    this.name = name;
+    this.method = method;
+    this.pattern = PathPatternParser.defaultInstance.parse(path);
+    this.rate = rate;
+    this.burst = burst;
+    this.limiter = limiter;
+    this.weigher = weigher;
+    if (rate > 0) {
+      long refillNanos = new TokenBucket(rate, burst, 0).refillNanos();
+      this.buckets = Caffeine.newBuilder()
+          .maximumSize(maxClients)
+          .expireAfterAccess(Duration.ofNanos(refillNanos).plusSeconds(1))
+          .build();
+    } else {
+      this.buckets = null;
+    }
+    for (Rejection rejection : Rejection.values()) {
+      rejected.put(rejection, new LongAdder());
+    }
+  }
+
+  public String name() {
+    return name;
+  }
+
+  boolean matches(String requestMethod, PathContainer path) {
+    return (method == null || method.equalsIgnoreCase(requestMethod)) && pattern.matches(path);
+  }
+
+  /**
+   * Takes a token from {@code client}'s bucket.
+   *
+   * @return 0 if admitted, otherwise the nanoseconds until the client has a token again
+   */
+  long tryAcquireToken(String client, long nowNanos) {
+    if (buckets == null) {
+      return 0;
+    }
+    return buckets.get(client, key -> new TokenBucket(rate, burst, nowNanos))
+        .tryAcquire(nowNanos);
+  }
+
+  /**
+   * Concurrency limit, or {@code null} if the endpoint has none.
+   */
+  ConcurrencyLimiter limiter() {
+    return limiter;
+  }
+
+  /**
+   * Permits {@code request} takes from the {@link #limiter()}, between 1 and its permits.
+   */
+  int weigh(HttpServletRequest request) {
+    return Math.max(1, Math.min(limiter.permits(), weigher.applyAsInt(request)));
+  }
+
+  void admitted() {
+    admitted.increment();
+  }
+
+  void rejected(Rejection rejection) {
+    rejected.get(rejection).increment();
+  }
+
+  public long admittedCount() {
+    return admitted.sum();
+  }
+
+  public long rejectedCount(Rejection rejection) {
+    return rejected.get(rejection).sum();
+  }
+
+  /**
+   * Permits held by admitted requests; 0 without a concurrency limit.
+   */
+  public int inFlight() {
+    return limiter == null ? 0 : limiter.inUse();
+  }
+
+  /**
+   * Requests waiting for a permit; 0 without a concurrency limit.
+   */
+  public int queued() {
+    return limiter == null ? 0 : limiter.queued();
+  }
+
+  /**
+   * Clients with a bucket, approximately.
+   */
+  public long clients() {
+    return buckets == null ? 0 : buckets.estimatedSize();
+  }
+}
@@ -0,0 +1,81 @@
+package com.example.tasktracker.admission;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Weighted concurrency limit with a bounded queue. Requests take as many permits as they weigh;
+ * a request that finds too few waits in FIFO order, up to the queue timeout, unless
+ * {@code queueSize} requests are already waiting, in which case it is rejected at once. Shedding
+ * instead of queueing without bound keeps the latency of admitted requests bounded by the queue
+ * timeout plus their own run time.
+ */
+public final class ConcurrencyLimiter {
+  private final int permits;
+  private final int queueSize;
+  private final long queueTimeoutNanos;
+  private final Semaphore semaphore;
+  private final AtomicInteger waiting = new AtomicInteger();
+
+  public ConcurrencyLimiter(int permits, int queueSize, Duration queueTimeout) {
+    if (permits < 1 || queueSize < 0) {
+      throw new IllegalArgumentException("permits must be positive and queueSize not negative");
+    }
+    this.permits = permits;
+    this.queueSize = queueSize;
+    this.queueTimeoutNanos = queueTimeout.toNanos();
+    this.semaphore = new Semaphore(permits, true);
+  }
+
+  /**
+   * Takes {@code weight} permits, waiting in the queue if needed.
+   *
+   * @param weight permits to take, between 1 and {@link #permits()}
+   * @return {@code null} if the permits were taken and must be {@link #release released},
+   *     otherwise why not
+   */
+  public Rejection acquire(int weight) throws InterruptedException {
+    // The timed variant, unlike tryAcquire(int), does not barge ahead of queued requests.
+    if (semaphore.tryAcquire(weight, 0, TimeUnit.NANOSECONDS)) {
+      return null;
+    }
+    if (waiting.incrementAndGet() > queueSize) {
+      waiting.decrementAndGet();
+      return Rejection.QUEUE_FULL;
+    }
+    try {
+      return semaphore.tryAcquire(weight, queueTimeoutNanos, TimeUnit.NANOSECONDS)
+          ? null : Rejection.QUEUE_TIMEOUT;
+    } finally {
+      waiting.decrementAndGet();
+    }
+  }
+
+  public void release(int weight) {
+    semaphore.release(weight);
+  }
+
+  long queueTimeoutNanos() {
+    return queueTimeoutNanos;
+  }
+
+  public int permits() {
+    return permits;
+  }
+
+  /**
+   * Permits held by admitted requests.
+   */
+  public int inUse() {
+    return permits - semaphore.availablePermits();
+  }
+
+  /**
+   * Requests waiting for permits.
+   */
+  public int queued() {
+    return waiting.get();
+  }
+}
@@ -0,0 +1,19 @@
+package com.example.tasktracker.admission;
+
+/**
+ * Why a request was turned away with {@code 429 Too Many Requests}.
+ */
+public enum Rejection {
+  /**
+   * The client had used up its token bucket for the endpoint.
+   */
+  RATE_LIMITED,
+  /**
+   * The endpoint's concurrency limit was reached and its queue was full.
+   */
+  QUEUE_FULL,
+  /**
+   * The request waited in the endpoint's queue for the whole queue timeout.
+   */
+  QUEUE_TIMEOUT
+}
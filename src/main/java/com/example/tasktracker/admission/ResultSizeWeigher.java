@@ -0,0 +1,54 @@
+package com.example.tasktracker.admission;
+
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.service.TaskService;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.function.ToIntFunction;
+
+/**
+ * Weighs a task list request by the number of tasks it can return: its {@code limit} if it is
+ * paged, otherwise every task of its {@code status}, or of the store. The counts are the
+ * repository's constant-time counters, so weighing reads no tasks. A request takes one permit
+ * plus one per {@code tasksPerPermit} tasks.
+ */
+public final class ResultSizeWeigher implements ToIntFunction<HttpServletRequest> {
+  private final TaskRepository repository;
+  private final long tasksPerPermit;
+
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public ResultSizeWeigher(TaskRepository repository, long tasksPerPermit) {
+    if (tasksPerPermit < 1) {
+      throw new IllegalArgumentException("tasksPerPermit must be positive");
+    }
+    this.repository = repository;
+    this.tasksPerPermit = tasksPerPermit;
+  }
+
+  @Override
+  public int applyAsInt(HttpServletRequest request) {
+    return (int) Math.min(Integer.MAX_VALUE, 1 + expectedSize(request) / tasksPerPermit);
+  }
+
+  private long expectedSize(HttpServletRequest request) {
+    String limit = request.getParameter("limit");
+    if (limit != null || request.getParameter("cursor") != null) {
+      // Invalid limits are rejected by the controller; they only need some weight here.
+      try {
+        return limit == null ? TaskService.DEFAULT_PAGE_SIZE : Math.max(0, Long.parseLong(limit));
+      } catch (NumberFormatException ex) {
+        return 0;
+      }
+    }
+    String status = request.getParameter("status");
+    if (status != null) {
+      try {
+        return repository.countByStatus(TaskStatus.valueOf(status.trim()));
+      } catch (IllegalArgumentException ex) {
+        return 0;
+      }
+    }
+    return repository.count();
+  }
+}
@@ -0,0 +1,60 @@
+package com.example.tasktracker.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket refilled at {@code permitsPerSecond} and holding at most {@code burst}
+ * tokens.
+ *
+ * <p>The bucket is kept as the single time at which it will be full again (the generic cell rate
+ * algorithm's theoretical arrival time) rather than as a token count plus a refill timestamp, so
+ * taking a token is one compare-and-set of one {@code long}. A request is admitted if taking its
+ * token leaves that time no more than {@code burst} token intervals ahead of now.
+ */
+public final class TokenBucket {
+  private final long interval;
+  private final long tolerance;
+  private final AtomicLong full;
+
+  /**
+   * Creates a full bucket.
+   *
+   * @param nowNanos current {@link System#nanoTime()}
+   */
+  public TokenBucket(double permitsPerSecond, int burst, long nowNanos) {
+    if (!(permitsPerSecond > 0) || burst < 1) {
+      throw new IllegalArgumentException("permitsPerSecond and burst must be positive");
+    }
+    this.interval = Math.max(1, Math.round(1e9 / permitsPerSecond));
+    this.tolerance = interval * burst;
+    this.full = new AtomicLong(nowNanos);
+  }
+
+  /**
+   * Takes a token.
+   *
+   * @param nowNanos current {@link System#nanoTime()}
+   * @return 0 if a token was taken, otherwise the nanoseconds until one is available
+   */
+  public long tryAcquire(long nowNanos) {
+    while (true) {
+      long current = full.get();
+      long next = (current - nowNanos < 0 ? nowNanos : current) + interval;
+      long wait = next - nowNanos - tolerance;
+      if (wait > 0) {
+        return wait;
+      }
+      if (full.compareAndSet(current, next)) {
+        return 0;
+      }
+    }
+  }
+
+  /**
+   * Nanoseconds an unused bucket takes to fill up from empty; past that, a new bucket is
+   * indistinguishable from this one.
+   */
+  public long refillNanos() {
+    return tolerance;
+  }
+}
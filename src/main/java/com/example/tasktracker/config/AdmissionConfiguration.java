@@ -0,0 +1,71 @@
+package com.example.tasktracker.config;
+
+import com.example.tasktracker.admission.AdmissionControlFilter;
+import com.example.tasktracker.admission.AdmissionEndpoint;
+import com.example.tasktracker.admission.ConcurrencyLimiter;
+import com.example.tasktracker.admission.ResultSizeWeigher;
+import com.example.tasktracker.repository.TaskRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+
+/**
+ * Creates the {@link AdmissionControlFilter} from the endpoints configured under
+ * {@code task-tracker.admission.endpoints}. It runs before every other filter, so shed requests
+ * cost as little as possible.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(AdmissionProperties.class)
+@Profile("!reactive")
+@ConditionalOnProperty(name = "task-tracker.admission.enabled", havingValue = "true",
+    matchIfMissing = true)
+public class AdmissionConfiguration {
+  @Bean
+  public AdmissionControlFilter admissionControlFilter(AdmissionProperties properties,
+      TaskRepository repository) {
+    List<AdmissionEndpoint> endpoints = new ArrayList<>();
+    for (Map.Entry<String, AdmissionProperties.Endpoint> entry
+        : properties.endpoints().entrySet()) {
+      endpoints.add(endpoint(entry.getKey(), entry.getValue(), properties.maxClients(),
+          repository));
+    }
+    return new AdmissionControlFilter(endpoints, properties.clientHeader());
+  }
+
+  @Bean
+  public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilterRegistration(
+      AdmissionControlFilter filter) {
+    FilterRegistrationBean<AdmissionControlFilter> registration =
+        new FilterRegistrationBean<>(filter);
+    registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+    return registration;
+  }
+
+  private static AdmissionEndpoint endpoint(String name, AdmissionProperties.Endpoint settings,
+      int maxClients, TaskRepository repository) {
+    if (settings.path() == null) {
+      throw new IllegalStateException(
+          "task-tracker.admission.endpoints.%s.path is required".formatted(name));
+    }
+    int burst = settings.burst() > 0
+        ? settings.burst() : (int) Math.max(1, Math.ceil(settings.rate()));
+    ConcurrencyLimiter limiter = settings.concurrency() > 0
+        ? new ConcurrencyLimiter(settings.concurrency(), settings.queueSize(),
+            settings.queueTimeout())
+        : null;
+    ToIntFunction<HttpServletRequest> weigher = settings.tasksPerPermit() > 0
+        ? new ResultSizeWeigher(repository, settings.tasksPerPermit())
+        : request -> 1;
+    return new AdmissionEndpoint(name, settings.method(), settings.path(), settings.rate(),
+        burst, maxClients, limiter, weigher);
+  }
+}
@@ -0,0 +1,53 @@
+package com.example.tasktracker.config;
+
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of admission control.
+ *
+ * @param enabled whether requests are admitted through the configured endpoints at all
+ * @param clientHeader request header identifying the client, such as an API key; clients without
+ *     it are told apart by remote address
+ * @param maxClients clients per endpoint whose rate limit state is kept
+ * @param endpoints limits per endpoint, by a name used in metrics; the most specific endpoint
+ *     covering a request applies
+ */
+@ConfigurationProperties("task-tracker.admission")
+public record AdmissionProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("X-API-Key") String clientHeader,
+    @DefaultValue("100000") int maxClients,
+    Map<String, Endpoint> endpoints) {
+
+  public AdmissionProperties {
+    endpoints = endpoints == null ? Map.of() : Map.copyOf(endpoints);
+  }
+
+  /**
+   * Limits of one endpoint.
+   *
+   * @param method HTTP method covered; every method if not set
+   * @param path path pattern covered, such as {@code /api/tasks/**}
+   * @param rate requests per second each client may make; 0 for no rate limit
+   * @param burst requests a client may make at once after being idle; at least one second's
+   *     worth of {@code rate} if not set
+   * @param concurrency permits shared by all clients' requests in flight; 0 for no limit
+   * @param queueSize requests that may wait for permits; further ones are rejected at once
+   * @param queueTimeout longest wait for permits before a request is rejected
+   * @param tasksPerPermit if positive, task list requests take one permit plus one per this many
+   *     tasks they can return, instead of one permit each
+   */
+  public record Endpoint(
+      String method,
+      String path,
+      @DefaultValue("0") double rate,
+      @DefaultValue("0") int burst,
+      @DefaultValue("0") int concurrency,
+      @DefaultValue("0") int queueSize,
+      @DefaultValue("1s") Duration queueTimeout,
+      @DefaultValue("0") long tasksPerPermit) {
+  }
+}
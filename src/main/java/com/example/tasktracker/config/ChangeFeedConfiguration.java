@@ -0,0 +1,30 @@
+package com.example.tasktracker.config;
+
+import com.example.tasktracker.feed.TaskChangeFeed;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.service.TaskChangeService;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Creates the {@link TaskChangeFeed}, subscribed to every write of the repository, and the
+ * {@link TaskChangeService} reading it.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ChangeFeedProperties.class)
+public class ChangeFeedConfiguration {
+  @Bean(destroyMethod = "close")
+  public TaskChangeFeed taskChangeFeed(TaskRepository repository,
+      ChangeFeedProperties properties) {
+    TaskChangeFeed feed = new TaskChangeFeed(properties.capacity());
+    repository.addWriteListener(feed);
+    return feed;
+  }
+
+  @Bean
+  public TaskChangeService taskChangeService(TaskChangeFeed feed,
+      ChangeFeedProperties properties) {
+    return new TaskChangeService(feed, properties.heartbeatInterval());
+  }
+}
@@ -0,0 +1,17 @@
+package com.example.tasktracker.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the task change feed behind {@code GET /api/tasks/changes}.
+ *
+ * @param capacity number of changes kept for subscribers to catch up on
+ * @param heartbeatInterval idle time after which a comment is sent to keep streams open
+ */
+@ConfigurationProperties("task-tracker.change-feed")
+public record ChangeFeedProperties(
+    @DefaultValue("65536") int capacity,
+    @DefaultValue("15s") Duration heartbeatInterval) {
+}
@@ -0,0 +1,36 @@
+package com.example.tasktracker.config;
+
+import com.example.tasktracker.json.TaskJsonWriter;
+import com.example.tasktracker.json.TaskListHttpMessageConverter;
+import com.example.tasktracker.service.TaskListCoalescer;
+import com.example.tasktracker.service.TaskService;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Registers the {@link TaskListHttpMessageConverter}. Boot places message converter beans ahead
+ * of its defaults, so task lists skip the Jackson converter. The {@link TaskListCoalescer}
+ * shares its {@link TaskJsonWriter}.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ListCoalescingProperties.class)
+@Profile("!reactive")
+public class JsonConfiguration {
+  @Bean
+  public TaskJsonWriter taskJsonWriter() {
+    return new TaskJsonWriter();
+  }
+
+  @Bean
+  public TaskListHttpMessageConverter taskListHttpMessageConverter(TaskJsonWriter writer) {
+    return new TaskListHttpMessageConverter(writer);
+  }
+
+  @Bean
+  public TaskListCoalescer taskListCoalescer(TaskService taskService, TaskJsonWriter writer,
+      ListCoalescingProperties properties) {
+    return new TaskListCoalescer(taskService, writer, properties.maxTasks());
+  }
+}
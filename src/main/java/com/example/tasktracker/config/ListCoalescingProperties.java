@@ -0,0 +1,15 @@
+package com.example.tasktracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of single-flight execution of unpaged task lists.
+ *
+ * @param maxTasks largest number of tasks a list's status may hold for concurrent identical
+ *     lists to share one serialized body; larger lists are streamed to each caller, and -1 turns
+ *     coalescing off
+ */
+@ConfigurationProperties("task-tracker.list-coalescing")
+public record ListCoalescingProperties(@DefaultValue("50000") long maxTasks) {
+}
@@ -0,0 +1,182 @@
+package com.example.tasktracker.config;
+
+import com.example.tasktracker.admission.AdmissionControlFilter;
+import com.example.tasktracker.admission.AdmissionEndpoint;
+import com.example.tasktracker.admission.Rejection;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.overdue.OverdueTaskScheduler;
+import com.example.tasktracker.replication.ReplicationFollower;
+import com.example.tasktracker.repository.MeteredTaskRepository;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.search.TaskSearchIndex;
+import com.example.tasktracker.service.TaskJsonCache;
+import com.example.tasktracker.service.TaskListCoalescer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Locale;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Task metrics on top of Spring Boot's: every {@link TaskRepository} bean is wrapped in a
+ * {@link MeteredTaskRepository}, and the store size and per-status task counts are published as
+ * gauges that are only evaluated when scraped, as are the statistics of the
+ * {@link TaskJsonCache} and the {@link TaskListCoalescer}, the size of the
+ * {@link TaskSearchIndex}, the progress of the {@link OverdueTaskScheduler}, the decisions of the
+ * {@link AdmissionControlFilter} and, on a follower, the {@link ReplicationFollower}'s lag.
+ * Endpoint latency comes from Boot's {@code http.server.requests}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfiguration {
+  static final String STORE_SIZE = "tasktracker.store.size";
+  static final String TASKS = "tasktracker.tasks";
+  static final String JSON_CACHE = "tasktracker.json";
+  static final String SEARCH_INDEX_BYTES = "tasktracker.search.index.bytes";
+  static final String SEARCH_INDEX_TERMS = "tasktracker.search.index.terms";
+  static final String OVERDUE_SCHEDULED = "tasktracker.overdue.scheduled";
+  static final String OVERDUE_REPORTED = "tasktracker.overdue.reported";
+  static final String REPLICATION_LAG = "tasktracker.replication.lag";
+  static final String REPLICATION_APPLIED = "tasktracker.replication.applied";
+  static final String LIST_COMPUTED = "tasktracker.list.computed";
+  static final String LIST_COALESCED = "tasktracker.list.coalesced";
+  static final String ADMISSION_ADMITTED = "tasktracker.admission.admitted";
+  static final String ADMISSION_REJECTED = "tasktracker.admission.rejected";
+  static final String ADMISSION_IN_FLIGHT = "tasktracker.admission.in.flight";
+  static final String ADMISSION_QUEUED = "tasktracker.admission.queued";
+  static final String ADMISSION_CLIENTS = "tasktracker.admission.clients";
+
+  /**
+   * Static so it does not force this configuration, or the registry, to be created early.
+   */
+  @Bean
+  static BeanPostProcessor meteredTaskRepositoryPostProcessor(
+      ObjectProvider<MeterRegistry> registry) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof TaskRepository repository
+            && !(bean instanceof MeteredTaskRepository)) {
+          return new MeteredTaskRepository(repository, registry.getObject());
+        }
+        return bean;
+      }
+    };
+  }
+
+  @Bean
+  public MeterBinder taskStoreMetrics(TaskRepository repository) {
+    return registry -> {
+      Gauge.builder(STORE_SIZE, repository, TaskRepository::count)
+          .description("Number of stored tasks")
+          .register(registry);
+      for (TaskStatus status : TaskStatus.values()) {
+        Gauge.builder(TASKS, repository, tasks -> tasks.countByStatus(status))
+            .description("Number of stored tasks per status")
+            .tag("status", status.name())
+            .register(registry);
+      }
+    };
+  }
+
+  /**
+   * Hit, miss and eviction counts of the serialized task cache, as Micrometer's {@code cache.*}
+   * meters tagged {@code cache=}{@value #JSON_CACHE}.
+   */
+  @Bean
+  public MeterBinder taskJsonCacheMetrics(TaskJsonCache cache) {
+    return registry -> CaffeineCacheMetrics.monitor(registry, cache.cache(), JSON_CACHE);
+  }
+
+  /**
+   * Unpaged lists computed for their own request and lists shared with a concurrent one.
+   */
+  @Bean
+  public MeterBinder taskListCoalescerMetrics(ObjectProvider<TaskListCoalescer> coalescer) {
+    return registry -> coalescer.ifAvailable(lists -> {
+      FunctionCounter.builder(LIST_COMPUTED, lists, TaskListCoalescer::computedCount)
+          .description("Unpaged task lists queried and serialized for their own request")
+          .register(registry);
+      FunctionCounter.builder(LIST_COALESCED, lists, TaskListCoalescer::sharedCount)
+          .description("Unpaged task lists served from a concurrent identical request's body")
+          .register(registry);
+    });
+  }
+
+  /**
+   * Estimated heap footprint and dictionary size of the search index, to check it against its
+   * memory budget.
+   */
+  @Bean
+  public MeterBinder taskSearchIndexMetrics(TaskSearchIndex index) {
+    return registry -> {
+      Gauge.builder(SEARCH_INDEX_BYTES, index, TaskSearchIndex::estimatedBytes)
+          .description("Estimated heap bytes held by the search index")
+          .baseUnit("bytes")
+          .register(registry);
+      Gauge.builder(SEARCH_INDEX_TERMS, index, TaskSearchIndex::termCount)
+          .description("Number of distinct terms in the search index")
+          .register(registry);
+    };
+  }
+
+  @Bean
+  public MeterBinder overdueTaskSchedulerMetrics(OverdueTaskScheduler scheduler) {
+    return registry -> {
+      Gauge.builder(OVERDUE_SCHEDULED, scheduler, OverdueTaskScheduler::scheduledCount)
+          .description("Open tasks waiting for their due date to pass")
+          .register(registry);
+      FunctionCounter.builder(OVERDUE_REPORTED, scheduler, OverdueTaskScheduler::reportedCount)
+          .description("Tasks reported overdue")
+          .register(registry);
+    };
+  }
+
+  @Bean
+  public MeterBinder replicationFollowerMetrics(ObjectProvider<ReplicationFollower> follower) {
+    return registry -> follower.ifAvailable(replica -> {
+      Gauge.builder(REPLICATION_LAG, replica, ReplicationFollower::lag)
+          .description("Leader changes not yet applied by this follower; -1 before the first sync")
+          .register(registry);
+      Gauge.builder(REPLICATION_APPLIED, replica, ReplicationFollower::appliedSequence)
+          .description("Last leader change sequence applied by this follower")
+          .register(registry);
+    });
+  }
+
+  @Bean
+  public MeterBinder admissionMetrics(ObjectProvider<AdmissionControlFilter> filter) {
+    return registry -> filter.ifAvailable(admission -> {
+      for (AdmissionEndpoint endpoint : admission.endpoints()) {
+        FunctionCounter.builder(ADMISSION_ADMITTED, endpoint, AdmissionEndpoint::admittedCount)
+            .description("Requests admitted by admission control")
+            .tag("endpoint", endpoint.name())
+            .register(registry);
+        for (Rejection rejection : Rejection.values()) {
+          FunctionCounter.builder(ADMISSION_REJECTED, endpoint,
+                  e -> e.rejectedCount(rejection))
+              .description("Requests rejected with 429 by admission control")
+              .tag("endpoint", endpoint.name())
+              .tag("reason", rejection.name().toLowerCase(Locale.ROOT))
+              .register(registry);
+        }
+        Gauge.builder(ADMISSION_IN_FLIGHT, endpoint, AdmissionEndpoint::inFlight)
+            .description("Concurrency permits held by admitted requests")
+            .tag("endpoint", endpoint.name())
+            .register(registry);
+        Gauge.builder(ADMISSION_QUEUED, endpoint, AdmissionEndpoint::queued)
+            .description("Requests waiting for concurrency permits")
+            .tag("endpoint", endpoint.name())
+            .register(registry);
+        Gauge.builder(ADMISSION_CLIENTS, endpoint, AdmissionEndpoint::clients)
+            .description("Clients with rate limit state")
+            .tag("endpoint", endpoint.name())
+            .register(registry);
+      }
+    });
+  }
+}
@@ -0,0 +1,46 @@
+package com.example.tasktracker.config;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.overdue.OverdueTaskLog;
+import com.example.tasktracker.overdue.OverdueTaskScheduler;
+import com.example.tasktracker.overdue.TasksOverdueEvent;
+import com.example.tasktracker.repository.TaskRepository;
+import java.time.Clock;
+import java.time.ZoneId;
+import java.util.stream.Stream;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Creates the {@link OverdueTaskScheduler}, subscribed to every write of the repository and then
+ * filled with the open tasks it already holds. It publishes {@link TasksOverdueEvent}s as
+ * application events, which any bean can handle with an {@code @EventListener} method;
+ * {@link OverdueTaskLog} logs them.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(OverdueProperties.class)
+public class OverdueConfiguration {
+  @Bean(destroyMethod = "close")
+  public OverdueTaskScheduler overdueTaskScheduler(TaskRepository repository,
+      OverdueProperties properties, ApplicationEventPublisher events) {
+    Clock clock = Clock.system(properties.zone() == null
+        ? ZoneId.systemDefault() : properties.zone());
+    OverdueTaskScheduler scheduler = new OverdueTaskScheduler(clock, properties.batchSize(),
+        events::publishEvent);
+    repository.addWriteListener(scheduler);
+    try (Stream<Task> tasks = repository.streamAll()) {
+      scheduler.addAll(tasks);
+    }
+    if (properties.checkInterval().isPositive()) {
+      scheduler.start(properties.checkInterval());
+    }
+    return scheduler;
+  }
+
+  @Bean
+  public OverdueTaskLog overdueTaskLog() {
+    return new OverdueTaskLog();
+  }
+}
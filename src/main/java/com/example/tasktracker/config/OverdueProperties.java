@@ -0,0 +1,21 @@
+package com.example.tasktracker.config;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the overdue task scheduler.
+ *
+ * @param checkInterval time between checks for tasks whose due date has passed; zero or negative
+ *     disables the background checks
+ * @param batchSize largest number of tasks per {@code TasksOverdueEvent}
+ * @param zone time zone whose midnight ends a due date, the system default if not set
+ */
+@ConfigurationProperties("task-tracker.overdue")
+public record OverdueProperties(
+    @DefaultValue("1m") Duration checkInterval,
+    @DefaultValue("1000") int batchSize,
+    ZoneId zone) {
+}
@@ -0,0 +1,26 @@
+package com.example.tasktracker.config;
+
+import com.example.tasktracker.repository.ReactiveTaskRepository;
+import com.example.tasktracker.repository.TaskRepository;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Beans of the {@code reactive} profile. Tomcat stays on the classpath for the default MVC
+ * stack and Boot would prefer it for WebFlux too, so Netty is selected explicitly.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("reactive")
+public class ReactiveConfiguration {
+  @Bean
+  public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+    return new NettyReactiveWebServerFactory();
+  }
+
+  @Bean
+  public ReactiveTaskRepository reactiveTaskRepository(TaskRepository repository) {
+    return new ReactiveTaskRepository(repository);
+  }
+}
@@ -0,0 +1,53 @@
+package com.example.tasktracker.config;
+
+import com.example.tasktracker.feed.TaskChangeFeed;
+import com.example.tasktracker.replication.FollowerRequestFilter;
+import com.example.tasktracker.replication.LeaderSequenceFilter;
+import com.example.tasktracker.replication.ReplicationFollower;
+import com.example.tasktracker.repository.TaskRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Replication beans for {@code task-tracker.replication.role}. A leader adds its change feed's
+ * sequence to write responses; its snapshot and log endpoints come from the
+ * {@code ReplicationController}. A follower starts a {@link ReplicationFollower} and redirects
+ * writes to the leader.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ReplicationProperties.class)
+@Profile("!reactive")
+public class ReplicationConfiguration {
+  static final String ROLE_PROPERTY = "task-tracker.replication.role";
+
+  @Bean
+  @ConditionalOnProperty(name = ROLE_PROPERTY, havingValue = "leader")
+  public LeaderSequenceFilter leaderSequenceFilter(TaskChangeFeed feed) {
+    return new LeaderSequenceFilter(feed);
+  }
+
+  @Bean(destroyMethod = "close")
+  @ConditionalOnProperty(name = ROLE_PROPERTY, havingValue = "follower")
+  public ReplicationFollower replicationFollower(TaskRepository repository,
+      ReplicationProperties properties) {
+    if (properties.leaderUrl() == null) {
+      throw new IllegalStateException(
+          "task-tracker.replication.leader-url is required for a follower");
+    }
+    ReplicationFollower follower = new ReplicationFollower(repository, properties.leaderUrl(),
+        properties.batchSize(), properties.pollTimeout(), properties.retryDelay());
+    follower.start();
+    return follower;
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = ROLE_PROPERTY, havingValue = "follower")
+  public FollowerRequestFilter followerRequestFilter(ReplicationFollower follower,
+      ReplicationProperties properties) {
+    return new FollowerRequestFilter(follower, properties.leaderUrl(),
+        properties.readYourWritesTimeout());
+  }
+}
@@ -0,0 +1,29 @@
+package com.example.tasktracker.config;
+
+import com.example.tasktracker.replication.ReplicationRole;
+import java.net.URI;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of leader-follower replication.
+ *
+ * @param role {@code none} (default), {@code leader} or {@code follower}
+ * @param leaderUrl base URL of the leader, such as {@code http://leader:8080}; required for
+ *     followers
+ * @param batchSize most changes a follower fetches per request
+ * @param pollTimeout how long a follower's log request waits on the leader for a change
+ * @param retryDelay pause before a follower retries after failing to reach the leader
+ * @param readYourWritesTimeout how long a follower holds a read back for the sequence it asks
+ *     for before answering 503
+ */
+@ConfigurationProperties("task-tracker.replication")
+public record ReplicationProperties(
+    @DefaultValue("none") ReplicationRole role,
+    URI leaderUrl,
+    @DefaultValue("1024") int batchSize,
+    @DefaultValue("10s") Duration pollTimeout,
+    @DefaultValue("1s") Duration retryDelay,
+    @DefaultValue("5s") Duration readYourWritesTimeout) {
+}
@@ -0,0 +1,56 @@
+package com.example.tasktracker.config;
+
+import com.example.tasktracker.repository.InMemoryTaskRepository;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.repository.columnar.ColumnarTaskRepository;
+import com.example.tasktracker.repository.sharded.ShardedTaskRepository;
+import com.example.tasktracker.repository.wal.WalTaskRepository;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects the {@code TaskRepository} implementation with {@code task-tracker.repository.type}:
+ * {@code memory} (default), {@code columnar}, {@code sharded} or {@code wal}.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties({WalProperties.class, ShardedProperties.class})
+public class RepositoryConfiguration {
+  static final String TYPE_PROPERTY = "task-tracker.repository.type";
+
+  @Bean
+  @ConditionalOnProperty(name = TYPE_PROPERTY, havingValue = "memory", matchIfMissing = true)
+  public InMemoryTaskRepository inMemoryTaskRepository() {
+    return new InMemoryTaskRepository();
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = TYPE_PROPERTY, havingValue = "columnar")
+  public ColumnarTaskRepository columnarTaskRepository() {
+    return new ColumnarTaskRepository();
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = TYPE_PROPERTY, havingValue = "sharded")
+  public ShardedTaskRepository shardedTaskRepository(ShardedProperties properties) {
+    List<TaskRepository> shards = new ArrayList<>(properties.shards());
+    for (int i = 0; i < properties.shards(); i++) {
+      shards.add(switch (properties.shardType()) {
+        case MEMORY -> new InMemoryTaskRepository();
+        case COLUMNAR -> new ColumnarTaskRepository();
+      });
+    }
+    return new ShardedTaskRepository(shards);
+  }
+
+  @Bean(destroyMethod = "close")
+  @ConditionalOnProperty(name = TYPE_PROPERTY, havingValue = "wal")
+  public WalTaskRepository walTaskRepository(WalProperties properties) throws IOException {
+    return new WalTaskRepository(properties.directory(), properties.durability(),
+        properties.syncInterval(), properties.snapshotInterval());
+  }
+}
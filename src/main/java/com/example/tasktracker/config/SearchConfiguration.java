@@ -0,0 +1,35 @@
+package com.example.tasktracker.config;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.search.TaskSearchIndex;
+import com.example.tasktracker.service.TaskSearchService;
+import java.util.stream.Stream;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Creates the {@link TaskSearchIndex}, subscribed to every write of the repository and then
+ * filled with the tasks it already holds, and the {@link TaskSearchService} querying it.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(SearchProperties.class)
+public class SearchConfiguration {
+  @Bean
+  public TaskSearchIndex taskSearchIndex(TaskRepository repository,
+      SearchProperties properties) {
+    TaskSearchIndex index = new TaskSearchIndex(properties.maxPrefixExpansions());
+    repository.addWriteListener(index);
+    try (Stream<Task> tasks = repository.streamAll()) {
+      index.indexAll(tasks);
+    }
+    return index;
+  }
+
+  @Bean
+  public TaskSearchService taskSearchService(TaskSearchIndex index, TaskRepository repository,
+      SearchProperties properties) {
+    return new TaskSearchService(index, repository, properties.maxResults());
+  }
+}
@@ -0,0 +1,17 @@
+package com.example.tasktracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the full-text search behind {@code GET /api/tasks/search}.
+ *
+ * @param maxResults largest {@code limit} a search may ask for
+ * @param maxPrefixExpansions number of indexed terms a prefix term such as {@code rep*} matches
+ *     at most, the first ones in alphabetical order
+ */
+@ConfigurationProperties("task-tracker.search")
+public record SearchProperties(
+    @DefaultValue("100") int maxResults,
+    @DefaultValue("128") int maxPrefixExpansions) {
+}
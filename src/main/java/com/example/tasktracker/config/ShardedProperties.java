@@ -0,0 +1,25 @@
+package com.example.tasktracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the sharded repository ({@code task-tracker.repository.type=sharded}).
+ *
+ * @param shards number of shards; tasks are assigned to them by id, so it must not change while
+ *     the data lives
+ * @param shardType store backing each shard
+ */
+@ConfigurationProperties("task-tracker.repository.sharded")
+public record ShardedProperties(
+    @DefaultValue("16") int shards,
+    @DefaultValue("MEMORY") ShardType shardType) {
+
+  /**
+   * Store backing each shard.
+   */
+  public enum ShardType {
+    MEMORY,
+    COLUMNAR
+  }
+}
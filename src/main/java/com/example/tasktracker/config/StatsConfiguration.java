@@ -0,0 +1,34 @@
+package com.example.tasktracker.config;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.service.TaskStatsService;
+import com.example.tasktracker.stats.TaskStatistics;
+import java.time.Clock;
+import java.util.stream.Stream;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Creates the {@link TaskStatistics}, subscribed to every write of the repository and then
+ * filled with the tasks it already holds, and the {@link TaskStatsService} reporting them. Days
+ * end at midnight in the system zone, when the running overdue counter moves on.
+ */
+@Configuration(proxyBeanMethods = false)
+public class StatsConfiguration {
+  @Bean(destroyMethod = "close")
+  public TaskStatistics taskStatistics(TaskRepository repository) {
+    TaskStatistics statistics = new TaskStatistics(Clock.systemDefaultZone());
+    repository.addWriteListener(statistics);
+    try (Stream<Task> tasks = repository.streamAll()) {
+      statistics.addAll(tasks);
+    }
+    statistics.start();
+    return statistics;
+  }
+
+  @Bean
+  public TaskStatsService taskStatsService(TaskStatistics statistics) {
+    return new TaskStatsService(statistics);
+  }
+}
@@ -0,0 +1,22 @@
+package com.example.tasktracker.config;
+
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.service.TaskJsonCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Creates the {@link TaskJsonCache}, serializing with the application's {@link ObjectMapper} so
+ * cached bodies are byte for byte what the message converters would write.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(TaskJsonCacheProperties.class)
+public class TaskJsonCacheConfiguration {
+  @Bean
+  public TaskJsonCache taskJsonCache(TaskRepository repository, ObjectMapper objectMapper,
+      TaskJsonCacheProperties properties) {
+    return new TaskJsonCache(repository, objectMapper, properties.maximumSize());
+  }
+}
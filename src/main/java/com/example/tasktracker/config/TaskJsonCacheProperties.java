@@ -0,0 +1,11 @@
+package com.example.tasktracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the serialized task cache behind {@code GET /api/tasks/{id}}.
+ */
+@ConfigurationProperties("task-tracker.json-cache")
+public record TaskJsonCacheProperties(@DefaultValue("100000") long maximumSize) {
+}
@@ -0,0 +1,31 @@
+package com.example.tasktracker.config;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.service.TaskTreeService;
+import com.example.tasktracker.tree.TaskTree;
+import java.util.stream.Stream;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Creates the {@link TaskTree}, subscribed to every write of the repository and then filled with
+ * the tasks it already holds, and the {@link TaskTreeService} reading hierarchies through it.
+ */
+@Configuration(proxyBeanMethods = false)
+public class TreeConfiguration {
+  @Bean
+  public TaskTree taskTree(TaskRepository repository) {
+    TaskTree tree = new TaskTree();
+    repository.addWriteListener(tree);
+    try (Stream<Task> tasks = repository.streamAll()) {
+      tree.addAll(tasks);
+    }
+    return tree;
+  }
+
+  @Bean
+  public TaskTreeService taskTreeService(TaskRepository repository, TaskTree tree) {
+    return new TaskTreeService(repository, tree);
+  }
+}
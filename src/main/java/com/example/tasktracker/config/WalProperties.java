@@ -0,0 +1,18 @@
+package com.example.tasktracker.config;
+
+import com.example.tasktracker.repository.wal.DurabilityMode;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the write-ahead-log repository ({@code task-tracker.repository.type=wal}).
+ */
+@ConfigurationProperties("task-tracker.repository.wal")
+public record WalProperties(
+    @DefaultValue("data/wal") Path directory,
+    @DefaultValue("SYNC") DurabilityMode durability,
+    @DefaultValue("10ms") Duration syncInterval,
+    @DefaultValue("5m") Duration snapshotInterval) {
+}
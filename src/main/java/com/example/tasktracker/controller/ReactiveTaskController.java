@@ -0,0 +1,120 @@
+package com.example.tasktracker.controller;
+
+import com.example.tasktracker.dto.TaskRequest;
+import com.example.tasktracker.dto.TaskResponse;
+import com.example.tasktracker.dto.UpdateStatusRequest;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.service.ReactiveTaskService;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import jakarta.validation.Valid;
+import java.time.LocalDate;
+import java.util.UUID;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux variant of {@link TaskController}, active with the {@code reactive} profile. Same
+ * paths, parameters and headers; bulk endpoints are only served by the MVC controller.
+ *
+ * <p>Unpaged lists and the export are written as the store is read, with backpressure: a slow
+ * client slows down the reads instead of making the server buffer the result. JSON lists are
+ * streamed as one array; ask for {@value TaskController#NDJSON_VALUE} to get one task per line.
+ */
+@RestController
+@RequestMapping("/api/tasks")
+@Profile("reactive")
+public class ReactiveTaskController {
+  private final ReactiveTaskService taskService;
+
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public ReactiveTaskController(ReactiveTaskService taskService) {
+    this.taskService = taskService;
+  }
+
+  @PostMapping
+  @ResponseStatus(HttpStatus.CREATED)
+  public Mono<TaskResponse> createTask(@Valid @RequestBody TaskRequest request) {
+    return taskService.createTask(request);
+  }
+
+  /**
+   * Lists tasks. When {@code limit} or {@code cursor} is given one page is returned, with the
+   * cursor of the next page in the {@value TaskController#NEXT_CURSOR_HEADER} header. Entity tags
+   * and 304 responses work as in {@link TaskController#getTasks}.
+   */
+  @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, TaskController.NDJSON_VALUE})
+  public Mono<ResponseEntity<Flux<TaskResponse>>> getTasks(
+      @RequestParam(value = "status", required = false) TaskStatus status,
+      @RequestParam(value = "dueBefore", required = false)
+      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueBefore,
+      @RequestParam(value = "limit", required = false) Integer limit,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      ServerWebExchange exchange) {
+    String tag = TaskController.listEntityTag(taskService.modificationCount(status));
+    if (exchange.checkNotModified(tag)) {
+      return Mono.empty();
+    }
+    if (limit == null && cursor == null) {
+      return Mono.just(ResponseEntity.ok(taskService.getTasks(status, dueBefore)));
+    }
+    return taskService.getTaskPage(status, dueBefore, cursor, limit).map(page -> {
+      ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+      if (page.nextCursor() != null) {
+        response.header(TaskController.NEXT_CURSOR_HEADER, page.nextCursor());
+      }
+      return response.body(Flux.fromIterable(page.items()));
+    });
+  }
+
+  @GetMapping(value = "/export", produces = TaskController.NDJSON_VALUE)
+  public Flux<TaskResponse> exportTasks() {
+    return taskService.getTasks(null, null);
+  }
+
+  @GetMapping("/{id}")
+  public Mono<ResponseEntity<TaskResponse>> getTask(@PathVariable("id") UUID id) {
+    return taskService.getTask(id).map(ReactiveTaskController::withEntityTag);
+  }
+
+  /**
+   * Changes the status of a task, conditionally on {@code If-Match} as in
+   * {@link TaskController#updateStatus}.
+   */
+  @PostMapping("/{id}/status")
+  public Mono<ResponseEntity<TaskResponse>> updateStatus(
+      @PathVariable("id") UUID id,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+      @Valid @RequestBody UpdateStatusRequest request) {
+    Mono<TaskResponse> updated = ifMatch == null
+        ? taskService.updateStatus(id, request.status())
+        : taskService.updateStatus(id, request.status(), TaskController.expectedVersion(ifMatch));
+    return updated.map(ReactiveTaskController::withEntityTag);
+  }
+
+  @DeleteMapping("/{id}")
+  public Mono<ResponseEntity<Void>> deleteTask(@PathVariable("id") UUID id) {
+    return taskService.deleteTask(id)
+        .then(Mono.fromSupplier(() -> ResponseEntity.noContent().build()));
+  }
+
+  private static ResponseEntity<TaskResponse> withEntityTag(TaskResponse task) {
+    return ResponseEntity.ok().eTag(TaskController.entityTag(task.version())).body(task);
+  }
+}
@@ -0,0 +1,118 @@
+package com.example.tasktracker.controller;
+
+import com.example.tasktracker.feed.ResyncRequiredException;
+import com.example.tasktracker.feed.TaskChange;
+import com.example.tasktracker.feed.TaskChangeFeed;
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.replication.ReplicationCodec;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.service.InvalidTaskQueryException;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Leader side of replication: the snapshot followers start from and the change log they
+ * follow, both read from the {@link TaskChangeFeed} and encoded as {@link ReplicationCodec}
+ * describes. Only present on a node with {@code task-tracker.replication.role=leader}.
+ *
+ * <p>The snapshot streams the store, which is not frozen while it is read: a write whose
+ * listeners have run but that is not visible yet can be missed by it. Its
+ * {@value ReplicationCodec#SEQUENCE_HEADER} therefore points up to {@value #REPLAY_MARGIN}
+ * changes, and at most a quarter of the feed, before the sequence it was taken at.
+ *
+ * <p>The log is long-polled: with nothing to return, a request waits up to {@code waitMillis}
+ * for the next change. A follower asking for changes the feed no longer holds gets 410 and
+ * must load the snapshot again.
+ */
+@RestController
+@RequestMapping("/api/replication")
+@Profile("!reactive")
+@ConditionalOnProperty(name = "task-tracker.replication.role", havingValue = "leader")
+public class ReplicationController {
+  static final int MAX_BATCH_SIZE = 4096;
+  static final long MAX_WAIT_MILLIS = 60_000;
+  static final long REPLAY_MARGIN = 4096;
+
+  private final TaskRepository repository;
+  private final TaskChangeFeed feed;
+
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public ReplicationController(TaskRepository repository, TaskChangeFeed feed) {
+    this.repository = repository;
+    this.feed = feed;
+  }
+
+  @GetMapping(value = "/snapshot", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+  public ResponseEntity<StreamingResponseBody> snapshot() {
+    long margin = Math.min(REPLAY_MARGIN, feed.capacity() / 4);
+    long replayAfter = Math.max(feed.oldestSequence(), feed.latestSequence() - margin);
+    StreamingResponseBody body = output -> {
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(output, 1 << 16));
+      try (Stream<Task> tasks = repository.streamAll()) {
+        Iterator<Task> iterator = tasks.iterator();
+        while (iterator.hasNext()) {
+          ReplicationCodec.writeTask(iterator.next(), out);
+        }
+      }
+      ReplicationCodec.writeSnapshotEnd(out);
+      out.flush();
+    };
+    return ResponseEntity.ok()
+        .header(ReplicationCodec.SEQUENCE_HEADER, Long.toString(replayAfter))
+        .body(body);
+  }
+
+  /**
+   * Returns up to {@code max} changes following {@code after}, with the feed's latest sequence
+   * in {@value ReplicationCodec#SEQUENCE_HEADER}.
+   *
+   * @throws ResyncRequiredException if the changes following {@code after} are gone
+   */
+  @GetMapping(value = "/log", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+  public ResponseEntity<byte[]> log(
+      @RequestParam("after") long after,
+      @RequestParam(value = "max", defaultValue = "1024") int max,
+      @RequestParam(value = "waitMillis", defaultValue = "0") long waitMillis)
+      throws IOException, InterruptedException {
+    if (max < 1 || max > MAX_BATCH_SIZE) {
+      throw new InvalidTaskQueryException(
+          "max must be between 1 and %d".formatted(MAX_BATCH_SIZE));
+    }
+    if (waitMillis < 0 || waitMillis > MAX_WAIT_MILLIS) {
+      throw new InvalidTaskQueryException(
+          "waitMillis must be between 0 and %d".formatted(MAX_WAIT_MILLIS));
+    }
+    List<TaskChange> changes = new ArrayList<>();
+    feed.read(after, max, changes::add);
+    if (changes.isEmpty() && waitMillis > 0
+        && feed.awaitAfter(after, Duration.ofMillis(waitMillis))) {
+      feed.read(after, max, changes::add);
+    }
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeInt(changes.size());
+    for (TaskChange change : changes) {
+      ReplicationCodec.writeChange(change, out);
+    }
+    return ResponseEntity.ok()
+        .header(ReplicationCodec.SEQUENCE_HEADER, Long.toString(feed.latestSequence()))
+        .body(bytes.toByteArray());
+  }
+}
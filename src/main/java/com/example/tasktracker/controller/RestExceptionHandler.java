@@ -1,18 +1,37 @@
 package com.example.tasktracker.controller;
 
+import com.example.tasktracker.feed.ResyncRequiredException;
+import com.example.tasktracker.repository.TaskVersionConflictException;
+import com.example.tasktracker.service.InvalidTaskQueryException;
 import com.example.tasktracker.service.TaskServiceException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Instant;
 import java.util.Map;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 @RestControllerAdvice
 public class RestExceptionHandler {
+  static final String SERVICE_ERRORS = "tasktracker.service.errors";
+
+  private final Counter taskNotFound;
+
+  public RestExceptionHandler(MeterRegistry registry) {
+    this.taskNotFound = Counter.builder(SERVICE_ERRORS)
+        .description("Task service exceptions turned into error responses")
+        .tag("exception", TaskServiceException.class.getSimpleName())
+        .register(registry);
+  }
+
   @ExceptionHandler(TaskServiceException.class)
   public ResponseEntity<Map<String, Object>> handleTaskNotFound(TaskServiceException ex) {
+    taskNotFound.increment();
     Map<String, Object> body = Map.of(
         "timestamp", Instant.now().toString(),
         "message", ex.getMessage(),
@@ -20,9 +39,49 @@ public class RestExceptionHandler {
     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
   }
 
+  @ExceptionHandler(InvalidTaskQueryException.class)
+  public ResponseEntity<Map<String, Object>> handleInvalidQuery(InvalidTaskQueryException ex) {
+    Map<String, Object> body = Map.of(
+        "timestamp", Instant.now().toString(),
+        "message", ex.getMessage(),
+        "status", HttpStatus.BAD_REQUEST.value());
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+  }
+
+  @ExceptionHandler(TaskVersionConflictException.class)
+  public ResponseEntity<Map<String, Object>> handleVersionConflict(
+      TaskVersionConflictException ex) {
+    Map<String, Object> body = Map.of(
+        "timestamp", Instant.now().toString(),
+        "message", ex.getMessage(),
+        "status", HttpStatus.PRECONDITION_FAILED.value());
+    return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+        .eTag(TaskController.entityTag(ex.getCurrentVersion()))
+        .body(body);
+  }
+
+  @ExceptionHandler(ResyncRequiredException.class)
+  public ResponseEntity<Map<String, Object>> handleResyncRequired(ResyncRequiredException ex) {
+    Map<String, Object> body = Map.of(
+        "timestamp", Instant.now().toString(),
+        "message", ex.getMessage(),
+        "latestSequence", ex.getLatestSequence(),
+        "status", HttpStatus.GONE.value());
+    return ResponseEntity.status(HttpStatus.GONE).body(body);
+  }
+
   @ExceptionHandler(MethodArgumentNotValidException.class)
   public ResponseEntity<Map<String, Object>> handleValidation(MethodArgumentNotValidException ex) {
-    String message = ex.getBindingResult().getFieldErrors().stream()
+    return validationFailed(ex.getBindingResult());
+  }
+
+  @ExceptionHandler(WebExchangeBindException.class)
+  public ResponseEntity<Map<String, Object>> handleReactiveValidation(WebExchangeBindException ex) {
+    return validationFailed(ex.getBindingResult());
+  }
+
+  private static ResponseEntity<Map<String, Object>> validationFailed(BindingResult result) {
+    String message = result.getFieldErrors().stream()
         .map(error -> "%s %s".formatted(error.getField(), error.getDefaultMessage()))
         .findFirst()
         .orElse("Validation failed");
@@ -0,0 +1,96 @@
+package com.example.tasktracker.controller;
+
+import com.example.tasktracker.dto.TaskChangeEvent;
+import com.example.tasktracker.feed.ResyncRequiredException;
+import com.example.tasktracker.service.TaskChangeService;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-Sent Events stream of task changes, so clients can follow writes instead of polling
+ * the task list.
+ *
+ * <p>Every change is sent as an event whose id is its sequence. A subscription starts after
+ * the {@code Last-Event-ID} header, which browsers send when they reconnect, or after the
+ * {@code after} parameter, or else with the next change. A subscriber that asks for changes no
+ * longer in the feed, typically because it fell too far behind, gets one {@value #RESYNC_EVENT}
+ * event holding the latest sequence and the stream ends: it should reload the tasks it follows
+ * and subscribe again after that sequence.
+ *
+ * <p>Each subscription is served by its own virtual thread, which blocks on the client's socket
+ * without holding up writers or other subscribers.
+ */
+@RestController
+@RequestMapping("/api/tasks/changes")
+@Profile("!reactive")
+public class TaskChangeController {
+  static final String RESYNC_EVENT = "resync";
+  private static final int BATCH_SIZE = 256;
+
+  private final TaskChangeService changes;
+
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public TaskChangeController(TaskChangeService changes) {
+    this.changes = changes;
+  }
+
+  @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter subscribe(
+      @RequestParam(value = "after", required = false) Long after,
+      @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+    long start = lastEventId != null ? lastEventId
+        : after != null ? after
+        : changes.latestSequence();
+    SseEmitter emitter = new SseEmitter();
+    Thread stream = Thread.ofVirtual().name("task-change-stream")
+        .unstarted(() -> stream(emitter, start));
+    emitter.onCompletion(stream::interrupt);
+    emitter.onError(error -> stream.interrupt());
+    stream.start();
+    return emitter;
+  }
+
+  private void stream(SseEmitter emitter, long after) {
+    List<TaskChangeEvent> batch = new ArrayList<>(BATCH_SIZE);
+    long sequence = after;
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        batch.clear();
+        sequence = changes.read(sequence, BATCH_SIZE, batch::add);
+        for (TaskChangeEvent event : batch) {
+          emitter.send(SseEmitter.event()
+              .id(Long.toString(event.sequence()))
+              .data(event, MediaType.APPLICATION_JSON));
+        }
+        if (batch.isEmpty() && !changes.awaitAfter(sequence)) {
+          emitter.send(SseEmitter.event().comment("heartbeat"));
+        }
+      }
+    } catch (ResyncRequiredException ex) {
+      try {
+        emitter.send(SseEmitter.event()
+            .name(RESYNC_EVENT)
+            .data(Map.of("latestSequence", ex.getLatestSequence()), MediaType.APPLICATION_JSON));
+        emitter.complete();
+      } catch (IOException | IllegalStateException closed) {
+        // The client is gone; nothing left to tell it.
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    } catch (IOException | IllegalStateException ex) {
+      // The client disconnected, the response completed or the feed was closed on shutdown.
+      emitter.complete();
+    }
+  }
+}
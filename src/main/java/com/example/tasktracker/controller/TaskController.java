@@ -1,36 +1,81 @@
 package com.example.tasktracker.controller;
 
+import com.example.tasktracker.dto.BulkItemResult;
+import com.example.tasktracker.dto.BulkStatusUpdate;
+import com.example.tasktracker.dto.TaskPage;
 import com.example.tasktracker.dto.TaskRequest;
 import com.example.tasktracker.dto.TaskResponse;
 import com.example.tasktracker.dto.UpdateStatusRequest;
+import com.example.tasktracker.json.TaskList;
 import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.service.InvalidTaskQueryException;
+import com.example.tasktracker.service.TaskJsonCache;
+import com.example.tasktracker.service.TaskJsonCache.TaskJson;
+import com.example.tasktracker.service.TaskListCoalescer;
 import com.example.tasktracker.service.TaskService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.springframework.context.annotation.Profile;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/tasks")
+@Profile("!reactive")
 public class TaskController {
+  static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+  static final String NDJSON_VALUE = "application/x-ndjson";
+  static final int MAX_BULK_SIZE = 50_000;
+  private static final long NO_VERSION = Long.MIN_VALUE;
+  private static final String LIST_TAG_EPOCH = Long.toString(System.currentTimeMillis(), 36);
+
   private final TaskService taskService;
+  private final TaskJsonCache taskJsonCache;
+  private final TaskListCoalescer taskListCoalescer;
+  private final ObjectMapper objectMapper;
+  private final ObjectWriter exportWriter;
+  private final Validator validator;
 
   @SuppressFBWarnings("EI_EXPOSE_REP2")
-  public TaskController(TaskService taskService) {
+  public TaskController(TaskService taskService, TaskJsonCache taskJsonCache,
+      TaskListCoalescer taskListCoalescer, ObjectMapper objectMapper, Validator validator) {
     this.taskService = taskService;
+    this.taskJsonCache = taskJsonCache;
+    this.taskListCoalescer = taskListCoalescer;
+    this.objectMapper = objectMapper;
+    this.validator = validator;
+    this.exportWriter = objectMapper.writerFor(TaskResponse.class)
+        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
   }
 
   @PostMapping
@@ -39,23 +84,128 @@ public class TaskController {
     return taskService.createTask(request);
   }
 
+  /**
+   * Creates many tasks in one call. Every item is validated on its own, including that its
+   * parent exists; invalid items are reported in the result and do not prevent the others from
+   * being created.
+   */
+  @PostMapping("/bulk")
+  public List<BulkItemResult> createTasks(@RequestBody List<TaskRequest> requests) {
+    return processBulk(requests, this::parentError, valid -> {
+      List<TaskResponse> created = taskService.createTasks(valid);
+      List<BulkItemResult> results = new ArrayList<>(created.size());
+      for (int i = 0; i < created.size(); i++) {
+        results.add(BulkItemResult.success(i, HttpStatus.CREATED.value(), created.get(i)));
+      }
+      return results;
+    });
+  }
+
+  @PostMapping("/bulk/status")
+  public List<BulkItemResult> updateStatuses(@RequestBody List<BulkStatusUpdate> updates) {
+    return processBulk(updates, taskService::updateStatuses);
+  }
+
+  @PostMapping("/bulk/delete")
+  public List<BulkItemResult> deleteTasks(@RequestBody List<UUID> ids) {
+    return processBulk(ids, valid -> {
+      taskService.deleteTasks(valid);
+      List<BulkItemResult> results = new ArrayList<>(valid.size());
+      for (int i = 0; i < valid.size(); i++) {
+        results.add(new BulkItemResult(i, HttpStatus.NO_CONTENT.value(), valid.get(i), null, null));
+      }
+      return results;
+    });
+  }
+
+  /**
+   * Lists tasks. When {@code limit} or {@code cursor} is given the result is paged and the
+   * cursor of the next page, if any, is returned in the {@value #NEXT_CURSOR_HEADER} header.
+   *
+   * <p>The entity tag is the repository's modification count for the queried status, read
+   * before the query. A poll whose {@code If-None-Match} still matches gets 304 without the
+   * query running.
+   *
+   * <p>Unpaged lists are run through the {@link TaskListCoalescer}, so identical lists asked
+   * for at the same time share one query and one body. Lists too large for it can hold the whole
+   * store and are written by the
+   * {@link com.example.tasktracker.json.TaskListHttpMessageConverter} straight from the tasks;
+   * pages hold at most {@value TaskService#MAX_PAGE_SIZE} tasks and go through Jackson.
+   */
   @GetMapping
-  public List<TaskResponse> getTasks(
+  public ResponseEntity<?> getTasks(
       @RequestParam(value = "status", required = false) TaskStatus status,
       @RequestParam(value = "dueBefore", required = false)
-      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueBefore) {
-    return taskService.getTasks(status, dueBefore);
+      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueBefore,
+      @RequestParam(value = "limit", required = false) Integer limit,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      WebRequest webRequest) {
+    long modificationCount = taskService.modificationCount(status);
+    if (webRequest.checkNotModified(listEntityTag(modificationCount))) {
+      return null;
+    }
+    if (limit == null && cursor == null) {
+      Optional<byte[]> json =
+          taskListCoalescer.findTasksJson(status, dueBefore, modificationCount);
+      if (json.isPresent()) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json.get());
+      }
+      return ResponseEntity.ok(new TaskList(taskService.findTasks(status, dueBefore)));
+    }
+    TaskPage page = taskService.getTaskPage(status, dueBefore, cursor, limit);
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+    if (page.nextCursor() != null) {
+      response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+    }
+    return response.body(page.items());
+  }
+
+  /**
+   * Streams every task as newline-delimited JSON. Tasks are written to the response as they are
+   * read from the repository, so memory use does not grow with the size of the store.
+   */
+  @GetMapping(value = "/export", produces = NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportTasks() {
+    StreamingResponseBody body = output -> {
+      try (Stream<TaskResponse> tasks = taskService.streamTasks();
+           JsonGenerator generator = objectMapper.createGenerator(output)) {
+        Iterator<TaskResponse> iterator = tasks.iterator();
+        while (iterator.hasNext()) {
+          exportWriter.writeValue(generator, iterator.next());
+          generator.writeRaw('\n');
+        }
+      }
+    };
+    return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON_VALUE)).body(body);
   }
 
+  /**
+   * Returns a task with its version as the entity tag, to be sent back in {@code If-Match}, or
+   * 304 if it matches {@code If-None-Match}. The body comes from the {@link TaskJsonCache} and is
+   * written as is.
+   */
   @GetMapping("/{id}")
-  public TaskResponse getTask(@PathVariable("id") UUID id) {
-    return taskService.getTask(id);
+  public ResponseEntity<byte[]> getTask(@PathVariable("id") UUID id, WebRequest webRequest) {
+    TaskJson task = taskJsonCache.get(id);
+    if (webRequest.checkNotModified(entityTag(task.version()))) {
+      return null;
+    }
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(task.json());
   }
 
+  /**
+   * Changes the status of a task. With an {@code If-Match} entity tag the change is only applied
+   * if the task has not been modified since, and fails with 412 otherwise.
+   */
   @PostMapping("/{id}/status")
-  public TaskResponse updateStatus(
-      @PathVariable("id") UUID id, @Valid @RequestBody UpdateStatusRequest request) {
-    return taskService.updateStatus(id, request.status());
+  public ResponseEntity<TaskResponse> updateStatus(
+      @PathVariable("id") UUID id,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+      @Valid @RequestBody UpdateStatusRequest request) {
+    TaskResponse task = ifMatch == null
+        ? taskService.updateStatus(id, request.status())
+        : taskService.updateStatus(id, request.status(), expectedVersion(ifMatch));
+    return ResponseEntity.ok().eTag(entityTag(task.version())).body(task);
   }
 
   @DeleteMapping("/{id}")
@@ -63,4 +213,96 @@ public class TaskController {
     taskService.deleteTask(id);
     return ResponseEntity.noContent().build();
   }
+
+  private <T> List<BulkItemResult> processBulk(
+      List<T> items, Function<List<T>, List<BulkItemResult>> operation) {
+    return processBulk(items, item -> null, operation);
+  }
+
+  /**
+   * Validates every item, then runs {@code check} on those that are valid, which returns an
+   * error or {@code null}. Hands the items that pass both to {@code operation} as one batch and
+   * merges its results back into request order.
+   */
+  private <T> List<BulkItemResult> processBulk(List<T> items, Function<T, String> check,
+      Function<List<T>, List<BulkItemResult>> operation) {
+    if (items.size() > MAX_BULK_SIZE) {
+      throw new InvalidTaskQueryException(
+          "A bulk request may contain at most %d items".formatted(MAX_BULK_SIZE));
+    }
+    BulkItemResult[] results = new BulkItemResult[items.size()];
+    List<T> valid = new ArrayList<>(items.size());
+    List<Integer> validIndexes = new ArrayList<>(items.size());
+    for (int i = 0; i < items.size(); i++) {
+      String error = validate(items.get(i));
+      if (error == null) {
+        error = check.apply(items.get(i));
+      }
+      if (error == null) {
+        valid.add(items.get(i));
+        validIndexes.add(i);
+      } else {
+        results[i] = BulkItemResult.failure(i, HttpStatus.BAD_REQUEST.value(), null, error);
+      }
+    }
+    if (!valid.isEmpty()) {
+      for (BulkItemResult result : operation.apply(valid)) {
+        int index = validIndexes.get(result.index());
+        results[index] = result.withIndex(index);
+      }
+    }
+    return Arrays.asList(results);
+  }
+
+  static String entityTag(long version) {
+    return "\"" + version + "\"";
+  }
+
+  /**
+   * Entity tag of a list read at {@code modificationCount}. Counts restart with the process, so
+   * the tag also carries the time this class was loaded.
+   */
+  static String listEntityTag(long modificationCount) {
+    return "\"" + LIST_TAG_EPOCH + "-" + modificationCount + "\"";
+  }
+
+  /**
+   * Parses an {@code If-Match} header holding {@code *} or a single strong entity tag. Tags that
+   * cannot be one of ours, such as weak ones, can never match and are mapped to a version no task
+   * has.
+   */
+  static long expectedVersion(String ifMatch) {
+    String tag = ifMatch.trim();
+    if ("*".equals(tag)) {
+      return TaskRepository.ANY_VERSION;
+    }
+    if (tag.contains(",")) {
+      throw new InvalidTaskQueryException("If-Match must hold a single entity tag");
+    }
+    if (tag.length() < 2 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+      return NO_VERSION;
+    }
+    try {
+      long version = Long.parseLong(tag.substring(1, tag.length() - 1));
+      return version < 0 ? NO_VERSION : version;
+    } catch (NumberFormatException ex) {
+      return NO_VERSION;
+    }
+  }
+
+  private String parentError(TaskRequest request) {
+    String error = taskService.parentError(request);
+    return error == null ? null : "parentId " + error;
+  }
+
+  private String validate(Object item) {
+    if (item == null) {
+      return "Item is required";
+    }
+    return validator.validate(item).stream()
+        .map(violation -> "%s %s".formatted(violation.getPropertyPath(), violation.getMessage()))
+        .sorted()
+        .findFirst()
+        .orElse(null);
+  }
 }
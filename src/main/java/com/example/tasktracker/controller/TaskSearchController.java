@@ -0,0 +1,34 @@
+package com.example.tasktracker.controller;
+
+import com.example.tasktracker.dto.TaskResponse;
+import com.example.tasktracker.service.TaskSearchService;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.List;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Keyword search: {@code GET /api/tasks/search?q=quarterly rep*} returns the tasks whose title
+ * or description contains {@code quarterly} and a word starting with {@code rep}, best match
+ * first.
+ */
+@RestController
+@RequestMapping("/api/tasks/search")
+@Profile("!reactive")
+public class TaskSearchController {
+  private final TaskSearchService searchService;
+
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public TaskSearchController(TaskSearchService searchService) {
+    this.searchService = searchService;
+  }
+
+  @GetMapping
+  public List<TaskResponse> search(@RequestParam("q") String query,
+      @RequestParam(value = "limit", required = false) Integer limit) {
+    return searchService.search(query, limit);
+  }
+}
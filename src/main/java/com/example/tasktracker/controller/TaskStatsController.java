@@ -0,0 +1,42 @@
+package com.example.tasktracker.controller;
+
+import com.example.tasktracker.dto.TaskStats;
+import com.example.tasktracker.service.TaskStatsService;
+import com.example.tasktracker.stats.HistogramInterval;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.time.LocalDate;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Task statistics for reports: counts per status, the overdue count as of {@code asOf} (default
+ * today) and a due-date histogram by {@code DAY} or {@code WEEK} from {@code from} to
+ * {@code to}. Answered from counters maintained on every write, without reading the tasks.
+ */
+@RestController
+@RequestMapping("/api/tasks/stats")
+@Profile("!reactive")
+public class TaskStatsController {
+  private final TaskStatsService statsService;
+
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public TaskStatsController(TaskStatsService statsService) {
+    this.statsService = statsService;
+  }
+
+  @GetMapping
+  public TaskStats getStats(
+      @RequestParam(value = "asOf", required = false)
+      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf,
+      @RequestParam(value = "from", required = false)
+      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(value = "to", required = false)
+      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(value = "interval", defaultValue = "DAY") HistogramInterval interval) {
+    return statsService.getStats(asOf, from, to, interval);
+  }
+}
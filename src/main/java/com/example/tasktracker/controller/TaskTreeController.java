@@ -0,0 +1,44 @@
+package com.example.tasktracker.controller;
+
+import com.example.tasktracker.dto.TaskRollup;
+import com.example.tasktracker.json.TaskList;
+import com.example.tasktracker.service.TaskTreeService;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.UUID;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Task hierarchies: the direct subtasks of a task, its whole subtree in one call, depth first
+ * with each task before its subtasks, and its roll-up of descendant counts per status, which is
+ * read from counters maintained on every write without visiting the subtree.
+ */
+@RestController
+@RequestMapping("/api/tasks/{id}")
+@Profile("!reactive")
+public class TaskTreeController {
+  private final TaskTreeService treeService;
+
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public TaskTreeController(TaskTreeService treeService) {
+    this.treeService = treeService;
+  }
+
+  @GetMapping("/subtasks")
+  public TaskList getSubtasks(@PathVariable("id") UUID id) {
+    return new TaskList(treeService.findSubtasks(id));
+  }
+
+  @GetMapping("/subtree")
+  public TaskList getSubtree(@PathVariable("id") UUID id) {
+    return new TaskList(treeService.findSubtree(id));
+  }
+
+  @GetMapping("/rollup")
+  public TaskRollup getRollup(@PathVariable("id") UUID id) {
+    return treeService.getRollup(id);
+  }
+}
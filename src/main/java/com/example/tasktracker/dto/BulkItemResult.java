@@ -0,0 +1,23 @@
+package com.example.tasktracker.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.UUID;
+
+/**
+ * Outcome of one item of a bulk request. {@code index} is the item's position in the request and
+ * {@code status} the HTTP status the equivalent single-item call would have returned.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkItemResult(int index, int status, UUID id, TaskResponse task, String error) {
+  public static BulkItemResult success(int index, int status, TaskResponse task) {
+    return new BulkItemResult(index, status, task.id(), task, null);
+  }
+
+  public static BulkItemResult failure(int index, int status, UUID id, String error) {
+    return new BulkItemResult(index, status, id, null, error);
+  }
+
+  public BulkItemResult withIndex(int newIndex) {
+    return new BulkItemResult(newIndex, status, id, task, error);
+  }
+}
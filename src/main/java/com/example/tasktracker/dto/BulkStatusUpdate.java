@@ -0,0 +1,10 @@
+package com.example.tasktracker.dto;
+
+import com.example.tasktracker.model.TaskStatus;
+import jakarta.validation.constraints.NotNull;
+import java.util.UUID;
+
+public record BulkStatusUpdate(
+    @NotNull(message = "Id is required") UUID id,
+    @NotNull(message = "Status is required") TaskStatus status) {
+}
@@ -0,0 +1,16 @@
+package com.example.tasktracker.dto;
+
+import com.example.tasktracker.model.TaskStatus;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Tasks due in one bucket of a due-date histogram, which starts on {@code start}.
+ */
+public record DueDateBucket(LocalDate start, long total, Map<TaskStatus, Long> byStatus) {
+  public DueDateBucket {
+    byStatus = Collections.unmodifiableMap(new EnumMap<>(byStatus));
+  }
+}
@@ -0,0 +1,11 @@
+package com.example.tasktracker.dto;
+
+import com.example.tasktracker.feed.TaskChange;
+import java.util.UUID;
+
+/**
+ * Data of a change event sent to change feed subscribers. {@code task} is {@code null} when
+ * {@code type} is {@link TaskChange.Type#DELETED}.
+ */
+public record TaskChangeEvent(long sequence, TaskChange.Type type, UUID id, TaskResponse task) {
+}
@@ -0,0 +1,12 @@
+package com.example.tasktracker.dto;
+
+import java.util.List;
+
+/**
+ * One page of tasks; {@code nextCursor} is {@code null} on the last page.
+ */
+public record TaskPage(List<TaskResponse> items, String nextCursor) {
+  public TaskPage {
+    items = List.copyOf(items);
+  }
+}
@@ -4,11 +4,24 @@ import jakarta.validation.constraints.FutureOrPresent;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDate;
+import java.util.UUID;
 
+/**
+ * A task to create. {@code parentId} is optional and makes the task a subtask of an existing
+ * one.
+ */
 public record TaskRequest(
     @NotBlank(message = "Title is required") String title,
     @NotBlank(message = "Description is required") String description,
     @NotNull(message = "Due date is required")
     @FutureOrPresent(message = "Due date cannot be in the past")
-    LocalDate dueDate) {
+    LocalDate dueDate,
+    UUID parentId) {
+
+  /**
+   * A top-level task.
+   */
+  public TaskRequest(String title, String description, LocalDate dueDate) {
+    this(title, description, dueDate, null);
+  }
 }
@@ -1,6 +1,7 @@
 package com.example.tasktracker.dto;
 
 import com.example.tasktracker.model.TaskStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.time.LocalDate;
 import java.util.UUID;
 
@@ -9,5 +10,7 @@ public record TaskResponse(
     String title,
     String description,
     LocalDate dueDate,
-    TaskStatus status) {
+    TaskStatus status,
+    @JsonInclude(JsonInclude.Include.NON_NULL) UUID parentId,
+    long version) {
 }
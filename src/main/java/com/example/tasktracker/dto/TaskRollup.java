@@ -0,0 +1,19 @@
+package com.example.tasktracker.dto;
+
+import com.example.tasktracker.model.TaskStatus;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Roll-up of a task's subtree: the task and the number of its descendants, in total and per
+ * status. The task itself is not counted.
+ */
+public record TaskRollup(
+    TaskResponse task,
+    long descendants,
+    Map<TaskStatus, Long> byStatus) {
+  public TaskRollup {
+    byStatus = Collections.unmodifiableMap(new EnumMap<>(byStatus));
+  }
+}
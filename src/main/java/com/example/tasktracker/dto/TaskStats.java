@@ -0,0 +1,29 @@
+package com.example.tasktracker.dto;
+
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.stats.HistogramInterval;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Task statistics as of {@code asOf}: counts per status, tasks without a due date per status,
+ * tasks not completed and due before {@code asOf}, and a histogram of due dates in
+ * {@code interval} buckets.
+ */
+public record TaskStats(
+    LocalDate asOf,
+    long total,
+    Map<TaskStatus, Long> byStatus,
+    Map<TaskStatus, Long> undatedByStatus,
+    long overdue,
+    HistogramInterval interval,
+    List<DueDateBucket> dueDates) {
+  public TaskStats {
+    byStatus = Collections.unmodifiableMap(new EnumMap<>(byStatus));
+    undatedByStatus = Collections.unmodifiableMap(new EnumMap<>(undatedByStatus));
+    dueDates = List.copyOf(dueDates);
+  }
+}
@@ -0,0 +1,20 @@
+package com.example.tasktracker.feed;
+
+/**
+ * The changes a reader asked for are no longer, or were never, in the {@link TaskChangeFeed}:
+ * it fell behind by more than the buffer holds, or resumed from a sequence of another process.
+ * The reader has to reload the tasks and continue after {@link #getLatestSequence()}.
+ */
+public class ResyncRequiredException extends RuntimeException {
+  private final long latestSequence;
+
+  public ResyncRequiredException(long requested, long latestSequence) {
+    super("Changes after %d are no longer available; resync and continue after %d"
+        .formatted(requested, latestSequence));
+    this.latestSequence = latestSequence;
+  }
+
+  public long getLatestSequence() {
+    return latestSequence;
+  }
+}
@@ -0,0 +1,27 @@
+package com.example.tasktracker.feed;
+
+import com.example.tasktracker.model.Task;
+import java.util.UUID;
+
+/**
+ * One write as recorded by the {@link TaskChangeFeed}: the task's state after the write, or
+ * {@code null} for a delete.
+ */
+public record TaskChange(long sequence, Type type, UUID taskId, Task task) {
+  /**
+   * Kind of write.
+   */
+  public enum Type {
+    CREATED,
+    UPDATED,
+    DELETED
+  }
+
+  static TaskChange of(long sequence, Task previous, Task current) {
+    if (current == null) {
+      return new TaskChange(sequence, Type.DELETED, previous.getId(), null);
+    }
+    return new TaskChange(sequence, previous == null ? Type.CREATED : Type.UPDATED,
+        current.getId(), current);
+  }
+}
@@ -0,0 +1,183 @@
+package com.example.tasktracker.feed;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.repository.TaskWriteListener;
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Bounded in-memory log of task writes, numbered by a sequence that increases with every write.
+ * Registered as a {@link TaskWriteListener}, so it sees every write in the order it is applied
+ * to each task.
+ *
+ * <p>Changes are kept in a ring buffer. Publishing claims the next sequence with one atomic
+ * increment and stores the change in its slot, overwriting the oldest one; it never waits for
+ * readers. Readers follow their own sequence and check every slot's sequence, so a slot still
+ * being written is not read yet and an overwritten one tells the reader it fell behind, in
+ * which case {@link ResyncRequiredException} is thrown.
+ *
+ * <p>Readers wait for new changes in {@link #awaitAfter}. Rather than waking every waiter on the
+ * write path, a publish only unparks a single notifier thread, and only if someone is waiting.
+ *
+ * <p>Sequences start at the creation time in milliseconds shifted left by 20 bits, so they keep
+ * growing across restarts (for up to about a million changes per millisecond of uptime), and a
+ * sequence from an earlier process is always recognized as unavailable rather than replayed
+ * against the wrong changes.
+ */
+public final class TaskChangeFeed implements TaskWriteListener, Closeable {
+  private final AtomicReferenceArray<TaskChange> slots;
+  private final int mask;
+  private final long firstSequence;
+  private final AtomicLong lastSequence;
+  private final Set<Thread> waiters = ConcurrentHashMap.newKeySet();
+  private final Thread notifier;
+  private volatile boolean closed;
+
+  /**
+   * Creates a feed keeping the last {@code capacity} changes, rounded up to a power of two.
+   */
+  public TaskChangeFeed(int capacity) {
+    if (capacity < 1 || capacity > 1 << 30) {
+      throw new IllegalArgumentException("capacity must be between 1 and 2^30");
+    }
+    int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    this.slots = new AtomicReferenceArray<>(size);
+    this.mask = size - 1;
+    this.firstSequence = (System.currentTimeMillis() << 20) + 1;
+    this.lastSequence = new AtomicLong(firstSequence - 1);
+    this.notifier = Thread.ofPlatform().name("task-change-feed").daemon()
+        .start(this::notifyWaiters);
+  }
+
+  /**
+   * Appends a change for the write. Called inside the repository's critical section for the
+   * task, so it only claims a sequence and stores into a slot.
+   */
+  @Override
+  public void onWrite(Task previous, Task current) {
+    long sequence = lastSequence.incrementAndGet();
+    slots.set(index(sequence), TaskChange.of(sequence, previous, current));
+    if (!waiters.isEmpty()) {
+      LockSupport.unpark(notifier);
+    }
+  }
+
+  /**
+   * Sequence of the last change published, or of the position before the first one. Reading
+   * after it returns only changes made from now on.
+   */
+  public long latestSequence() {
+    return lastSequence.get();
+  }
+
+  /**
+   * Oldest position {@link #read} can start after: the sequence before the oldest change still
+   * in the buffer, until further writes overwrite it.
+   */
+  public long oldestSequence() {
+    return Math.max(firstSequence - 1, lastSequence.get() - slots.length());
+  }
+
+  public int capacity() {
+    return slots.length();
+  }
+
+  /**
+   * Passes up to {@code max} changes following {@code after} to {@code sink}, in sequence order,
+   * stopping early at the first change that is not published yet.
+   *
+   * @return the sequence of the last change passed, or {@code after} if there was none
+   * @throws ResyncRequiredException if changes following {@code after} are not in the buffer
+   */
+  public long read(long after, int max, Consumer<TaskChange> sink) {
+    long latest = lastSequence.get();
+    if (after < firstSequence - 1 || after > latest) {
+      throw new ResyncRequiredException(after, latest);
+    }
+    long sequence = after;
+    for (int i = 0; i < max; i++) {
+      TaskChange change = slots.get(index(sequence + 1));
+      if (change == null || change.sequence() <= sequence) {
+        break;
+      }
+      if (change.sequence() > sequence + 1) {
+        throw new ResyncRequiredException(after, lastSequence.get());
+      }
+      sink.accept(change);
+      sequence++;
+    }
+    return sequence;
+  }
+
+  /**
+   * Waits until the change following {@code after} is published or has been overwritten, so
+   * that {@link #read} will not come back empty.
+   *
+   * @return {@code false} if {@code timeout} elapsed first
+   * @throws IllegalStateException if the feed is closed
+   */
+  public boolean awaitAfter(long after, Duration timeout) throws InterruptedException {
+    if (isReadable(after)) {
+      return true;
+    }
+    Thread current = Thread.currentThread();
+    long deadline = System.nanoTime() + timeout.toNanos();
+    waiters.add(current);
+    try {
+      while (!isReadable(after)) {
+        long remaining = deadline - System.nanoTime();
+        if (closed) {
+          throw new IllegalStateException("Change feed is closed");
+        }
+        if (remaining <= 0) {
+          return false;
+        }
+        LockSupport.parkNanos(this, remaining);
+        if (Thread.interrupted()) {
+          throw new InterruptedException();
+        }
+      }
+      return true;
+    } finally {
+      waiters.remove(current);
+    }
+  }
+
+  /**
+   * Stops the notifier and releases every waiter.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    LockSupport.unpark(notifier);
+    waiters.forEach(LockSupport::unpark);
+  }
+
+  /**
+   * Whether {@link #read} would pass a change or throw.
+   */
+  private boolean isReadable(long after) {
+    if (after < firstSequence - 1 || after > lastSequence.get()) {
+      return true;
+    }
+    TaskChange change = slots.get(index(after + 1));
+    return change != null && change.sequence() > after;
+  }
+
+  private int index(long sequence) {
+    return (int) sequence & mask;
+  }
+
+  private void notifyWaiters() {
+    while (!closed) {
+      LockSupport.park(this);
+      waiters.forEach(LockSupport::unpark);
+    }
+  }
+}
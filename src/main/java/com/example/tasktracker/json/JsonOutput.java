@@ -0,0 +1,227 @@
+package com.example.tasktracker.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Writes JSON tokens as UTF-8 into a byte buffer, handing the buffer to an {@link OutputStream}
+ * whenever it fills up. Numbers, UUIDs and dates are formatted digit by digit into the buffer
+ * instead of through intermediate strings.
+ *
+ * <p>Strings are escaped the way Jackson's UTF-8 generator escapes them with default settings:
+ * {@code "} and {@code \} with a backslash, control characters with their short escape or
+ * {@code \}{@code u00XX}, and surrogates one {@code \}{@code uXXXX} escape per char; everything
+ * else is written as UTF-8.
+ */
+final class JsonOutput {
+  /**
+   * Longest encoding of one string char: a six-byte {@code \}{@code uXXXX} escape.
+   */
+  private static final int MAX_CHAR_BYTES = 6;
+  private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] LOWER_HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] MIN_LONG =
+      Long.toString(Long.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+  /**
+   * Per ASCII char: 0 to copy it, the letter of its short escape, or -1 for a unicode escape.
+   */
+  private static final byte[] ESCAPES = new byte[128];
+
+  static {
+    for (int c = 0; c < 0x20; c++) {
+      ESCAPES[c] = -1;
+    }
+    ESCAPES['"'] = '"';
+    ESCAPES['\\'] = '\\';
+    ESCAPES['\b'] = 'b';
+    ESCAPES['\t'] = 't';
+    ESCAPES['\n'] = 'n';
+    ESCAPES['\f'] = 'f';
+    ESCAPES['\r'] = 'r';
+  }
+
+  private final byte[] buffer;
+  private final OutputStream out;
+  private int position;
+
+  JsonOutput(byte[] buffer, OutputStream out) {
+    this.buffer = buffer;
+    this.out = out;
+  }
+
+  void writeByte(byte value) throws IOException {
+    require(1);
+    buffer[position++] = value;
+  }
+
+  /**
+   * Copies pre-encoded bytes, such as a field name with its quotes and colon.
+   */
+  void writeRaw(byte[] bytes) throws IOException {
+    if (bytes.length > buffer.length - position) {
+      flush();
+      if (bytes.length > buffer.length) {
+        out.write(bytes);
+        return;
+      }
+    }
+    System.arraycopy(bytes, 0, buffer, position, bytes.length);
+    position += bytes.length;
+  }
+
+  void writeNull() throws IOException {
+    writeRaw(NULL);
+  }
+
+  void writeString(String value) throws IOException {
+    if (value == null) {
+      writeNull();
+      return;
+    }
+    writeByte((byte) '"');
+    for (int i = 0; i < value.length(); i++) {
+      require(MAX_CHAR_BYTES);
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        byte escape = ESCAPES[c];
+        if (escape == 0) {
+          buffer[position++] = (byte) c;
+        } else if (escape > 0) {
+          buffer[position++] = '\\';
+          buffer[position++] = escape;
+        } else {
+          writeUnicodeEscape(c);
+        }
+      } else if (c < 0x800) {
+        buffer[position++] = (byte) (0xC0 | (c >> 6));
+        buffer[position++] = (byte) (0x80 | (c & 0x3F));
+      } else if (Character.isSurrogate(c)) {
+        writeUnicodeEscape(c);
+      } else {
+        buffer[position++] = (byte) (0xE0 | (c >> 12));
+        buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+        buffer[position++] = (byte) (0x80 | (c & 0x3F));
+      }
+    }
+    writeByte((byte) '"');
+  }
+
+  void writeLong(long value) throws IOException {
+    if (value == Long.MIN_VALUE) {
+      writeRaw(MIN_LONG);
+      return;
+    }
+    require(20);
+    long remaining = value;
+    if (remaining < 0) {
+      buffer[position++] = '-';
+      remaining = -remaining;
+    }
+    int end = position + digits(remaining);
+    position = end;
+    do {
+      buffer[--end] = (byte) ('0' + remaining % 10);
+      remaining /= 10;
+    } while (remaining > 0);
+  }
+
+  /**
+   * Writes {@code value} as a quoted string in its canonical lowercase 8-4-4-4-12 form, or null.
+   */
+  void writeUuid(UUID value) throws IOException {
+    if (value == null) {
+      writeNull();
+      return;
+    }
+    require(38);
+    buffer[position++] = '"';
+    long high = value.getMostSignificantBits();
+    long low = value.getLeastSignificantBits();
+    writeHex(high >>> 32, 8);
+    buffer[position++] = '-';
+    writeHex(high >>> 16, 4);
+    buffer[position++] = '-';
+    writeHex(high, 4);
+    buffer[position++] = '-';
+    writeHex(low >>> 48, 4);
+    buffer[position++] = '-';
+    writeHex(low, 12);
+    buffer[position++] = '"';
+  }
+
+  /**
+   * Writes {@code value} as a quoted ISO-8601 date, as {@link LocalDate#toString()} formats it,
+   * or null. Years outside 0 to 9999 take the slower path through {@code toString}.
+   */
+  void writeDate(LocalDate value) throws IOException {
+    if (value == null) {
+      writeNull();
+      return;
+    }
+    int year = value.getYear();
+    if (year < 0 || year > 9999) {
+      writeString(value.toString());
+      return;
+    }
+    require(12);
+    buffer[position++] = '"';
+    writeDigits(year, 4);
+    buffer[position++] = '-';
+    writeDigits(value.getMonthValue(), 2);
+    buffer[position++] = '-';
+    writeDigits(value.getDayOfMonth(), 2);
+    buffer[position++] = '"';
+  }
+
+  /**
+   * Hands what is buffered to the output stream, without flushing the stream itself.
+   */
+  void flush() throws IOException {
+    if (position > 0) {
+      out.write(buffer, 0, position);
+      position = 0;
+    }
+  }
+
+  private void require(int bytes) throws IOException {
+    if (buffer.length - position < bytes) {
+      flush();
+    }
+  }
+
+  private void writeUnicodeEscape(char c) {
+    buffer[position++] = '\\';
+    buffer[position++] = 'u';
+    buffer[position++] = HEX[c >> 12];
+    buffer[position++] = HEX[(c >> 8) & 0xF];
+    buffer[position++] = HEX[(c >> 4) & 0xF];
+    buffer[position++] = HEX[c & 0xF];
+  }
+
+  private void writeHex(long value, int count) {
+    for (int shift = (count - 1) * 4; shift >= 0; shift -= 4) {
+      buffer[position++] = LOWER_HEX[(int) (value >>> shift) & 0xF];
+    }
+  }
+
+  private void writeDigits(int value, int count) {
+    int remaining = value;
+    for (int i = position + count - 1; i >= position; i--) {
+      buffer[i] = (byte) ('0' + remaining % 10);
+      remaining /= 10;
+    }
+    position += count;
+  }
+
+  private static int digits(long value) {
+    int digits = 1;
+    for (long bound = 10; digits < 19 && value >= bound; bound *= 10) {
+      digits++;
+    }
+    return digits;
+  }
+}
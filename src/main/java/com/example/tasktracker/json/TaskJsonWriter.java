@@ -0,0 +1,117 @@
+package com.example.tasktracker.json;
+
+import com.example.tasktracker.dto.TaskResponse;
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Writes tasks as JSON straight from the {@link Task} model, producing the same bytes as
+ * Jackson with Spring Boot's defaults produces for their {@link TaskResponse}, without the
+ * response objects, the intermediate strings of ids and dates, or reflection. Field names and
+ * quoted status names are encoded once; everything else is formatted into a buffer taken from a
+ * small pool and handed to the output stream whenever it fills up, so writing a list of any
+ * length allocates nothing per task.
+ *
+ * <p>The pool keeps at most {@code pooledBuffers} buffers. A writer that finds it empty, such as
+ * one of many virtual threads, allocates a buffer of its own and offers it back afterwards.
+ */
+public final class TaskJsonWriter {
+  public static final int DEFAULT_BUFFER_SIZE = 8192;
+  static final int MIN_BUFFER_SIZE = 64;
+
+  private static final byte[] ID = field("{\"id\":");
+  private static final byte[] TITLE = field(",\"title\":");
+  private static final byte[] DESCRIPTION = field(",\"description\":");
+  private static final byte[] DUE_DATE = field(",\"dueDate\":");
+  private static final byte[] STATUS = field(",\"status\":");
+  private static final byte[] PARENT_ID = field(",\"parentId\":");
+  private static final byte[] VERSION = field(",\"version\":");
+  private static final byte[][] STATUS_NAMES = statusNames();
+
+  private final int bufferSize;
+  private final BlockingQueue<byte[]> buffers;
+
+  public TaskJsonWriter() {
+    this(DEFAULT_BUFFER_SIZE, Runtime.getRuntime().availableProcessors() * 2);
+  }
+
+  public TaskJsonWriter(int bufferSize, int pooledBuffers) {
+    if (bufferSize < MIN_BUFFER_SIZE) {
+      throw new IllegalArgumentException("bufferSize must be at least " + MIN_BUFFER_SIZE);
+    }
+    this.bufferSize = bufferSize;
+    this.buffers = new ArrayBlockingQueue<>(Math.max(1, pooledBuffers));
+  }
+
+  /**
+   * Writes {@code tasks} to {@code out} as a JSON array. The stream is neither flushed nor
+   * closed.
+   */
+  @SuppressFBWarnings(value = "RV_RETURN_VALUE_IGNORED_BAD_PRACTICE",
+      justification = "A buffer the full pool does not take is left to the garbage collector")
+  public void writeArray(List<Task> tasks, OutputStream out) throws IOException {
+    byte[] buffer = buffers.poll();
+    if (buffer == null) {
+      buffer = new byte[bufferSize];
+    }
+    try {
+      JsonOutput json = new JsonOutput(buffer, out);
+      json.writeByte((byte) '[');
+      for (int i = 0; i < tasks.size(); i++) {
+        if (i > 0) {
+          json.writeByte((byte) ',');
+        }
+        write(tasks.get(i), json);
+      }
+      json.writeByte((byte) ']');
+      json.flush();
+    } finally {
+      buffers.offer(buffer);
+    }
+  }
+
+  private static void write(Task task, JsonOutput json) throws IOException {
+    json.writeRaw(ID);
+    json.writeUuid(task.getId());
+    json.writeRaw(TITLE);
+    json.writeString(task.getTitle());
+    json.writeRaw(DESCRIPTION);
+    json.writeString(task.getDescription());
+    json.writeRaw(DUE_DATE);
+    json.writeDate(task.getDueDate());
+    json.writeRaw(STATUS);
+    TaskStatus status = task.getStatus();
+    if (status == null) {
+      json.writeNull();
+    } else {
+      json.writeRaw(STATUS_NAMES[status.ordinal()]);
+    }
+    if (task.getParentId() != null) {
+      json.writeRaw(PARENT_ID);
+      json.writeUuid(task.getParentId());
+    }
+    json.writeRaw(VERSION);
+    json.writeLong(task.getVersion());
+    json.writeByte((byte) '}');
+  }
+
+  private static byte[] field(String json) {
+    return json.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static byte[][] statusNames() {
+    TaskStatus[] statuses = TaskStatus.values();
+    byte[][] names = new byte[statuses.length][];
+    for (TaskStatus status : statuses) {
+      names[status.ordinal()] = ('"' + status.name() + '"').getBytes(StandardCharsets.UTF_8);
+    }
+    return names;
+  }
+}
@@ -0,0 +1,13 @@
+package com.example.tasktracker.json;
+
+import com.example.tasktracker.model.Task;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.List;
+
+/**
+ * Response body of tasks written by {@link TaskListHttpMessageConverter} as a JSON array of the
+ * tasks' {@code TaskResponse} form. The list is the repository's result and is not copied.
+ */
+@SuppressFBWarnings({"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
+public record TaskList(List<Task> tasks) {
+}
@@ -0,0 +1,44 @@
+package com.example.tasktracker.json;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+/**
+ * Writes {@link TaskList} bodies as {@code application/json} with a {@link TaskJsonWriter}.
+ * Write-only; requests are still read by Jackson.
+ */
+public class TaskListHttpMessageConverter extends AbstractHttpMessageConverter<TaskList> {
+  private final TaskJsonWriter writer;
+
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public TaskListHttpMessageConverter(TaskJsonWriter writer) {
+    super(MediaType.APPLICATION_JSON);
+    this.writer = writer;
+  }
+
+  @Override
+  protected boolean supports(Class<?> clazz) {
+    return TaskList.class == clazz;
+  }
+
+  @Override
+  protected boolean canRead(MediaType mediaType) {
+    return false;
+  }
+
+  @Override
+  protected TaskList readInternal(Class<? extends TaskList> clazz, HttpInputMessage inputMessage) {
+    throw new HttpMessageNotReadableException("Task lists are not read", inputMessage);
+  }
+
+  @Override
+  protected void writeInternal(TaskList tasks, HttpOutputMessage outputMessage)
+      throws IOException {
+    writer.writeArray(tasks.tasks(), outputMessage.getBody());
+  }
+}
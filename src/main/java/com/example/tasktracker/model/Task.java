@@ -5,7 +5,10 @@ import java.util.Objects;
 import java.util.UUID;
 
 /**
- * Immutable representation of a task tracked by the application.
+ * Immutable representation of a task tracked by the application. {@code version} is incremented
+ * by every conditional update and is what clients send back to detect concurrent modifications.
+ * {@code parentId} is the id of the task this one is a subtask of, or {@code null} for a
+ * top-level task.
  */
 public final class Task {
   private final UUID id;
@@ -13,6 +16,8 @@ public final class Task {
   private final String description;
   private final LocalDate dueDate;
   private final TaskStatus status;
+  private final UUID parentId;
+  private final long version;
 
   private Task(Builder builder) {
     this.id = builder.id;
@@ -20,6 +25,8 @@ public final class Task {
     this.description = builder.description;
     this.dueDate = builder.dueDate;
     this.status = builder.status;
+    this.parentId = builder.parentId;
+    this.version = builder.version;
   }
 
   public UUID getId() {
@@ -42,6 +49,14 @@ public final class Task {
     return status;
   }
 
+  public UUID getParentId() {
+    return parentId;
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
   public Builder toBuilder() {
     return new Builder(this);
   }
@@ -72,6 +87,8 @@ public final class Task {
     private String description;
     private LocalDate dueDate;
     private TaskStatus status = TaskStatus.PENDING;
+    private UUID parentId;
+    private long version;
 
     public Builder() {
       // Default constructor
@@ -83,6 +100,8 @@ public final class Task {
       this.description = task.description;
       this.dueDate = task.dueDate;
       this.status = task.status;
+      this.parentId = task.parentId;
+      this.version = task.version;
     }
 
     public Builder id(UUID idValue) {
@@ -110,6 +129,16 @@ public final class Task {
       return this;
     }
 
+    public Builder parentId(UUID parentIdValue) {
+      this.parentId = parentIdValue;
+      return this;
+    }
+
+    public Builder version(long versionValue) {
+      this.version = versionValue;
+      return this;
+    }
+
     public Task build() {
       if (id == null) {
         id = UUID.randomUUID();
@@ -0,0 +1,24 @@
+package com.example.tasktracker.overdue;
+
+import com.example.tasktracker.model.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Logs every {@link TasksOverdueEvent}: the number of tasks at {@code INFO}, and their ids at
+ * {@code DEBUG}. The default handler of the events; notifications to users would be another
+ * {@code @EventListener} next to it.
+ */
+public class OverdueTaskLog {
+  private static final Logger LOG = LoggerFactory.getLogger(OverdueTaskLog.class);
+
+  @EventListener
+  public void onTasksOverdue(TasksOverdueEvent event) {
+    LOG.info("{} tasks overdue on {}", event.tasks().size(), event.today());
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Overdue on {}: {}", event.today(),
+          event.tasks().stream().map(Task::getId).toList());
+    }
+  }
+}
@@ -0,0 +1,249 @@
+package com.example.tasktracker.overdue;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.TaskBackfill;
+import com.example.tasktracker.repository.TaskWriteListener;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.Closeable;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Publishes {@link TasksOverdueEvent}s for tasks whose due date has passed, without scanning
+ * the store. Registered as a {@link TaskWriteListener}, it files the latest state of every open
+ * task (not {@code COMPLETED}, with a due date) under its due day in a queue ordered by epoch
+ * day, and replaces, moves or drops it as writes change the task.
+ *
+ * <p>{@link #processDue()} runs on a background thread every check interval. It takes the
+ * queue's days before today off its head, which is a single lookup when none has passed, and
+ * publishes their tasks in batches. A task completed in the meantime has already been dropped by
+ * its write, so nothing is read back from the repository, whose writes become visible only after
+ * their listeners have run. Its cost is proportional to the tasks that became overdue, and they
+ * are reported within one interval of midnight in the clock's zone.
+ *
+ * <p>A task is reported once, when its due date passes. Later writes that keep it open with the
+ * same due date do not report it again; reopening it or moving its due date into the past
+ * files it again, under a day that has passed, so the next check reports it. Tasks already
+ * overdue on startup are filed under their passed days too, and reported by the first check,
+ * since whether they were reported before the restart is not recorded.
+ */
+public final class OverdueTaskScheduler implements TaskWriteListener, Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(OverdueTaskScheduler.class);
+
+  private final Clock clock;
+  private final int batchSize;
+  private final Consumer<TasksOverdueEvent> publisher;
+  private final ConcurrentNavigableMap<Long, DayBucket> queue = new ConcurrentSkipListMap<>();
+  private final LongAdder scheduled = new LongAdder();
+  private final LongAdder reported = new LongAdder();
+  private final TaskBackfill backfill = new TaskBackfill();
+  private ScheduledExecutorService executor;
+
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public OverdueTaskScheduler(Clock clock, int batchSize, Consumer<TasksOverdueEvent> publisher) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("batchSize must be positive");
+    }
+    this.clock = clock;
+    this.batchSize = batchSize;
+    this.publisher = publisher;
+  }
+
+  @Override
+  public void onWrite(Task previous, Task current) {
+    backfill.write(previous, current, this::file);
+  }
+
+  /**
+   * Files the open tasks of {@code tasks}, except those already written since this was
+   * registered. Meant to fill the queue from the repository on startup, once registered with it,
+   * so that no write is missed. Tasks already overdue are filed under their passed days, so the
+   * first check reports them in one catch-up pass.
+   */
+  public void addAll(Stream<Task> tasks) {
+    backfill.addAll(tasks, task -> {
+      if (isOpen(task)) {
+        schedule(task);
+      }
+    });
+  }
+
+  private void file(Task previous, Task current) {
+    boolean wasOpen = isOpen(previous);
+    boolean isOpen = isOpen(current);
+    if (wasOpen && isOpen && previous.getDueDate().equals(current.getDueDate())) {
+      DayBucket bucket = queue.get(current.getDueDate().toEpochDay());
+      if (bucket != null) {
+        bucket.replace(current);
+      }
+      return;
+    }
+    if (wasOpen) {
+      DayBucket bucket = queue.get(previous.getDueDate().toEpochDay());
+      if (bucket != null && bucket.remove(previous.getId())) {
+        scheduled.decrement();
+      }
+    }
+    if (isOpen) {
+      schedule(current);
+    }
+  }
+
+  /**
+   * Starts checking for overdue tasks every {@code interval} on a daemon thread.
+   */
+  public synchronized void start(Duration interval) {
+    if (executor != null) {
+      throw new IllegalStateException("Already started");
+    }
+    executor = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("task-overdue-scheduler").daemon().factory());
+    long period = interval.toMillis();
+    executor.scheduleWithFixedDelay(this::scheduledCheck, 0, period, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Publishes the tasks filed under days before today, in batches of at most the batch size.
+   *
+   * @return the number of tasks reported overdue
+   */
+  public synchronized int processDue() {
+    LocalDate today = today();
+    List<Task> batch = new ArrayList<>(batchSize);
+    int published = 0;
+    Map.Entry<Long, DayBucket> day;
+    while ((day = queue.firstEntry()) != null && day.getKey() < today.toEpochDay()) {
+      if (!queue.remove(day.getKey(), day.getValue())) {
+        continue;
+      }
+      Collection<Task> tasks = day.getValue().close();
+      scheduled.add(-tasks.size());
+      for (Task task : tasks) {
+        batch.add(task);
+        if (batch.size() == batchSize) {
+          published += publish(today, batch);
+        }
+      }
+    }
+    if (!batch.isEmpty()) {
+      published += publish(today, batch);
+    }
+    return published;
+  }
+
+  /**
+   * Number of open tasks waiting for their due date to pass.
+   */
+  public long scheduledCount() {
+    return scheduled.sum();
+  }
+
+  /**
+   * Number of tasks reported overdue since startup.
+   */
+  public long reportedCount() {
+    return reported.sum();
+  }
+
+  @Override
+  public synchronized void close() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+  private void schedule(Task task) {
+    long day = task.getDueDate().toEpochDay();
+    while (true) {
+      DayBucket bucket = queue.computeIfAbsent(day, key -> new DayBucket());
+      int added = bucket.add(task);
+      if (added >= 0) {
+        scheduled.add(added);
+        return;
+      }
+      // The day was just taken off the queue by processDue; file the task under a new bucket.
+      queue.remove(day, bucket);
+    }
+  }
+
+  private void scheduledCheck() {
+    try {
+      processDue();
+    } catch (RuntimeException ex) {
+      // Keep checking; the tasks of the failed batch have already been taken off the queue.
+      LOG.error("Overdue task check failed", ex);
+    }
+  }
+
+  private LocalDate today() {
+    return LocalDate.now(clock);
+  }
+
+  private static boolean isOpen(Task task) {
+    return task != null && task.getStatus() != TaskStatus.COMPLETED && task.getDueDate() != null;
+  }
+
+  private int publish(LocalDate today, List<Task> batch) {
+    publisher.accept(new TasksOverdueEvent(today, batch));
+    int size = batch.size();
+    reported.add(size);
+    batch.clear();
+    return size;
+  }
+
+  /**
+   * The open tasks due on one day, by id. Closed once the day is taken off the queue, after
+   * which writers file tasks under a new bucket instead.
+   */
+  private static final class DayBucket {
+    private Map<UUID, Task> tasks = new HashMap<>();
+
+    /**
+     * Returns 1 if {@code task} was added, 0 if it replaced an earlier state, or -1 if the bucket
+     * is closed.
+     */
+    synchronized int add(Task task) {
+      if (tasks == null) {
+        return -1;
+      }
+      return tasks.put(task.getId(), task) == null ? 1 : 0;
+    }
+
+    /**
+     * Replaces the filed state of {@code task}, if it is filed here.
+     */
+    synchronized void replace(Task task) {
+      if (tasks != null) {
+        tasks.replace(task.getId(), task);
+      }
+    }
+
+    synchronized boolean remove(UUID id) {
+      return tasks != null && tasks.remove(id) != null;
+    }
+
+    synchronized Collection<Task> close() {
+      Collection<Task> closed = tasks.values();
+      tasks = null;
+      return closed;
+    }
+  }
+}
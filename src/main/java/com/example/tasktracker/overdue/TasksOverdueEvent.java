@@ -0,0 +1,15 @@
+package com.example.tasktracker.overdue;
+
+import com.example.tasktracker.model.Task;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A batch of tasks found overdue on {@code today}: not {@code COMPLETED} and due before it.
+ * Published once per task, when its due date passes.
+ */
+public record TasksOverdueEvent(LocalDate today, List<Task> tasks) {
+  public TasksOverdueEvent {
+    tasks = List.copyOf(tasks);
+  }
+}
@@ -0,0 +1,85 @@
+package com.example.tasktracker.replication;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * On a follower, sends task writes to the leader and holds reads back until the follower has
+ * caught up with the client.
+ *
+ * <p>Writes get {@code 307 Temporary Redirect} to the same path and query on the leader, which
+ * clients follow with the same method and body. Reads carrying
+ * {@value ReplicationCodec#MIN_SEQUENCE_HEADER} wait until that sequence has been applied, and
+ * get {@code 503} with {@code Retry-After} if it is not within the read-your-writes timeout.
+ */
+public class FollowerRequestFilter extends OncePerRequestFilter {
+  private final ReplicationFollower follower;
+  private final URI leader;
+  private final Duration readYourWritesTimeout;
+
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public FollowerRequestFilter(ReplicationFollower follower, URI leader,
+      Duration readYourWritesTimeout) {
+    this.follower = follower;
+    this.leader = leader;
+    this.readYourWritesTimeout = readYourWritesTimeout;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !ReplicationRequests.isTaskRequest(request);
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain chain) throws ServletException, IOException {
+    if (!ReplicationRequests.isSafe(request.getMethod())) {
+      URI location = UriComponentsBuilder.fromUri(leader)
+          .replacePath(request.getRequestURI())
+          .replaceQuery(request.getQueryString())
+          .build(true)
+          .toUri();
+      response.setStatus(HttpStatus.TEMPORARY_REDIRECT.value());
+      response.setHeader(HttpHeaders.LOCATION, location.toString());
+      return;
+    }
+    String minSequence = request.getHeader(ReplicationCodec.MIN_SEQUENCE_HEADER);
+    if (minSequence != null && !awaitApplied(minSequence, response)) {
+      return;
+    }
+    chain.doFilter(request, response);
+  }
+
+  private boolean awaitApplied(String minSequence, HttpServletResponse response)
+      throws IOException {
+    long sequence;
+    try {
+      sequence = Long.parseLong(minSequence.trim());
+    } catch (NumberFormatException ex) {
+      response.sendError(HttpStatus.BAD_REQUEST.value(),
+          ReplicationCodec.MIN_SEQUENCE_HEADER + " must be a sequence number");
+      return false;
+    }
+    try {
+      if (follower.awaitApplied(sequence, readYourWritesTimeout)) {
+        return true;
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+    response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+    response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(),
+        "Replica has not caught up with sequence " + sequence);
+    return false;
+  }
+}
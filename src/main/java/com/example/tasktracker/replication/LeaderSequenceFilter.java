@@ -0,0 +1,44 @@
+package com.example.tasktracker.replication;
+
+import com.example.tasktracker.feed.TaskChangeFeed;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * On the leader, adds the change feed's latest sequence, read once a write request has been
+ * handled, to its response as {@value ReplicationCodec#SEQUENCE_HEADER}. Every change the
+ * request made has a sequence at or before it, so a client that sends it back to a follower in
+ * {@value ReplicationCodec#MIN_SEQUENCE_HEADER} reads its own writes. The body of write
+ * responses is buffered so the header can still be set after the handler has written it.
+ */
+public class LeaderSequenceFilter extends OncePerRequestFilter {
+  private final TaskChangeFeed feed;
+
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public LeaderSequenceFilter(TaskChangeFeed feed) {
+    this.feed = feed;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !ReplicationRequests.isTaskWrite(request);
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain chain) throws ServletException, IOException {
+    ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+    try {
+      chain.doFilter(request, buffered);
+    } finally {
+      buffered.setHeader(ReplicationCodec.SEQUENCE_HEADER, Long.toString(feed.latestSequence()));
+      buffered.copyBodyToResponse();
+    }
+  }
+}
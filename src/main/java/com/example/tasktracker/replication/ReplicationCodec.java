@@ -0,0 +1,101 @@
+package com.example.tasktracker.replication;
+
+import com.example.tasktracker.feed.TaskChange;
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.repository.wal.TaskCodec;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Wire format between a replication leader and its followers, both bodies
+ * {@code application/octet-stream} in big-endian {@link DataOutputStream} encoding.
+ *
+ * <ul>
+ *   <li>Snapshot: every task as an {@code int} length followed by its {@link TaskCodec}
+ *       encoding, then a zero length, so a transfer cut short is never taken for a complete
+ *       one.</li>
+ *   <li>Log: an {@code int} change count, then per change its {@code long} sequence, a type
+ *       byte, and the task in snapshot encoding or, for a delete, the id as two {@code long}s.
+ *       </li>
+ * </ul>
+ */
+public final class ReplicationCodec {
+  /**
+   * Response header of the snapshot, holding the sequence to replay the log after; of the log,
+   * holding the leader's latest sequence; and of every write on the leader, holding a sequence
+   * at or after the write's, to be sent back to followers in {@link #MIN_SEQUENCE_HEADER}.
+   */
+  public static final String SEQUENCE_HEADER = "X-Replication-Sequence";
+  /**
+   * Request header asking a follower to answer only once it has applied this sequence.
+   */
+  public static final String MIN_SEQUENCE_HEADER = "X-Replication-Min-Sequence";
+
+  private static final TaskChange.Type[] TYPES = TaskChange.Type.values();
+
+  private ReplicationCodec() {
+  }
+
+  public static void writeTask(Task task, DataOutputStream out) throws IOException {
+    byte[][] text = TaskCodec.text(task);
+    ByteBuffer buffer = ByteBuffer.allocate(TaskCodec.size(text));
+    TaskCodec.write(task, text, buffer);
+    out.writeInt(buffer.capacity());
+    out.write(buffer.array());
+  }
+
+  public static void writeSnapshotEnd(DataOutputStream out) throws IOException {
+    out.writeInt(0);
+  }
+
+  /**
+   * Reads the next task of a snapshot.
+   *
+   * @return the task, or {@code null} at the end of the snapshot
+   * @throws EOFException if the snapshot ends before its end marker
+   */
+  public static Task readTask(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length == 0) {
+      return null;
+    }
+    if (length < 0) {
+      throw new IOException("Invalid task length " + length);
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return TaskCodec.read(ByteBuffer.wrap(bytes));
+  }
+
+  public static void writeChange(TaskChange change, DataOutputStream out) throws IOException {
+    out.writeLong(change.sequence());
+    out.writeByte(change.type().ordinal());
+    if (change.task() == null) {
+      out.writeLong(change.taskId().getMostSignificantBits());
+      out.writeLong(change.taskId().getLeastSignificantBits());
+    } else {
+      writeTask(change.task(), out);
+    }
+  }
+
+  public static TaskChange readChange(DataInputStream in) throws IOException {
+    long sequence = in.readLong();
+    int type = in.readByte();
+    if (type < 0 || type >= TYPES.length) {
+      throw new IOException("Invalid change type " + type);
+    }
+    if (TYPES[type] == TaskChange.Type.DELETED) {
+      UUID id = new UUID(in.readLong(), in.readLong());
+      return new TaskChange(sequence, TaskChange.Type.DELETED, id, null);
+    }
+    Task task = readTask(in);
+    if (task == null) {
+      throw new IOException("Missing task of change " + sequence);
+    }
+    return new TaskChange(sequence, TYPES[type], task.getId(), task);
+  }
+}
@@ -0,0 +1,255 @@
+package com.example.tasktracker.replication;
+
+import com.example.tasktracker.feed.TaskChange;
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.repository.TaskReplay;
+import com.example.tasktracker.repository.TaskRepository;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the local repository a copy of a leader's. On start, and whenever the leader no longer
+ * has the changes it needs, it loads the leader's snapshot, replacing every local task, and
+ * then long-polls the leader's change log from the sequence the snapshot names, applying each
+ * change through the repository so local listeners, such as the search index and statistics,
+ * follow along.
+ *
+ * <p>Changes carry the task's whole state and are applied in sequence order, so replaying one
+ * the snapshot already reflects is harmless; the leader starts the replay a little before its
+ * snapshot for that reason. Both are applied as a {@link TaskReplay}: they repeat writes the
+ * leader has committed, which listeners must not reject even where a snapshot read while the
+ * leader was writing briefly combines states the leader never held at once. The sequence applied so far is published for
+ * {@link #awaitApplied}, which is how reads wait for a client's own writes.
+ *
+ * <p>Runs on one daemon thread. Connection failures are logged and retried after the retry
+ * delay, resuming from the last applied sequence.
+ */
+public final class ReplicationFollower implements Closeable {
+  /**
+   * {@link #appliedSequence()} before the first snapshot has been loaded.
+   */
+  public static final long UNSYNCED = -1;
+
+  private static final Logger LOG = LoggerFactory.getLogger(ReplicationFollower.class);
+  private static final int HTTP_GONE = 410;
+
+  private final TaskRepository repository;
+  private final URI leader;
+  private final int batchSize;
+  private final Duration pollTimeout;
+  private final Duration retryDelay;
+  private final HttpClient client;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition applied = lock.newCondition();
+  private volatile long appliedSequence = UNSYNCED;
+  private volatile long leaderSequence = UNSYNCED;
+  private volatile boolean synced;
+  private Thread thread;
+
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public ReplicationFollower(TaskRepository repository, URI leader, int batchSize,
+      Duration pollTimeout, Duration retryDelay) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("batchSize must be positive");
+    }
+    this.repository = repository;
+    this.leader = leader;
+    this.batchSize = batchSize;
+    this.pollTimeout = pollTimeout;
+    this.retryDelay = retryDelay;
+    this.client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(retryDelay.plusSeconds(1))
+        .build();
+  }
+
+  public synchronized void start() {
+    if (thread != null) {
+      throw new IllegalStateException("Already started");
+    }
+    thread = Thread.ofPlatform().name("task-replication-follower").daemon().start(this::run);
+  }
+
+  /**
+   * Last leader sequence applied locally, or {@link #UNSYNCED}.
+   */
+  public long appliedSequence() {
+    return appliedSequence;
+  }
+
+  /**
+   * Number of leader changes not applied yet, as of the last poll; -1 before the first sync.
+   */
+  public long lag() {
+    long applied = appliedSequence;
+    return applied == UNSYNCED ? UNSYNCED : Math.max(0, leaderSequence - applied);
+  }
+
+  /**
+   * Waits until the leader's change {@code sequence} and every one before it are applied.
+   *
+   * @return {@code false} if {@code timeout} elapsed first
+   */
+  public boolean awaitApplied(long sequence, Duration timeout) throws InterruptedException {
+    if (appliedSequence >= sequence) {
+      return true;
+    }
+    long remaining = timeout.toNanos();
+    lock.lock();
+    try {
+      while (appliedSequence < sequence) {
+        if (remaining <= 0) {
+          return false;
+        }
+        remaining = applied.awaitNanos(remaining);
+      }
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    if (thread != null) {
+      thread.interrupt();
+    }
+    client.close();
+  }
+
+  private void run() {
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        if (!synced) {
+          loadSnapshot();
+        }
+        if (!poll()) {
+          LOG.warn("Leader no longer has the changes after {}; loading its snapshot again",
+              appliedSequence);
+          synced = false;
+        }
+      } catch (InterruptedException ex) {
+        return;
+      } catch (IOException | RuntimeException ex) {
+        LOG.warn("Replication from {} failed; retrying in {}", leader, retryDelay, ex);
+        try {
+          TimeUnit.NANOSECONDS.sleep(retryDelay.toNanos());
+        } catch (InterruptedException interrupted) {
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Replaces the local tasks with the leader's snapshot.
+   */
+  void loadSnapshot() throws IOException, InterruptedException {
+    HttpResponse<InputStream> response = client.send(
+        HttpRequest.newBuilder(leader.resolve("/api/replication/snapshot")).GET().build(),
+        HttpResponse.BodyHandlers.ofInputStream());
+    long replayAfter = sequenceHeader(response);
+    Set<UUID> ids = new HashSet<>();
+    try (DataInputStream in = new DataInputStream(
+        new BufferedInputStream(response.body(), 1 << 16))) {
+      Task task;
+      while ((task = ReplicationCodec.readTask(in)) != null) {
+        Task replayed = task;
+        TaskReplay.run(() -> repository.save(replayed));
+        ids.add(task.getId());
+      }
+    }
+    List<UUID> removed;
+    try (Stream<Task> tasks = repository.streamAll()) {
+      removed = tasks.map(Task::getId).filter(id -> !ids.contains(id)).toList();
+    }
+    repository.deleteAllById(removed);
+    LOG.info("Loaded {} tasks from {} up to sequence {}", ids.size(), leader, replayAfter);
+    synced = true;
+    publish(replayAfter);
+  }
+
+  /**
+   * Applies the next batch of changes, waiting up to the poll timeout for one.
+   *
+   * @return {@code false} if the leader no longer has the changes following the applied ones
+   */
+  boolean poll() throws IOException, InterruptedException {
+    URI uri = leader.resolve("/api/replication/log?after=%d&max=%d&waitMillis=%d"
+        .formatted(appliedSequence, batchSize, pollTimeout.toMillis()));
+    HttpResponse<InputStream> response = client.send(
+        HttpRequest.newBuilder(uri).timeout(pollTimeout.plus(retryDelay)).GET().build(),
+        HttpResponse.BodyHandlers.ofInputStream());
+    if (response.statusCode() == HTTP_GONE) {
+      response.body().close();
+      return false;
+    }
+    leaderSequence = sequenceHeader(response);
+    List<TaskChange> changes;
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(response.body()))) {
+      int count = in.readInt();
+      changes = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        changes.add(ReplicationCodec.readChange(in));
+      }
+    }
+    TaskReplay.run(() -> {
+      for (TaskChange change : changes) {
+        if (change.task() == null) {
+          repository.deleteById(change.taskId());
+        } else {
+          repository.save(change.task());
+        }
+      }
+      return null;
+    });
+    if (!changes.isEmpty()) {
+      publish(changes.get(changes.size() - 1).sequence());
+    }
+    return true;
+  }
+
+  private void publish(long sequence) {
+    lock.lock();
+    try {
+      appliedSequence = sequence;
+      applied.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static long sequenceHeader(HttpResponse<InputStream> response) throws IOException {
+    if (response.statusCode() != 200) {
+      response.body().close();
+      throw new IOException("Leader answered " + response.statusCode() + " to " + response.uri());
+    }
+    String sequence = response.headers().firstValue(ReplicationCodec.SEQUENCE_HEADER)
+        .orElseThrow(() -> new IOException("Leader response lacks a sequence header"));
+    try {
+      return Long.parseLong(sequence);
+    } catch (NumberFormatException ex) {
+      throw new IOException("Invalid sequence header " + sequence, ex);
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package com.example.tasktracker.replication;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Classifies requests for the replication filters.
+ */
+final class ReplicationRequests {
+  private static final String TASKS_PATH = "/api/tasks";
+
+  private ReplicationRequests() {
+  }
+
+  static boolean isTaskRequest(HttpServletRequest request) {
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    return path.equals(TASKS_PATH) || path.startsWith(TASKS_PATH + "/");
+  }
+
+  /**
+   * Whether {@code request} may change tasks: any task request but {@code GET}, {@code HEAD} and
+   * {@code OPTIONS}.
+   */
+  static boolean isTaskWrite(HttpServletRequest request) {
+    return isTaskRequest(request) && !isSafe(request.getMethod());
+  }
+
+  static boolean isSafe(String method) {
+    return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+  }
+}
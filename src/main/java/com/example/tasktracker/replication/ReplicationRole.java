@@ -0,0 +1,19 @@
+package com.example.tasktracker.replication;
+
+/**
+ * Part a node plays in replication.
+ */
+public enum ReplicationRole {
+  /**
+   * Standalone: takes writes and replicates nowhere.
+   */
+  NONE,
+  /**
+   * Takes writes and serves its snapshot and change log to followers.
+   */
+  LEADER,
+  /**
+   * Copies the leader's tasks and serves reads; writes are redirected to the leader.
+   */
+  FOLLOWER
+}
@@ -3,25 +3,122 @@ package com.example.tasktracker.repository;
 import com.example.tasktracker.model.Task;
 import com.example.tasktracker.model.TaskStatus;
 import java.time.LocalDate;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import org.springframework.stereotype.Repository;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
-@Repository
+/**
+ * Task store backed by a {@link ConcurrentHashMap} with secondary indexes by status and due date.
+ * Both indexes keep tasks in {@link TaskKey} order, which is also the order of paged queries.
+ *
+ * <p>New index entries are added inside {@link Map#compute}, before the write is visible, and
+ * the entries it replaced are removed after it is, so an index holds a task's key whichever
+ * version of the task the store shows. Readers go through the indexes and re-check every hit
+ * against the store, which hides entries of writes that are still in flight and replaced
+ * entries not removed yet.
+ * {@link TaskWriteListener}s are notified from the same critical section, and
+ * {@link #compareAndUpdate} checks the version there, so conditional updates need no locks of
+ * their own.
+ */
 public class InMemoryTaskRepository implements TaskRepository {
+  private static final TaskStatus[] STATUSES = TaskStatus.values();
+
   private final Map<UUID, Task> store = new ConcurrentHashMap<>();
+  /**
+   * Index entries are the keys of skip-list maps rather than sets, so that {@link #loadAll} can
+   * build them from sorted keys in one pass. Replaced only by {@link #loadAll}, before the
+   * repository is shared.
+   */
+  private final Map<TaskStatus, ConcurrentNavigableMap<TaskKey, Boolean>> statusIndex =
+      new EnumMap<>(TaskStatus.class);
+  private ConcurrentNavigableMap<TaskKey, Boolean> dueDateIndex = new ConcurrentSkipListMap<>();
+  private final Map<TaskStatus, LongAdder> statusCounts = new EnumMap<>(TaskStatus.class);
+  private final LongAdder modifications = new LongAdder();
+  private final Map<TaskStatus, LongAdder> statusModifications = new EnumMap<>(TaskStatus.class);
+  private final List<TaskWriteListener> listeners = new CopyOnWriteArrayList<>();
+
+  public InMemoryTaskRepository() {
+    for (TaskStatus status : TaskStatus.values()) {
+      statusIndex.put(status, new ConcurrentSkipListMap<>());
+      statusCounts.put(status, new LongAdder());
+      statusModifications.put(status, new LongAdder());
+    }
+  }
+
+  @Override
+  public void addWriteListener(TaskWriteListener listener) {
+    listeners.add(listener);
+  }
 
   @Override
   public Task save(Task task) {
-    store.put(task.getId(), task);
+    Task[] replaced = new Task[1];
+    store.compute(task.getId(), (id, previous) -> {
+      notifyListeners(previous, task);
+      index(previous, task);
+      replaced[0] = previous;
+      return task;
+    });
+    removeReplacedKeys(replaced[0], task);
+    countModification(replaced[0], task);
     return task;
   }
 
+  @Override
+  public List<Task> saveAll(Collection<Task> tasks) {
+    for (Task task : tasks) {
+      save(task);
+    }
+    return List.copyOf(tasks);
+  }
+
+  /**
+   * Bulk-loads tasks with distinct ids into an empty repository that is not shared with other
+   * threads yet, such as during recovery. The store is sized for the tasks up front and filled
+   * while the indexes are built on the common fork-join pool: the keys are sorted once and each
+   * index is built from them in a single pass, without comparing keys to find their place.
+   * Listeners are not notified.
+   *
+   * @throws IllegalStateException if the repository is not empty
+   */
+  public void loadAll(List<Task> tasks) {
+    if (!store.isEmpty()) {
+      throw new IllegalStateException("loadAll requires an empty repository");
+    }
+    Task[] loaded = tasks.toArray(Task[]::new);
+    ForkJoinTask<?> indexing = ForkJoinPool.commonPool().submit(() -> buildIndexes(loaded));
+    store.putAll(new LoadedTasks(loaded));
+    indexing.join();
+    for (Task task : loaded) {
+      statusCounts.get(task.getStatus()).increment();
+      statusModifications.get(task.getStatus()).increment();
+    }
+    modifications.add(loaded.length);
+  }
+
   @Override
   public Optional<Task> findById(UUID id) {
     return Optional.ofNullable(store.get(id));
@@ -32,22 +129,347 @@ public class InMemoryTaskRepository implements TaskRepository {
     return Collections.unmodifiableList(new ArrayList<>(store.values()));
   }
 
+  @Override
+  public Stream<Task> streamAll() {
+    return store.values().stream();
+  }
+
   @Override
   public List<Task> findByStatus(TaskStatus status) {
-    return store.values().stream()
-        .filter(task -> task.getStatus() == status)
-        .toList();
+    return resolve(statusIndex.get(status).keySet(), status, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public long count() {
+    return store.size();
+  }
+
+  /**
+   * Kept next to the status index rather than read from it, since sizing a skip list is linear.
+   */
+  @Override
+  public long countByStatus(TaskStatus status) {
+    return statusCounts.get(status).sum();
+  }
+
+  @Override
+  public long modificationCount() {
+    return modifications.sum();
+  }
+
+  @Override
+  public long modificationCountByStatus(TaskStatus status) {
+    return statusModifications.get(status).sum();
   }
 
   @Override
   public List<Task> findDueOnOrBefore(LocalDate date) {
-    return store.values().stream()
-        .filter(task -> !task.getDueDate().isAfter(date))
-        .toList();
+    return resolve(dueDateIndex.headMap(TaskKey.upperBound(date), true).keySet(), null,
+        Integer.MAX_VALUE);
+  }
+
+  @Override
+  public List<Task> findByStatusAndDueOnOrBefore(TaskStatus status, LocalDate date) {
+    return resolve(statusIndex.get(status).headMap(TaskKey.upperBound(date), true).keySet(),
+        status, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public List<Task> findPage(TaskStatus status, LocalDate dueOnOrBefore, TaskCursor after,
+      int limit) {
+    NavigableSet<TaskKey> keys =
+        (status == null ? dueDateIndex : statusIndex.get(status)).keySet();
+    if (dueOnOrBefore != null) {
+      keys = keys.headSet(TaskKey.upperBound(dueOnOrBefore), true);
+    }
+    if (after != null) {
+      keys = keys.tailSet(after.toKey(), false);
+    }
+    return resolve(keys, status, limit);
+  }
+
+  @Override
+  public Optional<Task> compareAndUpdate(UUID id, long expectedVersion,
+      UnaryOperator<Task> update) {
+    Task[] replaced = new Task[1];
+    Task current = store.computeIfPresent(id, (key, previous) -> {
+      if (expectedVersion != ANY_VERSION && previous.getVersion() != expectedVersion) {
+        throw new TaskVersionConflictException(id, expectedVersion, previous.getVersion());
+      }
+      Task updated = update.apply(previous).toBuilder()
+          .id(id)
+          .version(previous.getVersion() + 1)
+          .build();
+      notifyListeners(previous, updated);
+      index(previous, updated);
+      replaced[0] = previous;
+      return updated;
+    });
+    if (current != null) {
+      removeReplacedKeys(replaced[0], current);
+      countModification(replaced[0], current);
+    }
+    return Optional.ofNullable(current);
   }
 
   @Override
   public void deleteById(UUID id) {
-    store.remove(id);
+    Task[] replaced = new Task[1];
+    store.computeIfPresent(id, (key, previous) -> {
+      notifyListeners(previous, null);
+      index(previous, null);
+      replaced[0] = previous;
+      return null;
+    });
+    if (replaced[0] != null) {
+      removeReplacedKeys(replaced[0], null);
+      countModification(replaced[0], null);
+    }
+  }
+
+  @Override
+  public void deleteAllById(Collection<UUID> ids) {
+    for (UUID id : ids) {
+      deleteById(id);
+    }
+  }
+
+  /**
+   * Replaces task {@code id} with {@code replacement}, or deletes it if that is {@code null},
+   * but only while it is still the very {@code expected} instance, {@code null} meaning absent.
+   * Meant to undo a write, which is why versions are taken as given and listeners are notified
+   * of it as a {@link TaskReplay}, which they do not reject.
+   *
+   * @return whether the task was {@code expected}, and so is now {@code replacement}
+   */
+  public boolean restore(UUID id, Task expected, Task replacement) {
+    if (expected == replacement) {
+      return store.get(id) == expected;
+    }
+    boolean[] restored = new boolean[1];
+    store.compute(id, (key, previous) -> {
+      if (previous != expected) {
+        return previous;
+      }
+      TaskReplay.run(() -> {
+        notifyListeners(previous, replacement);
+        return null;
+      });
+      index(previous, replacement);
+      restored[0] = true;
+      return replacement;
+    });
+    if (restored[0]) {
+      removeReplacedKeys(expected, replacement);
+      countModification(expected, replacement);
+    }
+    return restored[0];
+  }
+
+  int statusIndexSize(TaskStatus status) {
+    return statusIndex.get(status).size();
+  }
+
+  int dueDateIndexSize() {
+    return dueDateIndex.size();
+  }
+
+  /**
+   * Looks up the tasks behind {@code keys} in index order, skipping entries whose task has
+   * since been deleted or moved to another status or due date.
+   */
+  private List<Task> resolve(Iterable<TaskKey> keys, TaskStatus status, int limit) {
+    List<Task> result = new ArrayList<>();
+    Iterator<TaskKey> iterator = keys.iterator();
+    while (result.size() < limit && iterator.hasNext()) {
+      TaskKey key = iterator.next();
+      Task task = store.get(key.id());
+      if (task != null
+          && Objects.equals(task.getDueDate(), key.dueDate())
+          && (status == null || task.getStatus() == status)) {
+        result.add(task);
+      }
+    }
+    return Collections.unmodifiableList(result);
+  }
+
+  /**
+   * Bumps the modification counts for a write. Called once the write is visible, which is what
+   * makes a count read before a query safe to use as its validator.
+   */
+  private void countModification(Task previous, Task current) {
+    if (current != null) {
+      statusModifications.get(current.getStatus()).increment();
+    }
+    if (previous != null && (current == null || previous.getStatus() != current.getStatus())) {
+      statusModifications.get(previous.getStatus()).increment();
+    }
+    modifications.increment();
+  }
+
+  private void notifyListeners(Task previous, Task current) {
+    for (TaskWriteListener listener : listeners) {
+      listener.beforeWrite(previous, current);
+    }
+    for (TaskWriteListener listener : listeners) {
+      listener.onWrite(previous, current);
+    }
+  }
+
+  /**
+   * Sorts the keys of {@code loaded} and builds every index from them.
+   */
+  private void buildIndexes(Task[] loaded) {
+    Task[] sorted = TaskOrderSort.sorted(loaded);
+    TaskKey[] keys = new TaskKey[sorted.length];
+    TaskKey[][] byStatus = new TaskKey[STATUSES.length][];
+    int[] sizes = new int[STATUSES.length];
+    for (Task task : sorted) {
+      sizes[task.getStatus().ordinal()]++;
+    }
+    for (TaskStatus status : STATUSES) {
+      byStatus[status.ordinal()] = new TaskKey[sizes[status.ordinal()]];
+      sizes[status.ordinal()] = 0;
+    }
+    for (int i = 0; i < sorted.length; i++) {
+      keys[i] = new TaskKey(sorted[i].getDueDate(), sorted[i].getId());
+      int status = sorted[i].getStatus().ordinal();
+      byStatus[status][sizes[status]++] = keys[i];
+    }
+    dueDateIndex = new ConcurrentSkipListMap<>(new SortedKeys(keys));
+    for (TaskStatus status : STATUSES) {
+      statusIndex.put(status,
+          new ConcurrentSkipListMap<>(new SortedKeys(byStatus[status.ordinal()])));
+    }
+  }
+
+  /**
+   * Adds the index entries of {@code current} and moves the status count from {@code previous}.
+   * Called inside the write's {@code compute}; the entries of {@code previous} stay until
+   * {@link #removeReplacedKeys}, so a reader never misses a task that is in an index in both
+   * versions, nor one whose write is not visible yet.
+   */
+  private void index(Task previous, Task current) {
+    if (current != null) {
+      TaskKey currentKey = new TaskKey(current.getDueDate(), current.getId());
+      statusIndex.get(current.getStatus()).put(currentKey, Boolean.TRUE);
+      dueDateIndex.put(currentKey, Boolean.TRUE);
+      statusCounts.get(current.getStatus()).increment();
+    }
+    if (previous != null) {
+      statusCounts.get(previous.getStatus()).decrement();
+    }
+  }
+
+  /**
+   * Removes the index entries of {@code previous} that {@code current} no longer has, once the
+   * write is visible. Runs under the task's entry again and only removes entries that the task
+   * stored by then does not have, since a later write may have added them back.
+   */
+  private void removeReplacedKeys(Task previous, Task current) {
+    if (previous == null) {
+      return;
+    }
+    TaskKey previousKey = new TaskKey(previous.getDueDate(), previous.getId());
+    if (current != null && current.getStatus() == previous.getStatus()
+        && previousKey.equals(new TaskKey(current.getDueDate(), current.getId()))) {
+      return;
+    }
+    store.compute(previous.getId(), (id, stored) -> {
+      boolean keyStored = stored != null
+          && previousKey.equals(new TaskKey(stored.getDueDate(), stored.getId()));
+      if (!keyStored || stored.getStatus() != previous.getStatus()) {
+        statusIndex.get(previous.getStatus()).remove(previousKey);
+      }
+      if (!keyStored) {
+        dueDateIndex.remove(previousKey);
+      }
+      return stored;
+    });
+  }
+
+  /**
+   * Tasks being loaded, as a map from id, so that {@link ConcurrentHashMap#putAll} sizes the
+   * store for them before adding them.
+   */
+  private static final class LoadedTasks extends AbstractMap<UUID, Task> {
+    private final Task[] tasks;
+
+    LoadedTasks(Task[] tasks) {
+      this.tasks = tasks;
+    }
+
+    @Override
+    public Set<Map.Entry<UUID, Task>> entrySet() {
+      return new AbstractSet<>() {
+        @Override
+        public int size() {
+          return tasks.length;
+        }
+
+        @Override
+        public Iterator<Map.Entry<UUID, Task>> iterator() {
+          return Arrays.stream(tasks).map(task -> Map.entry(task.getId(), task)).iterator();
+        }
+      };
+    }
+  }
+
+  /**
+   * Keys in ascending order, as a sorted map for {@link ConcurrentSkipListMap} to build an index
+   * from in one pass. Only iterating its entries is supported.
+   */
+  private static final class SortedKeys extends AbstractMap<TaskKey, Boolean>
+      implements SortedMap<TaskKey, Boolean> {
+    private final TaskKey[] keys;
+
+    SortedKeys(TaskKey[] keys) {
+      this.keys = keys;
+    }
+
+    @Override
+    public Comparator<? super TaskKey> comparator() {
+      return null;
+    }
+
+    @Override
+    public Set<Map.Entry<TaskKey, Boolean>> entrySet() {
+      return new AbstractSet<>() {
+        @Override
+        public int size() {
+          return keys.length;
+        }
+
+        @Override
+        public Iterator<Map.Entry<TaskKey, Boolean>> iterator() {
+          return Arrays.stream(keys).map(key -> Map.entry(key, Boolean.TRUE)).iterator();
+        }
+      };
+    }
+
+    @Override
+    public SortedMap<TaskKey, Boolean> subMap(TaskKey fromKey, TaskKey toKey) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public SortedMap<TaskKey, Boolean> headMap(TaskKey toKey) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public SortedMap<TaskKey, Boolean> tailMap(TaskKey fromKey) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public TaskKey firstKey() {
+      return keys[0];
+    }
+
+    @Override
+    public TaskKey lastKey() {
+      return keys[keys.length - 1];
+    }
   }
 }
@@ -0,0 +1,261 @@
+package com.example.tasktracker.repository;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Records the latency of every {@link TaskRepository} method as {@value #LATENCY} and the size
+ * of list query results as {@value #RESULTS}, both tagged with the method name.
+ *
+ * <p>All meters are registered up front, so a call costs two {@link System#nanoTime()} reads and
+ * a lock-free histogram update, with no tag or lambda allocation. {@link #streamAll()} is not
+ * timed because its cost is paid by whoever consumes the stream, and the count methods are not
+ * timed because they are counter reads backing gauges and validators.
+ */
+public final class MeteredTaskRepository implements TaskRepository, Closeable {
+  static final String LATENCY = "tasktracker.repository";
+  static final String RESULTS = "tasktracker.repository.results";
+
+  private final TaskRepository delegate;
+  private final Timer save;
+  private final Timer saveAll;
+  private final Timer findById;
+  private final Timer findAll;
+  private final Timer findByStatus;
+  private final Timer findDueOnOrBefore;
+  private final Timer findByStatusAndDueOnOrBefore;
+  private final Timer findPage;
+  private final Timer compareAndUpdate;
+  private final Timer deleteById;
+  private final Timer deleteAllById;
+  private final DistributionSummary findAllResults;
+  private final DistributionSummary findByStatusResults;
+  private final DistributionSummary findDueOnOrBeforeResults;
+  private final DistributionSummary findByStatusAndDueOnOrBeforeResults;
+  private final DistributionSummary findPageResults;
+
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public MeteredTaskRepository(TaskRepository delegate, MeterRegistry registry) {
+    this.delegate = delegate;
+    this.save = timer(registry, "save");
+    this.saveAll = timer(registry, "saveAll");
+    this.findById = timer(registry, "findById");
+    this.findAll = timer(registry, "findAll");
+    this.findByStatus = timer(registry, "findByStatus");
+    this.findDueOnOrBefore = timer(registry, "findDueOnOrBefore");
+    this.findByStatusAndDueOnOrBefore = timer(registry, "findByStatusAndDueOnOrBefore");
+    this.findPage = timer(registry, "findPage");
+    this.compareAndUpdate = timer(registry, "compareAndUpdate");
+    this.deleteById = timer(registry, "deleteById");
+    this.deleteAllById = timer(registry, "deleteAllById");
+    this.findAllResults = results(registry, "findAll");
+    this.findByStatusResults = results(registry, "findByStatus");
+    this.findDueOnOrBeforeResults = results(registry, "findDueOnOrBefore");
+    this.findByStatusAndDueOnOrBeforeResults = results(registry, "findByStatusAndDueOnOrBefore");
+    this.findPageResults = results(registry, "findPage");
+  }
+
+  @Override
+  public Task save(Task task) {
+    long start = System.nanoTime();
+    try {
+      return delegate.save(task);
+    } finally {
+      stop(save, start);
+    }
+  }
+
+  @Override
+  public List<Task> saveAll(Collection<Task> tasks) {
+    long start = System.nanoTime();
+    try {
+      return delegate.saveAll(tasks);
+    } finally {
+      stop(saveAll, start);
+    }
+  }
+
+  @Override
+  public Optional<Task> findById(UUID id) {
+    long start = System.nanoTime();
+    try {
+      return delegate.findById(id);
+    } finally {
+      stop(findById, start);
+    }
+  }
+
+  @Override
+  public List<Task> findAll() {
+    long start = System.nanoTime();
+    List<Task> tasks;
+    try {
+      tasks = delegate.findAll();
+    } finally {
+      stop(findAll, start);
+    }
+    findAllResults.record(tasks.size());
+    return tasks;
+  }
+
+  @Override
+  public Stream<Task> streamAll() {
+    return delegate.streamAll();
+  }
+
+  @Override
+  public List<Task> findByStatus(TaskStatus status) {
+    long start = System.nanoTime();
+    List<Task> tasks;
+    try {
+      tasks = delegate.findByStatus(status);
+    } finally {
+      stop(findByStatus, start);
+    }
+    findByStatusResults.record(tasks.size());
+    return tasks;
+  }
+
+  @Override
+  public long count() {
+    return delegate.count();
+  }
+
+  @Override
+  public long countByStatus(TaskStatus status) {
+    return delegate.countByStatus(status);
+  }
+
+  @Override
+  public long modificationCount() {
+    return delegate.modificationCount();
+  }
+
+  @Override
+  public long modificationCountByStatus(TaskStatus status) {
+    return delegate.modificationCountByStatus(status);
+  }
+
+  @Override
+  public List<Task> findDueOnOrBefore(LocalDate date) {
+    long start = System.nanoTime();
+    List<Task> tasks;
+    try {
+      tasks = delegate.findDueOnOrBefore(date);
+    } finally {
+      stop(findDueOnOrBefore, start);
+    }
+    findDueOnOrBeforeResults.record(tasks.size());
+    return tasks;
+  }
+
+  @Override
+  public List<Task> findByStatusAndDueOnOrBefore(TaskStatus status, LocalDate date) {
+    long start = System.nanoTime();
+    List<Task> tasks;
+    try {
+      tasks = delegate.findByStatusAndDueOnOrBefore(status, date);
+    } finally {
+      stop(findByStatusAndDueOnOrBefore, start);
+    }
+    findByStatusAndDueOnOrBeforeResults.record(tasks.size());
+    return tasks;
+  }
+
+  @Override
+  public List<Task> findPage(TaskStatus status, LocalDate dueOnOrBefore, TaskCursor after,
+      int limit) {
+    long start = System.nanoTime();
+    List<Task> tasks;
+    try {
+      tasks = delegate.findPage(status, dueOnOrBefore, after, limit);
+    } finally {
+      stop(findPage, start);
+    }
+    findPageResults.record(tasks.size());
+    return tasks;
+  }
+
+  @Override
+  public Optional<Task> compareAndUpdate(UUID id, long expectedVersion,
+      UnaryOperator<Task> update) {
+    long start = System.nanoTime();
+    try {
+      return delegate.compareAndUpdate(id, expectedVersion, update);
+    } finally {
+      stop(compareAndUpdate, start);
+    }
+  }
+
+  @Override
+  public <T> T inBatch(Supplier<T> writes) {
+    return delegate.inBatch(writes);
+  }
+
+  @Override
+  public void deleteById(UUID id) {
+    long start = System.nanoTime();
+    try {
+      delegate.deleteById(id);
+    } finally {
+      stop(deleteById, start);
+    }
+  }
+
+  @Override
+  public void deleteAllById(Collection<UUID> ids) {
+    long start = System.nanoTime();
+    try {
+      delegate.deleteAllById(ids);
+    } finally {
+      stop(deleteAllById, start);
+    }
+  }
+
+  @Override
+  public void addWriteListener(TaskWriteListener listener) {
+    delegate.addWriteListener(listener);
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (delegate instanceof Closeable closeable) {
+      closeable.close();
+    }
+  }
+
+  private static void stop(Timer timer, long start) {
+    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+  }
+
+  private static Timer timer(MeterRegistry registry, String method) {
+    return Timer.builder(LATENCY)
+        .description("Latency of task repository calls")
+        .tag("method", method)
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  private static DistributionSummary results(MeterRegistry registry, String method) {
+    return DistributionSummary.builder(RESULTS)
+        .description("Number of tasks returned by task repository queries")
+        .tag("method", method)
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+}
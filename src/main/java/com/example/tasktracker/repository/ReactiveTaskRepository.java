@@ -0,0 +1,82 @@
+package com.example.tasktracker.repository;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Reactive facade over a {@link TaskRepository}.
+ *
+ * <p>{@link #findAll} reads the store one {@link TaskRepository#findPage page} at a time and only
+ * when the subscriber asks for more, so a slow consumer holds back the reads and at most two
+ * pages per subscription are in memory. Like cursor paging, the result is ordered by due date
+ * and id and weakly consistent: a task moved concurrently may be missed or seen twice.
+ *
+ * <p>Reads are served on the calling thread since they never block. Writes can block on a
+ * durable repository, so they are moved to {@link Schedulers#boundedElastic()}.
+ */
+public class ReactiveTaskRepository {
+  static final int DEFAULT_PAGE_SIZE = 256;
+
+  private final TaskRepository repository;
+  private final int pageSize;
+  private final Scheduler writeScheduler = Schedulers.boundedElastic();
+
+  public ReactiveTaskRepository(TaskRepository repository) {
+    this(repository, DEFAULT_PAGE_SIZE);
+  }
+
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  ReactiveTaskRepository(TaskRepository repository, int pageSize) {
+    this.repository = repository;
+    this.pageSize = pageSize;
+  }
+
+  public Mono<Task> findById(UUID id) {
+    return Mono.fromCallable(() -> repository.findById(id).orElse(null));
+  }
+
+  /**
+   * Streams every task matching the optional filters in due date and id order.
+   */
+  public Flux<Task> findAll(TaskStatus status, LocalDate dueOnOrBefore) {
+    return Flux.<List<Task>, Optional<TaskCursor>>generate(Optional::empty, (after, sink) -> {
+      List<Task> page = repository.findPage(status, dueOnOrBefore, after.orElse(null), pageSize);
+      if (!page.isEmpty()) {
+        sink.next(page);
+      }
+      if (page.size() < pageSize) {
+        sink.complete();
+        return after;
+      }
+      return Optional.of(TaskCursor.of(page.get(page.size() - 1)));
+    }).concatMapIterable(page -> page, 1);
+  }
+
+  public Mono<Task> save(Task task) {
+    return Mono.fromCallable(() -> repository.save(task)).subscribeOn(writeScheduler);
+  }
+
+  /**
+   * See {@link TaskRepository#compareAndUpdate}; errors with
+   * {@link TaskVersionConflictException} on a version mismatch.
+   */
+  public Mono<Task> compareAndUpdate(UUID id, long expectedVersion, UnaryOperator<Task> update) {
+    return Mono.fromCallable(() -> repository.compareAndUpdate(id, expectedVersion, update)
+            .orElse(null))
+        .subscribeOn(writeScheduler);
+  }
+
+  public Mono<Void> deleteById(UUID id) {
+    return Mono.<Void>fromRunnable(() -> repository.deleteById(id)).subscribeOn(writeScheduler);
+  }
+}
@@ -0,0 +1,62 @@
+package com.example.tasktracker.repository;
+
+import com.example.tasktracker.model.Task;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Lets a {@link TaskWriteListener} be registered with a repository before it is filled with the
+ * tasks the repository already holds, so that no write made in between is lost. Until
+ * {@link #addAll} returns, it remembers the id of every task written or filled in, and whichever
+ * comes first for a task applies it: a write finds the listener without the task's previous
+ * state and only adds the new one, and the fill skips tasks already written. Both run under the
+ * id's entry in a {@link ConcurrentHashMap}, so they cannot interleave for the same task.
+ *
+ * <p>A write that fails is not remembered, so the fill still adds the state it left in place.
+ * The ids are dropped once {@link #addAll} returns, after which writes go straight through.
+ */
+public final class TaskBackfill {
+  private volatile Map<UUID, Boolean> seen = new ConcurrentHashMap<>();
+
+  /**
+   * Passes a write to {@code apply}, with {@code previous} replaced by {@code null} while the
+   * listener has not been filled with the task yet. Calls nothing if that leaves no state.
+   */
+  public void write(Task previous, Task current, BiConsumer<Task, Task> apply) {
+    Map<UUID, Boolean> ids = seen;
+    if (ids == null) {
+      apply.accept(previous, current);
+      return;
+    }
+    UUID id = current == null ? previous.getId() : current.getId();
+    ids.compute(id, (key, known) -> {
+      Task applied = known == null ? null : previous;
+      if (applied != null || current != null) {
+        apply.accept(applied, current);
+      }
+      return Boolean.TRUE;
+    });
+  }
+
+  /**
+   * Passes every task of {@code tasks} that no write has reached yet to {@code add}, then stops
+   * remembering ids.
+   *
+   * @throws IllegalStateException if called more than once
+   */
+  public void addAll(Stream<Task> tasks, Consumer<Task> add) {
+    Map<UUID, Boolean> ids = seen;
+    if (ids == null) {
+      throw new IllegalStateException("Already filled");
+    }
+    tasks.forEach(task -> ids.computeIfAbsent(task.getId(), key -> {
+      add.accept(task);
+      return Boolean.TRUE;
+    }));
+    seen = null;
+  }
+}
@@ -0,0 +1,62 @@
+package com.example.tasktracker.repository;
+
+import com.example.tasktracker.model.Task;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Position of the last task returned by a paged query. Pages are ordered by due date (tasks
+ * without one last) and then by id, so a cursor stays valid while other tasks change.
+ */
+public record TaskCursor(LocalDate dueDate, UUID id) {
+  /**
+   * Order of paged queries, and of every other date-ordered query.
+   */
+  public static final Comparator<Task> TASK_ORDER = Comparator
+      .comparing(Task::getDueDate, Comparator.nullsLast(Comparator.naturalOrder()))
+      .thenComparing(Task::getId);
+
+  private static final String NO_DUE_DATE = "-";
+
+  public static TaskCursor of(Task task) {
+    return new TaskCursor(task.getDueDate(), task.getId());
+  }
+
+  /**
+   * Encodes the cursor as an opaque URL-safe token.
+   */
+  public String encode() {
+    String date = dueDate == null ? NO_DUE_DATE : dueDate.toString();
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString((date + "|" + id).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Parses a token produced by {@link #encode()}.
+   *
+   * @throws IllegalArgumentException if the token is malformed
+   */
+  public static TaskCursor decode(String token) {
+    try {
+      String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int separator = value.indexOf('|');
+      if (separator < 0) {
+        throw new IllegalArgumentException("Malformed cursor");
+      }
+      String date = value.substring(0, separator);
+      return new TaskCursor(
+          NO_DUE_DATE.equals(date) ? null : LocalDate.parse(date),
+          UUID.fromString(value.substring(separator + 1)));
+    } catch (DateTimeParseException ex) {
+      throw new IllegalArgumentException("Malformed cursor", ex);
+    }
+  }
+
+  TaskKey toKey() {
+    return new TaskKey(dueDate, id);
+  }
+}
@@ -0,0 +1,29 @@
+package com.example.tasktracker.repository;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Sort key of a task in the date-ordered indexes: due date first (tasks without one last),
+ * then id.
+ */
+record TaskKey(LocalDate dueDate, UUID id) implements Comparable<TaskKey> {
+  private static final UUID LAST_ID = new UUID(Long.MAX_VALUE, Long.MAX_VALUE);
+
+  private static final Comparator<TaskKey> ORDER = Comparator
+      .comparing(TaskKey::dueDate, Comparator.nullsLast(Comparator.naturalOrder()))
+      .thenComparing(TaskKey::id);
+
+  /**
+   * Returns a key that sorts after every task due on {@code date}.
+   */
+  static TaskKey upperBound(LocalDate date) {
+    return new TaskKey(date, LAST_ID);
+  }
+
+  @Override
+  public int compareTo(TaskKey other) {
+    return ORDER.compare(this, other);
+  }
+}
@@ -0,0 +1,93 @@
+package com.example.tasktracker.repository;
+
+import com.example.tasktracker.model.Task;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * Sorts tasks into {@link TaskCursor#TASK_ORDER} much faster than a comparison sort of the task
+ * references, whose every comparison chases pointers to two due dates and two ids. Tasks are
+ * first distributed by due day with a counting sort. Each day is then sorted by id as an array
+ * of {@code long}s holding the high bits of the id's most significant half, with the task's
+ * position in the day in the low bits; tasks whose ids share those high bits are put in order
+ * by comparing the ids. Days are sorted in parallel.
+ *
+ * <p>Falls back to {@link Arrays#parallelSort} when the due dates span more days than there are
+ * tasks, where counting days would cost more than it saves.
+ */
+final class TaskOrderSort {
+  private static final Comparator<Task> ID_ORDER = Comparator.comparing(Task::getId);
+
+  private TaskOrderSort() {
+  }
+
+  /**
+   * Returns {@code tasks} in {@link TaskCursor#TASK_ORDER}, leaving the array as it is.
+   */
+  static Task[] sorted(Task[] tasks) {
+    long first = Long.MAX_VALUE;
+    long last = Long.MIN_VALUE;
+    for (Task task : tasks) {
+      if (task.getDueDate() != null) {
+        long day = task.getDueDate().toEpochDay();
+        first = Math.min(first, day);
+        last = Math.max(last, day);
+      }
+    }
+    if (first <= last && last - first >= tasks.length) {
+      Task[] sorted = tasks.clone();
+      Arrays.parallelSort(sorted, TaskCursor.TASK_ORDER);
+      return sorted;
+    }
+    // Days are numbered from the first due date, and tasks without one come last.
+    int days = first <= last ? (int) (last - first + 1) : 0;
+    int[] starts = new int[days + 2];
+    for (Task task : tasks) {
+      starts[day(task, first, days) + 1]++;
+    }
+    for (int day = 1; day < starts.length; day++) {
+      starts[day] += starts[day - 1];
+    }
+    int[] next = Arrays.copyOf(starts, days + 1);
+    Task[] sorted = new Task[tasks.length];
+    for (Task task : tasks) {
+      sorted[next[day(task, first, days)]++] = task;
+    }
+    IntStream.rangeClosed(0, days).parallel()
+        .filter(day -> starts[day + 1] - starts[day] > 1)
+        .forEach(day -> sortById(sorted, starts[day], starts[day + 1]));
+    return sorted;
+  }
+
+  private static int day(Task task, long first, int days) {
+    return task.getDueDate() == null ? days : (int) (task.getDueDate().toEpochDay() - first);
+  }
+
+  /**
+   * Sorts {@code tasks} from {@code from}, inclusive, to {@code to}, exclusive, by id.
+   */
+  private static void sortById(Task[] tasks, int from, int to) {
+    int size = to - from;
+    long positionMask = (1L << (64 - Long.numberOfLeadingZeros(size - 1))) - 1;
+    long[] keys = new long[size];
+    for (int i = 0; i < size; i++) {
+      // Clearing low bits keeps the signed order that UUID.compareTo uses.
+      keys[i] = tasks[from + i].getId().getMostSignificantBits() & ~positionMask | i;
+    }
+    Arrays.sort(keys);
+    Task[] day = Arrays.copyOfRange(tasks, from, to);
+    for (int i = 0; i < size; i++) {
+      tasks[from + i] = day[(int) (keys[i] & positionMask)];
+    }
+    int tieStart = 0;
+    for (int i = 1; i <= size; i++) {
+      if (i == size || (keys[i] & ~positionMask) != (keys[tieStart] & ~positionMask)) {
+        if (i - tieStart > 1) {
+          Arrays.sort(tasks, from + tieStart, from + i, ID_ORDER);
+        }
+        tieStart = i;
+      }
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package com.example.tasktracker.repository;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks the repository writes of the current thread as replays of state already committed
+ * elsewhere, such as a follower applying its leader's snapshot and changes, or a write being
+ * undone. A listener that rejects writes from {@link TaskWriteListener#beforeWrite} accepts
+ * replayed ones, since the state they lead to exists whether it does or not, and rejecting them
+ * would only leave the copy unable to catch up.
+ */
+public final class TaskReplay {
+  private static final ThreadLocal<Boolean> REPLAYING = ThreadLocal.withInitial(() -> false);
+
+  private TaskReplay() {
+  }
+
+  /**
+   * Runs {@code writes} with the writes they make on this thread marked as replays.
+   */
+  public static <T> T run(Supplier<T> writes) {
+    if (REPLAYING.get()) {
+      return writes.get();
+    }
+    REPLAYING.set(true);
+    try {
+      return writes.get();
+    } finally {
+      REPLAYING.remove();
+    }
+  }
+
+  /**
+   * Whether the write being notified on this thread is a replay.
+   */
+  public static boolean isReplaying() {
+    return REPLAYING.get();
+  }
+}
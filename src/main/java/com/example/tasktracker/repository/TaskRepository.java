@@ -3,20 +3,99 @@ package com.example.tasktracker.repository;
 import com.example.tasktracker.model.Task;
 import com.example.tasktracker.model.TaskStatus;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 public interface TaskRepository {
+  /**
+   * Expected version that matches any version of the task.
+   */
+  long ANY_VERSION = -1;
+
+  /**
+   * Stores {@code task} as is, including its version, replacing any task with the same id.
+   */
   Task save(Task task);
 
+  List<Task> saveAll(Collection<Task> tasks);
+
   Optional<Task> findById(UUID id);
 
   List<Task> findAll();
 
+  /**
+   * Lazily iterates over every task without copying the store. The stream is weakly consistent:
+   * it reflects some but not necessarily all writes made while it is consumed.
+   */
+  Stream<Task> streamAll();
+
   List<Task> findByStatus(TaskStatus status);
 
+  /**
+   * Number of stored tasks, in constant time.
+   */
+  long count();
+
+  /**
+   * Number of stored tasks in {@code status}, in constant time.
+   */
+  long countByStatus(TaskStatus status);
+
+  /**
+   * Number of writes applied so far, in constant time. Any change to the store changes it, so a
+   * query result can be validated by reading this before the query and comparing later. A count
+   * is only bumped once its write is visible, so a query made after reading it sees at least the
+   * writes it counts.
+   */
+  long modificationCount();
+
+  /**
+   * Like {@link #modificationCount()}, but only counting writes that change the set of tasks in
+   * {@code status}: writes of tasks that are or were in it.
+   */
+  long modificationCountByStatus(TaskStatus status);
+
   List<Task> findDueOnOrBefore(LocalDate date);
 
+  List<Task> findByStatusAndDueOnOrBefore(TaskStatus status, LocalDate date);
+
+  /**
+   * Returns up to {@code limit} tasks ordered by due date and then id, starting after
+   * {@code after}. {@code status}, {@code dueOnOrBefore} and {@code after} are optional.
+   */
+  List<Task> findPage(TaskStatus status, LocalDate dueOnOrBefore, TaskCursor after, int limit);
+
+  /**
+   * Atomically replaces the task {@code id} with {@code update} applied to it, provided the
+   * stored task is at {@code expectedVersion} or {@code expectedVersion} is
+   * {@link #ANY_VERSION}. The replacement keeps the id and gets the next version. A task deleted
+   * concurrently stays deleted.
+   *
+   * @return the stored replacement, or empty if there is no task {@code id}
+   * @throws TaskVersionConflictException if the stored task is at another version
+   */
+  Optional<Task> compareAndUpdate(UUID id, long expectedVersion, UnaryOperator<Task> update);
+
+  /**
+   * Runs several writes as one batch. Durable repositories acknowledge them together instead of
+   * one by one; the writes themselves are applied as they happen, not atomically.
+   */
+  default <T> T inBatch(Supplier<T> writes) {
+    return writes.get();
+  }
+
   void deleteById(UUID id);
+
+  void deleteAllById(Collection<UUID> ids);
+
+  /**
+   * Registers {@code listener} to be notified of every subsequent write, as described by
+   * {@link TaskWriteListener}.
+   */
+  void addWriteListener(TaskWriteListener listener);
 }
@@ -0,0 +1,20 @@
+package com.example.tasktracker.repository;
+
+import java.util.UUID;
+
+/**
+ * Thrown by {@link TaskRepository#compareAndUpdate} when the stored task no longer has the
+ * version the caller expected.
+ */
+public class TaskVersionConflictException extends RuntimeException {
+  private final long currentVersion;
+
+  public TaskVersionConflictException(UUID id, long expectedVersion, long currentVersion) {
+    super("Task %s is at version %d, not %d".formatted(id, currentVersion, expectedVersion));
+    this.currentVersion = currentVersion;
+  }
+
+  public long getCurrentVersion() {
+    return currentVersion;
+  }
+}
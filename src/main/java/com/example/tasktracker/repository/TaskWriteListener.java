@@ -0,0 +1,31 @@
+package com.example.tasktracker.repository;
+
+import com.example.tasktracker.model.Task;
+
+/**
+ * Observes writes applied to a {@link TaskRepository}.
+ *
+ * <p>Listeners run while the task's entry is locked, before the write becomes visible to
+ * readers, so calls for the same task arrive in the order the writes are applied. They must be
+ * fast and must not call back into the repository. A listener that throws aborts the write,
+ * but the listeners notified before it have already acted on it, so a listener that rejects
+ * writes does so from {@link #beforeWrite}.
+ */
+@FunctionalInterface
+public interface TaskWriteListener {
+  /**
+   * Called for every write. {@code previous} is {@code null} when a task is created and
+   * {@code current} is {@code null} when it is deleted.
+   */
+  void onWrite(Task previous, Task current);
+
+  /**
+   * Called for every write, in the same critical section, before any listener is notified of
+   * it. Throwing rejects the write without any listener having seen it, which should not be done
+   * for a {@link TaskReplay}. A listener that rejects writes can also apply them here, so that
+   * its check and its update are one step; a write it lets through is then committed unless
+   * another listener rejects it too. Does nothing by default.
+   */
+  default void beforeWrite(Task previous, Task current) {
+  }
+}
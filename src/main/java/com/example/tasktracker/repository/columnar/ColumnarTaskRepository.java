@@ -0,0 +1,581 @@
+package com.example.tasktracker.repository.columnar;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.TaskCursor;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.repository.TaskVersionConflictException;
+import com.example.tasktracker.repository.TaskWriteListener;
+import com.example.tasktracker.repository.columnar.RowOrderIndex.RowVisitor;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Task store for large datasets that keeps tasks in columns instead of one object graph per
+ * task. Ids and parent ids are two {@code long} columns each, due dates an epoch-day
+ * {@code int} column, statuses a {@code byte} column, and titles and descriptions references
+ * into an off-heap {@link TextArea}.
+ * An open-addressing {@link IdIndex} finds a task's row, and {@link RowOrderIndex}es by due
+ * date and per status serve the ordered queries. A task takes roughly 76 heap bytes plus its
+ * UTF-8 text off-heap, against a few hundred bytes spread over about ten objects in
+ * {@code InMemoryTaskRepository}, and the heap it does use is a handful of primitive arrays the
+ * collector does not have to trace.
+ *
+ * <p>{@link Task}s are only materialized for the results of reads. Writes take an exclusive
+ * lock and reads a shared one; {@link TaskWriteListener}s are notified under the exclusive lock
+ * before the write is applied, so a listener that throws aborts it. Queries return the same
+ * results in the same order as {@code InMemoryTaskRepository}.
+ *
+ * <p>Once garbage dominates the text area, its live strings are copied into a fresh one a few
+ * rows at a time: every write copies those of the next {@value #COMPACTION_ROWS_PER_WRITE} rows
+ * after its own work, so no write holds the lock for a whole copy. Rows below the compaction
+ * cursor keep their text in the new area and the others in the old one, which is dropped when
+ * the cursor reaches the last row.
+ */
+public final class ColumnarTaskRepository implements TaskRepository {
+  private static final TaskStatus[] STATUSES = TaskStatus.values();
+  private static final int STREAM_BATCH = 1024;
+  private static final int COMPACTION_ROWS_PER_WRITE = 64;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final TaskColumns columns;
+  private final IdIndex ids;
+  private final RowOrderIndex dueDateIndex;
+  private final RowOrderIndex[] statusIndex = new RowOrderIndex[STATUSES.length];
+  private final long[] statusCounts = new long[STATUSES.length];
+  private final LongAdder modifications = new LongAdder();
+  private final LongAdder[] statusModifications = new LongAdder[STATUSES.length];
+  private final List<TaskWriteListener> listeners = new CopyOnWriteArrayList<>();
+  private final int textPageSize;
+  private TextArea text;
+  /**
+   * Area the text of rows below {@link #compactedRows} has been copied into, while the text is
+   * being compacted, or {@code null}.
+   */
+  private TextArea compacted;
+  private int compactedRows;
+
+  public ColumnarTaskRepository() {
+    this(0, TextArea.DEFAULT_PAGE_SIZE);
+  }
+
+  /**
+   * Creates a repository sized for {@code expectedSize} tasks, storing text in pages of
+   * {@code textPageSize} bytes, which also bounds the length of a title or description.
+   */
+  ColumnarTaskRepository(int expectedSize, int textPageSize) {
+    this.columns = new TaskColumns(expectedSize);
+    this.ids = new IdIndex(columns, expectedSize);
+    this.dueDateIndex = new RowOrderIndex(columns);
+    for (TaskStatus status : STATUSES) {
+      statusIndex[status.ordinal()] = new RowOrderIndex(columns);
+      statusModifications[status.ordinal()] = new LongAdder();
+    }
+    this.textPageSize = textPageSize;
+    this.text = new TextArea(textPageSize);
+  }
+
+  @Override
+  public void addWriteListener(TaskWriteListener listener) {
+    listeners.add(listener);
+  }
+
+  @Override
+  public Task save(Task task) {
+    Row row = Row.of(task, textPageSize);
+    TaskStatus previousStatus;
+    lock.writeLock().lock();
+    try {
+      int existing = ids.find(row.high, row.low);
+      if (!listeners.isEmpty()) {
+        notifyListeners(existing >= 0 ? read(existing) : null, task);
+      }
+      previousStatus = existing >= 0 ? columns.statusOf(existing) : null;
+      write(existing, row);
+    } finally {
+      lock.writeLock().unlock();
+    }
+    countModification(previousStatus, task.getStatus());
+    return task;
+  }
+
+  @Override
+  public List<Task> saveAll(Collection<Task> tasks) {
+    for (Task task : tasks) {
+      save(task);
+    }
+    return List.copyOf(tasks);
+  }
+
+  /**
+   * Bulk-loads tasks with distinct ids into an empty repository that is not shared with other
+   * threads yet. Tasks are sorted once and appended in key order, so the ordered indexes are
+   * built without a single search. Listeners are not notified.
+   *
+   * @throws IllegalStateException if the repository is not empty
+   */
+  public void loadAll(List<Task> tasks) {
+    lock.writeLock().lock();
+    try {
+      if (ids.size() > 0) {
+        throw new IllegalStateException("loadAll requires an empty repository");
+      }
+      Task[] sorted = tasks.toArray(Task[]::new);
+      Arrays.parallelSort(sorted, TaskCursor.TASK_ORDER);
+      int[] order = new int[sorted.length];
+      int[][] byStatus = new int[STATUSES.length][];
+      int[] statusSizes = new int[STATUSES.length];
+      for (Task task : sorted) {
+        statusSizes[task.getStatus().ordinal()]++;
+      }
+      for (TaskStatus status : STATUSES) {
+        byStatus[status.ordinal()] = new int[statusSizes[status.ordinal()]];
+        statusSizes[status.ordinal()] = 0;
+      }
+      for (int i = 0; i < sorted.length; i++) {
+        int row = append(Row.of(sorted[i], textPageSize));
+        order[i] = row;
+        int status = sorted[i].getStatus().ordinal();
+        byStatus[status][statusSizes[status]++] = row;
+        statusCounts[status]++;
+        statusModifications[status].increment();
+      }
+      dueDateIndex.load(order, order.length);
+      for (TaskStatus status : STATUSES) {
+        statusIndex[status.ordinal()].load(byStatus[status.ordinal()],
+            statusSizes[status.ordinal()]);
+      }
+      modifications.add(sorted.length);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public Optional<Task> findById(UUID id) {
+    lock.readLock().lock();
+    try {
+      int row = ids.find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+      return row < 0 ? Optional.empty() : Optional.of(read(row));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public List<Task> findAll() {
+    List<Task> result = new ArrayList<>();
+    lock.readLock().lock();
+    try {
+      for (int row = 0; row < columns.highWater(); row++) {
+        if (columns.isLive(row)) {
+          result.add(read(row));
+        }
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+    return Collections.unmodifiableList(result);
+  }
+
+  /**
+   * Streams the rows in batches of {@value #STREAM_BATCH} tasks, taking the shared lock once
+   * per batch, so a slow consumer does not hold off writers.
+   */
+  @Override
+  public Stream<Task> streamAll() {
+    Spliterator<Task> rows = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+        Spliterator.NONNULL | Spliterator.DISTINCT) {
+      private final List<Task> batch = new ArrayList<>(STREAM_BATCH);
+      private int position;
+      private int nextRow;
+
+      @Override
+      public boolean tryAdvance(Consumer<? super Task> action) {
+        if (position == batch.size()) {
+          batch.clear();
+          position = 0;
+          nextRow = readBatch(nextRow, batch);
+          if (batch.isEmpty()) {
+            return false;
+          }
+        }
+        action.accept(batch.get(position++));
+        return true;
+      }
+    };
+    return StreamSupport.stream(rows, false);
+  }
+
+  @Override
+  public List<Task> findByStatus(TaskStatus status) {
+    return query(statusIndex[status.ordinal()], null, null, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public long count() {
+    lock.readLock().lock();
+    try {
+      return ids.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public long countByStatus(TaskStatus status) {
+    lock.readLock().lock();
+    try {
+      return statusCounts[status.ordinal()];
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public long modificationCount() {
+    return modifications.sum();
+  }
+
+  @Override
+  public long modificationCountByStatus(TaskStatus status) {
+    return statusModifications[status.ordinal()].sum();
+  }
+
+  @Override
+  public List<Task> findDueOnOrBefore(LocalDate date) {
+    return query(dueDateIndex, date, null, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public List<Task> findByStatusAndDueOnOrBefore(TaskStatus status, LocalDate date) {
+    return query(statusIndex[status.ordinal()], date, null, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public List<Task> findPage(TaskStatus status, LocalDate dueOnOrBefore, TaskCursor after,
+      int limit) {
+    RowOrderIndex index = status == null ? dueDateIndex : statusIndex[status.ordinal()];
+    return query(index, dueOnOrBefore, after, limit);
+  }
+
+  @Override
+  public Optional<Task> compareAndUpdate(UUID id, long expectedVersion,
+      UnaryOperator<Task> update) {
+    Task previous;
+    Task updated;
+    lock.writeLock().lock();
+    try {
+      int existing = ids.find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+      if (existing < 0) {
+        return Optional.empty();
+      }
+      previous = read(existing);
+      if (expectedVersion != ANY_VERSION && previous.getVersion() != expectedVersion) {
+        throw new TaskVersionConflictException(id, expectedVersion, previous.getVersion());
+      }
+      updated = update.apply(previous).toBuilder()
+          .id(id)
+          .version(previous.getVersion() + 1)
+          .build();
+      Row row = Row.of(updated, textPageSize);
+      notifyListeners(previous, updated);
+      write(existing, row);
+    } finally {
+      lock.writeLock().unlock();
+    }
+    countModification(previous.getStatus(), updated.getStatus());
+    return Optional.of(updated);
+  }
+
+  @Override
+  public void deleteById(UUID id) {
+    TaskStatus previousStatus;
+    lock.writeLock().lock();
+    try {
+      int row = ids.find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+      if (row < 0) {
+        return;
+      }
+      if (!listeners.isEmpty()) {
+        notifyListeners(read(row), null);
+      }
+      previousStatus = columns.statusOf(row);
+      dueDateIndex.remove(row);
+      statusIndex[previousStatus.ordinal()].remove(row);
+      ids.remove(row);
+      TextArea area = textOf(row);
+      area.release(columns.titleRef[row]);
+      area.release(columns.descriptionRef[row]);
+      statusCounts[previousStatus.ordinal()]--;
+      columns.free(row);
+      compactTextStep();
+    } finally {
+      lock.writeLock().unlock();
+    }
+    countModification(previousStatus, null);
+  }
+
+  @Override
+  public void deleteAllById(Collection<UUID> ids) {
+    for (UUID id : ids) {
+      deleteById(id);
+    }
+  }
+
+  /**
+   * Off-heap bytes allocated for text.
+   */
+  long textCapacity() {
+    lock.readLock().lock();
+    try {
+      return text.capacity() + (compacted == null ? 0 : compacted.capacity());
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Collects up to {@code limit} tasks of {@code index} following {@code after}, stopping at the
+   * first one due after {@code dueOnOrBefore}.
+   */
+  private List<Task> query(RowOrderIndex index, LocalDate dueOnOrBefore, TaskCursor after,
+      int limit) {
+    List<Task> result = new ArrayList<>();
+    if (limit <= 0) {
+      return Collections.unmodifiableList(result);
+    }
+    long lastDay = dueOnOrBefore == null
+        ? TaskColumns.NO_DUE_DATE
+        : Math.min(dueOnOrBefore.toEpochDay(), TaskColumns.NO_DUE_DATE - 1L);
+    RowVisitor collect = row -> {
+      if (columns.dueDay[row] > lastDay) {
+        return false;
+      }
+      result.add(read(row));
+      return result.size() < limit;
+    };
+    lock.readLock().lock();
+    try {
+      if (after == null) {
+        index.forEach(collect);
+      } else {
+        forEachAfter(index, after, collect);
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+    return Collections.unmodifiableList(result);
+  }
+
+  private static void forEachAfter(RowOrderIndex index, TaskCursor after, RowVisitor visitor) {
+    long high = after.id().getMostSignificantBits();
+    long low = after.id().getLeastSignificantBits();
+    if (after.dueDate() == null) {
+      index.forEachAfter(TaskColumns.NO_DUE_DATE, high, low, visitor);
+      return;
+    }
+    long day = after.dueDate().toEpochDay();
+    if (day < Integer.MIN_VALUE) {
+      index.forEach(visitor);
+    } else if (day >= TaskColumns.NO_DUE_DATE) {
+      // Later than any storable date: only tasks without a due date follow it.
+      index.forEachAfter(TaskColumns.NO_DUE_DATE - 1, Long.MAX_VALUE, Long.MAX_VALUE, visitor);
+    } else {
+      index.forEachAfter((int) day, high, low, visitor);
+    }
+  }
+
+  private int readBatch(int fromRow, List<Task> batch) {
+    lock.readLock().lock();
+    try {
+      int row = fromRow;
+      for (; row < columns.highWater() && batch.size() < STREAM_BATCH; row++) {
+        if (columns.isLive(row)) {
+          batch.add(read(row));
+        }
+      }
+      return row;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private Task read(int row) {
+    return Task.builder()
+        .id(new UUID(columns.idHigh[row], columns.idLow[row]))
+        .title(textOf(row).read(columns.titleRef[row]))
+        .description(textOf(row).read(columns.descriptionRef[row]))
+        .dueDate(TaskColumns.toDueDate(columns.dueDay[row]))
+        .status(columns.statusOf(row))
+        .parentId(TaskColumns.toParentId(columns.parentHigh[row], columns.parentLow[row]))
+        .version(columns.version[row])
+        .build();
+  }
+
+  /**
+   * Stores {@code row} over the row {@code existing}, or in a new row if it is negative, and
+   * moves its index entries.
+   */
+  private void write(int existing, Row row) {
+    if (existing < 0) {
+      int created = append(row);
+      dueDateIndex.insert(created);
+      statusIndex[row.status].insert(created);
+      statusCounts[row.status]++;
+      compactTextStep();
+      return;
+    }
+    int previousStatus = columns.status[existing];
+    boolean moved = columns.dueDay[existing] != row.dueDay;
+    boolean changedStatus = moved || previousStatus != row.status;
+    if (moved) {
+      dueDateIndex.remove(existing);
+    }
+    if (changedStatus) {
+      statusIndex[previousStatus].remove(existing);
+    }
+    columns.dueDay[existing] = row.dueDay;
+    columns.status[existing] = row.status;
+    columns.parentHigh[existing] = row.parentHigh;
+    columns.parentLow[existing] = row.parentLow;
+    columns.version[existing] = row.version;
+    TextArea area = textOf(existing);
+    columns.titleRef[existing] = replaceText(area, columns.titleRef[existing], row.title);
+    columns.descriptionRef[existing] =
+        replaceText(area, columns.descriptionRef[existing], row.description);
+    if (moved) {
+      dueDateIndex.insert(existing);
+    }
+    if (changedStatus) {
+      statusIndex[row.status].insert(existing);
+    }
+    statusCounts[previousStatus]--;
+    statusCounts[row.status]++;
+    compactTextStep();
+  }
+
+  /**
+   * Fills a new row and indexes its id, leaving the ordered indexes to the caller.
+   */
+  private int append(Row row) {
+    int created = columns.allocate();
+    columns.idHigh[created] = row.high;
+    columns.idLow[created] = row.low;
+    ids.insert(created);
+    columns.dueDay[created] = row.dueDay;
+    columns.parentHigh[created] = row.parentHigh;
+    columns.parentLow[created] = row.parentLow;
+    columns.version[created] = row.version;
+    TextArea area = textOf(created);
+    columns.titleRef[created] = area.append(row.title);
+    columns.descriptionRef[created] = area.append(row.description);
+    columns.status[created] = row.status;
+    return created;
+  }
+
+  /**
+   * Keeps the stored string when it is unchanged, which is the common case of a status update.
+   */
+  private static long replaceText(TextArea area, long ref, byte[] value) {
+    if (area.contentEquals(ref, value)) {
+      return ref;
+    }
+    area.release(ref);
+    return area.append(value);
+  }
+
+  /**
+   * Area holding the text of {@code row}.
+   */
+  private TextArea textOf(int row) {
+    return compacted != null && row < compactedRows ? compacted : text;
+  }
+
+  /**
+   * Copies the live strings of the next {@value #COMPACTION_ROWS_PER_WRITE} rows into the
+   * compacted area, starting a compaction if garbage dominates the text and finishing it once
+   * every row has been copied. Called at the end of every write, under the exclusive lock.
+   */
+  private void compactTextStep() {
+    if (compacted == null) {
+      if (!text.needsCompaction()) {
+        return;
+      }
+      compacted = new TextArea(text.pageSize());
+      compactedRows = 0;
+    }
+    int end = Math.min(columns.highWater(), compactedRows + COMPACTION_ROWS_PER_WRITE);
+    for (int row = compactedRows; row < end; row++) {
+      if (columns.isLive(row)) {
+        columns.titleRef[row] = compacted.copyFrom(text, columns.titleRef[row]);
+        columns.descriptionRef[row] = compacted.copyFrom(text, columns.descriptionRef[row]);
+      }
+    }
+    compactedRows = end;
+    if (end == columns.highWater()) {
+      text = compacted;
+      compacted = null;
+    }
+  }
+
+  /**
+   * Bumps the modification counts for a write. Called once the write is visible, which is what
+   * makes a count read before a query safe to use as its validator.
+   */
+  private void countModification(TaskStatus previous, TaskStatus current) {
+    if (current != null) {
+      statusModifications[current.ordinal()].increment();
+    }
+    if (previous != null && previous != current) {
+      statusModifications[previous.ordinal()].increment();
+    }
+    modifications.increment();
+  }
+
+  private void notifyListeners(Task previous, Task current) {
+    for (TaskWriteListener listener : listeners) {
+      listener.beforeWrite(previous, current);
+    }
+    for (TaskWriteListener listener : listeners) {
+      listener.onWrite(previous, current);
+    }
+  }
+
+  /**
+   * A task converted to column values. Conversion happens before the write lock is taken and
+   * fails on values the columns cannot hold, so a rejected task never leaves a partial write.
+   */
+  private record Row(long high, long low, int dueDay, byte status, long parentHigh,
+      long parentLow, long version, byte[] title, byte[] description) {
+    static Row of(Task task, int textPageSize) {
+      byte[] title = TextArea.encode(task.getTitle());
+      byte[] description = TextArea.encode(task.getDescription());
+      TextArea.checkFits(title, textPageSize);
+      TextArea.checkFits(description, textPageSize);
+      UUID parentId = task.getParentId();
+      return new Row(task.getId().getMostSignificantBits(),
+          task.getId().getLeastSignificantBits(), TaskColumns.toDueDay(task.getDueDate()),
+          (byte) task.getStatus().ordinal(),
+          parentId == null ? 0 : parentId.getMostSignificantBits(),
+          parentId == null ? 0 : parentId.getLeastSignificantBits(),
+          task.getVersion(), title, description);
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package com.example.tasktracker.repository.columnar;
+
+/**
+ * Open-addressing hash index from task id to row, with linear probing. The table holds only
+ * {@code row + 1} per entry (0 marks an empty bucket) and compares ids in the columns, so an
+ * entry costs 4 bytes per bucket instead of a map node, a boxed key and a {@code UUID}. It is
+ * kept at most half full, and deletes shift later entries back rather than leaving tombstones.
+ */
+final class IdIndex {
+  private static final int MIN_BUCKETS = 1024;
+  private static final int MAX_BUCKETS = 1 << 30;
+
+  private final TaskColumns columns;
+  private int[] buckets;
+  private int mask;
+  private int size;
+
+  IdIndex(TaskColumns columns, int expectedSize) {
+    this.columns = columns;
+    allocate(bucketsFor(expectedSize));
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * Returns the row of the task {@code (high, low)}, or -1 if there is none.
+   */
+  int find(long high, long low) {
+    for (int bucket = bucket(high, low); ; bucket = (bucket + 1) & mask) {
+      int entry = buckets[bucket];
+      if (entry == 0) {
+        return -1;
+      }
+      int row = entry - 1;
+      if (columns.idHigh[row] == high && columns.idLow[row] == low) {
+        return row;
+      }
+    }
+  }
+
+  /**
+   * Adds {@code row}, whose id must not be indexed yet.
+   */
+  void insert(int row) {
+    if (size + 1 > buckets.length >> 1) {
+      if (buckets.length == MAX_BUCKETS) {
+        throw new IllegalStateException("Id index is full");
+      }
+      rehash(buckets.length << 1);
+    }
+    place(row);
+    size++;
+  }
+
+  /**
+   * Removes {@code row}, which must be indexed.
+   */
+  void remove(int row) {
+    int bucket = bucket(columns.idHigh[row], columns.idLow[row]);
+    while (buckets[bucket] != row + 1) {
+      bucket = (bucket + 1) & mask;
+    }
+    int hole = bucket;
+    for (int next = (hole + 1) & mask; buckets[next] != 0; next = (next + 1) & mask) {
+      int entry = buckets[next];
+      int home = bucket(columns.idHigh[entry - 1], columns.idLow[entry - 1]);
+      // Move the entry into the hole unless its home lies cyclically in (hole, next].
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        buckets[hole] = entry;
+        hole = next;
+      }
+    }
+    buckets[hole] = 0;
+    size--;
+  }
+
+  private void place(int row) {
+    int bucket = bucket(columns.idHigh[row], columns.idLow[row]);
+    while (buckets[bucket] != 0) {
+      bucket = (bucket + 1) & mask;
+    }
+    buckets[bucket] = row + 1;
+  }
+
+  private void rehash(int bucketCount) {
+    int[] previous = buckets;
+    allocate(bucketCount);
+    for (int entry : previous) {
+      if (entry != 0) {
+        place(entry - 1);
+      }
+    }
+  }
+
+  private void allocate(int bucketCount) {
+    buckets = new int[bucketCount];
+    mask = bucketCount - 1;
+  }
+
+  private int bucket(long high, long low) {
+    long hash = (high ^ Long.rotateLeft(low, 32)) * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & mask;
+  }
+
+  private static int bucketsFor(int expectedSize) {
+    long wanted = Math.max(MIN_BUCKETS, 2L * expectedSize);
+    if (wanted > MAX_BUCKETS) {
+      throw new IllegalArgumentException("Too many tasks: " + expectedSize);
+    }
+    return Integer.highestOneBit((int) wanted - 1) << 1;
+  }
+}
@@ -0,0 +1,192 @@
+package com.example.tasktracker.repository.columnar;
+
+import java.util.Arrays;
+
+/**
+ * Rows sorted by due day and then id, the order of paged queries. Rows are kept in chunks of
+ * sorted {@code int}s, each at most {@value #CHUNK_CAPACITY} long: an insert or delete shifts
+ * part of one chunk, a full chunk is split in two, and a lookup binary-searches the chunks by
+ * their last row and then the chunk. An entry costs 4 to 8 bytes, where a skip list spends a
+ * node, an index level and a key object on it.
+ *
+ * <p>Keys are read from the columns, so a row must be removed before its due day or id changes
+ * and inserted again afterwards.
+ */
+final class RowOrderIndex {
+  static final int CHUNK_CAPACITY = 512;
+
+  private final TaskColumns columns;
+  private int[][] chunks = new int[4][];
+  private int[] sizes = new int[4];
+  private int chunkCount;
+  private long size;
+
+  RowOrderIndex(TaskColumns columns) {
+    this.columns = columns;
+  }
+
+  /**
+   * Visits rows in order until {@link #visit} returns {@code false}.
+   */
+  @FunctionalInterface
+  interface RowVisitor {
+    boolean visit(int row);
+  }
+
+  long size() {
+    return size;
+  }
+
+  void insert(int row) {
+    size++;
+    if (chunkCount == 0) {
+      int[] first = new int[CHUNK_CAPACITY];
+      first[0] = row;
+      addChunk(0, first, 1);
+      return;
+    }
+    int day = columns.dueDay[row];
+    long high = columns.idHigh[row];
+    long low = columns.idLow[row];
+    int chunk = Math.min(chunkFor(day, high, low), chunkCount - 1);
+    int[] rows = chunks[chunk];
+    int position = -positionIn(chunk, day, high, low) - 1;
+    System.arraycopy(rows, position, rows, position + 1, sizes[chunk] - position);
+    rows[position] = row;
+    if (++sizes[chunk] == CHUNK_CAPACITY) {
+      split(chunk);
+    }
+  }
+
+  /**
+   * Removes {@code row}, which must be in the index under its current key.
+   */
+  void remove(int row) {
+    int day = columns.dueDay[row];
+    long high = columns.idHigh[row];
+    long low = columns.idLow[row];
+    int chunk = chunkFor(day, high, low);
+    int position = positionIn(chunk, day, high, low);
+    int[] rows = chunks[chunk];
+    System.arraycopy(rows, position + 1, rows, position, sizes[chunk] - position - 1);
+    size--;
+    if (--sizes[chunk] == 0) {
+      removeChunk(chunk);
+    }
+  }
+
+  /**
+   * Replaces the contents with {@code rows}, which must already be in key order.
+   */
+  void load(int[] rows, int count) {
+    int fill = CHUNK_CAPACITY * 3 / 4;
+    chunks = new int[Math.max(4, (count + fill - 1) / fill)][];
+    sizes = new int[chunks.length];
+    chunkCount = 0;
+    for (int start = 0; start < count; start += fill) {
+      int length = Math.min(fill, count - start);
+      int[] chunk = new int[CHUNK_CAPACITY];
+      System.arraycopy(rows, start, chunk, 0, length);
+      chunks[chunkCount] = chunk;
+      sizes[chunkCount++] = length;
+    }
+    size = count;
+  }
+
+  void forEach(RowVisitor visitor) {
+    scan(0, 0, visitor);
+  }
+
+  /**
+   * Visits the rows after the key (due day, id) in order.
+   */
+  void forEachAfter(int day, long high, long low, RowVisitor visitor) {
+    int chunk = chunkFor(day, high, low);
+    if (chunk == chunkCount) {
+      return;
+    }
+    int position = positionIn(chunk, day, high, low);
+    scan(chunk, position < 0 ? -position - 1 : position + 1, visitor);
+  }
+
+  private void scan(int firstChunk, int firstPosition, RowVisitor visitor) {
+    int position = firstPosition;
+    for (int chunk = firstChunk; chunk < chunkCount; chunk++) {
+      int[] rows = chunks[chunk];
+      for (int end = sizes[chunk]; position < end; position++) {
+        if (!visitor.visit(rows[position])) {
+          return;
+        }
+      }
+      position = 0;
+    }
+  }
+
+  /**
+   * Index of the first chunk whose last row does not sort before the key, or
+   * {@code chunkCount} if every row sorts before it.
+   */
+  private int chunkFor(int day, long high, long low) {
+    int from = 0;
+    int to = chunkCount;
+    while (from < to) {
+      int middle = (from + to) >>> 1;
+      int last = chunks[middle][sizes[middle] - 1];
+      if (columns.compare(day, high, low, last) > 0) {
+        from = middle + 1;
+      } else {
+        to = middle;
+      }
+    }
+    return from;
+  }
+
+  /**
+   * Binary search of the key in {@code chunk}, returning its position or
+   * {@code -(insertion point) - 1} like {@link Arrays#binarySearch(int[], int)}.
+   */
+  private int positionIn(int chunk, int day, long high, long low) {
+    int[] rows = chunks[chunk];
+    int from = 0;
+    int to = sizes[chunk] - 1;
+    while (from <= to) {
+      int middle = (from + to) >>> 1;
+      int order = columns.compare(day, high, low, rows[middle]);
+      if (order > 0) {
+        from = middle + 1;
+      } else if (order < 0) {
+        to = middle - 1;
+      } else {
+        return middle;
+      }
+    }
+    return -from - 1;
+  }
+
+  private void split(int chunk) {
+    int half = CHUNK_CAPACITY / 2;
+    int[] upper = new int[CHUNK_CAPACITY];
+    System.arraycopy(chunks[chunk], half, upper, 0, CHUNK_CAPACITY - half);
+    sizes[chunk] = half;
+    addChunk(chunk + 1, upper, CHUNK_CAPACITY - half);
+  }
+
+  private void addChunk(int at, int[] rows, int count) {
+    if (chunkCount == chunks.length) {
+      int capacity = chunks.length + (chunks.length >> 1);
+      chunks = Arrays.copyOf(chunks, capacity);
+      sizes = Arrays.copyOf(sizes, capacity);
+    }
+    System.arraycopy(chunks, at, chunks, at + 1, chunkCount - at);
+    System.arraycopy(sizes, at, sizes, at + 1, chunkCount - at);
+    chunks[at] = rows;
+    sizes[at] = count;
+    chunkCount++;
+  }
+
+  private void removeChunk(int at) {
+    System.arraycopy(chunks, at + 1, chunks, at, chunkCount - at - 1);
+    System.arraycopy(sizes, at + 1, sizes, at, chunkCount - at - 1);
+    chunks[--chunkCount] = null;
+  }
+}
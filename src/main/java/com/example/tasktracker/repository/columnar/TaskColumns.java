@@ -0,0 +1,138 @@
+package com.example.tasktracker.repository.columnar;
+
+import com.example.tasktracker.model.TaskStatus;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * One primitive array per task field, indexed by row. Rows of deleted tasks are marked free and
+ * reused by later inserts. Not thread-safe; {@link ColumnarTaskRepository} guards it.
+ */
+final class TaskColumns {
+  /**
+   * Due day of a task without a due date. It sorts after every real date, like
+   * {@code TaskKey} does.
+   */
+  static final int NO_DUE_DATE = Integer.MAX_VALUE;
+  static final byte FREE = -1;
+
+  private static final TaskStatus[] STATUSES = TaskStatus.values();
+  private static final int INITIAL_CAPACITY = 1024;
+
+  long[] idHigh = new long[0];
+  long[] idLow = new long[0];
+  int[] dueDay = new int[0];
+  byte[] status = new byte[0];
+  long[] parentHigh = new long[0];
+  long[] parentLow = new long[0];
+  long[] version = new long[0];
+  long[] titleRef = new long[0];
+  long[] descriptionRef = new long[0];
+
+  private int highWater;
+  private int[] freeRows = new int[16];
+  private int freeCount;
+
+  TaskColumns(int capacity) {
+    resize(Math.max(capacity, INITIAL_CAPACITY));
+  }
+
+  /**
+   * Number of rows ever used, live or free. Every live row is below it.
+   */
+  int highWater() {
+    return highWater;
+  }
+
+  boolean isLive(int row) {
+    return status[row] != FREE;
+  }
+
+  TaskStatus statusOf(int row) {
+    return STATUSES[status[row]];
+  }
+
+  /**
+   * Returns a free row, growing the columns if there is none.
+   */
+  int allocate() {
+    if (freeCount > 0) {
+      return freeRows[--freeCount];
+    }
+    if (highWater == status.length) {
+      resize(newCapacity(status.length));
+    }
+    return highWater++;
+  }
+
+  void free(int row) {
+    status[row] = FREE;
+    if (freeCount == freeRows.length) {
+      freeRows = Arrays.copyOf(freeRows, newCapacity(freeRows.length));
+    }
+    freeRows[freeCount++] = row;
+  }
+
+  /**
+   * Orders {@code row} against the key (due day, id), the way {@code TaskKey} orders tasks.
+   */
+  int compare(int day, long high, long low, int row) {
+    int result = Integer.compare(day, dueDay[row]);
+    if (result == 0) {
+      result = Long.compare(high, idHigh[row]);
+    }
+    return result != 0 ? result : Long.compare(low, idLow[row]);
+  }
+
+  static int toDueDay(LocalDate date) {
+    if (date == null) {
+      return NO_DUE_DATE;
+    }
+    long day = date.toEpochDay();
+    if (day < Integer.MIN_VALUE || day >= NO_DUE_DATE) {
+      throw new IllegalArgumentException("Due date out of range: " + date);
+    }
+    return (int) day;
+  }
+
+  static LocalDate toDueDate(int day) {
+    return day == NO_DUE_DATE ? null : LocalDate.ofEpochDay(day);
+  }
+
+  /**
+   * Parent id stored as {@code high} and {@code low}; a task without a parent stores the nil
+   * UUID.
+   */
+  static UUID toParentId(long high, long low) {
+    return high == 0 && low == 0 ? null : new UUID(high, low);
+  }
+
+  private void resize(int capacity) {
+    int previous = status.length;
+    idHigh = Arrays.copyOf(idHigh, capacity);
+    idLow = Arrays.copyOf(idLow, capacity);
+    dueDay = Arrays.copyOf(dueDay, capacity);
+    status = Arrays.copyOf(status, capacity);
+    parentHigh = Arrays.copyOf(parentHigh, capacity);
+    parentLow = Arrays.copyOf(parentLow, capacity);
+    version = Arrays.copyOf(version, capacity);
+    titleRef = Arrays.copyOf(titleRef, capacity);
+    descriptionRef = Arrays.copyOf(descriptionRef, capacity);
+    Arrays.fill(status, previous, capacity, FREE);
+  }
+
+  /**
+   * Grows by half, which keeps the copy amortized without doubling the largest arrays.
+   */
+  private static int newCapacity(int capacity) {
+    int grown = capacity + (capacity >> 1);
+    if (grown < 0 || grown > Integer.MAX_VALUE - 8) {
+      if (capacity == Integer.MAX_VALUE - 8) {
+        throw new IllegalStateException("Task columns are full");
+      }
+      return Integer.MAX_VALUE - 8;
+    }
+    return grown;
+  }
+}
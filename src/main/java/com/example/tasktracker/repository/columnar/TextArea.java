@@ -0,0 +1,149 @@
+package com.example.tasktracker.repository.columnar;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only UTF-8 string storage in direct (off-heap) pages. A string is addressed by a
+ * {@code long} reference packing its offset and byte length, so the heap holds no object per
+ * string and the collector never traces them. Strings never span pages; a string that does not
+ * fit in the rest of the current page starts a new one.
+ *
+ * <p>Replaced strings are only counted as garbage. The owner copies the live strings into a
+ * fresh area once {@link #needsCompaction()} says garbage dominates, and drops this one; its
+ * pages are released when their buffers are collected.
+ */
+final class TextArea {
+  /**
+   * Reference of a {@code null} string.
+   */
+  static final long NULL = -1;
+
+  static final int DEFAULT_PAGE_SIZE = 16 << 20;
+
+  private static final int LENGTH_BITS = 24;
+  private static final long LENGTH_MASK = (1L << LENGTH_BITS) - 1;
+
+  private final int pageSize;
+  private final int pageShift;
+  private final List<ByteBuffer> pages = new ArrayList<>();
+  private long garbage;
+
+  /**
+   * Creates an empty area with pages of {@code pageSize} bytes, a power of two of at most
+   * 16 MiB. A page is also the longest string it can hold.
+   */
+  TextArea(int pageSize) {
+    if (Integer.bitCount(pageSize) != 1 || pageSize > 1 << LENGTH_BITS) {
+      throw new IllegalArgumentException("pageSize must be a power of two up to 16 MiB");
+    }
+    this.pageSize = pageSize;
+    this.pageShift = Integer.numberOfTrailingZeros(pageSize);
+  }
+
+  static byte[] encode(String value) {
+    return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Checks that an encoded string fits in a page of {@code pageSize} bytes.
+   *
+   * @throws IllegalArgumentException if it is too long
+   */
+  static void checkFits(byte[] bytes, int pageSize) {
+    if (bytes != null && bytes.length > Math.min(pageSize, LENGTH_MASK)) {
+      throw new IllegalArgumentException(
+          "Text of %d bytes exceeds the %d byte limit".formatted(bytes.length, pageSize));
+    }
+  }
+
+  long append(byte[] bytes) {
+    if (bytes == null) {
+      return NULL;
+    }
+    checkFits(bytes, pageSize);
+    ByteBuffer page = pages.isEmpty() ? null : pages.get(pages.size() - 1);
+    if (page == null || page.remaining() < bytes.length) {
+      if (page != null) {
+        garbage += page.remaining();
+      }
+      page = ByteBuffer.allocateDirect(pageSize);
+      pages.add(page);
+    }
+    long offset = ((long) (pages.size() - 1) << pageShift) + page.position();
+    page.put(bytes);
+    return offset << LENGTH_BITS | bytes.length;
+  }
+
+  String read(long ref) {
+    if (ref == NULL) {
+      return null;
+    }
+    byte[] bytes = new byte[length(ref)];
+    page(ref).get(position(ref), bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Whether {@code ref} holds exactly {@code bytes}.
+   */
+  boolean contentEquals(long ref, byte[] bytes) {
+    if (ref == NULL || bytes == null) {
+      return ref == NULL && bytes == null;
+    }
+    if (length(ref) != bytes.length) {
+      return false;
+    }
+    return page(ref).slice(position(ref), bytes.length).equals(ByteBuffer.wrap(bytes));
+  }
+
+  /**
+   * Copies the string {@code ref} of {@code source} into this area.
+   */
+  long copyFrom(TextArea source, long ref) {
+    if (ref == NULL) {
+      return NULL;
+    }
+    byte[] bytes = new byte[length(ref)];
+    source.page(ref).get(source.position(ref), bytes);
+    return append(bytes);
+  }
+
+  void release(long ref) {
+    if (ref != NULL) {
+      garbage += length(ref);
+    }
+  }
+
+  /**
+   * Whether more than half of the allocated pages is garbage.
+   */
+  boolean needsCompaction() {
+    return pages.size() > 1 && garbage > capacity() / 2;
+  }
+
+  /**
+   * Off-heap bytes allocated.
+   */
+  long capacity() {
+    return (long) pages.size() * pageSize;
+  }
+
+  int pageSize() {
+    return pageSize;
+  }
+
+  private ByteBuffer page(long ref) {
+    return pages.get((int) (ref >>> LENGTH_BITS >>> pageShift));
+  }
+
+  private int position(long ref) {
+    return (int) (ref >>> LENGTH_BITS) & (pageSize - 1);
+  }
+
+  private static int length(long ref) {
+    return (int) (ref & LENGTH_MASK);
+  }
+}
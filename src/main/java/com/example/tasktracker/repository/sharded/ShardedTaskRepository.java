@@ -0,0 +1,257 @@
+package com.example.tasktracker.repository.sharded;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.TaskCursor;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.repository.TaskWriteListener;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Partitions tasks by a hash of their id over independent shards, each a complete
+ * {@link TaskRepository} with its own indexes, counters and locks. A write only touches the
+ * structures of its task's shard, so writers on different shards never contend, and every
+ * write to one task is still applied, indexed and reported to listeners in order by that shard.
+ *
+ * <p>Single-task operations go straight to the owning shard. Queries over every task are sent
+ * to all shards in parallel and their date-ordered results merged, so results and pages come
+ * back in the same {@link TaskCursor#TASK_ORDER} as from a single repository; a page asks each
+ * shard for at most {@code limit} tasks. Counts are sums over the shards. Modification counts
+ * only grow, so their sum still changes with every write and never before it is visible.
+ */
+public final class ShardedTaskRepository implements TaskRepository {
+  private final TaskRepository[] shards;
+
+  /**
+   * Creates a repository over {@code shards}, which must be empty. Their number is fixed for the
+   * lifetime of the data, since it decides which shard owns each id.
+   */
+  public ShardedTaskRepository(List<? extends TaskRepository> shards) {
+    if (shards.isEmpty()) {
+      throw new IllegalArgumentException("At least one shard is required");
+    }
+    this.shards = shards.toArray(TaskRepository[]::new);
+  }
+
+  public int shardCount() {
+    return shards.length;
+  }
+
+  @Override
+  public Task save(Task task) {
+    return shardOf(task.getId()).save(task);
+  }
+
+  /**
+   * Saves the tasks of each shard as one {@code saveAll} call on that shard, shards in parallel.
+   * Tasks with the same id end up in the same shard and are saved in the given order.
+   */
+  @Override
+  public List<Task> saveAll(Collection<Task> tasks) {
+    List<List<Task>> partitions = partition(tasks, Task::getId);
+    fanOut(shard -> partitions.get(shard).isEmpty()
+        ? null
+        : shards[shard].saveAll(partitions.get(shard)));
+    return List.copyOf(tasks);
+  }
+
+  @Override
+  public Optional<Task> findById(UUID id) {
+    return shardOf(id).findById(id);
+  }
+
+  @Override
+  public List<Task> findAll() {
+    List<Task> result = new ArrayList<>();
+    fanOut(shard -> shards[shard].findAll()).forEach(result::addAll);
+    return Collections.unmodifiableList(result);
+  }
+
+  @Override
+  public Stream<Task> streamAll() {
+    return Arrays.stream(shards).flatMap(TaskRepository::streamAll);
+  }
+
+  @Override
+  public List<Task> findByStatus(TaskStatus status) {
+    return merge(fanOut(shard -> shards[shard].findByStatus(status)), Integer.MAX_VALUE);
+  }
+
+  @Override
+  public long count() {
+    return sum(TaskRepository::count);
+  }
+
+  @Override
+  public long countByStatus(TaskStatus status) {
+    return sum(shard -> shard.countByStatus(status));
+  }
+
+  @Override
+  public long modificationCount() {
+    return sum(TaskRepository::modificationCount);
+  }
+
+  @Override
+  public long modificationCountByStatus(TaskStatus status) {
+    return sum(shard -> shard.modificationCountByStatus(status));
+  }
+
+  @Override
+  public List<Task> findDueOnOrBefore(LocalDate date) {
+    return merge(fanOut(shard -> shards[shard].findDueOnOrBefore(date)), Integer.MAX_VALUE);
+  }
+
+  @Override
+  public List<Task> findByStatusAndDueOnOrBefore(TaskStatus status, LocalDate date) {
+    return merge(fanOut(shard -> shards[shard].findByStatusAndDueOnOrBefore(status, date)),
+        Integer.MAX_VALUE);
+  }
+
+  @Override
+  public List<Task> findPage(TaskStatus status, LocalDate dueOnOrBefore, TaskCursor after,
+      int limit) {
+    return merge(fanOut(shard -> shards[shard].findPage(status, dueOnOrBefore, after, limit)),
+        limit);
+  }
+
+  @Override
+  public Optional<Task> compareAndUpdate(UUID id, long expectedVersion,
+      UnaryOperator<Task> update) {
+    return shardOf(id).compareAndUpdate(id, expectedVersion, update);
+  }
+
+  @Override
+  public void deleteById(UUID id) {
+    shardOf(id).deleteById(id);
+  }
+
+  @Override
+  public void deleteAllById(Collection<UUID> ids) {
+    List<List<UUID>> partitions = partition(ids, Function.identity());
+    fanOut(shard -> {
+      if (!partitions.get(shard).isEmpty()) {
+        shards[shard].deleteAllById(partitions.get(shard));
+      }
+      return null;
+    });
+  }
+
+  /**
+   * Registers {@code listener} with every shard. Shards call it concurrently, each in the order
+   * of its own writes, which keeps the order of writes to any one task.
+   */
+  @Override
+  public void addWriteListener(TaskWriteListener listener) {
+    for (TaskRepository shard : shards) {
+      shard.addWriteListener(listener);
+    }
+  }
+
+  TaskRepository shardOf(UUID id) {
+    return shards[shardIndex(id)];
+  }
+
+  private int shardIndex(UUID id) {
+    // Spread the id's bits so that shards stay balanced for any shard count.
+    int hash = id.hashCode() * 0x9E3779B9;
+    return Math.floorMod(hash ^ (hash >>> 16), shards.length);
+  }
+
+  private <T> List<List<T>> partition(Collection<T> items, Function<T, UUID> id) {
+    List<List<T>> partitions = new ArrayList<>(shards.length);
+    for (int i = 0; i < shards.length; i++) {
+      partitions.add(new ArrayList<>());
+    }
+    for (T item : items) {
+      partitions.get(shardIndex(id.apply(item))).add(item);
+    }
+    return partitions;
+  }
+
+  /**
+   * Applies {@code query} to every shard index in parallel on the common fork-join pool, and
+   * returns the results in shard order.
+   */
+  private <T> List<T> fanOut(ShardQuery<T> query) {
+    if (shards.length == 1) {
+      return Collections.singletonList(query.apply(0));
+    }
+    return IntStream.range(0, shards.length).parallel().mapToObj(query::apply).toList();
+  }
+
+  private long sum(ToLongFunction<TaskRepository> count) {
+    long total = 0;
+    for (TaskRepository shard : shards) {
+      total += count.applyAsLong(shard);
+    }
+    return total;
+  }
+
+  /**
+   * Merges lists that are each in {@link TaskCursor#TASK_ORDER} into the first {@code limit}
+   * tasks of their union.
+   */
+  private static List<Task> merge(List<List<Task>> sorted, int limit) {
+    PriorityQueue<Head> heads = new PriorityQueue<>(Math.max(1, sorted.size()),
+        Comparator.comparing(Head::task, TaskCursor.TASK_ORDER));
+    long total = 0;
+    for (List<Task> tasks : sorted) {
+      if (tasks != null && !tasks.isEmpty()) {
+        heads.add(new Head(tasks));
+        total += tasks.size();
+      }
+    }
+    List<Task> result = new ArrayList<>((int) Math.min(limit, total));
+    while (result.size() < limit && !heads.isEmpty()) {
+      Head head = heads.poll();
+      result.add(head.task());
+      if (head.advance()) {
+        heads.add(head);
+      }
+    }
+    return Collections.unmodifiableList(result);
+  }
+
+  @FunctionalInterface
+  private interface ShardQuery<T> {
+    T apply(int shard);
+  }
+
+  /**
+   * Position of the next unmerged task in one shard's result.
+   */
+  private static final class Head {
+    private final List<Task> tasks;
+    private int position;
+
+    Head(List<Task> tasks) {
+      this.tasks = tasks;
+    }
+
+    Task task() {
+      return tasks.get(position);
+    }
+
+    /**
+     * Moves to the next task, returning {@code false} if there is none.
+     */
+    boolean advance() {
+      return ++position < tasks.size();
+    }
+  }
+}
@@ -0,0 +1,14 @@
+package com.example.tasktracker.repository.wal;
+
+/**
+ * When log writes are forced to stable storage. Writers always wait until their record has been
+ * written to the log file; the mode only decides when the file is fsynced.
+ */
+public enum DurabilityMode {
+  /** Every write is fsynced before it is acknowledged; concurrent writers share one fsync. */
+  SYNC,
+  /** The log is fsynced every sync interval; a crash can lose up to one interval of writes. */
+  INTERVAL,
+  /** The log is never fsynced explicitly; the operating system decides when data hits disk. */
+  OS
+}
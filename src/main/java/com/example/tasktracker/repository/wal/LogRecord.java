@@ -0,0 +1,135 @@
+package com.example.tasktracker.repository.wal;
+
+import com.example.tasktracker.model.Task;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Framing of log records: payload length, CRC32C of the payload, then the payload
+ * itself, which starts with an operation byte followed by the encoded task or task id.
+ */
+final class LogRecord {
+  static final byte SAVE = 1;
+  static final byte DELETE = 2;
+
+  private static final int HEADER_BYTES = 2 * Integer.BYTES;
+  private static final Logger LOG = LoggerFactory.getLogger(LogRecord.class);
+
+  private LogRecord() {
+  }
+
+  /**
+   * Applies one decoded record during replay.
+   */
+  interface Handler {
+    void save(Task task);
+
+    void delete(UUID id);
+  }
+
+  static ByteBuffer save(Task task) {
+    byte[][] text = TaskCodec.text(task);
+    ByteBuffer record = allocate(Byte.BYTES + TaskCodec.size(text));
+    record.put(SAVE);
+    TaskCodec.write(task, text, record);
+    return seal(record);
+  }
+
+  static ByteBuffer delete(UUID id) {
+    ByteBuffer record = allocate(Byte.BYTES + 2 * Long.BYTES);
+    record.put(DELETE);
+    TaskCodec.writeId(id, record);
+    return seal(record);
+  }
+
+  /**
+   * Replays every intact record of {@code file}. In the newest log file, a torn or corrupt
+   * record is the tail that was being written when the process died, so the file is truncated
+   * there. Older files were fsynced in full before the log moved on, so one there means the file
+   * was damaged since, and recovery fails rather than silently dropping the writes after it.
+   *
+   * @param newest whether {@code file} is the newest log file
+   * @return the number of records replayed
+   * @throws IOException if {@code file} is not the newest and has a torn or corrupt record
+   */
+  static long replay(Path file, boolean newest, Handler handler) throws IOException {
+    long fileSize = Files.size(file);
+    long position = 0;
+    long count = 0;
+    try (InputStream raw = Files.newInputStream(file);
+         DataInputStream in = new DataInputStream(new BufferedInputStream(raw, 1 << 16))) {
+      while (true) {
+        byte[] payload;
+        try {
+          int length = in.readInt();
+          int checksum = in.readInt();
+          if (length <= 0 || length > fileSize - position - HEADER_BYTES) {
+            break;
+          }
+          payload = new byte[length];
+          in.readFully(payload);
+          if (checksum(payload, 0, length) != checksum) {
+            break;
+          }
+        } catch (EOFException ex) {
+          break;
+        }
+        apply(ByteBuffer.wrap(payload), handler);
+        position += HEADER_BYTES + payload.length;
+        count++;
+      }
+    }
+    if (position < fileSize && !newest) {
+      throw new IOException("Corrupt record in %s at byte %d, which is not the newest log file"
+          .formatted(file, position));
+    }
+    if (position < fileSize) {
+      LOG.warn("Truncating torn tail of {} at byte {}", file, position);
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+        channel.truncate(position);
+        channel.force(true);
+      }
+    }
+    return count;
+  }
+
+  private static void apply(ByteBuffer payload, Handler handler) {
+    byte op = payload.get();
+    switch (op) {
+      case SAVE -> handler.save(TaskCodec.read(payload));
+      case DELETE -> handler.delete(TaskCodec.readId(payload));
+      default -> throw new IllegalStateException("Unknown log operation " + op);
+    }
+  }
+
+  private static ByteBuffer allocate(int payloadBytes) {
+    ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + payloadBytes);
+    record.position(HEADER_BYTES);
+    return record;
+  }
+
+  private static ByteBuffer seal(ByteBuffer record) {
+    int length = record.position() - HEADER_BYTES;
+    record.putInt(0, length);
+    record.putInt(Integer.BYTES, checksum(record.array(), HEADER_BYTES, length));
+    return record.flip();
+  }
+
+  private static int checksum(byte[] bytes, int offset, int length) {
+    CRC32C crc = new CRC32C();
+    crc.update(bytes, offset, length);
+    return (int) crc.getValue();
+  }
+}
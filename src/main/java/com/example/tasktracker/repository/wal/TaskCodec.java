@@ -0,0 +1,104 @@
+package com.example.tasktracker.repository.wal;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Binary encoding of a {@link Task}: the id as two longs, title and description as
+ * length-prefixed UTF-8 (length -1 for {@code null}), the due date as an epoch day
+ * ({@link Long#MIN_VALUE} for {@code null}), the status ordinal (-1 for {@code null}), the
+ * parent id as two longs (both 0, the nil UUID, for {@code null}) and the version. Shared by the
+ * log, the snapshot and replication.
+ */
+public final class TaskCodec {
+  private static final TaskStatus[] STATUSES = TaskStatus.values();
+  private static final long NO_DUE_DATE = Long.MIN_VALUE;
+
+  private TaskCodec() {
+  }
+
+  /**
+   * Returns the task's text fields encoded as UTF-8, in the order {@link #write} expects them.
+   */
+  public static byte[][] text(Task task) {
+    return new byte[][] {utf8(task.getTitle()), utf8(task.getDescription())};
+  }
+
+  public static int size(byte[][] text) {
+    return 2 * Long.BYTES + 2 * Integer.BYTES + length(text[0]) + length(text[1])
+        + Long.BYTES + Byte.BYTES + 2 * Long.BYTES + Long.BYTES;
+  }
+
+  public static void write(Task task, byte[][] text, ByteBuffer buffer) {
+    buffer.putLong(task.getId().getMostSignificantBits());
+    buffer.putLong(task.getId().getLeastSignificantBits());
+    putString(text[0], buffer);
+    putString(text[1], buffer);
+    buffer.putLong(task.getDueDate() == null ? NO_DUE_DATE : task.getDueDate().toEpochDay());
+    buffer.put(task.getStatus() == null ? -1 : (byte) task.getStatus().ordinal());
+    UUID parentId = task.getParentId();
+    buffer.putLong(parentId == null ? 0 : parentId.getMostSignificantBits());
+    buffer.putLong(parentId == null ? 0 : parentId.getLeastSignificantBits());
+    buffer.putLong(task.getVersion());
+  }
+
+  public static Task read(ByteBuffer buffer) {
+    UUID id = new UUID(buffer.getLong(), buffer.getLong());
+    String title = getString(buffer);
+    String description = getString(buffer);
+    long epochDay = buffer.getLong();
+    byte status = buffer.get();
+    long parentHigh = buffer.getLong();
+    long parentLow = buffer.getLong();
+    long version = buffer.getLong();
+    return Task.builder()
+        .id(id)
+        .title(title)
+        .description(description)
+        .dueDate(epochDay == NO_DUE_DATE ? null : LocalDate.ofEpochDay(epochDay))
+        .status(status < 0 ? null : STATUSES[status])
+        .parentId(parentHigh == 0 && parentLow == 0 ? null : new UUID(parentHigh, parentLow))
+        .version(version)
+        .build();
+  }
+
+  public static void writeId(UUID id, ByteBuffer buffer) {
+    buffer.putLong(id.getMostSignificantBits());
+    buffer.putLong(id.getLeastSignificantBits());
+  }
+
+  public static UUID readId(ByteBuffer buffer) {
+    return new UUID(buffer.getLong(), buffer.getLong());
+  }
+
+  private static byte[] utf8(String value) {
+    return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static int length(byte[] bytes) {
+    return bytes == null ? 0 : bytes.length;
+  }
+
+  private static void putString(byte[] bytes, ByteBuffer buffer) {
+    if (bytes == null) {
+      buffer.putInt(-1);
+      return;
+    }
+    buffer.putInt(bytes.length);
+    buffer.put(bytes);
+  }
+
+  private static String getString(ByteBuffer buffer) {
+    int length = buffer.getInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
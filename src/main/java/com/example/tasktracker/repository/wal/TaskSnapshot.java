@@ -0,0 +1,247 @@
+package com.example.tasktracker.repository.wal;
+
+import com.example.tasktracker.model.Task;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32C;
+
+/**
+ * Compact binary snapshot of every task, written and read through memory-mapped buffers.
+ *
+ * <p>Layout: an 8-byte header (magic, format version), the tasks in {@link TaskCodec} encoding
+ * grouped into chunks, then a footer with one entry per chunk (offset, length, task count,
+ * CRC32C), the chunk count, the task count and the magic again. Chunks are independent, so
+ * they are decoded in parallel straight from the mapped file.
+ */
+public final class TaskSnapshot {
+  static final int DEFAULT_TASKS_PER_CHUNK = 65_536;
+
+  private static final int MAGIC = 0x54534e50;
+  private static final int VERSION = 3;
+  private static final int HEADER_BYTES = 2 * Integer.BYTES;
+  private static final int CHUNK_ENTRY_BYTES = 2 * Long.BYTES + 2 * Integer.BYTES;
+  private static final int TRAILER_BYTES = Integer.BYTES + Long.BYTES + Integer.BYTES;
+  private static final int WINDOW_BYTES = 64 << 20;
+
+  private TaskSnapshot() {
+  }
+
+  /**
+   * Writes {@code tasks} to {@code file}, replacing its contents, and forces it to disk.
+   *
+   * @return the number of tasks written
+   */
+  public static long write(Path file, Iterator<Task> tasks) throws IOException {
+    return write(file, tasks, DEFAULT_TASKS_PER_CHUNK);
+  }
+
+  static long write(Path file, Iterator<Task> tasks, int tasksPerChunk) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      MappedWriter out = new MappedWriter(channel);
+      out.reserve(HEADER_BYTES).putInt(MAGIC).putInt(VERSION);
+
+      ByteBuffer chunks = ByteBuffer.allocate(CHUNK_ENTRY_BYTES * 16);
+      ByteBuffer scratch = ByteBuffer.allocate(1 << 12);
+      CRC32C crc = new CRC32C();
+      long total = 0;
+      int inChunk = 0;
+      long chunkStart = out.position();
+      while (tasks.hasNext()) {
+        Task task = tasks.next();
+        byte[][] text = TaskCodec.text(task);
+        int size = TaskCodec.size(text);
+        if (scratch.capacity() < size) {
+          scratch = ByteBuffer.allocate(Math.max(size, scratch.capacity() * 2));
+        }
+        scratch.clear();
+        TaskCodec.write(task, text, scratch);
+        scratch.flip();
+        crc.update(scratch.duplicate());
+        out.reserve(size).put(scratch);
+        total++;
+        if (++inChunk == tasksPerChunk) {
+          chunks = addChunk(chunks, chunkStart, out.position(), inChunk, crc);
+          chunkStart = out.position();
+          inChunk = 0;
+        }
+      }
+      if (inChunk > 0) {
+        chunks = addChunk(chunks, chunkStart, out.position(), inChunk, crc);
+      }
+      chunks.flip();
+      int chunkCount = chunks.remaining() / CHUNK_ENTRY_BYTES;
+      out.reserve(chunks.remaining() + TRAILER_BYTES)
+          .put(chunks)
+          .putInt(chunkCount)
+          .putLong(total)
+          .putInt(MAGIC);
+      out.finish();
+      return total;
+    }
+  }
+
+  /**
+   * Decodes every task of {@code file} and hands it to {@code sink}. Chunks are decoded in
+   * parallel, so {@code sink} must be thread-safe.
+   *
+   * @return the number of tasks read
+   * @throws IOException if the file cannot be read or fails its integrity checks
+   */
+  public static long read(Path file, Consumer<Task> sink) throws IOException {
+    return read(file, total -> (index, task) -> sink.accept(task));
+  }
+
+  /**
+   * Decodes every task of {@code file} in parallel into a list in file order.
+   */
+  public static List<Task> readAll(Path file) throws IOException {
+    ArraySink sink = new ArraySink();
+    read(file, sink::allocate);
+    return Arrays.asList(sink.tasks);
+  }
+
+  /**
+   * Reads {@code file}, asking {@code sinkFactory} for a sink once the task count is known.
+   */
+  private static long read(Path file, LongFunction<IndexedSink> sinkFactory)
+      throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < HEADER_BYTES + TRAILER_BYTES) {
+        throw new IOException("Snapshot %s is truncated".formatted(file));
+      }
+      ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+      if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+        throw new IOException("%s is not a version %d task snapshot".formatted(file, VERSION));
+      }
+      ByteBuffer trailer = channel.map(FileChannel.MapMode.READ_ONLY, size - TRAILER_BYTES,
+          TRAILER_BYTES);
+      int chunkCount = trailer.getInt();
+      long total = trailer.getLong();
+      long tableStart = size - TRAILER_BYTES - (long) chunkCount * CHUNK_ENTRY_BYTES;
+      if (trailer.getInt() != MAGIC || chunkCount < 0 || tableStart < HEADER_BYTES) {
+        throw new IOException("Snapshot %s has a corrupt footer".formatted(file));
+      }
+      ByteBuffer table = channel.map(FileChannel.MapMode.READ_ONLY, tableStart,
+          (long) chunkCount * CHUNK_ENTRY_BYTES);
+      long[] firstIndex = new long[chunkCount + 1];
+      for (int chunk = 0; chunk < chunkCount; chunk++) {
+        firstIndex[chunk + 1] = firstIndex[chunk]
+            + table.getInt(chunk * CHUNK_ENTRY_BYTES + 2 * Long.BYTES);
+      }
+      if (firstIndex[chunkCount] != total) {
+        throw new IOException("Snapshot %s has a corrupt footer".formatted(file));
+      }
+      IndexedSink sink = sinkFactory.apply(total);
+      try {
+        IntStream.range(0, chunkCount).parallel().forEach(chunk -> {
+          ByteBuffer entry = table.slice(chunk * CHUNK_ENTRY_BYTES, CHUNK_ENTRY_BYTES);
+          readChunk(channel, file, entry.getLong(), entry.getLong(), entry.getInt(),
+              entry.getInt(), firstIndex[chunk], sink);
+        });
+      } catch (UncheckedIOException ex) {
+        throw ex.getCause();
+      }
+      return total;
+    }
+  }
+
+  private static void readChunk(FileChannel channel, Path file, long offset, long length,
+      int count, int checksum, long firstIndex, IndexedSink sink) {
+    try {
+      MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+      CRC32C crc = new CRC32C();
+      crc.update(chunk.duplicate());
+      if ((int) crc.getValue() != checksum) {
+        throw new IOException("Snapshot %s has a corrupt chunk at byte %d".formatted(file, offset));
+      }
+      for (int i = 0; i < count; i++) {
+        sink.accept(firstIndex + i, TaskCodec.read(chunk));
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private static ByteBuffer addChunk(ByteBuffer chunks, long start, long end, int count,
+      CRC32C crc) {
+    ByteBuffer target = chunks;
+    if (target.remaining() < CHUNK_ENTRY_BYTES) {
+      target = ByteBuffer.allocate(target.capacity() * 2).put(target.flip());
+    }
+    target.putLong(start).putLong(end - start).putInt(count).putInt((int) crc.getValue());
+    crc.reset();
+    return target;
+  }
+
+  @FunctionalInterface
+  private interface IndexedSink {
+    void accept(long index, Task task);
+  }
+
+  private static final class ArraySink implements IndexedSink {
+    private Task[] tasks = new Task[0];
+
+    IndexedSink allocate(long total) {
+      tasks = new Task[Math.toIntExact(total)];
+      return this;
+    }
+
+    @Override
+    public void accept(long index, Task task) {
+      tasks[(int) index] = task;
+    }
+  }
+
+  /**
+   * Appends to a file through a sliding memory-mapped window.
+   */
+  private static final class MappedWriter {
+    private final FileChannel channel;
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    MappedWriter(FileChannel channel) throws IOException {
+      this.channel = channel;
+      this.window = channel.map(FileChannel.MapMode.READ_WRITE, 0, WINDOW_BYTES);
+    }
+
+    long position() {
+      return windowStart + window.position();
+    }
+
+    /**
+     * Returns the window, remapped if needed so that {@code bytes} more bytes fit.
+     */
+    MappedByteBuffer reserve(int bytes) throws IOException {
+      if (window.remaining() < bytes) {
+        window.force();
+        windowStart += window.position();
+        window = channel.map(FileChannel.MapMode.READ_WRITE, windowStart,
+            Math.max(WINDOW_BYTES, bytes));
+      }
+      return window;
+    }
+
+    /**
+     * Forces the written bytes to disk and trims the unused rest of the last window.
+     */
+    void finish() throws IOException {
+      window.force();
+      channel.truncate(position());
+      channel.force(true);
+    }
+  }
+}
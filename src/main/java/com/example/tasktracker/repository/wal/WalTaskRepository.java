@@ -0,0 +1,453 @@
+package com.example.tasktracker.repository.wal;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.InMemoryTaskRepository;
+import com.example.tasktracker.repository.TaskCursor;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.repository.TaskWriteListener;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Durable task repository: an {@link InMemoryTaskRepository} serves every read, and every write
+ * is appended to a {@link WriteAheadLog} in the same directory before it is acknowledged.
+ *
+ * <p>Writes are applied to memory when their record is queued, so readers may see them before
+ * they are durable. If the log fails to take a record, the write is undone in memory before the
+ * error is thrown, so what stays visible is what recovery would load. Once failed, the log
+ * rejects every later record, so on each task the undone writes are the latest ones; they are
+ * undone newest first, and one found already overwritten by another undone write is undone
+ * along with it.
+ *
+ * <p>Snapshots are taken periodically. Taking one rotates the log while writes are briefly
+ * held off, so everything in older log files is already in memory, then dumps memory into a
+ * {@link TaskSnapshot} named {@code snapshot-<generation>.bin} and deletes the older files. On
+ * startup the latest snapshot is bulk-loaded and every log file from its generation on is
+ * replayed. Records are full task states or deletes, so replaying a write the snapshot already
+ * contains is harmless.
+ */
+public final class WalTaskRepository implements TaskRepository, Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(WalTaskRepository.class);
+  private static final Pattern LOG_FILE = Pattern.compile("wal-(\\d+)\\.log");
+  private static final Pattern SNAPSHOT_FILE = Pattern.compile("snapshot-(\\d+)\\.bin");
+  private static final String TEMP_SUFFIX = ".tmp";
+
+  private final InMemoryTaskRepository delegate = new InMemoryTaskRepository();
+  private final ReadWriteLock writeGate = new ReentrantReadWriteLock();
+  private final ThreadLocal<CompletableFuture<Void>> lastAppend = new ThreadLocal<>();
+  private final ThreadLocal<List<Written>> appended = ThreadLocal.withInitial(ArrayList::new);
+  private final ThreadLocal<Boolean> inBatch = ThreadLocal.withInitial(() -> false);
+  private final Object snapshotLock = new Object();
+  private final Object rollbackLock = new Object();
+  /**
+   * Undone writes that were found overwritten, by task id. Guarded by {@link #rollbackLock}.
+   */
+  private final Map<UUID, List<Written>> overwritten = new HashMap<>();
+  private final Path directory;
+  private final WriteAheadLog log;
+  private final ScheduledExecutorService snapshotScheduler;
+
+  /**
+   * Recovers the repository from {@code directory}, creating it if needed, and starts logging.
+   *
+   * @param snapshotInterval time between snapshots; zero or negative disables them
+   */
+  public WalTaskRepository(Path directory, DurabilityMode durability, Duration syncInterval,
+      Duration snapshotInterval) throws IOException {
+    this.directory = Files.createDirectories(directory);
+    long generation = recover();
+    this.log = new WriteAheadLog(directory, generation + 1, durability, syncInterval);
+    delegate.addWriteListener(this::append);
+    if (snapshotInterval.isPositive()) {
+      snapshotScheduler = Executors.newSingleThreadScheduledExecutor(
+          Thread.ofPlatform().name("task-wal-snapshot").daemon().factory());
+      long period = snapshotInterval.toMillis();
+      snapshotScheduler.scheduleWithFixedDelay(this::scheduledSnapshot, period, period,
+          TimeUnit.MILLISECONDS);
+    } else {
+      snapshotScheduler = null;
+    }
+  }
+
+  @Override
+  public Task save(Task task) {
+    return write(() -> delegate.save(task));
+  }
+
+  @Override
+  public List<Task> saveAll(Collection<Task> tasks) {
+    return write(() -> delegate.saveAll(tasks));
+  }
+
+  @Override
+  public Optional<Task> findById(UUID id) {
+    return delegate.findById(id);
+  }
+
+  @Override
+  public List<Task> findAll() {
+    return delegate.findAll();
+  }
+
+  @Override
+  public Stream<Task> streamAll() {
+    return delegate.streamAll();
+  }
+
+  @Override
+  public List<Task> findByStatus(TaskStatus status) {
+    return delegate.findByStatus(status);
+  }
+
+  @Override
+  public long count() {
+    return delegate.count();
+  }
+
+  @Override
+  public long countByStatus(TaskStatus status) {
+    return delegate.countByStatus(status);
+  }
+
+  @Override
+  public long modificationCount() {
+    return delegate.modificationCount();
+  }
+
+  @Override
+  public long modificationCountByStatus(TaskStatus status) {
+    return delegate.modificationCountByStatus(status);
+  }
+
+  @Override
+  public List<Task> findDueOnOrBefore(LocalDate date) {
+    return delegate.findDueOnOrBefore(date);
+  }
+
+  @Override
+  public List<Task> findByStatusAndDueOnOrBefore(TaskStatus status, LocalDate date) {
+    return delegate.findByStatusAndDueOnOrBefore(status, date);
+  }
+
+  @Override
+  public List<Task> findPage(TaskStatus status, LocalDate dueOnOrBefore, TaskCursor after,
+      int limit) {
+    return delegate.findPage(status, dueOnOrBefore, after, limit);
+  }
+
+  @Override
+  public Optional<Task> compareAndUpdate(UUID id, long expectedVersion,
+      UnaryOperator<Task> update) {
+    return write(() -> delegate.compareAndUpdate(id, expectedVersion, update));
+  }
+
+  /**
+   * Runs {@code writes} without waiting for each of them to be logged, then waits once for the
+   * last one.
+   */
+  @Override
+  public <T> T inBatch(Supplier<T> writes) {
+    if (inBatch.get()) {
+      return writes.get();
+    }
+    clearAppends();
+    inBatch.set(true);
+    try {
+      return writes.get();
+    } finally {
+      inBatch.remove();
+      awaitAppend();
+    }
+  }
+
+  @Override
+  public void deleteById(UUID id) {
+    write(() -> {
+      delegate.deleteById(id);
+      return null;
+    });
+  }
+
+  @Override
+  public void deleteAllById(Collection<UUID> ids) {
+    write(() -> {
+      delegate.deleteAllById(ids);
+      return null;
+    });
+  }
+
+  /**
+   * Registers {@code listener} on the in-memory state. It is notified after the write has been
+   * queued for the log but before it is durable, and of the write undoing it if the log fails.
+   */
+  @Override
+  public void addWriteListener(TaskWriteListener listener) {
+    delegate.addWriteListener(listener);
+  }
+
+  /**
+   * Writes a snapshot of the current state and deletes the log files it supersedes.
+   */
+  public void snapshot() throws IOException {
+    synchronized (snapshotLock) {
+      long generation;
+      writeGate.writeLock().lock();
+      try {
+        generation = log.rotate();
+      } finally {
+        writeGate.writeLock().unlock();
+      }
+      Path target = directory.resolve(snapshotFileName(generation));
+      Path temp = directory.resolve(target.getFileName() + TEMP_SUFFIX);
+      try (Stream<Task> tasks = delegate.streamAll()) {
+        TaskSnapshot.write(temp, tasks.iterator());
+      }
+      Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+      syncDirectory();
+      deleteObsoleteFiles(generation);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (snapshotScheduler != null) {
+      snapshotScheduler.shutdownNow();
+    }
+    log.close();
+  }
+
+  static String snapshotFileName(long generation) {
+    return "snapshot-%020d.bin".formatted(generation);
+  }
+
+  /**
+   * Applies {@code operation} to memory while snapshots are held off, then waits for the records
+   * it appended unless a batch will wait for them.
+   */
+  private <T> T write(Supplier<T> operation) {
+    boolean batched = inBatch.get();
+    if (!batched) {
+      clearAppends();
+    }
+    T result;
+    writeGate.readLock().lock();
+    try {
+      result = operation.get();
+    } finally {
+      writeGate.readLock().unlock();
+    }
+    if (!batched) {
+      awaitAppend();
+    }
+    return result;
+  }
+
+  private void append(Task previous, Task current) {
+    if (Thread.holdsLock(rollbackLock)) {
+      return;
+    }
+    ByteBuffer record = current == null
+        ? LogRecord.delete(previous.getId())
+        : LogRecord.save(current);
+    lastAppend.set(log.append(record));
+    appended.get().add(new Written(previous, current));
+  }
+
+  private void clearAppends() {
+    lastAppend.remove();
+    appended.remove();
+  }
+
+  /**
+   * Waits for the last record appended by this thread. The log is written in order, so this
+   * also covers every earlier record of the same call. If it failed, undoes the writes of the
+   * call before rethrowing.
+   */
+  private void awaitAppend() {
+    CompletableFuture<Void> pending = lastAppend.get();
+    List<Written> writes = appended.get();
+    clearAppends();
+    if (pending == null) {
+      return;
+    }
+    try {
+      pending.join();
+    } catch (CompletionException ex) {
+      rollBack(writes);
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw ex;
+    }
+  }
+
+  /**
+   * Undoes {@code writes} in memory, newest first. A write whose task has moved on since was
+   * overwritten by a later write, whose record failed as well since the log rejects every record
+   * after a failure; it is remembered, and undone once that later write is.
+   */
+  private void rollBack(List<Written> writes) {
+    synchronized (rollbackLock) {
+      for (int i = writes.size() - 1; i >= 0; i--) {
+        Written write = writes.get(i);
+        UUID id = write.id();
+        Task target = write.previous();
+        List<Written> pending = overwritten.get(id);
+        for (Written undone = find(pending, target); undone != null;
+            undone = find(pending, target)) {
+          pending.remove(undone);
+          target = undone.previous();
+        }
+        if (pending != null && pending.isEmpty()) {
+          overwritten.remove(id);
+        }
+        if (!delegate.restore(id, write.current(), target)) {
+          overwritten.computeIfAbsent(id, key -> new ArrayList<>())
+              .add(new Written(target, write.current()));
+        }
+      }
+    }
+  }
+
+  /**
+   * The remembered write in {@code pending} that left its task as the very {@code state}.
+   */
+  private static Written find(List<Written> pending, Task state) {
+    if (pending != null) {
+      for (Written write : pending) {
+        if (write.current() == state) {
+          return write;
+        }
+      }
+    }
+    return null;
+  }
+
+  private void scheduledSnapshot() {
+    try {
+      snapshot();
+    } catch (IOException | RuntimeException ex) {
+      LOG.error("Snapshot of {} failed", directory, ex);
+    }
+  }
+
+  /**
+   * Loads the latest snapshot and replays the log files written after it.
+   *
+   * @return the highest generation found on disk
+   */
+  private long recover() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path temp : files.filter(file -> file.toString().endsWith(TEMP_SUFFIX)).toList()) {
+        Files.delete(temp);
+      }
+    }
+    LogRecord.Handler replay = new LogRecord.Handler() {
+      @Override
+      public void save(Task task) {
+        delegate.save(task);
+      }
+
+      @Override
+      public void delete(UUID id) {
+        delegate.deleteById(id);
+      }
+    };
+    long snapshotGeneration = generations(SNAPSHOT_FILE).stream().max(Long::compare).orElse(0L);
+    if (snapshotGeneration > 0) {
+      Path snapshot = directory.resolve(snapshotFileName(snapshotGeneration));
+      delegate.loadAll(TaskSnapshot.readAll(snapshot));
+    }
+    List<Long> logGenerations = generations(LOG_FILE);
+    long highest = logGenerations.isEmpty()
+        ? snapshotGeneration
+        : Math.max(snapshotGeneration, logGenerations.get(logGenerations.size() - 1));
+    long replayed = 0;
+    for (long generation : logGenerations) {
+      if (generation >= snapshotGeneration) {
+        replayed += LogRecord.replay(directory.resolve(WriteAheadLog.fileName(generation)),
+            generation == highest, replay);
+      }
+    }
+    deleteObsoleteFiles(snapshotGeneration);
+    LOG.info("Recovered {} tasks from {} (snapshot generation {}, {} log records)",
+        delegate.streamAll().count(), directory, snapshotGeneration, replayed);
+    return highest;
+  }
+
+  /**
+   * Deletes log files and snapshots that are fully covered by snapshot {@code generation}.
+   */
+  private void deleteObsoleteFiles(long generation) throws IOException {
+    for (long older : generations(LOG_FILE)) {
+      if (older < generation) {
+        Files.deleteIfExists(directory.resolve(WriteAheadLog.fileName(older)));
+      }
+    }
+    for (long older : generations(SNAPSHOT_FILE)) {
+      if (older < generation) {
+        Files.deleteIfExists(directory.resolve(snapshotFileName(older)));
+      }
+    }
+  }
+
+  private List<Long> generations(Pattern pattern) throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .map(file -> pattern.matcher(String.valueOf(file.getFileName())))
+          .filter(Matcher::matches)
+          .map(matcher -> Long.parseLong(matcher.group(1)))
+          .sorted()
+          .toList();
+    }
+  }
+
+  private void syncDirectory() {
+    try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+      channel.force(true);
+    } catch (IOException ex) {
+      // Not every platform can fsync a directory; the rename is still atomic there.
+      LOG.debug("Could not fsync {}", directory, ex);
+    }
+  }
+
+  /**
+   * A write that took a task from {@code previous} to {@code current}, either of which
+   * is {@code null} if the task did not exist.
+   */
+  private record Written(Task previous, Task current) {
+    UUID id() {
+      return current == null ? previous.getId() : current.getId();
+    }
+  }
+}
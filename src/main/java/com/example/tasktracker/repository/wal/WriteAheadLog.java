@@ -0,0 +1,243 @@
+package com.example.tasktracker.repository.wal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only log of framed records with group commit.
+ *
+ * <p>Appenders enqueue already-encoded records and get a future back. A single writer thread
+ * drains everything that queued up while it was busy, writes it with one gathering write and,
+ * depending on the {@link DurabilityMode}, one fsync, then completes the whole batch. Concurrent
+ * writers therefore share fsyncs instead of paying for one each.
+ */
+final class WriteAheadLog implements Closeable {
+  private static final int MAX_BATCH = 4_096;
+
+  private final Path directory;
+  private final DurabilityMode durability;
+  private final long syncIntervalNanos;
+  private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+  private final Thread writer;
+
+  private FileChannel channel;
+  private volatile long generation;
+  private boolean dirty;
+  private volatile boolean closed;
+  private volatile IOException failure;
+
+  WriteAheadLog(Path directory, long generation, DurabilityMode durability, Duration syncInterval)
+      throws IOException {
+    this.directory = directory;
+    this.durability = durability;
+    this.syncIntervalNanos = syncInterval.toNanos();
+    this.generation = generation;
+    this.channel = open(generation);
+    this.writer = Thread.ofPlatform().name("task-wal-writer").daemon().start(this::run);
+  }
+
+  static String fileName(long generation) {
+    return "wal-%020d.log".formatted(generation);
+  }
+
+  /**
+   * Enqueues a framed record. The future completes once the record is written, and for
+   * {@link DurabilityMode#SYNC} fsynced, or fails if the log can no longer be written.
+   */
+  CompletableFuture<Void> append(ByteBuffer record) {
+    IOException failed = failure;
+    if (failed != null) {
+      return CompletableFuture.failedFuture(new UncheckedIOException(failed));
+    }
+    if (closed) {
+      return CompletableFuture.failedFuture(new IllegalStateException("Write-ahead log is closed"));
+    }
+    Entry entry = new Entry(Kind.RECORD, record, new CompletableFuture<>());
+    queue.add(entry);
+    return entry.done;
+  }
+
+  /**
+   * Switches to a new log file once everything enqueued so far has been written and fsynced.
+   * Fails if the log has failed, since the records enqueued so far are then not all written.
+   *
+   * @return the generation of the new log file
+   */
+  long rotate() {
+    Entry entry = new Entry(Kind.ROTATE, null, new CompletableFuture<>());
+    queue.add(entry);
+    entry.done.join();
+    return generation;
+  }
+
+  /**
+   * Writes and fsyncs everything enqueued so far, then closes the log file.
+   */
+  @Override
+  public void close() throws IOException {
+    closed = true;
+    queue.add(new Entry(Kind.CLOSE, null, new CompletableFuture<>()));
+    try {
+      writer.join();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+    IOException failed = failure;
+    if (failed != null) {
+      throw failed;
+    }
+  }
+
+  private void run() {
+    List<Entry> batch = new ArrayList<>();
+    long nextSync = System.nanoTime() + syncIntervalNanos;
+    try {
+      while (true) {
+        Entry first = dirty
+            ? queue.poll(Math.max(0, nextSync - System.nanoTime()), TimeUnit.NANOSECONDS)
+            : queue.take();
+        if (first != null) {
+          batch.add(first);
+          queue.drainTo(batch, MAX_BATCH - 1);
+          if (process(batch)) {
+            return;
+          }
+          batch.clear();
+        }
+        if (dirty && System.nanoTime() - nextSync >= 0) {
+          sync();
+          nextSync = System.nanoTime() + syncIntervalNanos;
+        }
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Writes the records of {@code batch} and handles control entries in queue order.
+   *
+   * @return {@code true} once the log has been closed
+   */
+  private boolean process(List<Entry> batch) {
+    int start = 0;
+    for (int i = 0; i < batch.size(); i++) {
+      Entry entry = batch.get(i);
+      if (entry.kind == Kind.RECORD) {
+        continue;
+      }
+      flush(batch.subList(start, i));
+      start = i + 1;
+      try {
+        sync();
+        IOException failed = failure;
+        if (entry.kind == Kind.ROTATE && failed != null) {
+          // Records before the rotation were lost, so a snapshot must not be taken from memory.
+          entry.done.completeExceptionally(new UncheckedIOException(failed));
+          continue;
+        }
+        if (entry.kind == Kind.CLOSE) {
+          channel.close();
+          entry.done.complete(null);
+          failRemaining(batch.subList(start, batch.size()));
+          return true;
+        }
+        long next = generation + 1;
+        channel.close();
+        channel = open(next);
+        generation = next;
+        entry.done.complete(null);
+      } catch (IOException ex) {
+        fail(ex);
+        entry.done.completeExceptionally(new UncheckedIOException(ex));
+      }
+    }
+    flush(batch.subList(start, batch.size()));
+    return false;
+  }
+
+  private void flush(List<Entry> records) {
+    if (records.isEmpty()) {
+      return;
+    }
+    if (failure == null) {
+      ByteBuffer[] buffers = new ByteBuffer[records.size()];
+      long remaining = 0;
+      for (int i = 0; i < buffers.length; i++) {
+        buffers[i] = records.get(i).record;
+        remaining += buffers[i].remaining();
+      }
+      try {
+        while (remaining > 0) {
+          remaining -= channel.write(buffers);
+        }
+        dirty = true;
+        if (durability == DurabilityMode.SYNC) {
+          sync();
+        }
+      } catch (IOException ex) {
+        fail(ex);
+      }
+    }
+    IOException failed = failure;
+    for (Entry entry : records) {
+      if (failed == null) {
+        entry.done.complete(null);
+      } else {
+        entry.done.completeExceptionally(new UncheckedIOException(failed));
+      }
+    }
+  }
+
+  private void sync() {
+    if (!dirty || failure != null) {
+      return;
+    }
+    try {
+      if (durability != DurabilityMode.OS) {
+        channel.force(false);
+      }
+      dirty = false;
+    } catch (IOException ex) {
+      fail(ex);
+    }
+  }
+
+  private void fail(IOException ex) {
+    if (failure == null) {
+      failure = ex;
+    }
+  }
+
+  private void failRemaining(List<Entry> entries) {
+    for (Entry entry : entries) {
+      entry.done.completeExceptionally(new IllegalStateException("Write-ahead log is closed"));
+    }
+  }
+
+  private FileChannel open(long fileGeneration) throws IOException {
+    return FileChannel.open(directory.resolve(fileName(fileGeneration)),
+        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+  }
+
+  private enum Kind {
+    RECORD,
+    ROTATE,
+    CLOSE
+  }
+
+  private record Entry(Kind kind, ByteBuffer record, CompletableFuture<Void> done) {
+  }
+}
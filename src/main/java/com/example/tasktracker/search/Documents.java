@@ -0,0 +1,191 @@
+package com.example.tasktracker.search;
+
+import java.util.Arrays;
+
+/**
+ * The indexed documents, numbered in the order they were added: each number's task id as two
+ * {@code long}s, its weighted length in terms and whether it is live. A task whose text changes
+ * is added again under a new number and its old one is marked dead, so posting lists only ever
+ * grow at their end. An open-addressing table, kept at most half full, finds the live number of
+ * a task id. {@link #compact()} renumbers the live documents once dead ones pile up.
+ */
+final class Documents {
+  private static final int MIN_CAPACITY = 1024;
+  private static final int MAX_DOCUMENTS = 1 << 29;
+
+  private long[] idHigh = new long[MIN_CAPACITY];
+  private long[] idLow = new long[MIN_CAPACITY];
+  private int[] lengths = new int[MIN_CAPACITY];
+  private long[] live = new long[MIN_CAPACITY >> 6];
+  private int[] buckets = new int[2 * MIN_CAPACITY];
+  private int mask = buckets.length - 1;
+  private int count;
+  private int liveCount;
+  private long liveLength;
+
+  /**
+   * Number of documents ever added since the last compaction, live or dead.
+   */
+  int count() {
+    return count;
+  }
+
+  int liveCount() {
+    return liveCount;
+  }
+
+  int deadCount() {
+    return count - liveCount;
+  }
+
+  double averageLength() {
+    return liveCount == 0 ? 1 : (double) liveLength / liveCount;
+  }
+
+  int length(int document) {
+    return lengths[document];
+  }
+
+  long idHigh(int document) {
+    return idHigh[document];
+  }
+
+  long idLow(int document) {
+    return idLow[document];
+  }
+
+  boolean isLive(int document) {
+    return (live[document >>> 6] & (1L << document)) != 0;
+  }
+
+  /**
+   * Returns the live document of task {@code (high, low)}, or -1 if there is none.
+   */
+  int find(long high, long low) {
+    for (int bucket = bucket(high, low); ; bucket = (bucket + 1) & mask) {
+      int entry = buckets[bucket];
+      if (entry == 0) {
+        return -1;
+      }
+      if (idHigh[entry - 1] == high && idLow[entry - 1] == low) {
+        return entry - 1;
+      }
+    }
+  }
+
+  /**
+   * Adds a live document for task {@code (high, low)}, which must not have one, and returns its
+   * number.
+   */
+  int add(long high, long low, int length) {
+    if (count == idHigh.length) {
+      if (count == MAX_DOCUMENTS) {
+        throw new IllegalStateException("Search index is full");
+      }
+      int capacity = (int) Math.min(MAX_DOCUMENTS, (long) count + (count >> 1));
+      idHigh = Arrays.copyOf(idHigh, capacity);
+      idLow = Arrays.copyOf(idLow, capacity);
+      lengths = Arrays.copyOf(lengths, capacity);
+      live = Arrays.copyOf(live, (capacity + 63) >> 6);
+    }
+    int document = count++;
+    idHigh[document] = high;
+    idLow[document] = low;
+    lengths[document] = length;
+    live[document >>> 6] |= 1L << document;
+    liveCount++;
+    liveLength += length;
+    if (liveCount > buckets.length >> 1) {
+      rehash(buckets.length << 1);
+    } else {
+      place(document);
+    }
+    return document;
+  }
+
+  /**
+   * Marks the live {@code document} dead. Its number stays taken until the next compaction.
+   */
+  void remove(int document) {
+    int bucket = bucket(idHigh[document], idLow[document]);
+    while (buckets[bucket] != document + 1) {
+      bucket = (bucket + 1) & mask;
+    }
+    int hole = bucket;
+    for (int next = (hole + 1) & mask; buckets[next] != 0; next = (next + 1) & mask) {
+      int entry = buckets[next];
+      int home = bucket(idHigh[entry - 1], idLow[entry - 1]);
+      // Move the entry into the hole unless its home lies cyclically in (hole, next].
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        buckets[hole] = entry;
+        hole = next;
+      }
+    }
+    buckets[hole] = 0;
+    live[document >>> 6] &= ~(1L << document);
+    liveCount--;
+    liveLength -= lengths[document];
+  }
+
+  /**
+   * Renumbers the live documents from 0 in their current order and forgets the dead ones.
+   *
+   * @return the new number of every old document, or -1 for a dead one
+   */
+  int[] compact() {
+    int[] remap = new int[count];
+    int kept = 0;
+    for (int document = 0; document < count; document++) {
+      if (isLive(document)) {
+        remap[document] = kept;
+        idHigh[kept] = idHigh[document];
+        idLow[kept] = idLow[document];
+        lengths[kept] = lengths[document];
+        kept++;
+      } else {
+        remap[document] = -1;
+      }
+    }
+    int capacity = Math.max(MIN_CAPACITY, kept + (kept >> 1));
+    idHigh = Arrays.copyOf(idHigh, capacity);
+    idLow = Arrays.copyOf(idLow, capacity);
+    lengths = Arrays.copyOf(lengths, capacity);
+    live = new long[(capacity + 63) >> 6];
+    for (int document = 0; document < kept; document++) {
+      live[document >>> 6] |= 1L << document;
+    }
+    count = kept;
+    rehash(Math.max(2 * MIN_CAPACITY, Integer.highestOneBit(Math.max(1, 2 * kept - 1)) << 1));
+    return remap;
+  }
+
+  /**
+   * Bytes held by the document arrays and the id table.
+   */
+  long bytes() {
+    return idHigh.length * 20L + live.length * 8L + buckets.length * 4L;
+  }
+
+  private void place(int document) {
+    int bucket = bucket(idHigh[document], idLow[document]);
+    while (buckets[bucket] != 0) {
+      bucket = (bucket + 1) & mask;
+    }
+    buckets[bucket] = document + 1;
+  }
+
+  private void rehash(int bucketCount) {
+    buckets = new int[bucketCount];
+    mask = bucketCount - 1;
+    for (int document = 0; document < count; document++) {
+      if (isLive(document)) {
+        place(document);
+      }
+    }
+  }
+
+  private int bucket(long high, long low) {
+    long hash = (high ^ Long.rotateLeft(low, 32)) * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & mask;
+  }
+}
@@ -0,0 +1,90 @@
+package com.example.tasktracker.search;
+
+import java.util.Arrays;
+
+/**
+ * Posting list of one term: the documents containing it, in increasing order, each with the
+ * term's weighted frequency in that document (capped at 255). Held in two parallel primitive
+ * arrays, 5 bytes per posting, which only grow by appending since document numbers do.
+ */
+final class Postings {
+  static final int MAX_WEIGHT = 255;
+
+  private int[] documents = new int[1];
+  private byte[] weights = new byte[1];
+  private int size;
+
+  int size() {
+    return size;
+  }
+
+  int capacity() {
+    return documents.length;
+  }
+
+  int document(int index) {
+    return documents[index];
+  }
+
+  int weight(int index) {
+    return weights[index] & 0xFF;
+  }
+
+  /**
+   * Appends {@code document}, which must be greater than every document already listed.
+   *
+   * @return the number of slots the arrays grew by
+   */
+  int add(int document, int weight) {
+    int grown = 0;
+    if (size == documents.length) {
+      grown = (size >> 1) + 1;
+      documents = Arrays.copyOf(documents, size + grown);
+      weights = Arrays.copyOf(weights, size + grown);
+    }
+    documents[size] = document;
+    weights[size] = (byte) Math.min(weight, MAX_WEIGHT);
+    size++;
+    return grown;
+  }
+
+  /**
+   * Returns the first index at or after {@code from} whose document is at least {@code target},
+   * or {@link #size()} if there is none, galloping ahead before a binary search so that skipping
+   * over a long list costs a logarithm of the distance skipped.
+   */
+  int seek(int from, int target) {
+    if (from >= size || documents[from] >= target) {
+      return from;
+    }
+    int low = from;
+    int step = 1;
+    int high = from + step;
+    while (high < size && documents[high] < target) {
+      low = high;
+      step <<= 1;
+      high = from + step;
+    }
+    int index = Arrays.binarySearch(documents, low + 1, Math.min(high, size), target);
+    return index >= 0 ? index : -index - 1;
+  }
+
+  /**
+   * Renumbers documents through {@code remap} and drops those mapped to -1, trimming the arrays
+   * to the postings left. {@code remap} must preserve the order of the documents it keeps.
+   */
+  void renumber(int[] remap) {
+    int kept = 0;
+    for (int i = 0; i < size; i++) {
+      int document = remap[documents[i]];
+      if (document >= 0) {
+        documents[kept] = document;
+        weights[kept] = weights[i];
+        kept++;
+      }
+    }
+    size = kept;
+    documents = Arrays.copyOf(documents, Math.max(1, kept));
+    weights = Arrays.copyOf(weights, Math.max(1, kept));
+  }
+}
@@ -0,0 +1,9 @@
+package com.example.tasktracker.search;
+
+import java.util.UUID;
+
+/**
+ * A task matching a search, with its relevance score; higher scores rank first.
+ */
+public record SearchHit(UUID taskId, double score) {
+}
@@ -0,0 +1,45 @@
+package com.example.tasktracker.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parsed search query: every term must match, and a term written with a trailing {@code *}
+ * matches any indexed term it is a prefix of. Words are tokenized like indexed text, so
+ * {@code "Q3-report"} asks for both {@code q3} and {@code report}.
+ *
+ * @param terms distinct terms in query order, empty if the query holds no letters or digits
+ */
+public record SearchQuery(List<Term> terms) {
+  public SearchQuery {
+    terms = List.copyOf(terms);
+  }
+
+  public static SearchQuery parse(String query) {
+    Set<Term> terms = new LinkedHashSet<>();
+    for (String word : query.trim().split("\\s+")) {
+      boolean prefix = word.endsWith("*");
+      List<String> tokens = new ArrayList<>(1);
+      Tokenizer.tokenize(prefix ? word.replaceFirst("\\*+$", "") : word, tokens::add);
+      for (int i = 0; i < tokens.size(); i++) {
+        terms.add(new Term(tokens.get(i), prefix && i == tokens.size() - 1));
+      }
+    }
+    return new SearchQuery(new ArrayList<>(terms));
+  }
+
+  public boolean isEmpty() {
+    return terms.isEmpty();
+  }
+
+  /**
+   * One case-folded query term.
+   *
+   * @param text the term, or the prefix of the terms it matches
+   * @param prefix whether any indexed term starting with {@code text} matches
+   */
+  public record Term(String text, boolean prefix) {
+  }
+}
@@ -0,0 +1,623 @@
+package com.example.tasktracker.search;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.repository.TaskWriteListener;
+import com.example.tasktracker.search.SearchQuery.Term;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * In-process inverted index over task titles and descriptions. Registered as a
+ * {@link TaskWriteListener}, it is updated with every write: a task whose title or description
+ * changes is re-indexed, a deleted one removed, and any other change, such as a status update,
+ * leaves the index alone.
+ *
+ * <p>Text is split into case-folded terms by {@link Tokenizer}. The sorted term dictionary maps
+ * each term to its {@link Postings}, so prefix terms are a range of the dictionary. A title term
+ * counts {@value #TITLE_WEIGHT} times as much as a description term. Queries intersect the
+ * posting lists of their terms, starting from the rarest and skipping ahead in the others, and
+ * rank the matches with BM25.
+ *
+ * <p>Re-indexing a task adds a new document and marks the old one dead (see {@link Documents}),
+ * so a write appends to posting lists and never shifts them. Once dead documents outnumber live
+ * ones, the write that tips the balance hands compaction to the index's executor and returns, so
+ * that a write only ever costs the terms of its task. Compaction then renumbers the documents and
+ * rewrites every posting list under the exclusive lock; searches until then skip the dead
+ * documents as they always do.
+ *
+ * <p>Writers take an exclusive lock and searches a shared one. Text is tokenized before the lock
+ * is taken, so the lock is only held to update the dictionary and append postings.
+ */
+public final class TaskSearchIndex implements TaskWriteListener {
+  static final int TITLE_WEIGHT = 3;
+  static final int MIN_COMPACTION = 1024;
+  /**
+   * Approximate heap bytes of one dictionary entry besides its characters: the tree node, the
+   * {@code String} and its array, and the {@link Postings} and its two arrays.
+   */
+  static final int TERM_OVERHEAD = 136;
+  private static final int POSTING_BYTES = Integer.BYTES + Byte.BYTES;
+  private static final double K1 = 1.2;
+  private static final double B = 0.75;
+  private static final int NO_MORE = Integer.MAX_VALUE;
+  /**
+   * A prefix whose postings number at least 1/{@value} of the documents is merged through an
+   * array indexed by document rather than a heap.
+   */
+  private static final int DENSE_UNION_RATIO = 16;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final NavigableMap<String, Postings> terms = new TreeMap<>();
+  private final Documents documents = new Documents();
+  private final AtomicBoolean compactionQueued = new AtomicBoolean();
+  private final int maxPrefixExpansions;
+  private final Executor compactor;
+  private long termChars;
+  private long postingSlots;
+
+  /**
+   * Creates an empty index in which a prefix term matches at most {@code maxPrefixExpansions}
+   * indexed terms, the first ones in alphabetical order, and which compacts itself in the
+   * common fork-join pool.
+   */
+  public TaskSearchIndex(int maxPrefixExpansions) {
+    this(maxPrefixExpansions, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Creates an empty index that hands compaction to {@code compactor}.
+   */
+  public TaskSearchIndex(int maxPrefixExpansions, Executor compactor) {
+    if (maxPrefixExpansions < 1) {
+      throw new IllegalArgumentException("maxPrefixExpansions must be positive");
+    }
+    this.maxPrefixExpansions = maxPrefixExpansions;
+    this.compactor = compactor;
+  }
+
+  @Override
+  public void onWrite(Task previous, Task current) {
+    if (current == null) {
+      remove(previous.getId());
+    } else if (previous == null || !sameText(previous, current)) {
+      index(current, false);
+    }
+  }
+
+  /**
+   * Indexes every task of {@code tasks} that is not indexed yet. Meant to fill the index from
+   * the repository after it has been registered as a listener, so that a task written in the
+   * meantime keeps the text of its latest write.
+   */
+  public void indexAll(Stream<Task> tasks) {
+    tasks.forEach(task -> index(task, true));
+  }
+
+  /**
+   * Returns the ids of up to {@code limit} live tasks matching every term of {@code query}, best
+   * first; ties go to the most recently indexed task.
+   */
+  public List<SearchHit> search(SearchQuery query, int limit) {
+    if (query.isEmpty() || limit < 1) {
+      return List.of();
+    }
+    lock.readLock().lock();
+    try {
+      Clause[] clauses = new Clause[query.terms().size()];
+      for (int i = 0; i < clauses.length; i++) {
+        clauses[i] = clause(query.terms().get(i));
+        if (clauses[i].cost() == 0) {
+          return List.of();
+        }
+      }
+      Arrays.sort(clauses, Comparator.comparingInt(Clause::cost));
+      TopHits top = new TopHits(limit);
+      intersect(clauses, top);
+      return top.toHits(documents);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Number of live indexed tasks.
+   */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return documents.liveCount();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public int termCount() {
+    lock.readLock().lock();
+    try {
+      return terms.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Estimated heap bytes held by the index: the document arrays and id table, the posting
+   * arrays at their allocated capacity, and {@value #TERM_OVERHEAD} bytes plus the characters
+   * of every dictionary term.
+   */
+  public long estimatedBytes() {
+    lock.readLock().lock();
+    try {
+      return documents.bytes() + postingSlots * POSTING_BYTES
+          + terms.size() * (long) TERM_OVERHEAD + termChars;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void index(Task task, boolean ifAbsent) {
+    Map<String, Integer> weights = new HashMap<>();
+    Tokenizer.tokenize(task.getTitle() == null ? "" : task.getTitle(),
+        term -> weights.merge(term, TITLE_WEIGHT, Integer::sum));
+    if (task.getDescription() != null) {
+      Tokenizer.tokenize(task.getDescription(), term -> weights.merge(term, 1, Integer::sum));
+    }
+    int length = 0;
+    for (int weight : weights.values()) {
+      length += weight;
+    }
+    UUID id = task.getId();
+    boolean mostlyDead;
+    lock.writeLock().lock();
+    try {
+      int existing = documents.find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+      if (existing >= 0) {
+        if (ifAbsent) {
+          return;
+        }
+        documents.remove(existing);
+      }
+      int document = documents.add(id.getMostSignificantBits(), id.getLeastSignificantBits(),
+          length);
+      for (Map.Entry<String, Integer> weight : weights.entrySet()) {
+        Postings postings = terms.get(weight.getKey());
+        if (postings == null) {
+          postings = new Postings();
+          terms.put(weight.getKey(), postings);
+          termChars += weight.getKey().length();
+          postingSlots += postings.capacity();
+        }
+        postingSlots += postings.add(document, weight.getValue());
+      }
+      mostlyDead = isMostlyDead();
+    } finally {
+      lock.writeLock().unlock();
+    }
+    compactLaterIf(mostlyDead);
+  }
+
+  private void remove(UUID id) {
+    boolean mostlyDead = false;
+    lock.writeLock().lock();
+    try {
+      int existing = documents.find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+      if (existing >= 0) {
+        documents.remove(existing);
+        mostlyDead = isMostlyDead();
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+    compactLaterIf(mostlyDead);
+  }
+
+  private boolean isMostlyDead() {
+    return documents.deadCount() >= MIN_COMPACTION
+        && documents.deadCount() > documents.liveCount();
+  }
+
+  /**
+   * Queues a compaction unless one is queued already.
+   */
+  private void compactLaterIf(boolean mostlyDead) {
+    if (mostlyDead && compactionQueued.compareAndSet(false, true)) {
+      compactor.execute(this::compact);
+    }
+  }
+
+  private void compact() {
+    lock.writeLock().lock();
+    try {
+      // Writes from here on queue the next compaction themselves.
+      compactionQueued.set(false);
+      if (isMostlyDead()) {
+        renumber();
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void renumber() {
+    int[] remap = documents.compact();
+    postingSlots = 0;
+    termChars = 0;
+    for (Iterator<Map.Entry<String, Postings>> entries = terms.entrySet().iterator();
+        entries.hasNext(); ) {
+      Map.Entry<String, Postings> entry = entries.next();
+      Postings postings = entry.getValue();
+      postings.renumber(remap);
+      if (postings.size() == 0) {
+        entries.remove();
+      } else {
+        postingSlots += postings.capacity();
+        termChars += entry.getKey().length();
+      }
+    }
+  }
+
+  private Clause clause(Term term) {
+    if (!term.prefix()) {
+      Postings postings = terms.get(term.text());
+      return postings == null ? Clause.NONE : new TermClause(postings, documents.liveCount());
+    }
+    List<Postings> matches = new ArrayList<>();
+    for (Postings postings : terms.subMap(term.text(), true, term.text() + Character.MAX_VALUE,
+        false).values()) {
+      matches.add(postings);
+      if (matches.size() == maxPrefixExpansions) {
+        break;
+      }
+    }
+    return switch (matches.size()) {
+      case 0 -> Clause.NONE;
+      case 1 -> new TermClause(matches.get(0), documents.liveCount());
+      default -> UnionClause.of(matches, documents);
+    };
+  }
+
+  /**
+   * Leapfrog intersection: the rarest clause proposes a document, and every other clause either
+   * contains it or names the next document worth proposing.
+   */
+  private void intersect(Clause[] clauses, TopHits top) {
+    Clause lead = clauses[0];
+    double averageLength = documents.averageLength();
+    int document = lead.advance(0);
+    while (document != NO_MORE) {
+      int candidate = document;
+      for (int i = 1; i < clauses.length && candidate == document; i++) {
+        candidate = clauses[i].advance(document);
+      }
+      if (candidate != document) {
+        document = lead.advance(candidate);
+        continue;
+      }
+      if (documents.isLive(document)) {
+        double norm = norm(documents.length(document), averageLength);
+        double score = 0;
+        for (Clause clause : clauses) {
+          score += clause.score(norm);
+        }
+        top.offer(document, score);
+      }
+      document = lead.advance(document + 1);
+    }
+  }
+
+  private static double norm(int length, double averageLength) {
+    return K1 * (1 - B + B * length / averageLength);
+  }
+
+  private static double idf(Postings postings, int liveCount) {
+    // Document frequencies include dead documents until compaction; close enough to rank.
+    int frequency = Math.min(postings.size(), Math.max(1, liveCount));
+    return Math.log(1 + (liveCount - frequency + 0.5) / (frequency + 0.5));
+  }
+
+  private static double termScore(double idf, int weight, double norm) {
+    return idf * weight * (K1 + 1) / (weight + norm);
+  }
+
+  private static boolean sameText(Task previous, Task current) {
+    return Objects.equals(previous.getTitle(), current.getTitle())
+        && Objects.equals(previous.getDescription(), current.getDescription());
+  }
+
+  /**
+   * Documents matching one query term, read through a cursor that only moves forward.
+   */
+  private abstract static class Clause {
+    static final Clause NONE = new UnionClause(new int[0], new double[0], 0);
+
+    /**
+     * Number of documents listed, which orders clauses from the rarest.
+     */
+    abstract int cost();
+
+    /**
+     * Moves to the first document at or after {@code target} and returns it, or
+     * {@code NO_MORE}.
+     */
+    abstract int advance(int target);
+
+    /**
+     * BM25 score of the term for the document the cursor is on, given its length norm.
+     */
+    abstract double score(double norm);
+  }
+
+  /**
+   * The posting list of an exact term.
+   */
+  private static final class TermClause extends Clause {
+    private final Postings postings;
+    private final double idf;
+    private int position;
+
+    TermClause(Postings postings, int liveCount) {
+      this.postings = postings;
+      this.idf = idf(postings, liveCount);
+    }
+
+    @Override
+    int cost() {
+      return postings.size();
+    }
+
+    @Override
+    int advance(int target) {
+      position = postings.seek(position, target);
+      return position < postings.size() ? postings.document(position) : NO_MORE;
+    }
+
+    @Override
+    double score(double norm) {
+      return termScore(idf, postings.weight(position), norm);
+    }
+  }
+
+  /**
+   * The union of the posting lists a prefix expands to, merged up front into one sorted list of
+   * documents with their summed scores, so that intersecting it costs no more than an exact
+   * term's list.
+   */
+  private static final class UnionClause extends Clause {
+    private final int[] matches;
+    private final double[] scores;
+    private final int size;
+    private int position;
+
+    UnionClause(int[] matches, double[] scores, int size) {
+      this.matches = matches;
+      this.scores = scores;
+      this.size = size;
+    }
+
+    static UnionClause of(List<Postings> lists, Documents documents) {
+      double[] idf = new double[lists.size()];
+      long total = 0;
+      for (int i = 0; i < idf.length; i++) {
+        idf[i] = idf(lists.get(i), documents.liveCount());
+        total += lists.get(i).size();
+      }
+      return total * DENSE_UNION_RATIO >= documents.count()
+          ? accumulate(lists, idf, documents)
+          : merge(lists, idf, total, documents);
+    }
+
+    /**
+     * Adds up the scores of every posting in an array indexed by document, then collects the
+     * documents scored. Linear in the postings and the documents, for unions that cover a good
+     * part of the index.
+     */
+    private static UnionClause accumulate(List<Postings> lists, double[] idf,
+        Documents documents) {
+      double[] accumulated = new double[documents.count()];
+      double averageLength = documents.averageLength();
+      for (int i = 0; i < idf.length; i++) {
+        Postings postings = lists.get(i);
+        for (int position = 0; position < postings.size(); position++) {
+          int document = postings.document(position);
+          accumulated[document] += termScore(idf[i], postings.weight(position),
+              norm(documents.length(document), averageLength));
+        }
+      }
+      int size = 0;
+      for (double score : accumulated) {
+        if (score > 0) {
+          size++;
+        }
+      }
+      int[] matches = new int[size];
+      double[] scores = new double[size];
+      int next = 0;
+      for (int document = 0; document < accumulated.length; document++) {
+        if (accumulated[document] > 0) {
+          matches[next] = document;
+          scores[next] = accumulated[document];
+          next++;
+        }
+      }
+      return new UnionClause(matches, scores, size);
+    }
+
+    /**
+     * Merges {@code lists} with a heap of list indexes ordered by their next document, for
+     * unions of few postings.
+     */
+    private static UnionClause merge(List<Postings> lists, double[] idf, long total,
+        Documents documents) {
+      int count = lists.size();
+      int[] positions = new int[count];
+      int[] heap = new int[count];
+      for (int i = 0; i < count; i++) {
+        heap[i] = i;
+      }
+      IntUnaryOperator next = list -> positions[list] < lists.get(list).size()
+          ? lists.get(list).document(positions[list]) : NO_MORE;
+      for (int i = count / 2 - 1; i >= 0; i--) {
+        siftDown(heap, i, count, next);
+      }
+      int capacity = (int) Math.min(total, documents.count());
+      int[] matches = new int[capacity];
+      double[] scores = new double[capacity];
+      double averageLength = documents.averageLength();
+      int size = 0;
+      int last = -1;
+      double norm = 0;
+      while (next.applyAsInt(heap[0]) != NO_MORE) {
+        int list = heap[0];
+        int document = next.applyAsInt(list);
+        if (document != last) {
+          matches[size] = document;
+          size++;
+          last = document;
+          norm = norm(documents.length(document), averageLength);
+        }
+        scores[size - 1] += termScore(idf[list], lists.get(list).weight(positions[list]), norm);
+        positions[list]++;
+        siftDown(heap, 0, count, next);
+      }
+      return new UnionClause(matches, scores, size);
+    }
+
+    private static void siftDown(int[] heap, int index, int size, IntUnaryOperator next) {
+      while (true) {
+        int smallest = index;
+        for (int child = 2 * index + 1; child <= 2 * index + 2 && child < size; child++) {
+          if (next.applyAsInt(heap[child]) < next.applyAsInt(heap[smallest])) {
+            smallest = child;
+          }
+        }
+        if (smallest == index) {
+          return;
+        }
+        int swapped = heap[index];
+        heap[index] = heap[smallest];
+        heap[smallest] = swapped;
+        index = smallest;
+      }
+    }
+
+    @Override
+    int cost() {
+      return size;
+    }
+
+    @Override
+    int advance(int target) {
+      if (position < size && matches[position] < target) {
+        int index = Arrays.binarySearch(matches, position, size, target);
+        position = index >= 0 ? index : -index - 1;
+      }
+      return position < size ? matches[position] : NO_MORE;
+    }
+
+    @Override
+    double score(double norm) {
+      return scores[position];
+    }
+  }
+
+  /**
+   * Bounded min-heap of the best documents seen, on parallel primitive arrays.
+   */
+  private static final class TopHits {
+    private final int[] heapDocuments;
+    private final double[] heapScores;
+    private int size;
+
+    TopHits(int limit) {
+      this.heapDocuments = new int[limit];
+      this.heapScores = new double[limit];
+    }
+
+    void offer(int document, double score) {
+      if (size < heapDocuments.length) {
+        heapDocuments[size] = document;
+        heapScores[size] = score;
+        siftUp(size++);
+      } else if (worse(0, document, score)) {
+        heapDocuments[0] = document;
+        heapScores[0] = score;
+        siftDown(0);
+      }
+    }
+
+    List<SearchHit> toHits(Documents documents) {
+      List<SearchHit> hits = new ArrayList<>(size);
+      while (size > 0) {
+        hits.add(new SearchHit(new UUID(documents.idHigh(heapDocuments[0]),
+            documents.idLow(heapDocuments[0])), heapScores[0]));
+        size--;
+        heapDocuments[0] = heapDocuments[size];
+        heapScores[0] = heapScores[size];
+        siftDown(0);
+      }
+      Collections.reverse(hits);
+      return hits;
+    }
+
+    /**
+     * Whether the entry at {@code index} ranks below {@code (document, score)}.
+     */
+    private boolean worse(int index, int document, double score) {
+      int order = Double.compare(heapScores[index], score);
+      return order < 0 || order == 0 && heapDocuments[index] < document;
+    }
+
+    private void siftUp(int index) {
+      while (index > 0) {
+        int parent = (index - 1) >> 1;
+        if (!worse(index, heapDocuments[parent], heapScores[parent])) {
+          return;
+        }
+        swap(index, parent);
+        index = parent;
+      }
+    }
+
+    private void siftDown(int index) {
+      while (true) {
+        int smallest = index;
+        for (int child = 2 * index + 1; child <= 2 * index + 2 && child < size; child++) {
+          if (worse(child, heapDocuments[smallest], heapScores[smallest])) {
+            smallest = child;
+          }
+        }
+        if (smallest == index) {
+          return;
+        }
+        swap(index, smallest);
+        index = smallest;
+      }
+    }
+
+    private void swap(int a, int b) {
+      int document = heapDocuments[a];
+      heapDocuments[a] = heapDocuments[b];
+      heapDocuments[b] = document;
+      double score = heapScores[a];
+      heapScores[a] = heapScores[b];
+      heapScores[b] = score;
+    }
+  }
+}
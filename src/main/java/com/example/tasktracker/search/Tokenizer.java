@@ -0,0 +1,37 @@
+package com.example.tasktracker.search;
+
+import java.util.function.Consumer;
+
+/**
+ * Splits text into terms: maximal runs of letters and digits, case-folded with
+ * {@link Character#toLowerCase(int)}, which does not depend on the default locale. Terms are
+ * cut to {@value #MAX_TERM_LENGTH} characters, so long tokens such as hashes or URLs still match
+ * on their start without bloating the dictionary.
+ */
+final class Tokenizer {
+  static final int MAX_TERM_LENGTH = 32;
+
+  private Tokenizer() {
+  }
+
+  static void tokenize(CharSequence text, Consumer<String> terms) {
+    StringBuilder term = new StringBuilder(MAX_TERM_LENGTH);
+    int length = text.length();
+    for (int i = 0; i < length; ) {
+      int codePoint = Character.codePointAt(text, i);
+      i += Character.charCount(codePoint);
+      if (Character.isLetterOrDigit(codePoint)) {
+        int folded = Character.toLowerCase(codePoint);
+        if (term.length() + Character.charCount(folded) <= MAX_TERM_LENGTH) {
+          term.appendCodePoint(folded);
+        }
+      } else if (!term.isEmpty()) {
+        terms.accept(term.toString());
+        term.setLength(0);
+      }
+    }
+    if (!term.isEmpty()) {
+      terms.accept(term.toString());
+    }
+  }
+}
@@ -0,0 +1,7 @@
+package com.example.tasktracker.service;
+
+public class InvalidTaskQueryException extends RuntimeException {
+  public InvalidTaskQueryException(String message) {
+    super(message);
+  }
+}
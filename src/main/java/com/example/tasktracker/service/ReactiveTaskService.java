@@ -0,0 +1,95 @@
+package com.example.tasktracker.service;
+
+import com.example.tasktracker.dto.TaskPage;
+import com.example.tasktracker.dto.TaskRequest;
+import com.example.tasktracker.dto.TaskResponse;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.ReactiveTaskRepository;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.repository.TaskVersionConflictException;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.time.LocalDate;
+import java.util.UUID;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link TaskService} for the {@code reactive} profile. Errors are the
+ * same exceptions, signalled instead of thrown.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveTaskService {
+  private final TaskService taskService;
+  private final ReactiveTaskRepository repository;
+
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public ReactiveTaskService(TaskService taskService, ReactiveTaskRepository repository) {
+    this.taskService = taskService;
+    this.repository = repository;
+  }
+
+  public Mono<TaskResponse> createTask(TaskRequest request) {
+    return Mono.defer(() -> {
+      String parentError = taskService.parentError(request);
+      if (parentError != null) {
+        return Mono.error(new InvalidTaskQueryException(parentError));
+      }
+      return repository.save(TaskService.newTask(request)).map(TaskService::toResponse);
+    });
+  }
+
+  /**
+   * Streams every matching task in due date order, reading the store only as fast as the
+   * subscriber consumes.
+   */
+  public Flux<TaskResponse> getTasks(TaskStatus status, LocalDate dueBefore) {
+    return repository.findAll(status, dueBefore).map(TaskService::toResponse);
+  }
+
+  /**
+   * See {@link TaskService#getTaskPage}.
+   */
+  public Mono<TaskPage> getTaskPage(TaskStatus status, LocalDate dueBefore, String cursor,
+      Integer limit) {
+    return Mono.fromCallable(() -> taskService.getTaskPage(status, dueBefore, cursor, limit));
+  }
+
+  /**
+   * See {@link TaskService#modificationCount}; a counter read, so not deferred.
+   */
+  public long modificationCount(TaskStatus status) {
+    return taskService.modificationCount(status);
+  }
+
+  public Mono<TaskResponse> getTask(UUID id) {
+    return repository.findById(id)
+        .map(TaskService::toResponse)
+        .switchIfEmpty(Mono.error(() -> notFound(id)));
+  }
+
+  /**
+   * See {@link TaskService#updateStatus(UUID, TaskStatus, long)}; signals
+   * {@link TaskVersionConflictException} if the task has been modified since.
+   */
+  public Mono<TaskResponse> updateStatus(UUID id, TaskStatus status, long expectedVersion) {
+    return repository
+        .compareAndUpdate(id, expectedVersion, task -> task.toBuilder().status(status).build())
+        .map(TaskService::toResponse)
+        .switchIfEmpty(Mono.error(() -> notFound(id)));
+  }
+
+  public Mono<TaskResponse> updateStatus(UUID id, TaskStatus status) {
+    return updateStatus(id, status, TaskRepository.ANY_VERSION);
+  }
+
+  public Mono<Void> deleteTask(UUID id) {
+    return repository.deleteById(id);
+  }
+
+  private static TaskServiceException notFound(UUID id) {
+    return new TaskServiceException("Task %s not found".formatted(id));
+  }
+}
@@ -0,0 +1,55 @@
+package com.example.tasktracker.service;
+
+import com.example.tasktracker.dto.TaskChangeEvent;
+import com.example.tasktracker.feed.ResyncRequiredException;
+import com.example.tasktracker.feed.TaskChange;
+import com.example.tasktracker.feed.TaskChangeFeed;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Reads the {@link TaskChangeFeed} for change feed subscribers, as {@link TaskChangeEvent}s.
+ */
+public class TaskChangeService {
+  private final TaskChangeFeed feed;
+  private final Duration heartbeatInterval;
+
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public TaskChangeService(TaskChangeFeed feed, Duration heartbeatInterval) {
+    this.feed = feed;
+    this.heartbeatInterval = heartbeatInterval;
+  }
+
+  /**
+   * Sequence to subscribe after to receive only changes made from now on.
+   */
+  public long latestSequence() {
+    return feed.latestSequence();
+  }
+
+  /**
+   * See {@link TaskChangeFeed#read}.
+   *
+   * @throws ResyncRequiredException if changes following {@code after} are no longer available
+   */
+  public long read(long after, int max, Consumer<TaskChangeEvent> sink) {
+    return feed.read(after, max, change -> sink.accept(toEvent(change)));
+  }
+
+  /**
+   * Waits up to the heartbeat interval for a change following {@code after}.
+   *
+   * @return {@code false} if the subscriber has been idle for the interval and should be sent a
+   *     heartbeat
+   * @throws IllegalStateException if the feed is closed
+   */
+  public boolean awaitAfter(long after) throws InterruptedException {
+    return feed.awaitAfter(after, heartbeatInterval);
+  }
+
+  private static TaskChangeEvent toEvent(TaskChange change) {
+    return new TaskChangeEvent(change.sequence(), change.type(), change.taskId(),
+        change.task() == null ? null : TaskService.toResponse(change.task()));
+  }
+}
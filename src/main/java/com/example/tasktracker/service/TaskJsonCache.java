@@ -0,0 +1,102 @@
+package com.example.tasktracker.service;
+
+import com.example.tasktracker.dto.TaskResponse;
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.repository.TaskRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Read-through cache of the JSON body of single tasks, so that reading a task that has not
+ * changed costs a lookup instead of a {@link TaskResponse} and a Jackson serialization.
+ *
+ * <p>Entries are keyed by task id and hold the task they were serialized from. A lookup only
+ * uses an entry whose task has the same field values as the one just read from the repository,
+ * and serializes again otherwise, so it never returns stale bytes. This does not rely on writes
+ * changing the version, which {@link TaskRepository#save} does not do. Writes also invalidate
+ * the entry of the task they replace, so superseded bytes do not wait for eviction; an entry a
+ * racing read puts back with the old task is replaced by the next lookup. The cache is bounded
+ * by entry count and evicts with Caffeine's W-TinyLFU policy, which keeps frequently read tasks
+ * over ones read once. Statistics are recorded for the metrics endpoint.
+ */
+public class TaskJsonCache {
+  private final TaskRepository repository;
+  private final ObjectWriter writer;
+  private final Cache<UUID, Entry> cache;
+
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public TaskJsonCache(TaskRepository repository, ObjectMapper objectMapper, long maximumSize) {
+    this.repository = repository;
+    this.writer = objectMapper.writerFor(TaskResponse.class);
+    this.cache = Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build();
+    repository.addWriteListener((previous, current) -> {
+      if (previous != null) {
+        cache.invalidate(previous.getId());
+      }
+    });
+  }
+
+  /**
+   * Returns the current version of task {@code id} and its JSON representation, the same bytes
+   * the {@link ObjectMapper} would write for its {@link TaskResponse}.
+   *
+   * @throws TaskServiceException if there is no task {@code id}
+   */
+  public TaskJson get(UUID id) {
+    Task task = repository.findById(id)
+        .orElseThrow(() -> new TaskServiceException("Task %s not found".formatted(id)));
+    Entry entry = cache.getIfPresent(id);
+    if (entry == null || !sameFields(entry.task(), task)) {
+      entry = new Entry(task, serialize(task));
+      cache.put(id, entry);
+    }
+    return new TaskJson(task.getVersion(), entry.json());
+  }
+
+  /**
+   * The underlying cache, for statistics.
+   */
+  @SuppressFBWarnings("EI_EXPOSE_REP")
+  public Cache<?, ?> cache() {
+    return cache;
+  }
+
+  /**
+   * Whether {@code cached} and {@code current}, two tasks with the same id, have the same
+   * {@link TaskResponse}.
+   */
+  private static boolean sameFields(Task cached, Task current) {
+    return cached == current
+        || cached.getVersion() == current.getVersion()
+        && cached.getStatus() == current.getStatus()
+        && Objects.equals(cached.getDueDate(), current.getDueDate())
+        && Objects.equals(cached.getParentId(), current.getParentId())
+        && Objects.equals(cached.getTitle(), current.getTitle())
+        && Objects.equals(cached.getDescription(), current.getDescription());
+  }
+
+  private byte[] serialize(Task task) {
+    try {
+      return writer.writeValueAsBytes(TaskService.toResponse(task));
+    } catch (JsonProcessingException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Serialized task. The bytes are shared with the cache and must not be modified.
+   */
+  @SuppressFBWarnings({"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
+  public record TaskJson(long version, byte[] json) {
+  }
+
+  private record Entry(Task task, byte[] json) {
+  }
+}
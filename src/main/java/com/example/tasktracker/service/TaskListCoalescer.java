@@ -0,0 +1,126 @@
+package com.example.tasktracker.service;
+
+import com.example.tasktracker.json.TaskJsonWriter;
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single-flight execution of unpaged task list queries: concurrent identical queries share one
+ * query and one serialized JSON body instead of each running and writing their own.
+ *
+ * <p>A query is identified by its status and due date filters and by the modification count
+ * the caller read before asking, the one its entity tag is made of. A caller joins a
+ * computation only if nothing it covers has changed since the computation was asked for, so it
+ * never gets a list older than its own request. Nothing is kept once a computation is done:
+ * this coalesces bursts, it does not cache.
+ *
+ * <p>The shared body is held in memory in full, while an uncoalesced list is streamed. Lists
+ * that may hold more than {@code maxTasks} tasks, judged by the repository's count of their
+ * status, are therefore left to the caller.
+ */
+public class TaskListCoalescer {
+  private static final int ESTIMATED_BYTES_PER_TASK = 160;
+
+  private final TaskService taskService;
+  private final TaskJsonWriter writer;
+  private final long maxTasks;
+  private final ConcurrentMap<Query, CompletableFuture<byte[]>> inFlight =
+      new ConcurrentHashMap<>();
+  private final LongAdder computed = new LongAdder();
+  private final LongAdder shared = new LongAdder();
+
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public TaskListCoalescer(TaskService taskService, TaskJsonWriter writer, long maxTasks) {
+    this.taskService = taskService;
+    this.writer = writer;
+    this.maxTasks = maxTasks;
+  }
+
+  /**
+   * Returns the JSON array of {@link TaskService#findTasks(TaskStatus, LocalDate)}, computed by
+   * this call or by a concurrent identical one. The bytes are shared and must not be modified.
+   *
+   * @param modificationCount {@link TaskService#modificationCount(TaskStatus)}, read before
+   * @return empty if the list may hold more than {@code maxTasks} tasks
+   */
+  public Optional<byte[]> findTasksJson(TaskStatus status, LocalDate dueBefore,
+      long modificationCount) {
+    if (taskService.countTasks(status) > maxTasks) {
+      return Optional.empty();
+    }
+    Query query = new Query(status, dueBefore, modificationCount);
+    CompletableFuture<byte[]> own = new CompletableFuture<>();
+    CompletableFuture<byte[]> running = inFlight.putIfAbsent(query, own);
+    if (running != null) {
+      shared.increment();
+      return Optional.of(join(running));
+    }
+    byte[] json;
+    try {
+      json = serialize(taskService.findTasks(status, dueBefore));
+    } catch (RuntimeException | Error ex) {
+      inFlight.remove(query, own);
+      own.completeExceptionally(ex);
+      throw ex;
+    }
+    // Removed before completing, so a finished computation is never joined as if it were a cache.
+    inFlight.remove(query, own);
+    own.complete(json);
+    computed.increment();
+    return Optional.of(json);
+  }
+
+  /**
+   * Lists serialized by their own caller.
+   */
+  public long computedCount() {
+    return computed.sum();
+  }
+
+  /**
+   * Lists served from a concurrent identical query's body.
+   */
+  public long sharedCount() {
+    return shared.sum();
+  }
+
+  private byte[] serialize(List<Task> tasks) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(
+        (int) Math.min(Integer.MAX_VALUE - 8, 2L + (long) tasks.size() * ESTIMATED_BYTES_PER_TASK));
+    try {
+      writer.writeArray(tasks, out);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return out.toByteArray();
+  }
+
+  private static byte[] join(CompletableFuture<byte[]> running) {
+    try {
+      return running.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (ex.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw ex;
+    }
+  }
+
+  private record Query(TaskStatus status, LocalDate dueBefore, long modificationCount) {
+  }
+}
@@ -0,0 +1,57 @@
+package com.example.tasktracker.service;
+
+import com.example.tasktracker.dto.TaskResponse;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.search.SearchHit;
+import com.example.tasktracker.search.SearchQuery;
+import com.example.tasktracker.search.TaskSearchIndex;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keyword search over task titles and descriptions, answered by the {@link TaskSearchIndex}.
+ * Hits are read back from the repository, so results always show the current task and skip one
+ * deleted since it was found.
+ */
+public class TaskSearchService {
+  public static final int DEFAULT_LIMIT = 20;
+  static final int MAX_TERMS = 16;
+
+  private final TaskSearchIndex index;
+  private final TaskRepository repository;
+  private final int maxResults;
+
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public TaskSearchService(TaskSearchIndex index, TaskRepository repository, int maxResults) {
+    this.index = index;
+    this.repository = repository;
+    this.maxResults = maxResults;
+  }
+
+  /**
+   * Returns up to {@code limit} tasks matching every term of {@code query}, best match first.
+   * See {@link SearchQuery} for the syntax.
+   */
+  public List<TaskResponse> search(String query, Integer limit) {
+    int size = limit == null ? Math.min(DEFAULT_LIMIT, maxResults) : limit;
+    if (size < 1 || size > maxResults) {
+      throw new InvalidTaskQueryException(
+          "limit must be between 1 and %d".formatted(maxResults));
+    }
+    SearchQuery parsed = SearchQuery.parse(query == null ? "" : query);
+    if (parsed.isEmpty()) {
+      throw new InvalidTaskQueryException("q must contain at least one letter or digit");
+    }
+    if (parsed.terms().size() > MAX_TERMS) {
+      throw new InvalidTaskQueryException(
+          "q must not contain more than %d terms".formatted(MAX_TERMS));
+    }
+    List<SearchHit> hits = index.search(parsed, size);
+    List<TaskResponse> tasks = new ArrayList<>(hits.size());
+    for (SearchHit hit : hits) {
+      repository.findById(hit.taskId()).map(TaskService::toResponse).ifPresent(tasks::add);
+    }
+    return tasks;
+  }
+}
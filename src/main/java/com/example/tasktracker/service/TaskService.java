@@ -1,18 +1,30 @@
 package com.example.tasktracker.service;
 
+import com.example.tasktracker.dto.BulkItemResult;
+import com.example.tasktracker.dto.BulkStatusUpdate;
+import com.example.tasktracker.dto.TaskPage;
 import com.example.tasktracker.dto.TaskRequest;
 import com.example.tasktracker.dto.TaskResponse;
 import com.example.tasktracker.model.Task;
 import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.TaskCursor;
 import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.repository.TaskVersionConflictException;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 @Service
 public class TaskService {
+  public static final int DEFAULT_PAGE_SIZE = 100;
+  public static final int MAX_PAGE_SIZE = 1_000;
+
   private final TaskRepository repository;
 
   @SuppressFBWarnings("EI_EXPOSE_REP2")
@@ -20,27 +32,106 @@ public class TaskService {
     this.repository = repository;
   }
 
+  /**
+   * Creates a task, as a subtask if the request names a parent.
+   *
+   * @throws InvalidTaskQueryException if the parent does not exist
+   */
   public TaskResponse createTask(TaskRequest request) {
-    Task task = Task.builder()
-        .title(request.title())
-        .description(request.description())
-        .dueDate(request.dueDate())
-        .status(TaskStatus.PENDING)
-        .build();
-    Task saved = repository.save(task);
+    String parentError = parentError(request);
+    if (parentError != null) {
+      throw new InvalidTaskQueryException(parentError);
+    }
+    Task saved = repository.save(newTask(request));
     return toResponse(saved);
   }
 
+  /**
+   * Creates all tasks with a single batched repository write. Requests must already be valid,
+   * including their parents; see {@link #parentError}.
+   */
+  public List<TaskResponse> createTasks(List<TaskRequest> requests) {
+    List<Task> tasks = requests.stream().map(TaskService::newTask).toList();
+    return repository.saveAll(tasks).stream().map(TaskService::toResponse).toList();
+  }
+
   public List<TaskResponse> getTasks(TaskStatus status, LocalDate dueBefore) {
-    List<Task> tasks;
-    if (status != null) {
-      tasks = repository.findByStatus(status);
+    return findTasks(status, dueBefore).stream().map(TaskService::toResponse).toList();
+  }
+
+  /**
+   * The tasks {@link #getTasks} returns, as the repository's own objects, for callers that write
+   * them out without a {@link TaskResponse} per task.
+   */
+  public List<Task> findTasks(TaskStatus status, LocalDate dueBefore) {
+    if (status != null && dueBefore != null) {
+      return repository.findByStatusAndDueOnOrBefore(status, dueBefore);
+    } else if (status != null) {
+      return repository.findByStatus(status);
     } else if (dueBefore != null) {
-      tasks = repository.findDueOnOrBefore(dueBefore);
-    } else {
-      tasks = repository.findAll();
+      return repository.findDueOnOrBefore(dueBefore);
     }
-    return tasks.stream().map(this::toResponse).toList();
+    return repository.findAll();
+  }
+
+  /**
+   * Why {@code request} cannot be created under its parent, or {@code null} if it has none or
+   * the parent exists. A parent deleted after this check leaves the new task as the subtask of a
+   * missing task, like the subtasks the parent had before.
+   */
+  public String parentError(TaskRequest request) {
+    UUID parentId = request.parentId();
+    if (parentId == null || repository.findById(parentId).isPresent()) {
+      return null;
+    }
+    return "Parent task %s not found".formatted(parentId);
+  }
+
+  /**
+   * Number of tasks in {@code status}, or of every task, from the repository's counters.
+   */
+  public long countTasks(TaskStatus status) {
+    return status == null ? repository.count() : repository.countByStatus(status);
+  }
+
+  /**
+   * Returns one page of tasks ordered by due date and id. {@code cursor} is the
+   * {@link TaskPage#nextCursor()} of the previous page, or {@code null} for the first page.
+   */
+  public TaskPage getTaskPage(TaskStatus status, LocalDate dueBefore, String cursor,
+      Integer limit) {
+    int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+    if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+      throw new InvalidTaskQueryException(
+          "limit must be between 1 and %d".formatted(MAX_PAGE_SIZE));
+    }
+    TaskCursor after = cursor == null ? null : decodeCursor(cursor);
+    List<Task> tasks = repository.findPage(status, dueBefore, after, pageSize + 1);
+    String nextCursor = null;
+    if (tasks.size() > pageSize) {
+      tasks = tasks.subList(0, pageSize);
+      nextCursor = TaskCursor.of(tasks.get(pageSize - 1)).encode();
+    }
+    return new TaskPage(tasks.stream().map(TaskService::toResponse).toList(), nextCursor);
+  }
+
+  /**
+   * Streams every task for export without materializing the full list. Callers must close the
+   * stream.
+   */
+  public Stream<TaskResponse> streamTasks() {
+    return repository.streamAll().map(TaskService::toResponse);
+  }
+
+  /**
+   * Modification count of the tasks a {@link #getTasks} or {@link #getTaskPage} query with
+   * {@code status} reads: of every task, or only of those in {@code status}. Read it before the
+   * query to validate the result later.
+   */
+  public long modificationCount(TaskStatus status) {
+    return status == null
+        ? repository.modificationCount()
+        : repository.modificationCountByStatus(status);
   }
 
   public TaskResponse getTask(UUID id) {
@@ -50,25 +141,78 @@ public class TaskService {
   }
 
   public TaskResponse updateStatus(UUID id, TaskStatus status) {
-    Task existing = repository.findById(id)
+    return updateStatus(id, status, TaskRepository.ANY_VERSION);
+  }
+
+  /**
+   * Changes the status of a task if it is still at {@code expectedVersion}, or at any version for
+   * {@link TaskRepository#ANY_VERSION}.
+   *
+   * @throws TaskVersionConflictException if the task has been modified since
+   */
+  public TaskResponse updateStatus(UUID id, TaskStatus status, long expectedVersion) {
+    Task updated = repository
+        .compareAndUpdate(id, expectedVersion, task -> task.toBuilder().status(status).build())
         .orElseThrow(() -> new TaskServiceException("Task %s not found".formatted(id)));
-    Task updated = existing.toBuilder()
-        .status(status)
-        .build();
-    repository.save(updated);
     return toResponse(updated);
   }
 
+  /**
+   * Applies status updates in one batched write. Results are in request order; updates for
+   * unknown tasks are reported as not found and do not affect the others.
+   */
+  public List<BulkItemResult> updateStatuses(List<BulkStatusUpdate> updates) {
+    return repository.inBatch(() -> {
+      List<BulkItemResult> results = new ArrayList<>(updates.size());
+      for (int i = 0; i < updates.size(); i++) {
+        BulkStatusUpdate update = updates.get(i);
+        Optional<Task> updated = repository.compareAndUpdate(update.id(),
+            TaskRepository.ANY_VERSION, task -> task.toBuilder().status(update.status()).build());
+        if (updated.isPresent()) {
+          results.add(BulkItemResult.success(i, HttpStatus.OK.value(), toResponse(updated.get())));
+        } else {
+          results.add(BulkItemResult.failure(i, HttpStatus.NOT_FOUND.value(), update.id(),
+              "Task %s not found".formatted(update.id())));
+        }
+      }
+      return results;
+    });
+  }
+
   public void deleteTask(UUID id) {
     repository.deleteById(id);
   }
 
-  private TaskResponse toResponse(Task task) {
+  public void deleteTasks(List<UUID> ids) {
+    repository.deleteAllById(ids);
+  }
+
+  static Task newTask(TaskRequest request) {
+    return Task.builder()
+        .title(request.title())
+        .description(request.description())
+        .dueDate(request.dueDate())
+        .status(TaskStatus.PENDING)
+        .parentId(request.parentId())
+        .build();
+  }
+
+  private static TaskCursor decodeCursor(String cursor) {
+    try {
+      return TaskCursor.decode(cursor);
+    } catch (IllegalArgumentException ex) {
+      throw new InvalidTaskQueryException("Invalid cursor");
+    }
+  }
+
+  static TaskResponse toResponse(Task task) {
     return new TaskResponse(
         task.getId(),
         task.getTitle(),
         task.getDescription(),
         task.getDueDate(),
-        task.getStatus());
+        task.getStatus(),
+        task.getParentId(),
+        task.getVersion());
   }
 }
@@ -0,0 +1,85 @@
+package com.example.tasktracker.service;
+
+import com.example.tasktracker.dto.DueDateBucket;
+import com.example.tasktracker.dto.TaskStats;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.stats.HistogramInterval;
+import com.example.tasktracker.stats.TaskStatistics;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reports the incrementally maintained {@link TaskStatistics}; no request reads the tasks.
+ */
+public class TaskStatsService {
+  public static final int DEFAULT_DAYS = 28;
+  public static final int MAX_BUCKETS = 366;
+
+  private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+  private final TaskStatistics statistics;
+
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public TaskStatsService(TaskStatistics statistics) {
+    this.statistics = statistics;
+  }
+
+  /**
+   * Returns the statistics as of {@code asOf}, with a due-date histogram from {@code from} to
+   * {@code to} inclusive. {@code asOf} defaults to today in the zone of the statistics,
+   * {@code from} to {@code asOf} and {@code to} to {@value #DEFAULT_DAYS} days after
+   * {@code from}, exclusive.
+   */
+  public TaskStats getStats(LocalDate asOf, LocalDate from, LocalDate to,
+      HistogramInterval interval) {
+    LocalDate date = asOf == null ? statistics.today() : asOf;
+    LocalDate start = from == null ? date : from;
+    LocalDate end = to == null ? start.plusDays(DEFAULT_DAYS - 1) : to;
+    if (end.isBefore(start)) {
+      throw new InvalidTaskQueryException("to must not be before from");
+    }
+    LocalDate bucketStart = interval.bucketStart(start);
+    List<LocalDate> starts = new ArrayList<>();
+    for (LocalDate day = bucketStart; !day.isAfter(end); day = interval.next(day)) {
+      if (starts.size() == MAX_BUCKETS) {
+        throw new InvalidTaskQueryException(
+            "The histogram must not have more than %d buckets".formatted(MAX_BUCKETS));
+      }
+      starts.add(day);
+    }
+    long[][] histogram = statistics.histogram(start, end, interval);
+    List<DueDateBucket> dueDates = new ArrayList<>(starts.size());
+    for (int bucket = 0; bucket < starts.size(); bucket++) {
+      dueDates.add(new DueDateBucket(starts.get(bucket), sum(histogram[bucket]),
+          byStatus(histogram[bucket])));
+    }
+    long[] counts = new long[STATUSES.length];
+    long[] undated = new long[STATUSES.length];
+    for (TaskStatus status : STATUSES) {
+      counts[status.ordinal()] = statistics.count(status);
+      undated[status.ordinal()] = statistics.countUndated(status);
+    }
+    return new TaskStats(date, sum(counts), byStatus(counts), byStatus(undated),
+        statistics.countOverdue(date), interval, dueDates);
+  }
+
+  private static Map<TaskStatus, Long> byStatus(long[] counts) {
+    Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+    for (TaskStatus status : STATUSES) {
+      byStatus.put(status, counts[status.ordinal()]);
+    }
+    return byStatus;
+  }
+
+  private static long sum(long[] counts) {
+    long total = 0;
+    for (long count : counts) {
+      total += count;
+    }
+    return total;
+  }
+}
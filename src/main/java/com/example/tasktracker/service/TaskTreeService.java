@@ -0,0 +1,95 @@
+package com.example.tasktracker.service;
+
+import com.example.tasktracker.dto.TaskRollup;
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.TaskCursor;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.tree.TaskTree;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Reads task hierarchies through the {@link TaskTree}: a task's subtasks and its whole subtree,
+ * each resolved from the child index with one lookup per task, and its roll-up, which reads the
+ * maintained counts instead of the subtree.
+ */
+public class TaskTreeService {
+  private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+  private final TaskRepository repository;
+  private final TaskTree tree;
+
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public TaskTreeService(TaskRepository repository, TaskTree tree) {
+    this.repository = repository;
+    this.tree = tree;
+  }
+
+  /**
+   * The direct subtasks of {@code id}, ordered by due date and id like task lists.
+   */
+  public List<Task> findSubtasks(UUID id) {
+    find(id);
+    return subtasks(id);
+  }
+
+  /**
+   * The task {@code id} followed by all of its descendants, depth first: every task comes
+   * before its subtasks, and the subtasks of a task are ordered like {@link #findSubtasks}.
+   */
+  public List<Task> findSubtree(UUID id) {
+    List<Task> subtree = new ArrayList<>();
+    Deque<Task> pending = new ArrayDeque<>();
+    pending.push(find(id));
+    while (!pending.isEmpty()) {
+      Task task = pending.pop();
+      subtree.add(task);
+      List<Task> subtasks = subtasks(task.getId());
+      for (int i = subtasks.size() - 1; i >= 0; i--) {
+        pending.push(subtasks.get(i));
+      }
+    }
+    return subtree;
+  }
+
+  public TaskRollup getRollup(UUID id) {
+    Task task = find(id);
+    long[] counts = tree.descendantCounts(id);
+    Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+    long total = 0;
+    for (TaskStatus status : STATUSES) {
+      byStatus.put(status, counts[status.ordinal()]);
+      total += counts[status.ordinal()];
+    }
+    return new TaskRollup(TaskService.toResponse(task), total, byStatus);
+  }
+
+  private Task find(UUID id) {
+    return repository.findById(id)
+        .orElseThrow(() -> new TaskServiceException("Task %s not found".formatted(id)));
+  }
+
+  /**
+   * Looks up the children the tree holds for {@code id}, skipping any deleted since.
+   */
+  private List<Task> subtasks(UUID id) {
+    List<UUID> children = tree.children(id);
+    List<Task> subtasks = new ArrayList<>(children.size());
+    for (UUID child : children) {
+      Optional<Task> task = repository.findById(child);
+      if (task.isPresent() && id.equals(task.get().getParentId())) {
+        subtasks.add(task.get());
+      }
+    }
+    subtasks.sort(TaskCursor.TASK_ORDER);
+    return subtasks;
+  }
+}
@@ -0,0 +1,43 @@
+package com.example.tasktracker.stats;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Width of the buckets of a due-date histogram. Weeks are ISO weeks, starting on Monday.
+ */
+public enum HistogramInterval {
+  DAY {
+    @Override
+    public LocalDate bucketStart(LocalDate date) {
+      return date;
+    }
+
+    @Override
+    public LocalDate next(LocalDate bucketStart) {
+      return bucketStart.plusDays(1);
+    }
+  },
+  WEEK {
+    @Override
+    public LocalDate bucketStart(LocalDate date) {
+      return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    @Override
+    public LocalDate next(LocalDate bucketStart) {
+      return bucketStart.plusWeeks(1);
+    }
+  };
+
+  /**
+   * First day of the bucket holding {@code date}.
+   */
+  public abstract LocalDate bucketStart(LocalDate date);
+
+  /**
+   * First day of the bucket following the one starting on {@code bucketStart}.
+   */
+  public abstract LocalDate next(LocalDate bucketStart);
+}
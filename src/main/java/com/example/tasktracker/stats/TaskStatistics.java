@@ -0,0 +1,290 @@
+package com.example.tasktracker.stats;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.TaskBackfill;
+import com.example.tasktracker.repository.TaskWriteListener;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.Closeable;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Task counts per status and per due date, kept up to date by every repository write rather
+ * than computed from the tasks. Registered as a {@link TaskWriteListener}, each write moves the
+ * task from the counters of its previous status and due date to those of its new ones, or
+ * touches nothing if neither changed.
+ *
+ * <p>Counters are {@link LongAdder}s, which writers update without contending on a shared
+ * cache line. Due dates are counted per day and status in a sorted map of epoch days, so a
+ * histogram reads one entry per day in its range, however many tasks there are. A day's entry
+ * stays once created; there is at most one per due date ever used.
+ *
+ * <p>Open tasks due before today, in the zone of the clock, are also kept in a running overdue
+ * counter, so reading it for today is a single sum. A write to such a task moves it in or out
+ * of that counter too; it does so under the lock of its due day's entry, which only writes to
+ * tasks due the same day contend on. {@link #rollOver} moves the counter to a new today, once
+ * per day crossed; {@link #start} calls it at every midnight. Asking about another day adds or
+ * subtracts the open counts of the days in between, without moving the counter, so readers
+ * never change what other readers see.
+ *
+ * <p>Reads are not atomic snapshots: a read concurrent with writes may see a task that is
+ * moving between counters in both or neither of them.
+ */
+public final class TaskStatistics implements TaskWriteListener, Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(TaskStatistics.class);
+  private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+  private final Clock clock;
+
+  private final LongAdder[] byStatus = newCounters();
+  private final LongAdder[] undated = newCounters();
+  private final ConcurrentNavigableMap<Long, Day> byDueDay = new ConcurrentSkipListMap<>();
+  private final LongAdder overdue = new LongAdder();
+  private final Object rollover = new Object();
+  private final TaskBackfill backfill = new TaskBackfill();
+  /**
+   * Epoch day before which the open tasks of a day are in {@link #overdue}.
+   */
+  private volatile long overdueBefore;
+  private ScheduledExecutorService executor;
+
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public TaskStatistics(Clock clock) {
+    this.clock = clock;
+    this.overdueBefore = today().toEpochDay();
+  }
+
+  @Override
+  public void onWrite(Task previous, Task current) {
+    backfill.write(previous, current, this::move);
+  }
+
+  /**
+   * Counts {@code tasks} as existing tasks, except those already written since this was
+   * registered. Meant to fill the statistics from the repository on startup, once registered
+   * with it, so that no write is missed.
+   */
+  public void addAll(Stream<Task> tasks) {
+    backfill.addAll(tasks, task -> move(null, task));
+  }
+
+  private void move(Task previous, Task current) {
+    if (previous != null && current != null
+        && previous.getStatus() == current.getStatus()
+        && Objects.equals(previous.getDueDate(), current.getDueDate())) {
+      return;
+    }
+    if (previous != null) {
+      add(previous, -1);
+      byStatus[previous.getStatus().ordinal()].decrement();
+    }
+    if (current != null) {
+      add(current, 1);
+      byStatus[current.getStatus().ordinal()].increment();
+    }
+  }
+
+  public long count(TaskStatus status) {
+    return byStatus[status.ordinal()].sum();
+  }
+
+  public long countUndated(TaskStatus status) {
+    return undated[status.ordinal()].sum();
+  }
+
+  /**
+   * Number of tasks with {@code status} due on {@code date}.
+   */
+  public long countDueOn(LocalDate date, TaskStatus status) {
+    Day day = byDueDay.get(date.toEpochDay());
+    return day == null ? 0 : day.counters[status.ordinal()].sum();
+  }
+
+  /**
+   * Today in the zone of the clock.
+   */
+  public LocalDate today() {
+    return LocalDate.now(clock);
+  }
+
+  /**
+   * Number of tasks that are not {@link TaskStatus#COMPLETED} and were due before {@code asOf}.
+   * Reads the running counter, plus or minus the open tasks due between the day it counts up to
+   * and {@code asOf}, which reads one entry per day in between and changes nothing.
+   */
+  public long countOverdue(LocalDate asOf) {
+    long before = asOf.toEpochDay();
+    long counted = overdueBefore;
+    long count = overdue.sum();
+    if (before == counted) {
+      return count;
+    }
+    long open = 0;
+    for (Day day : byDueDay.subMap(Math.min(counted, before), Math.max(counted, before))
+        .values()) {
+      open += day.open();
+    }
+    return before > counted ? count + open : count - open;
+  }
+
+  /**
+   * Moves the running overdue counter to today, if the day has changed since it was last moved.
+   * Moves the open counts of every day crossed, under the lock of each.
+   */
+  public void rollOver() {
+    long before = today().toEpochDay();
+    if (overdueBefore == before) {
+      return;
+    }
+    synchronized (rollover) {
+      long previous = overdueBefore;
+      if (previous != before) {
+        overdueBefore = before;
+        for (Map.Entry<Long, Day> day : byDueDay
+            .subMap(Math.min(previous, before), Math.max(previous, before)).entrySet()) {
+          synchronized (day.getValue()) {
+            reconcile(day.getKey(), day.getValue());
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Starts calling {@link #rollOver} at every midnight in the zone of the clock, on a daemon
+   * thread.
+   */
+  public synchronized void start() {
+    if (executor != null) {
+      throw new IllegalStateException("Already started");
+    }
+    executor = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("task-stats-rollover").daemon().factory());
+    scheduleRollOver();
+  }
+
+  @Override
+  public synchronized void close() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Counts per status of the tasks due from {@code from} to {@code to}, both inclusive, grouped
+   * into {@code interval} buckets. Returns {@code counts[bucket][status ordinal]}, where bucket
+   * 0 starts on {@code interval.bucketStart(from)}. Reads one entry per day in the range.
+   */
+  public long[][] histogram(LocalDate from, LocalDate to, HistogramInterval interval) {
+    LocalDate firstStart = interval.bucketStart(from);
+    int buckets = 0;
+    for (LocalDate start = firstStart; !start.isAfter(to); start = interval.next(start)) {
+      buckets++;
+    }
+    long[][] counts = new long[buckets][STATUSES.length];
+    int bucket = 0;
+    LocalDate nextStart = interval.next(firstStart);
+    for (Map.Entry<Long, Day> day
+        : byDueDay.subMap(from.toEpochDay(), true, to.toEpochDay(), true).entrySet()) {
+      LocalDate date = LocalDate.ofEpochDay(day.getKey());
+      while (!date.isBefore(nextStart)) {
+        bucket++;
+        nextStart = interval.next(nextStart);
+      }
+      for (TaskStatus status : STATUSES) {
+        counts[bucket][status.ordinal()] += day.getValue().counters[status.ordinal()].sum();
+      }
+    }
+    return counts;
+  }
+
+  private void add(Task task, int delta) {
+    int status = task.getStatus().ordinal();
+    if (task.getDueDate() == null) {
+      undated[status].add(delta);
+      return;
+    }
+    long epochDay = task.getDueDate().toEpochDay();
+    Day day = byDueDay.computeIfAbsent(epochDay, key -> new Day());
+    synchronized (day) {
+      day.counters[status].add(delta);
+      if (day.counted && task.getStatus() != TaskStatus.COMPLETED) {
+        overdue.add(delta);
+      }
+      reconcile(epochDay, day);
+    }
+  }
+
+  /**
+   * Moves the open tasks of {@code day} into or out of the overdue counter if it is on the
+   * wrong side of {@link #overdueBefore}. Called holding the lock of {@code day}.
+   */
+  private void reconcile(long epochDay, Day day) {
+    boolean due = epochDay < overdueBefore;
+    if (day.counted != due) {
+      long open = day.open();
+      overdue.add(due ? open : -open);
+      day.counted = due;
+    }
+  }
+
+  private synchronized void scheduleRollOver() {
+    if (executor.isShutdown()) {
+      return;
+    }
+    ZonedDateTime now = ZonedDateTime.now(clock);
+    ZonedDateTime midnight = now.toLocalDate().plusDays(1).atStartOfDay(clock.getZone());
+    executor.schedule(this::scheduledRollOver, Duration.between(now, midnight).toMillis(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  private void scheduledRollOver() {
+    try {
+      rollOver();
+    } catch (RuntimeException ex) {
+      // Days not moved yet are still answered exactly by countOverdue, only more slowly.
+      LOG.error("Overdue counter roll-over failed", ex);
+    }
+    scheduleRollOver();
+  }
+
+  private static LongAdder[] newCounters() {
+    LongAdder[] counters = new LongAdder[STATUSES.length];
+    for (int i = 0; i < counters.length; i++) {
+      counters[i] = new LongAdder();
+    }
+    return counters;
+  }
+
+  private static final class Day {
+    private final LongAdder[] counters = newCounters();
+    /**
+     * Whether the open tasks of this day are in {@link #overdue}. Guarded by this day.
+     */
+    private boolean counted;
+
+    long open() {
+      long open = 0;
+      for (TaskStatus status : STATUSES) {
+        if (status != TaskStatus.COMPLETED) {
+          open += counters[status.ordinal()].sum();
+        }
+      }
+      return open;
+    }
+  }
+}
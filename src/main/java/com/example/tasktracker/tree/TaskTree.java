@@ -0,0 +1,290 @@
+package com.example.tasktracker.tree;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.TaskBackfill;
+import com.example.tasktracker.repository.TaskReplay;
+import com.example.tasktracker.repository.TaskWriteListener;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parent-child index of the tasks, with the number of descendants per status of every task kept
+ * up to date by every repository write rather than counted by walking its subtree. Registered
+ * as a {@link TaskWriteListener}, a write that changes a subtask's status moves one count
+ * between statuses in each of its ancestors, and one that creates, deletes or moves a subtask
+ * adds or removes it, with its own descendants, along the chain of ancestors it joins or
+ * leaves. Reading a task's roll-up is a lookup, however large its subtree.
+ *
+ * <p>Writes are applied from {@link #beforeWrite}, which rejects one that would make a task its
+ * own ancestor before the repository or any other listener has acted on it. Checking and
+ * applying a move under one exclusive lock means two concurrent moves cannot each pass the
+ * check and together commit a cycle. Only moves, deletes and tasks with subtasks gaining a
+ * parent need that lock. Status changes of subtasks and new subtasks leave every existing
+ * node's parent as it is, so they share the lock and only update atomic counts along their
+ * chain of ancestors. Writes of top-level tasks return without touching the tree. No other
+ * listener rejects writes, so a write applied here is committed.
+ *
+ * <p>Replayed writes ({@link TaskReplay}) are not rejected, since the state they lead to is
+ * already committed: a follower loading a snapshot that is not a point-in-time copy can see a
+ * task under its new parent before that parent leaves the task's subtree. Such a write, and a
+ * cycle stored before this check existed, leaves the task out of the tree under its parent
+ * rather than make a cycle. Counts are atomic, so reads take no lock; like
+ * {@code TaskStatistics}, a read concurrent with writes is not an atomic snapshot.
+ *
+ * <p>A deleted task keeps its node while it has children. They remain its children and keep
+ * counting towards it, but no longer towards its former ancestors.
+ */
+public final class TaskTree implements TaskWriteListener {
+  private static final Logger LOG = LoggerFactory.getLogger(TaskTree.class);
+  private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+  private final Map<UUID, Node> nodes = new ConcurrentHashMap<>();
+  /**
+   * Held shared by writes that keep every existing node's parent, and exclusively by the others.
+   */
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final TaskBackfill backfill = new TaskBackfill();
+
+  /**
+   * Applies a write to the tree.
+   *
+   * @throws IllegalArgumentException if the write gives a task a new parent that is the task
+   *     itself or one of its descendants, unless it is a replay
+   */
+  @Override
+  public void beforeWrite(Task previous, Task current) {
+    backfill.write(previous, current, this::apply);
+  }
+
+  /**
+   * Does nothing: the write has been applied from {@link #beforeWrite}.
+   */
+  @Override
+  public void onWrite(Task previous, Task current) {
+  }
+
+  /**
+   * Indexes {@code tasks} as existing tasks, in any order, except those already written since
+   * this was registered. Meant to fill the tree from the repository on startup, once registered
+   * with it, so that no write is missed.
+   */
+  public void addAll(Stream<Task> tasks) {
+    TaskReplay.run(() -> {
+      backfill.addAll(tasks, task -> apply(null, task));
+      return null;
+    });
+  }
+
+  private void apply(Task previous, Task current) {
+    if ((previous == null || previous.getParentId() == null)
+        && (current == null || current.getParentId() == null)) {
+      return;
+    }
+    lock.readLock().lock();
+    try {
+      if (applyShared(previous, current)) {
+        return;
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+    lock.writeLock().lock();
+    try {
+      applyExclusive(previous, current);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Ids of the direct subtasks of {@code id}, in no particular order.
+   */
+  public List<UUID> children(UUID id) {
+    Node node = nodes.get(id);
+    return node == null ? List.of() : List.copyOf(node.children);
+  }
+
+  /**
+   * Number of descendants of {@code id} in each status, indexed by status ordinal.
+   */
+  public long[] descendantCounts(UUID id) {
+    long[] counts = new long[STATUSES.length];
+    Node node = nodes.get(id);
+    if (node != null) {
+      for (int i = 0; i < counts.length; i++) {
+        counts[i] = node.descendants.get(i);
+      }
+    }
+    return counts;
+  }
+
+  int nodeCount() {
+    return nodes.size();
+  }
+
+  /**
+   * Applies a write that leaves the parent of every existing node as it is: a status change of a
+   * task staying under the parent the tree has it under, or a new subtask without subtasks.
+   * Called holding the shared lock.
+   *
+   * @return {@code false} if the write needs the exclusive lock
+   */
+  private boolean applyShared(Task previous, Task current) {
+    if (current == null || current.getParentId() == null) {
+      return false;
+    }
+    UUID id = current.getId();
+    UUID parentId = current.getParentId();
+    Node node = nodes.get(id);
+    if (previous != null) {
+      if (node == null || !parentId.equals(node.parent)) {
+        return false;
+      }
+      if (previous.getStatus() != current.getStatus()) {
+        long[] moved = new long[STATUSES.length];
+        moved[previous.getStatus().ordinal()] = -1;
+        moved[current.getStatus().ordinal()] = 1;
+        addToAncestors(parentId, moved);
+      }
+      return true;
+    }
+    // A node that already exists has subtasks, which would move along; publishing the node with
+    // its parent set lets a concurrent new subtask of it count towards the parent as well.
+    if (node != null || parentId.equals(id) || nodes.putIfAbsent(id, new Node(parentId)) != null) {
+      return false;
+    }
+    nodes.computeIfAbsent(parentId, key -> new Node(null)).children.add(id);
+    addToAncestors(parentId, contribution(null, current, 1));
+    return true;
+  }
+
+  /**
+   * Applies any write, after checking that it does not close a cycle. Called holding the
+   * exclusive lock.
+   */
+  private void applyExclusive(Task previous, Task current) {
+    UUID id = current == null ? previous.getId() : current.getId();
+    Node node = nodes.get(id);
+    UUID previousParent = node == null ? null : node.parent;
+    UUID currentParent = current == null ? null : current.getParentId();
+    if (currentParent != null && inSubtree(currentParent, id)) {
+      boolean moves = previous == null || !currentParent.equals(previous.getParentId());
+      if (moves && !TaskReplay.isReplaying()) {
+        throw new IllegalArgumentException(cycleMessage(id, currentParent));
+      }
+      LOG.warn("{}; leaving it out of the tree", cycleMessage(id, currentParent));
+      currentParent = null;
+    }
+    if (Objects.equals(previousParent, currentParent)) {
+      if (currentParent != null && previous != null
+          && previous.getStatus() != current.getStatus()) {
+        long[] moved = new long[STATUSES.length];
+        moved[previous.getStatus().ordinal()] = -1;
+        moved[current.getStatus().ordinal()] = 1;
+        addToAncestors(currentParent, moved);
+      }
+      return;
+    }
+    if (previousParent != null && previous != null) {
+      addToAncestors(previousParent, contribution(node, previous, -1));
+    }
+    if (previousParent != null) {
+      Node parent = nodes.get(previousParent);
+      if (parent != null) {
+        parent.children.remove(id);
+        removeIfUnused(previousParent, parent);
+      }
+    }
+    if (currentParent != null) {
+      if (node == null) {
+        node = new Node(null);
+        nodes.put(id, node);
+      }
+      node.parent = currentParent;
+      nodes.computeIfAbsent(currentParent, parentId -> new Node(null)).children.add(id);
+      addToAncestors(currentParent, contribution(node, current, 1));
+    } else if (node != null) {
+      node.parent = null;
+      removeIfUnused(id, node);
+    }
+  }
+
+  /**
+   * What a subtask adds to each of its ancestors: itself, in the status of {@code task}, and its
+   * descendants, with {@code sign} 1 to add them or -1 to take them away.
+   */
+  private static long[] contribution(Node node, Task task, int sign) {
+    long[] counts = new long[STATUSES.length];
+    if (node != null) {
+      for (int i = 0; i < counts.length; i++) {
+        counts[i] = sign * node.descendants.get(i);
+      }
+    }
+    counts[task.getStatus().ordinal()] += sign;
+    return counts;
+  }
+
+  private void addToAncestors(UUID parentId, long[] counts) {
+    Node node;
+    for (UUID ancestor = parentId; ancestor != null; ancestor = node.parent) {
+      node = nodes.get(ancestor);
+      if (node == null) {
+        return;
+      }
+      for (int i = 0; i < counts.length; i++) {
+        if (counts[i] != 0) {
+          node.descendants.addAndGet(i, counts[i]);
+        }
+      }
+    }
+  }
+
+  /**
+   * Whether {@code task} is {@code root} or one of its descendants in the tree.
+   */
+  private boolean inSubtree(UUID task, UUID root) {
+    for (UUID next = task; next != null; ) {
+      if (next.equals(root)) {
+        return true;
+      }
+      Node node = nodes.get(next);
+      next = node == null ? null : node.parent;
+    }
+    return false;
+  }
+
+  private static String cycleMessage(UUID id, UUID parentId) {
+    return "Task %s cannot be a subtask of %s, which is in its own subtree".formatted(id, parentId);
+  }
+
+  /**
+   * Drops the node of a task that has neither a parent nor children any more. Its counts are
+   * all zero by then.
+   */
+  private void removeIfUnused(UUID id, Node node) {
+    if (node.parent == null && node.children.isEmpty()) {
+      nodes.remove(id);
+    }
+  }
+
+  private static final class Node {
+    private final Set<UUID> children = ConcurrentHashMap.newKeySet();
+    private final AtomicLongArray descendants = new AtomicLongArray(STATUSES.length);
+    private volatile UUID parent;
+
+    private Node(UUID parent) {
+      this.parent = parent;
+    }
+  }
+}
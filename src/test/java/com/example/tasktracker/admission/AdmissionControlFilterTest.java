@@ -0,0 +1,127 @@
+package com.example.tasktracker.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.InMemoryTaskRepository;
+import jakarta.servlet.FilterChain;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class AdmissionControlFilterTest {
+    private static final FilterChain OK = (request, response) -> { };
+
+    @Test
+    void rejectsClientsOverTheirRateWithRetryAfter() throws Exception {
+        AdmissionControlFilter filter = new AdmissionControlFilter(List.of(
+                new AdmissionEndpoint("api", null, "/api/**", 0.5, 2, 100, null, request -> 1)),
+                "X-API-Key");
+
+        assertThat(perform(filter, get("/api/tasks/1", "a"), OK).getStatus()).isEqualTo(200);
+        assertThat(perform(filter, get("/api/tasks/1", "a"), OK).getStatus()).isEqualTo(200);
+        MockHttpServletResponse rejected = perform(filter, get("/api/tasks/1", "a"), OK);
+        MockHttpServletResponse otherClient = perform(filter, get("/api/tasks/1", "b"), OK);
+        MockHttpServletResponse uncovered = perform(filter, get("/actuator/health", "a"), OK);
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isIn("1", "2");
+        assertThat(otherClient.getStatus()).isEqualTo(200);
+        assertThat(uncovered.getStatus()).isEqualTo(200);
+        AdmissionEndpoint endpoint = filter.endpoints().get(0);
+        assertThat(endpoint.admittedCount()).isEqualTo(3);
+        assertThat(endpoint.rejectedCount(Rejection.RATE_LIMITED)).isEqualTo(1);
+        assertThat(endpoint.clients()).isEqualTo(2);
+    }
+
+    @Test
+    void mostSpecificEndpointApplies() throws Exception {
+        AdmissionEndpoint api = new AdmissionEndpoint("api", null, "/api/**", 0, 1, 100, null,
+                request -> 1);
+        AdmissionEndpoint export = new AdmissionEndpoint("export", "GET", "/api/tasks/export",
+                0.001, 1, 100, null, request -> 1);
+        AdmissionControlFilter filter = new AdmissionControlFilter(List.of(api, export), "X-API-Key");
+
+        perform(filter, get("/api/tasks/export", "a"), OK);
+        MockHttpServletResponse second = perform(filter, get("/api/tasks/export", "a"), OK);
+        MockHttpServletResponse post = perform(filter,
+                new MockHttpServletRequest("POST", "/api/tasks/export"), OK);
+
+        assertThat(second.getStatus()).isEqualTo(429);
+        assertThat(post.getStatus()).isEqualTo(200);
+        assertThat(export.admittedCount()).isEqualTo(1);
+        assertThat(api.admittedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void weighsListsByResultSizeAndShedsWhenTheQueueIsFull() throws Exception {
+        InMemoryTaskRepository repository = new InMemoryTaskRepository();
+        for (int i = 0; i < 25; i++) {
+            repository.save(Task.builder().title("Task " + i).description("Weighed")
+                    .status(i < 5 ? TaskStatus.COMPLETED : TaskStatus.PENDING).build());
+        }
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(4, 0, Duration.ofMillis(10));
+        AdmissionEndpoint list = new AdmissionEndpoint("list", "GET", "/api/tasks", 0, 1, 100,
+                limiter, new ResultSizeWeigher(repository, 10));
+        AdmissionControlFilter filter = new AdmissionControlFilter(List.of(list), "X-API-Key");
+
+        int[] held = new int[1];
+        FilterChain recordPermits = (request, response) -> held[0] = limiter.inUse();
+        perform(filter, get("/api/tasks", "a"), recordPermits);
+        assertThat(held[0]).isEqualTo(3);
+        MockHttpServletRequest completed = get("/api/tasks", "a");
+        completed.setParameter("status", "COMPLETED");
+        perform(filter, completed, recordPermits);
+        assertThat(held[0]).isEqualTo(1);
+        assertThat(limiter.inUse()).isZero();
+
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+        FilterChain nest = (request, response) ->
+                nested[0] = perform(filter, get("/api/tasks", "b"), OK);
+        MockHttpServletResponse outer = perform(filter, get("/api/tasks", "a"), nest);
+
+        assertThat(outer.getStatus()).isEqualTo(200);
+        assertThat(nested[0].getStatus()).isEqualTo(429);
+        assertThat(nested[0].getHeader("Retry-After")).isEqualTo("1");
+        assertThat(list.rejectedCount(Rejection.QUEUE_FULL)).isEqualTo(1);
+        assertThat(limiter.inUse()).isZero();
+    }
+
+    @Test
+    void holdsPermitsUntilAnAsyncResponseCompletes() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 0, Duration.ZERO);
+        AdmissionEndpoint export = new AdmissionEndpoint("export", "GET", "/api/tasks/export",
+                0, 1, 100, limiter, request -> 1);
+        AdmissionControlFilter filter = new AdmissionControlFilter(List.of(export), "X-API-Key");
+
+        MockHttpServletRequest request = get("/api/tasks/export", "a");
+        request.setAsyncSupported(true);
+        perform(filter, request, (req, res) -> req.startAsync());
+        assertThat(limiter.inUse()).isEqualTo(1);
+        assertThat(perform(filter, get("/api/tasks/export", "b"), OK).getStatus()).isEqualTo(429);
+
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+        assertThat(limiter.inUse()).isZero();
+    }
+
+    private static MockHttpServletRequest get(String uri, String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.addHeader("X-API-Key", client);
+        return request;
+    }
+
+    private static MockHttpServletResponse perform(AdmissionControlFilter filter,
+            MockHttpServletRequest request, FilterChain chain) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, chain);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+        return response;
+    }
+}
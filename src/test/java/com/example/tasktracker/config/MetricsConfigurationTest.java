@@ -0,0 +1,85 @@
+package com.example.tasktracker.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.MeteredTaskRepository;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.service.TaskJsonCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+class MetricsConfigurationTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(RepositoryConfiguration.class, TaskJsonCacheConfiguration.class,
+                    SearchConfiguration.class, OverdueConfiguration.class, MetricsConfiguration.class)
+            .withBean(SimpleMeterRegistry.class)
+            .withBean(ObjectMapper.class, () -> JsonMapper.builder().findAndAddModules().build());
+
+    @Test
+    void recordsRepositoryLatencyResultSizesAndTaskGauges() {
+        contextRunner.run(context -> {
+            TaskRepository repository = context.getBean(TaskRepository.class);
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            context.getBean("taskStoreMetrics", MeterBinder.class)
+                    .bindTo(registry);
+
+            repository.save(Task.builder().title("Pending").description("Counted").build());
+            repository.save(Task.builder().title("Done").description("Counted")
+                    .status(TaskStatus.COMPLETED).build());
+            repository.findByStatus(TaskStatus.PENDING);
+
+            assertThat(repository).isInstanceOf(MeteredTaskRepository.class);
+            assertThat(registry.get("tasktracker.repository").tag("method", "save").timer().count())
+                    .isEqualTo(2);
+            assertThat(registry.get("tasktracker.repository.results").tag("method", "findByStatus")
+                    .summary().totalAmount()).isEqualTo(1);
+            assertThat(registry.get(MetricsConfiguration.STORE_SIZE).gauge().value()).isEqualTo(2);
+            assertThat(registry.get(MetricsConfiguration.TASKS).tag("status", "COMPLETED").gauge().value())
+                    .isEqualTo(1);
+        });
+    }
+
+    @Test
+    void recordsJsonCacheHitsAndMisses() {
+        contextRunner.run(context -> {
+            TaskRepository repository = context.getBean(TaskRepository.class);
+            TaskJsonCache cache = context.getBean(TaskJsonCache.class);
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            context.getBean("taskJsonCacheMetrics", MeterBinder.class)
+                    .bindTo(registry);
+
+            Task task = repository.save(Task.builder().title("Cached").description("Read twice").build());
+            cache.get(task.getId());
+            cache.get(task.getId());
+
+            assertThat(registry.get("cache.gets").tag("cache", MetricsConfiguration.JSON_CACHE)
+                    .tag("result", "miss").functionCounter().count()).isEqualTo(1);
+            assertThat(registry.get("cache.gets").tag("cache", MetricsConfiguration.JSON_CACHE)
+                    .tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void reportsSearchIndexSize() {
+        contextRunner.run(context -> {
+            TaskRepository repository = context.getBean(TaskRepository.class);
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            context.getBean("taskSearchIndexMetrics", MeterBinder.class)
+                    .bindTo(registry);
+
+            repository.save(Task.builder().title("Indexed").description("Two terms").build());
+
+            assertThat(registry.get(MetricsConfiguration.SEARCH_INDEX_TERMS).gauge().value())
+                    .isEqualTo(3);
+            assertThat(registry.get(MetricsConfiguration.SEARCH_INDEX_BYTES).gauge().value())
+                    .isPositive();
+        });
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.tasktracker.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.tasktracker.repository.InMemoryTaskRepository;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.repository.columnar.ColumnarTaskRepository;
+import com.example.tasktracker.repository.sharded.ShardedTaskRepository;
+import com.example.tasktracker.repository.wal.WalTaskRepository;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+class RepositoryConfigurationTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(RepositoryConfiguration.class);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void usesInMemoryRepositoryByDefault() {
+        contextRunner.run(context -> assertThat(context)
+                .getBean(TaskRepository.class)
+                .isInstanceOf(InMemoryTaskRepository.class));
+    }
+
+    @Test
+    void usesColumnarRepositoryWhenConfigured() {
+        contextRunner
+                .withPropertyValues("task-tracker.repository.type=columnar")
+                .run(context -> assertThat(context)
+                        .getBean(TaskRepository.class)
+                        .isInstanceOf(ColumnarTaskRepository.class));
+    }
+
+    @Test
+    void usesShardedRepositoryWhenConfigured() {
+        contextRunner
+                .withPropertyValues(
+                        "task-tracker.repository.type=sharded",
+                        "task-tracker.repository.sharded.shards=4",
+                        "task-tracker.repository.sharded.shard-type=COLUMNAR")
+                .run(context -> assertThat(context)
+                        .getBean(ShardedTaskRepository.class)
+                        .extracting(ShardedTaskRepository::shardCount)
+                        .isEqualTo(4));
+    }
+
+    @Test
+    void usesWriteAheadLogRepositoryWhenConfigured() {
+        contextRunner
+                .withPropertyValues(
+                        "task-tracker.repository.type=wal",
+                        "task-tracker.repository.wal.directory=" + directory,
+                        "task-tracker.repository.wal.durability=INTERVAL")
+                .run(context -> assertThat(context)
+                        .getBean(TaskRepository.class)
+                        .isInstanceOf(WalTaskRepository.class));
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.tasktracker.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.tasktracker.dto.TaskPage;
+import com.example.tasktracker.dto.TaskRequest;
+import com.example.tasktracker.dto.TaskResponse;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.TaskVersionConflictException;
+import com.example.tasktracker.service.ReactiveTaskService;
+import com.example.tasktracker.service.TaskServiceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@WebFluxTest(ReactiveTaskController.class)
+@ActiveProfiles("reactive")
+@Import(SimpleMeterRegistry.class)
+class ReactiveTaskControllerTest {
+    @Autowired
+    private WebTestClient webClient;
+
+    @MockBean
+    private ReactiveTaskService taskService;
+
+    @Test
+    void createTaskReturnsCreatedTask() {
+        TaskResponse response = task(TaskStatus.PENDING, 0);
+        when(taskService.createTask(any(TaskRequest.class))).thenReturn(Mono.just(response));
+
+        webClient.post().uri("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        {"title": "Write tests", "description": "Add coverage", "dueDate": "%s"}
+                        """.formatted(response.dueDate()))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(response.id().toString());
+    }
+
+    @Test
+    void createTaskRejectsInvalidRequest() {
+        webClient.post().uri("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"title\": \"\"}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400);
+    }
+
+    @Test
+    void getTasksStreamsJsonArray() {
+        TaskResponse first = task(TaskStatus.PENDING, 0);
+        TaskResponse second = task(TaskStatus.COMPLETED, 2);
+        when(taskService.getTasks(TaskStatus.PENDING, null)).thenReturn(Flux.just(first, second));
+
+        webClient.get().uri("/api/tasks?status=PENDING")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaskResponse.class)
+                .isEqualTo(List.of(first, second));
+    }
+
+    @Test
+    void getTasksStreamsNdjson() {
+        TaskResponse first = task(TaskStatus.PENDING, 0);
+        TaskResponse second = task(TaskStatus.COMPLETED, 2);
+        when(taskService.getTasks(null, null)).thenReturn(Flux.just(first, second));
+
+        Flux<TaskResponse> body = webClient.get().uri("/api/tasks")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(TaskResponse.class)
+                .getResponseBody();
+
+        StepVerifier.create(body).expectNext(first, second).verifyComplete();
+    }
+
+    @Test
+    void getTasksReturnsPageWithNextCursor() {
+        TaskResponse task = task(TaskStatus.PENDING, 0);
+        when(taskService.getTaskPage(null, null, null, 1))
+                .thenReturn(Mono.just(new TaskPage(List.of(task), "next")));
+
+        webClient.get().uri("/api/tasks?limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(TaskController.NEXT_CURSOR_HEADER, "next")
+                .expectBodyList(TaskResponse.class)
+                .isEqualTo(List.of(task));
+    }
+
+    @Test
+    void getTasksWithCurrentIfNoneMatchSkipsTheQuery() {
+        when(taskService.modificationCount(TaskStatus.IN_PROGRESS)).thenReturn(7L);
+
+        webClient.get().uri("/api/tasks?status=IN_PROGRESS")
+                .header("If-None-Match", TaskController.listEntityTag(7))
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals("ETag", TaskController.listEntityTag(7));
+
+        verify(taskService, never()).getTasks(any(), any());
+    }
+
+    @Test
+    void getTaskReturnsEntityTag() {
+        TaskResponse task = task(TaskStatus.PENDING, 3);
+        when(taskService.getTask(task.id())).thenReturn(Mono.just(task));
+
+        webClient.get().uri("/api/tasks/{id}", task.id())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"3\"");
+    }
+
+    @Test
+    void getTaskReturnsNotFound() {
+        UUID id = UUID.randomUUID();
+        when(taskService.getTask(id)).thenReturn(Mono.error(new TaskServiceException("missing")));
+
+        webClient.get().uri("/api/tasks/{id}", id)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("missing");
+    }
+
+    @Test
+    void updateStatusHonoursIfMatch() {
+        TaskResponse task = task(TaskStatus.COMPLETED, 4);
+        when(taskService.updateStatus(task.id(), TaskStatus.COMPLETED, 3))
+                .thenReturn(Mono.error(new TaskVersionConflictException(task.id(), 3, 4)));
+
+        webClient.post().uri("/api/tasks/{id}/status", task.id())
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"status\": \"COMPLETED\"}")
+                .exchange()
+                .expectStatus().isEqualTo(412)
+                .expectHeader().valueEquals("ETag", "\"4\"");
+    }
+
+    @Test
+    void updateStatusWithoutIfMatchUpdatesUnconditionally() {
+        TaskResponse task = task(TaskStatus.COMPLETED, 1);
+        when(taskService.updateStatus(eq(task.id()), eq(TaskStatus.COMPLETED)))
+                .thenReturn(Mono.just(task));
+
+        webClient.post().uri("/api/tasks/{id}/status", task.id())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"status\": \"COMPLETED\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"1\"")
+                .expectBody(TaskResponse.class).isEqualTo(task);
+    }
+
+    @Test
+    void deleteTaskReturnsNoContent() {
+        UUID id = UUID.randomUUID();
+        when(taskService.deleteTask(id)).thenReturn(Mono.empty());
+
+        webClient.delete().uri("/api/tasks/{id}", id)
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+
+    private static TaskResponse task(TaskStatus status, long version) {
+        return new TaskResponse(UUID.randomUUID(), "Write tests", "Add coverage", LocalDate.now(),
+                status, null, version);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.tasktracker.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.tasktracker.feed.TaskChangeFeed;
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.service.TaskChangeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+@WebMvcTest(TaskChangeController.class)
+@Import({SimpleMeterRegistry.class, TaskChangeControllerTest.FeedConfiguration.class})
+class TaskChangeControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskChangeFeed feed;
+
+    @Test
+    void streamsChangesAfterTheRequestedSequence() throws Exception {
+        long start = feed.latestSequence();
+        Task task = Task.builder().title("Streamed").description("Over SSE").build();
+        feed.onWrite(null, task);
+        feed.onWrite(task, null);
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/changes")
+                        .param("after", Long.toString(start)))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        String body = awaitContent(result.getResponse(), "id:" + (start + 2));
+        assertThat(body)
+                .contains("id:" + (start + 1))
+                .contains("\"type\":\"CREATED\"")
+                .contains("\"title\":\"Streamed\"")
+                .contains("\"type\":\"DELETED\"");
+    }
+
+    @Test
+    void lastEventIdTakesPrecedenceOverAfter() throws Exception {
+        long start = feed.latestSequence();
+        Task task = Task.builder().title("Resumed").description("After reconnect").build();
+        feed.onWrite(null, task);
+        feed.onWrite(task, task.toBuilder().title("Seen").build());
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/changes")
+                        .param("after", Long.toString(start))
+                        .header("Last-Event-ID", Long.toString(start + 1)))
+                .andReturn();
+
+        String body = awaitContent(result.getResponse(), "id:" + (start + 2));
+        assertThat(body).doesNotContain("id:" + (start + 1) + "\n").contains("\"title\":\"Seen\"");
+    }
+
+    @Test
+    void unavailableSequenceGetsResyncEvent() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/changes")
+                        .param("after", "42"))
+                .andReturn();
+
+        String body = awaitContent(result.getResponse(), "event:" + TaskChangeController.RESYNC_EVENT);
+        assertThat(body).contains("\"latestSequence\":" + feed.latestSequence());
+    }
+
+    @Test
+    void idleSubscribersGetHeartbeats() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/changes"))
+                .andReturn();
+
+        assertThat(awaitContent(result.getResponse(), ":heartbeat")).isNotEmpty();
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, String expected)
+            throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        String content = response.getContentAsString();
+        while (!content.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            content = response.getContentAsString();
+        }
+        assertThat(content).contains(expected);
+        return content;
+    }
+
+    @TestConfiguration
+    static class FeedConfiguration {
+        @Bean(destroyMethod = "close")
+        TaskChangeFeed taskChangeFeed() {
+            return new TaskChangeFeed(16);
+        }
+
+        @Bean
+        TaskChangeService taskChangeService(TaskChangeFeed feed) {
+            return new TaskChangeService(feed, Duration.ofMillis(50));
+        }
+    }
+}
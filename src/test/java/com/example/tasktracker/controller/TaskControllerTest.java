@@ -1,40 +1,63 @@
 package com.example.tasktracker.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.example.tasktracker.config.JsonConfiguration;
+import com.example.tasktracker.dto.TaskPage;
 import com.example.tasktracker.dto.TaskRequest;
 import com.example.tasktracker.dto.TaskResponse;
 import com.example.tasktracker.dto.UpdateStatusRequest;
+import com.example.tasktracker.model.Task;
 import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.repository.TaskVersionConflictException;
+import com.example.tasktracker.service.InvalidTaskQueryException;
+import com.example.tasktracker.service.TaskJsonCache;
+import com.example.tasktracker.service.TaskJsonCache.TaskJson;
 import com.example.tasktracker.service.TaskService;
 import com.example.tasktracker.service.TaskServiceException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 @WebMvcTest(TaskController.class)
+@Import({SimpleMeterRegistry.class, JsonConfiguration.class})
 class TaskControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @MockBean
     private TaskService taskService;
 
+    @MockBean
+    private TaskJsonCache taskJsonCache;
+
     @Test
     void createTaskReturnsCreatedTask() throws Exception {
         UUID id = UUID.randomUUID();
         TaskResponse response = new TaskResponse(id, "Write tests", "Add coverage", LocalDate.now(),
-                TaskStatus.PENDING);
+                TaskStatus.PENDING, null, 0);
         when(taskService.createTask(any(TaskRequest.class))).thenReturn(response);
 
         mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post("/api/tasks")
@@ -54,7 +77,7 @@ class TaskControllerTest {
     @Test
     void updateStatusDelegatesToService() throws Exception {
         UUID id = UUID.randomUUID();
-        TaskResponse response = new TaskResponse(id, "Task", "Desc", LocalDate.now(), TaskStatus.COMPLETED);
+        TaskResponse response = new TaskResponse(id, "Task", "Desc", LocalDate.now(), TaskStatus.COMPLETED, null, 0);
         when(taskService.updateStatus(eq(id), eq(TaskStatus.COMPLETED))).thenReturn(response);
 
         mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post("/api/tasks/{id}/status", id)
@@ -71,28 +94,265 @@ class TaskControllerTest {
         verify(taskService).updateStatus(id, TaskStatus.COMPLETED);
     }
 
+    @Test
+    void getTaskReturnsVersionAsEntityTag() throws Exception {
+        UUID id = UUID.randomUUID();
+        byte[] json = "{\"id\":\"%s\",\"version\":3}".formatted(id).getBytes(StandardCharsets.UTF_8);
+        when(taskJsonCache.get(id)).thenReturn(new TaskJson(3, json));
+
+        mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get("/api/tasks/{id}", id))
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.status().isOk())
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.header()
+                        .stringValues("ETag", "\"3\""))
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.content()
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.content()
+                        .bytes(json));
+    }
+
+    @Test
+    void getTaskWithCurrentIfNoneMatchReturnsNotModified() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(taskJsonCache.get(id)).thenReturn(new TaskJson(3, new byte[] {'{', '}'}));
+
+        mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get("/api/tasks/{id}", id)
+                        .header("If-None-Match", "\"3\""))
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.status().isNotModified())
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.header()
+                        .string("ETag", "\"3\""))
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.content()
+                        .bytes(new byte[0]));
+    }
+
+    @Test
+    void getTasksReturnsModificationCountAsEntityTag() throws Exception {
+        when(taskService.modificationCount(TaskStatus.IN_PROGRESS)).thenReturn(42L);
+        when(taskService.findTasks(TaskStatus.IN_PROGRESS, null)).thenReturn(List.of());
+
+        mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get("/api/tasks")
+                        .param("status", "IN_PROGRESS"))
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.status().isOk())
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.header()
+                        .stringValues("ETag", TaskController.listEntityTag(42)));
+    }
+
+    @Test
+    void getTasksWithCurrentIfNoneMatchSkipsTheQuery() throws Exception {
+        when(taskService.modificationCount(TaskStatus.IN_PROGRESS)).thenReturn(42L);
+
+        mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get("/api/tasks")
+                        .param("status", "IN_PROGRESS")
+                        .header("If-None-Match", TaskController.listEntityTag(41) + ", "
+                                + TaskController.listEntityTag(42)))
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.status().isNotModified());
+
+        verify(taskService, never()).findTasks(any(), any());
+    }
+
+    @Test
+    void getTasksWithStaleIfNoneMatchReturnsTasks() throws Exception {
+        when(taskService.modificationCount(null)).thenReturn(43L);
+        when(taskService.getTaskPage(null, null, null, 1)).thenReturn(new TaskPage(List.of(), null));
+
+        mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get("/api/tasks")
+                        .param("limit", "1")
+                        .header("If-None-Match", TaskController.listEntityTag(42)))
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.status().isOk())
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.header()
+                        .string("ETag", TaskController.listEntityTag(43)));
+    }
+
+    @Test
+    void updateStatusWithStaleIfMatchReturnsPreconditionFailed() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(taskService.updateStatus(id, TaskStatus.COMPLETED, 3))
+                .thenThrow(new TaskVersionConflictException(id, 3, 4));
+
+        mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post("/api/tasks/{id}/status", id)
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "status": "COMPLETED"
+                                }
+                                """))
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.status().isPreconditionFailed())
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.header()
+                        .string("ETag", "\"4\""));
+    }
+
+    @Test
+    void expectedVersionParsesIfMatch() {
+        assertThat(TaskController.expectedVersion("\"7\"")).isEqualTo(7);
+        assertThat(TaskController.expectedVersion("*")).isEqualTo(TaskRepository.ANY_VERSION);
+        assertThat(TaskController.expectedVersion("W/\"7\"")).isNotIn(7L, TaskRepository.ANY_VERSION);
+        assertThat(TaskController.expectedVersion("\"-1\"")).isNotEqualTo(TaskRepository.ANY_VERSION);
+    }
+
     @Test
     void getTasksSupportsQueryParameters() throws Exception {
         UUID id = UUID.randomUUID();
-        TaskResponse response = new TaskResponse(id, "Task", "Desc", LocalDate.now(), TaskStatus.PENDING);
-        when(taskService.getTasks(TaskStatus.PENDING, null)).thenReturn(List.of(response));
+        Task task = Task.builder().id(id).title("Task").description("Desc").dueDate(LocalDate.of(2026, 3, 2))
+                .status(TaskStatus.PENDING).version(4).build();
+        when(taskService.findTasks(TaskStatus.PENDING, null)).thenReturn(List.of(task));
 
         mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get("/api/tasks")
                         .param("status", "PENDING"))
                 .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.status().isOk())
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.content()
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.content()
+                        .json("""
+                                [{"id": "%s", "title": "Task", "description": "Desc", "dueDate": "2026-03-02",
+                                  "status": "PENDING", "version": 4}]
+                                """.formatted(id), true));
+    }
+
+    @Test
+    void getTasksStreamsListsTooLargeToCoalesce() throws Exception {
+        UUID id = UUID.randomUUID();
+        Task task = Task.builder().id(id).title("Big").description("Store").status(TaskStatus.PENDING).build();
+        when(taskService.countTasks(null)).thenReturn(Long.MAX_VALUE);
+        when(taskService.findTasks(null, null)).thenReturn(List.of(task));
+
+        MvcResult result = mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get("/api/tasks"))
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.status().isOk())
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.content()
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andReturn();
+
+        assertThat(result.getResponse().getContentAsString()).isEqualTo("""
+                [{"id":"%s","title":"Big","description":"Store","dueDate":null,"status":"PENDING","version":0}]"""
+                .formatted(id));
+    }
+
+    @Test
+    void getTasksPassesStatusAndDueBeforeTogether() throws Exception {
+        LocalDate dueBefore = LocalDate.now().plusDays(3);
+        when(taskService.findTasks(TaskStatus.PENDING, dueBefore)).thenReturn(List.of());
+
+        mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get("/api/tasks")
+                        .param("status", "PENDING")
+                        .param("dueBefore", dueBefore.toString()))
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.status().isOk());
+
+        verify(taskService).findTasks(TaskStatus.PENDING, dueBefore);
+    }
+
+    @Test
+    void getTasksWithLimitReturnsNextCursorHeader() throws Exception {
+        UUID id = UUID.randomUUID();
+        TaskResponse response = new TaskResponse(id, "Task", "Desc", LocalDate.now(), TaskStatus.PENDING, null, 0);
+        when(taskService.getTaskPage(null, null, null, 1)).thenReturn(new TaskPage(List.of(response), "next"));
+
+        mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get("/api/tasks")
+                        .param("limit", "1"))
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.status().isOk())
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.header()
+                        .string("X-Next-Cursor", "next"))
                 .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath("$[0].id")
                         .value(id.toString()));
     }
 
+    @Test
+    void getTasksWithInvalidLimitReturnsBadRequest() throws Exception {
+        when(taskService.getTaskPage(null, null, null, 0))
+                .thenThrow(new InvalidTaskQueryException("limit must be between 1 and 1000"));
+
+        mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get("/api/tasks")
+                        .param("limit", "0"))
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    void exportTasksStreamsNewlineDelimitedJson() throws Exception {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(taskService.streamTasks()).thenReturn(Stream.of(
+                new TaskResponse(first, "First", "Desc", LocalDate.now(), TaskStatus.PENDING, null, 0),
+                new TaskResponse(second, "Second", "Desc", LocalDate.now(), TaskStatus.COMPLETED, null, 0)));
+
+        MvcResult result = mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get("/api/tasks/export"))
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch(result))
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.status().isOk())
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.content()
+                        .contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.split("\n"))
+                .hasSize(2)
+                .satisfies(lines -> {
+                    assertThat(lines[0]).contains(first.toString());
+                    assertThat(lines[1]).contains(second.toString());
+                });
+    }
+
+    @Test
+    void createTasksInBulkReportsPerItemResults() throws Exception {
+        UUID id = UUID.randomUUID();
+        TaskResponse created = new TaskResponse(id, "Valid", "Created", LocalDate.now(), TaskStatus.PENDING, null, 0);
+        UUID missingParent = UUID.randomUUID();
+        when(taskService.createTasks(any())).thenReturn(List.of(created));
+        when(taskService.parentError(any())).thenAnswer(invocation ->
+                invocation.<TaskRequest>getArgument(0).parentId() == null ? null : "Parent task not found");
+
+        mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [
+                                  {"title": "Invalid", "description": "Past due", "dueDate": "%s"},
+                                  {"title": "Valid", "description": "Created", "dueDate": "%s"},
+                                  {"title": "Orphan", "description": "Missing parent", "dueDate": "%s",
+                                   "parentId": "%s"}
+                                ]
+                                """.formatted(LocalDate.now().minusDays(1), LocalDate.now(), LocalDate.now(),
+                                        missingParent)))
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.status().isOk())
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath("$[0].status")
+                        .value(400))
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath("$[0].error")
+                        .value(containsString("Due date")))
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath("$[1].index")
+                        .value(1))
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath("$[1].status")
+                        .value(201))
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath("$[1].id")
+                        .value(id.toString()))
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath("$[2].status")
+                        .value(400))
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath("$[2].error")
+                        .value("parentId Parent task not found"));
+    }
+
+    @Test
+    void deleteTasksInBulkDelegatesValidIds() throws Exception {
+        UUID id = UUID.randomUUID();
+
+        mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post("/api/tasks/bulk/delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"%s\", null]".formatted(id)))
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.status().isOk())
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath("$[0].status")
+                        .value(204))
+                .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath("$[1].status")
+                        .value(400));
+
+        verify(taskService).deleteTasks(List.of(id));
+    }
+
     @Test
     void getTaskNotFoundReturns404() throws Exception {
         UUID id = UUID.randomUUID();
-        when(taskService.getTask(id)).thenThrow(new TaskServiceException("Task %s not found".formatted(id)));
+        when(taskJsonCache.get(id)).thenThrow(new TaskServiceException("Task %s not found".formatted(id)));
 
         mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get("/api/tasks/{id}", id))
                 .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.status().isNotFound())
                 .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath("$.message")
                         .value(containsString("not found")));
+        assertThat(meterRegistry.get(RestExceptionHandler.SERVICE_ERRORS).counter().count()).isEqualTo(1);
     }
 
     @Test
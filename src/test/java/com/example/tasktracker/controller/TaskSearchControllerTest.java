@@ -0,0 +1,73 @@
+package com.example.tasktracker.controller;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.repository.InMemoryTaskRepository;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.search.TaskSearchIndex;
+import com.example.tasktracker.service.TaskSearchService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+@WebMvcTest(TaskSearchController.class)
+@Import({SimpleMeterRegistry.class, TaskSearchControllerTest.SearchConfiguration.class})
+class TaskSearchControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository repository;
+
+    @Test
+    void returnsMatchingTasksBestFirst() throws Exception {
+        Task inTitle = repository.save(Task.builder().title("Quarterly report")
+                .description("Numbers for the board").build());
+        Task inDescription = repository.save(Task.builder().title("Board meeting")
+                .description("Present the quarterly report").build());
+        repository.save(Task.builder().title("Quarterly planning").description("Roadmap").build());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/search").param("q", "QUARTERLY rep*"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(inTitle.getId().toString()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].id")
+                        .value(inDescription.getId().toString()));
+    }
+
+    @Test
+    void rejectsQueriesWithoutTermsAndOversizedLimits() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/search").param("q", " *-- "))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/search")
+                        .param("q", "report")
+                        .param("limit", "11"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @TestConfiguration
+    static class SearchConfiguration {
+        @Bean
+        InMemoryTaskRepository taskRepository() {
+            return new InMemoryTaskRepository();
+        }
+
+        @Bean
+        TaskSearchIndex taskSearchIndex(TaskRepository repository) {
+            TaskSearchIndex index = new TaskSearchIndex(16);
+            repository.addWriteListener(index);
+            return index;
+        }
+
+        @Bean
+        TaskSearchService taskSearchService(TaskSearchIndex index, TaskRepository repository) {
+            return new TaskSearchService(index, repository, 10);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.tasktracker.controller;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.service.TaskStatsService;
+import com.example.tasktracker.stats.TaskStatistics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+@WebMvcTest(TaskStatsController.class)
+@Import({SimpleMeterRegistry.class, TaskStatsControllerTest.StatsConfiguration.class})
+class TaskStatsControllerTest {
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 2);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskStatistics statistics;
+
+    @Test
+    void reportsCountsOverdueTasksAndWeeklyHistogram() throws Exception {
+        statistics.onWrite(null, task(MONDAY.minusDays(3), TaskStatus.PENDING));
+        statistics.onWrite(null, task(MONDAY.minusDays(1), TaskStatus.COMPLETED));
+        statistics.onWrite(null, task(MONDAY.plusDays(2), TaskStatus.IN_PROGRESS));
+        statistics.onWrite(null, task(MONDAY.plusDays(9), TaskStatus.PENDING));
+        statistics.onWrite(null, task(null, TaskStatus.PENDING));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/stats")
+                        .param("asOf", MONDAY.toString())
+                        .param("to", MONDAY.plusDays(13).toString())
+                        .param("interval", "WEEK"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.total").value(5))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.byStatus.PENDING").value(3))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.undatedByStatus.PENDING").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.overdue").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.dueDates.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.dueDates[0].start").value(MONDAY.toString()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.dueDates[0].byStatus.IN_PROGRESS").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.dueDates[1].total").value(1));
+    }
+
+    @Test
+    void rejectsReversedAndOversizedRanges() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/stats")
+                        .param("from", "2026-03-10")
+                        .param("to", "2026-03-01"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/stats")
+                        .param("from", "2026-01-01")
+                        .param("to", "2027-06-01"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    private static Task task(LocalDate dueDate, TaskStatus status) {
+        return Task.builder().title("Reported").dueDate(dueDate).status(status).build();
+    }
+
+    @TestConfiguration
+    static class StatsConfiguration {
+        @Bean
+        TaskStatistics taskStatistics() {
+            return new TaskStatistics(Clock.systemDefaultZone());
+        }
+
+        @Bean
+        TaskStatsService taskStatsService(TaskStatistics statistics) {
+            return new TaskStatsService(statistics);
+        }
+    }
+}
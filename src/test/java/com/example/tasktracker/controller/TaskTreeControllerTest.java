@@ -0,0 +1,93 @@
+package com.example.tasktracker.controller;
+
+import com.example.tasktracker.config.JsonConfiguration;
+import com.example.tasktracker.config.TreeConfiguration;
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.InMemoryTaskRepository;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.service.TaskService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+@WebMvcTest(TaskTreeController.class)
+@Import({SimpleMeterRegistry.class, JsonConfiguration.class, TreeConfiguration.class,
+        TaskTreeControllerTest.RepositoryConfiguration.class})
+class TaskTreeControllerTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 2);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository repository;
+
+    @Test
+    void returnsSubtreeDepthFirstAndRollsUpStatuses() throws Exception {
+        Task project = save(null, "Project", TODAY);
+        Task later = save(project.getId(), "Later milestone", TODAY.plusDays(9));
+        Task sooner = save(project.getId(), "Sooner milestone", TODAY.plusDays(2));
+        Task step = save(sooner.getId(), "Step", TODAY.plusDays(1));
+        repository.compareAndUpdate(step.getId(), TaskRepository.ANY_VERSION,
+                task -> task.toBuilder().status(TaskStatus.COMPLETED).build());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/{id}/subtree", project.getId()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(4))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(project.getId().toString()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].parentId").doesNotExist())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].id").value(sooner.getId().toString()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[2].id").value(step.getId().toString()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[2].parentId").value(sooner.getId().toString()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[3].id").value(later.getId().toString()));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/{id}/subtasks", project.getId()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(sooner.getId().toString()));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/{id}/rollup", project.getId()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.task.id").value(project.getId().toString()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.descendants").value(3))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.byStatus.PENDING").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.byStatus.IN_PROGRESS").value(0))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.byStatus.COMPLETED").value(1));
+    }
+
+    @Test
+    void unknownTasksAreNotFound() throws Exception {
+        UUID id = UUID.randomUUID();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/{id}/subtree", id))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/{id}/rollup", id))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    private Task save(UUID parentId, String title, LocalDate dueDate) {
+        return repository.save(Task.builder().title(title).description("Planned").dueDate(dueDate)
+                .parentId(parentId).build());
+    }
+
+    @TestConfiguration
+    static class RepositoryConfiguration {
+        @Bean
+        TaskRepository taskRepository() {
+            return new InMemoryTaskRepository();
+        }
+
+        @Bean
+        TaskService taskService(TaskRepository repository) {
+            return new TaskService(repository);
+        }
+    }
+}
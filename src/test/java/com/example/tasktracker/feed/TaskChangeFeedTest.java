@@ -0,0 +1,127 @@
+package com.example.tasktracker.feed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.InMemoryTaskRepository;
+import com.example.tasktracker.repository.TaskRepository;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TaskChangeFeedTest {
+    private InMemoryTaskRepository repository;
+    private TaskChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryTaskRepository();
+        feed = new TaskChangeFeed(4);
+        repository.addWriteListener(feed);
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.close();
+    }
+
+    @Test
+    void recordsEveryWriteInSequenceOrder() {
+        long start = feed.latestSequence();
+        Task task = repository.save(Task.builder().title("Followed").description("Changes").build());
+        Task updated = repository.compareAndUpdate(task.getId(), TaskRepository.ANY_VERSION,
+                current -> current.toBuilder().status(TaskStatus.COMPLETED).build()).orElseThrow();
+        repository.deleteById(task.getId());
+
+        List<TaskChange> changes = new ArrayList<>();
+        long last = feed.read(start, 10, changes::add);
+
+        assertThat(last).isEqualTo(start + 3).isEqualTo(feed.latestSequence());
+        assertThat(changes).containsExactly(
+                new TaskChange(start + 1, TaskChange.Type.CREATED, task.getId(), task),
+                new TaskChange(start + 2, TaskChange.Type.UPDATED, task.getId(), updated),
+                new TaskChange(start + 3, TaskChange.Type.DELETED, task.getId(), null));
+        assertThat(feed.read(last, 10, changes::add)).isEqualTo(last);
+    }
+
+    @Test
+    void readerThatFellOutOfTheBufferMustResync() {
+        long start = feed.latestSequence();
+        for (int i = 0; i < feed.capacity() + 1; i++) {
+            repository.save(Task.builder().title("Task " + i).description("Overflow").build());
+        }
+
+        assertThatThrownBy(() -> feed.read(start, 10, change -> { }))
+                .isInstanceOf(ResyncRequiredException.class)
+                .extracting("latestSequence")
+                .isEqualTo(start + feed.capacity() + 1);
+        assertThat(feed.read(start + 1, 10, change -> { })).isEqualTo(feed.latestSequence());
+    }
+
+    @Test
+    void sequencesOfAnotherProcessMustResync() {
+        assertThatThrownBy(() -> feed.read(42, 10, change -> { }))
+                .isInstanceOf(ResyncRequiredException.class);
+        assertThatThrownBy(() -> feed.read(feed.latestSequence() + 1, 10, change -> { }))
+                .isInstanceOf(ResyncRequiredException.class);
+    }
+
+    @Test
+    void awaitAfterWakesUpOnPublish() throws Exception {
+        long start = feed.latestSequence();
+        assertThat(feed.awaitAfter(start, Duration.ofMillis(10))).isFalse();
+
+        CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return feed.awaitAfter(start, Duration.ofSeconds(30));
+            } catch (InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        Thread.sleep(50);
+        repository.save(Task.builder().title("Wake up").description("Published").build());
+
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void concurrentWritersNeverSkipASequence() throws Exception {
+        TaskChangeFeed large = new TaskChangeFeed(1 << 16);
+        repository.addWriteListener(large);
+        long start = large.latestSequence();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 5_000; i++) {
+                        repository.save(Task.builder().title("Concurrent").description("Write").build());
+                    }
+                }));
+            }
+            List<Long> sequences = new ArrayList<>();
+            long read = start;
+            while (read < start + 20_000) {
+                read = large.read(read, 1_000, change -> sequences.add(change.sequence()));
+                large.awaitAfter(read, Duration.ofMillis(100));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            assertThat(sequences).hasSize(20_000).isSorted().doesNotHaveDuplicates();
+        } finally {
+            executor.shutdown();
+            large.close();
+        }
+    }
+}
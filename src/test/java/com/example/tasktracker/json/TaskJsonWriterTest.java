@@ -0,0 +1,80 @@
+package com.example.tasktracker.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.tasktracker.dto.TaskResponse;
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class TaskJsonWriterTest {
+    private final JsonMapper mapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    void writesTheSameBytesAsJackson() throws Exception {
+        List<Task> tasks = List.of(
+                task(new UUID(0, 0), "Plain", "Description", LocalDate.of(2026, 3, 2), TaskStatus.PENDING, 0),
+                task(new UUID(-1, -1), "Quotes \" and \\ and /", "Tab\tnew line\ncarriage\rbell\u0007",
+                        LocalDate.of(1, 1, 1), TaskStatus.IN_PROGRESS, Long.MAX_VALUE),
+                task(UUID.randomUUID(), "Ünïcödé € and 漢字", "Emoji 🚀 and lone \uD800 surrogate",
+                        LocalDate.of(10_000, 12, 31), TaskStatus.COMPLETED, Long.MIN_VALUE),
+                task(UUID.randomUUID(), null, null, null, null, -42),
+                task(UUID.randomUUID(), "", "\u007F\u0000\u001F ", LocalDate.of(-5, 6, 7),
+                        TaskStatus.PENDING, 7),
+                task(UUID.randomUUID(), "Subtask", "Has a parent", LocalDate.of(2026, 3, 3),
+                        TaskStatus.IN_PROGRESS, 1).toBuilder().parentId(UUID.randomUUID()).build());
+
+        assertThat(write(new TaskJsonWriter(), tasks)).isEqualTo(jackson(tasks));
+        assertThat(write(new TaskJsonWriter(), List.of())).isEqualTo("[]");
+    }
+
+    @Test
+    void writesListsLongerThanItsBufferAcrossManyFlushes() throws Exception {
+        Random random = new Random(42);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            StringBuilder title = new StringBuilder();
+            for (int j = random.nextInt(200); j > 0; j--) {
+                title.append((char) random.nextInt(0x3000));
+            }
+            tasks.add(task(new UUID(random.nextLong(), random.nextLong()), title.toString(), "x".repeat(i),
+                    LocalDate.ofEpochDay(random.nextInt(40_000)), TaskStatus.values()[i % 3], i));
+        }
+        TaskJsonWriter writer = new TaskJsonWriter(TaskJsonWriter.MIN_BUFFER_SIZE, 1);
+
+        assertThat(write(writer, tasks)).isEqualTo(jackson(tasks));
+        assertThat(write(writer, tasks)).isEqualTo(jackson(tasks));
+    }
+
+    private static String write(TaskJsonWriter writer, List<Task> tasks) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeArray(tasks, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private String jackson(List<Task> tasks) throws Exception {
+        List<TaskResponse> responses = tasks.stream()
+                .map(task -> new TaskResponse(task.getId(), task.getTitle(), task.getDescription(),
+                        task.getDueDate(), task.getStatus(), task.getParentId(), task.getVersion()))
+                .toList();
+        return new String(mapper.writeValueAsBytes(responses), StandardCharsets.UTF_8);
+    }
+
+    private static Task task(UUID id, String title, String description, LocalDate dueDate, TaskStatus status,
+            long version) {
+        return Task.builder().id(id).title(title).description(description).dueDate(dueDate).status(status)
+                .version(version).build();
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.tasktracker.overdue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.InMemoryTaskRepository;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class OverdueTaskSchedulerTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 5, 4);
+
+    private final InMemoryTaskRepository repository = new InMemoryTaskRepository();
+    private final MutableClock clock = new MutableClock(TODAY);
+    private final List<TasksOverdueEvent> events = new CopyOnWriteArrayList<>();
+
+    @Test
+    void reportsEachOpenTaskOnceAfterItsDueDate() {
+        OverdueTaskScheduler scheduler = scheduler(1_000);
+        Task dueToday = repository.save(task(TODAY, TaskStatus.PENDING));
+        Task dueTomorrow = repository.save(task(TODAY.plusDays(1), TaskStatus.IN_PROGRESS));
+        repository.save(task(TODAY, TaskStatus.COMPLETED));
+        repository.save(task(null, TaskStatus.PENDING));
+
+        assertThat(scheduler.processDue()).isZero();
+        assertThat(scheduler.scheduledCount()).isEqualTo(2);
+
+        clock.today = TODAY.plusDays(1);
+        assertThat(scheduler.processDue()).isEqualTo(1);
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.today()).isEqualTo(TODAY.plusDays(1));
+            assertThat(event.tasks()).extracting(Task::getId).containsExactly(dueToday.getId());
+        });
+
+        repository.save(repository.findById(dueToday.getId()).orElseThrow().toBuilder()
+                .status(TaskStatus.IN_PROGRESS).build());
+        clock.today = TODAY.plusDays(5);
+        assertThat(scheduler.processDue()).isEqualTo(1);
+        assertThat(events.get(1).tasks()).extracting(Task::getId).containsExactly(dueTomorrow.getId());
+        assertThat(scheduler.processDue()).isZero();
+        assertThat(scheduler.scheduledCount()).isZero();
+        assertThat(scheduler.reportedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void followsDueDateChangesCompletionsAndReopenedTasks() {
+        OverdueTaskScheduler scheduler = scheduler(1_000);
+        Task postponed = repository.save(task(TODAY, TaskStatus.PENDING));
+        Task completed = repository.save(task(TODAY, TaskStatus.PENDING));
+        Task reopened = repository.save(task(TODAY.minusDays(3), TaskStatus.COMPLETED));
+
+        repository.save(postponed.toBuilder().dueDate(TODAY.plusDays(7)).build());
+        repository.save(completed.toBuilder().status(TaskStatus.COMPLETED).build());
+        Task pending = repository.save(reopened.toBuilder().status(TaskStatus.PENDING).build());
+        repository.save(pending.toBuilder().title("Renamed").build());
+        clock.today = TODAY.plusDays(1);
+
+        assertThat(scheduler.processDue()).isEqualTo(1);
+        assertThat(events.get(0).tasks()).singleElement().satisfies(task -> {
+            assertThat(task.getId()).isEqualTo(reopened.getId());
+            assertThat(task.getTitle()).isEqualTo("Renamed");
+        });
+        assertThat(scheduler.scheduledCount()).isEqualTo(1);
+
+        repository.deleteById(postponed.getId());
+        clock.today = TODAY.plusDays(30);
+        assertThat(scheduler.processDue()).isZero();
+        assertThat(scheduler.scheduledCount()).isZero();
+    }
+
+    @Test
+    void publishesInBatchesAndCatchesUpOnTasksOverdueBeforeStartup() {
+        Task missed = repository.save(task(TODAY.minusDays(3), TaskStatus.PENDING));
+        repository.save(task(TODAY.minusDays(2), TaskStatus.COMPLETED));
+        repository.saveAll(Stream.generate(() -> task(TODAY, TaskStatus.PENDING)).limit(2_500).toList());
+        OverdueTaskScheduler scheduler = scheduler(1_000);
+
+        assertThat(scheduler.processDue()).isOne();
+        assertThat(events).singleElement().satisfies(event ->
+                assertThat(event.tasks()).extracting(Task::getId).containsExactly(missed.getId()));
+        clock.today = TODAY.plusDays(1);
+
+        assertThat(scheduler.processDue()).isEqualTo(2_500);
+        assertThat(events).extracting(event -> event.tasks().size()).containsExactly(1, 1_000, 1_000, 500);
+    }
+
+    @Test
+    void reportsTasksFiledWhileTheirDayIsBeingProcessed() throws Exception {
+        OverdueTaskScheduler scheduler = scheduler(100);
+        clock.today = TODAY.plusDays(1);
+        Set<UUID> saved = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 2; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 5_000; i++) {
+                        saved.add(repository.save(task(TODAY, TaskStatus.PENDING)).getId());
+                    }
+                }));
+            }
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 200; i++) {
+                    scheduler.processDue();
+                }
+            }));
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        scheduler.processDue();
+
+        List<UUID> reported = events.stream()
+                .flatMap(event -> event.tasks().stream())
+                .map(Task::getId)
+                .toList();
+        assertThat(reported).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(saved);
+        assertThat(scheduler.scheduledCount()).isZero();
+    }
+
+    private OverdueTaskScheduler scheduler(int batchSize) {
+        OverdueTaskScheduler scheduler = new OverdueTaskScheduler(clock, batchSize,
+                events::add);
+        try (Stream<Task> tasks = repository.streamAll()) {
+            scheduler.addAll(tasks);
+        }
+        repository.addWriteListener(scheduler);
+        return scheduler;
+    }
+
+    private static Task task(LocalDate dueDate, TaskStatus status) {
+        return Task.builder().title("Due").dueDate(dueDate).status(status).build();
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile LocalDate today;
+
+        MutableClock(LocalDate today) {
+            this.today = today;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return today.atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+    }
+}
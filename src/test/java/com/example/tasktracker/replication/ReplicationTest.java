@@ -0,0 +1,155 @@
+package com.example.tasktracker.replication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.tasktracker.TaskTrackerApiApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+class ReplicationTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+    private ConfigurableApplicationContext leader;
+    private ConfigurableApplicationContext follower;
+    private URI leaderUrl;
+    private URI followerUrl;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        leader = start("task-tracker.replication.role=leader");
+        leaderUrl = url(leader);
+        // Written before the follower starts, so it arrives through the snapshot.
+        create(leaderUrl, "Before follower");
+        follower = start("task-tracker.replication.role=follower",
+                "task-tracker.replication.leader-url=" + leaderUrl,
+                "task-tracker.replication.poll-timeout=2s",
+                "task-tracker.replication.retry-delay=100ms",
+                "task-tracker.overdue.check-interval=0");
+        followerUrl = url(follower);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        if (follower != null) {
+            follower.close();
+        }
+        if (leader != null) {
+            leader.close();
+        }
+    }
+
+    @Test
+    void followerServesLeaderWritesWhenAskedForTheirSequence() throws Exception {
+        HttpResponse<String> created = create(leaderUrl, "Replicated");
+        String id = objectMapper.readTree(created.body()).get("id").asText();
+        String sequence = created.headers()
+                .firstValue(ReplicationCodec.SEQUENCE_HEADER).orElseThrow();
+
+        HttpResponse<String> read = send(HttpRequest.newBuilder(followerUrl.resolve("/api/tasks/" + id))
+                .header(ReplicationCodec.MIN_SEQUENCE_HEADER, sequence)
+                .GET());
+        assertThat(read.statusCode()).isEqualTo(200);
+        assertThat(objectMapper.readTree(read.body()).get("title").asText())
+                .isEqualTo("Replicated");
+
+        HttpResponse<String> all = send(HttpRequest.newBuilder(followerUrl.resolve("/api/tasks"))
+                .header(ReplicationCodec.MIN_SEQUENCE_HEADER, sequence)
+                .GET());
+        JsonNode tasks = objectMapper.readTree(all.body());
+        assertThat(tasks).extracting(task -> task.get("title").asText())
+                .containsExactlyInAnyOrder("Before follower", "Replicated");
+    }
+
+    @Test
+    void replicatesDeletes() throws Exception {
+        HttpResponse<String> created = create(leaderUrl, "Short-lived");
+        String id = objectMapper.readTree(created.body()).get("id").asText();
+        HttpResponse<String> deleted = send(
+                HttpRequest.newBuilder(leaderUrl.resolve("/api/tasks/" + id)).DELETE());
+        assertThat(deleted.statusCode()).isEqualTo(204);
+        String sequence = deleted.headers()
+                .firstValue(ReplicationCodec.SEQUENCE_HEADER).orElseThrow();
+
+        HttpResponse<String> read = send(HttpRequest.newBuilder(followerUrl.resolve("/api/tasks/" + id))
+                .header(ReplicationCodec.MIN_SEQUENCE_HEADER, sequence)
+                .GET());
+        assertThat(read.statusCode()).isEqualTo(404);
+    }
+
+    @Test
+    void redirectsWritesToTheLeader() throws Exception {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(followerUrl.resolve("/api/tasks"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"title\": \"Misrouted\"}")));
+
+        assertThat(response.statusCode()).isEqualTo(307);
+        assertThat(response.headers().firstValue("Location"))
+                .contains(leaderUrl.resolve("/api/tasks").toString());
+    }
+
+    @Test
+    void answersUnavailableWhenTheSequenceIsNotReached() throws Exception {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(followerUrl.resolve("/api/tasks"))
+                .header(ReplicationCodec.MIN_SEQUENCE_HEADER, Long.toString(Long.MAX_VALUE))
+                .timeout(Duration.ofSeconds(30))
+                .GET());
+
+        assertThat(response.statusCode()).isEqualTo(503);
+        assertThat(response.headers().firstValue("Retry-After")).isEqualTo(Optional.of("1"));
+    }
+
+    /**
+     * Starts a node with {@code properties} as command-line arguments, which take precedence over
+     * {@code application.properties}.
+     */
+    private static ConfigurableApplicationContext start(String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0", "--task-tracker.replication.read-your-writes-timeout=1s"));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        return new SpringApplicationBuilder(TaskTrackerApiApplication.class)
+                .run(args.toArray(String[]::new));
+    }
+
+    private static URI url(ConfigurableApplicationContext context) {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return URI.create("http://localhost:" + port);
+    }
+
+    private HttpResponse<String> create(URI node, String title) throws IOException,
+            InterruptedException {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(node.resolve("/api/tasks"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        """
+                        {"title": "%s", "description": "Replication", "dueDate": "%s"}
+                        """.formatted(title, LocalDate.now().plusDays(7)))));
+        assertThat(response.statusCode()).isEqualTo(201);
+        return response;
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException,
+            InterruptedException {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -1,10 +1,19 @@
 package com.example.tasktracker.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.example.tasktracker.model.Task;
 import com.example.tasktracker.model.TaskStatus;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -72,6 +81,49 @@ class InMemoryTaskRepositoryTest {
                 .isEqualTo("Soon");
     }
 
+    @Test
+    void findByStatusAndDueOnOrBeforeAppliesBothFilters() {
+        Task soonPending = Task.builder()
+                .title("Soon")
+                .description("Pending")
+                .dueDate(LocalDate.now().plusDays(1))
+                .build();
+        Task laterPending = soonPending.toBuilder()
+                .id(null)
+                .dueDate(LocalDate.now().plusDays(5))
+                .build();
+        Task soonCompleted = soonPending.toBuilder()
+                .id(null)
+                .status(TaskStatus.COMPLETED)
+                .build();
+        repository.save(soonPending);
+        repository.save(laterPending);
+        repository.save(soonCompleted);
+
+        assertThat(repository.findByStatusAndDueOnOrBefore(TaskStatus.PENDING, LocalDate.now().plusDays(2)))
+                .containsExactly(soonPending);
+    }
+
+    @Test
+    void loadAllIndexesEveryTask() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            tasks.add(Task.builder()
+                    .title("Loaded " + i)
+                    .description("Bulk")
+                    .dueDate(LocalDate.now().plusDays(50 - i))
+                    .status(i % 2 == 0 ? TaskStatus.PENDING : TaskStatus.COMPLETED)
+                    .build());
+        }
+
+        repository.loadAll(tasks);
+
+        assertThat(repository.findAll()).containsExactlyInAnyOrderElementsOf(tasks);
+        assertThat(repository.findByStatus(TaskStatus.PENDING)).hasSize(25);
+        assertThat(repository.findPage(null, null, null, 1)).containsExactly(tasks.get(49));
+        assertThatThrownBy(() -> repository.loadAll(tasks)).isInstanceOf(IllegalStateException.class);
+    }
+
     @Test
     void deleteByIdRemovesTask() {
         Task task = Task.builder()
@@ -85,4 +137,223 @@ class InMemoryTaskRepositoryTest {
 
         assertThat(repository.findById(task.getId())).isEmpty();
     }
+
+    @Test
+    void findDueOnOrBeforeFollowsDueDateChanges() {
+        Task task = Task.builder()
+                .title("Moved")
+                .description("Rescheduled")
+                .dueDate(LocalDate.now().plusDays(1))
+                .build();
+        repository.save(task);
+        repository.save(task.toBuilder().dueDate(LocalDate.now().plusDays(10)).build());
+
+        assertThat(repository.findDueOnOrBefore(LocalDate.now().plusDays(2))).isEmpty();
+        assertThat(repository.findDueOnOrBefore(LocalDate.now().plusDays(10)))
+                .extracting(Task::getId)
+                .containsExactly(task.getId());
+        assertThat(repository.dueDateIndexSize()).isEqualTo(1);
+    }
+
+    @Test
+    void indexesStayConsistentUnderConcurrentUpdatesAndDeletes() throws Exception {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Task task = Task.builder()
+                    .title("Task " + i)
+                    .description("Concurrent")
+                    .dueDate(LocalDate.now().plusDays(i % 7))
+                    .build();
+            repository.save(task);
+            tasks.add(task);
+        }
+        TaskStatus[] statuses = TaskStatus.values();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int worker = 0; worker < 8; worker++) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 5_000; i++) {
+                        Task task = tasks.get(random.nextInt(tasks.size()));
+                        if (random.nextInt(10) == 0) {
+                            repository.deleteById(task.getId());
+                        } else {
+                            repository.save(task.toBuilder()
+                                    .status(statuses[random.nextInt(statuses.length)])
+                                    .dueDate(LocalDate.now().plusDays(random.nextInt(7)))
+                                    .build());
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        List<Task> remaining = repository.findAll();
+        for (TaskStatus status : statuses) {
+            List<Task> expected = remaining.stream().filter(task -> task.getStatus() == status).toList();
+            assertThat(repository.findByStatus(status)).containsExactlyInAnyOrderElementsOf(expected);
+            assertThat(repository.statusIndexSize(status)).isEqualTo(expected.size());
+        }
+        assertThat(repository.findDueOnOrBefore(LocalDate.now().plusDays(7)))
+                .containsExactlyInAnyOrderElementsOf(remaining);
+        assertThat(repository.dueDateIndexSize()).isEqualTo(remaining.size());
+        assertThat(repository.count()).isEqualTo(remaining.size());
+        for (TaskStatus status : statuses) {
+            assertThat(repository.countByStatus(status))
+                    .isEqualTo(remaining.stream().filter(task -> task.getStatus() == status).count());
+        }
+    }
+
+    @Test
+    void modificationCountsTrackWritesGloballyAndPerAffectedStatus() {
+        Task task = repository.save(Task.builder().title("Counted").description("Writes").build());
+        repository.compareAndUpdate(task.getId(), TaskRepository.ANY_VERSION,
+                current -> current.toBuilder().title("Renamed").build());
+        repository.compareAndUpdate(task.getId(), TaskRepository.ANY_VERSION,
+                current -> current.toBuilder().status(TaskStatus.IN_PROGRESS).build());
+        repository.deleteById(task.getId());
+        repository.deleteById(task.getId());
+        repository.compareAndUpdate(UUID.randomUUID(), TaskRepository.ANY_VERSION, current -> current);
+
+        assertThat(repository.modificationCount()).isEqualTo(4);
+        assertThat(repository.modificationCountByStatus(TaskStatus.PENDING)).isEqualTo(3);
+        assertThat(repository.modificationCountByStatus(TaskStatus.IN_PROGRESS)).isEqualTo(2);
+        assertThat(repository.modificationCountByStatus(TaskStatus.COMPLETED)).isZero();
+    }
+
+    @Test
+    void compareAndUpdateChecksVersionAndDoesNotResurrectDeletedTasks() {
+        Task task = repository.save(Task.builder().title("Versioned").description("CAS").build());
+
+        Task updated = repository.compareAndUpdate(task.getId(), 0,
+                current -> current.toBuilder().status(TaskStatus.COMPLETED).build()).orElseThrow();
+
+        assertThat(updated.getVersion()).isEqualTo(1);
+        assertThat(repository.findByStatus(TaskStatus.COMPLETED)).containsExactly(updated);
+        assertThatThrownBy(() -> repository.compareAndUpdate(task.getId(), 0, current -> current))
+                .isInstanceOf(TaskVersionConflictException.class)
+                .extracting("currentVersion")
+                .isEqualTo(1L);
+        repository.deleteById(task.getId());
+        assertThat(repository.compareAndUpdate(task.getId(), TaskRepository.ANY_VERSION,
+                current -> current)).isEmpty();
+        assertThat(repository.findById(task.getId())).isEmpty();
+    }
+
+    @Test
+    void compareAndUpdateLosesNoUpdatesOnHotKeys() throws Exception {
+        List<Task> hot = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            hot.add(repository.save(Task.builder().title("0").description("Counter").build()));
+        }
+        int workers = 8;
+        int incrementsPerWorker = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int worker = 0; worker < workers; worker++) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    int conflicts = 0;
+                    for (int i = 0; i < incrementsPerWorker; i++) {
+                        UUID id = hot.get(random.nextInt(hot.size())).getId();
+                        while (true) {
+                            Task read = repository.findById(id).orElseThrow();
+                            try {
+                                repository.compareAndUpdate(id, read.getVersion(), current -> current.toBuilder()
+                                        .title(Integer.toString(Integer.parseInt(current.getTitle()) + 1))
+                                        .build());
+                                break;
+                            } catch (TaskVersionConflictException ex) {
+                                conflicts++;
+                            }
+                        }
+                    }
+                    return conflicts;
+                }));
+            }
+            for (Future<Integer> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        int total = 0;
+        for (Task task : hot) {
+            Task stored = repository.findById(task.getId()).orElseThrow();
+            assertThat(stored.getVersion()).isEqualTo(Long.parseLong(stored.getTitle()));
+            total += Integer.parseInt(stored.getTitle());
+        }
+        assertThat(total).isEqualTo(workers * incrementsPerWorker);
+    }
+
+    @Test
+    void statusQueriesNeverMissATaskWhileItChangesStatus() throws Exception {
+        Task task = repository.save(Task.builder()
+                .title("Toggled")
+                .description("Concurrent")
+                .status(TaskStatus.PENDING)
+                .dueDate(LocalDate.now())
+                .build());
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> writer = executor.submit(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    repository.compareAndUpdate(task.getId(), TaskRepository.ANY_VERSION,
+                            current -> current.toBuilder()
+                                    .status(current.getStatus() == TaskStatus.PENDING
+                                            ? TaskStatus.IN_PROGRESS : TaskStatus.PENDING)
+                                    .build());
+                }
+                done.set(true);
+            });
+            while (!done.get()) {
+                Task before = repository.findById(task.getId()).orElseThrow();
+                List<Task> pending = repository.findByStatus(TaskStatus.PENDING);
+                Task after = repository.findById(task.getId()).orElseThrow();
+                if (before == after && before.getStatus() == TaskStatus.PENDING) {
+                    assertThat(pending).containsExactly(before);
+                }
+            }
+            writer.get();
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(repository.statusIndexSize(TaskStatus.PENDING)
+                + repository.statusIndexSize(TaskStatus.IN_PROGRESS)).isEqualTo(1);
+    }
+
+    @Test
+    void findPageResumesAfterCursorWithinStatus() {
+        List<Task> pending = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Task task = Task.builder()
+                    .title("Pending " + i)
+                    .description("Paged")
+                    .dueDate(LocalDate.now().plusDays(i))
+                    .build();
+            repository.save(task);
+            pending.add(task);
+        }
+        repository.save(Task.builder()
+                .title("Done")
+                .description("Filtered out")
+                .dueDate(LocalDate.now())
+                .status(TaskStatus.COMPLETED)
+                .build());
+
+        List<Task> first = repository.findPage(TaskStatus.PENDING, null, null, 3);
+        List<Task> rest = repository.findPage(TaskStatus.PENDING, null, TaskCursor.of(first.get(2)), 3);
+
+        assertThat(first).containsExactlyElementsOf(pending.subList(0, 3));
+        assertThat(rest).containsExactly(pending.get(3));
+    }
 }
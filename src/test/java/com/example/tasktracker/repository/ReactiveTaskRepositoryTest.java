@@ -0,0 +1,93 @@
+package com.example.tasktracker.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+class ReactiveTaskRepositoryTest {
+    private static final int PAGE_SIZE = 4;
+
+    private TaskRepository store;
+    private ReactiveTaskRepository repository;
+    private List<Task> tasks;
+
+    @BeforeEach
+    void setUp() {
+        store = spy(new InMemoryTaskRepository());
+        repository = new ReactiveTaskRepository(store, PAGE_SIZE);
+        LocalDate today = LocalDate.now();
+        tasks = IntStream.range(0, 10)
+                .mapToObj(i -> store.save(Task.builder()
+                        .title("Task " + i)
+                        .dueDate(today.plusDays(i % 3))
+                        .status(i % 2 == 0 ? TaskStatus.PENDING : TaskStatus.COMPLETED)
+                        .build()))
+                .sorted(Comparator.comparing(Task::getDueDate).thenComparing(Task::getId))
+                .toList();
+    }
+
+    @Test
+    void findAllStreamsEveryTaskInDueDateOrder() {
+        StepVerifier.create(repository.findAll(null, null))
+                .expectNextSequence(tasks)
+                .verifyComplete();
+    }
+
+    @Test
+    void findAllAppliesFilters() {
+        LocalDate dueOnOrBefore = LocalDate.now().plusDays(1);
+        List<Task> expected = tasks.stream()
+                .filter(task -> task.getStatus() == TaskStatus.PENDING)
+                .filter(task -> !task.getDueDate().isAfter(dueOnOrBefore))
+                .toList();
+
+        StepVerifier.create(repository.findAll(TaskStatus.PENDING, dueOnOrBefore))
+                .expectNextSequence(expected)
+                .verifyComplete();
+    }
+
+    @Test
+    void findAllReadsPagesOnlyAsDemanded() {
+        StepVerifier.create(repository.findAll(null, null), 0)
+                .expectSubscription()
+                .then(() -> verify(store, times(0)).findPage(isNull(), isNull(), any(), anyInt()))
+                .thenRequest(2)
+                .expectNextSequence(tasks.subList(0, 2))
+                .then(() -> verify(store, times(1)).findPage(isNull(), isNull(), any(), anyInt()))
+                .thenRequest(PAGE_SIZE)
+                .expectNextSequence(tasks.subList(2, 2 + PAGE_SIZE))
+                .thenCancel()
+                .verify();
+        verify(store, times(2)).findPage(isNull(), isNull(), any(), anyInt());
+    }
+
+    @Test
+    void writesAreAppliedOnSubscription() {
+        Task task = Task.builder().title("Reactive").dueDate(LocalDate.now()).build();
+
+        StepVerifier.create(repository.save(task)).expectNext(task).verifyComplete();
+        StepVerifier.create(repository.compareAndUpdate(task.getId(), 0,
+                        current -> current.toBuilder().status(TaskStatus.COMPLETED).build()))
+                .assertNext(updated -> assertThat(updated.getVersion()).isEqualTo(1))
+                .verifyComplete();
+        StepVerifier.create(repository.compareAndUpdate(task.getId(), 0, current -> current))
+                .expectError(TaskVersionConflictException.class)
+                .verify();
+        StepVerifier.create(repository.deleteById(task.getId())).verifyComplete();
+        StepVerifier.create(repository.findById(task.getId())).verifyComplete();
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.tasktracker.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class TaskBackfillTest {
+
+    @Test
+    void writesBeforeTheFillHideTheirPreviousStateAndAreNotFilledAgain() {
+        TaskBackfill backfill = new TaskBackfill();
+        List<String> applied = new ArrayList<>();
+        Task updated = task("Updated");
+        Task deleted = task("Deleted");
+        Task untouched = task("Untouched");
+        Task rejected = task("Rejected");
+
+        backfill.write(updated, updated.toBuilder().status(TaskStatus.COMPLETED).build(),
+                (previous, current) -> applied.add(describe(previous, current)));
+        backfill.write(deleted, null, (previous, current) -> applied.add(describe(previous, current)));
+        assertThatThrownBy(() -> backfill.write(rejected, rejected, (previous, current) -> {
+            throw new IllegalArgumentException("Rejected");
+        })).isInstanceOf(IllegalArgumentException.class);
+        backfill.addAll(Stream.of(updated, deleted, untouched, rejected),
+                task -> applied.add("fill " + task.getTitle()));
+        backfill.write(untouched, null, (previous, current) -> applied.add(describe(previous, current)));
+
+        assertThat(applied).containsExactly(
+                "null -> Updated COMPLETED",
+                "fill Untouched",
+                "fill Rejected",
+                "Untouched PENDING -> null");
+        assertThatThrownBy(() -> backfill.addAll(Stream.empty(), task -> { }))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static String describe(Task previous, Task current) {
+        return describe(previous) + " -> " + describe(current);
+    }
+
+    private static String describe(Task task) {
+        return task == null ? "null" : task.getTitle() + " " + task.getStatus();
+    }
+
+    private static Task task(String title) {
+        return Task.builder().title(title).status(TaskStatus.PENDING).build();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.tasktracker.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.tasktracker.model.Task;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class TaskOrderSortTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 7);
+
+    @Test
+    void sortsLikeTheTaskOrderIncludingIdsThatShareTheirHighBits() {
+        Random random = new Random(17);
+        Task[] tasks = new Task[20_000];
+        for (int i = 0; i < tasks.length; i++) {
+            // Few distinct high halves, with both signs, so many ids tie on the sorted prefix.
+            long mostSignificant = (random.nextInt(8) - 4L) << 60 | random.nextInt(4);
+            tasks[i] = task(random.nextInt(10) == 0 ? null : TODAY.plusDays(random.nextInt(30)),
+                    new UUID(mostSignificant, random.nextLong()));
+        }
+        Task[] expected = tasks.clone();
+        Arrays.sort(expected, TaskCursor.TASK_ORDER);
+
+        Task[] sorted = TaskOrderSort.sorted(tasks);
+
+        assertThat(sorted).containsExactly(expected);
+    }
+
+    @Test
+    void fallsBackToComparingWhenDueDatesAreSparse() {
+        Random random = new Random(19);
+        Task[] tasks = new Task[1_000];
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i] = task(random.nextBoolean() ? null : TODAY.plusYears(random.nextInt(100)),
+                    UUID.randomUUID());
+        }
+        Task[] expected = tasks.clone();
+        Arrays.sort(expected, TaskCursor.TASK_ORDER);
+
+        assertThat(TaskOrderSort.sorted(tasks)).containsExactly(expected);
+        assertThat(TaskOrderSort.sorted(new Task[0])).isEmpty();
+    }
+
+    private static Task task(LocalDate dueDate, UUID id) {
+        return Task.builder().id(id).title("Sorted").dueDate(dueDate).build();
+    }
+}
@@ -0,0 +1,314 @@
+package com.example.tasktracker.repository.columnar;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.InMemoryTaskRepository;
+import com.example.tasktracker.repository.TaskCursor;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.repository.TaskVersionConflictException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class ColumnarTaskRepositoryTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 1);
+    private static final int SMALL_TEXT_PAGE = 4096;
+
+    @Test
+    void saveAndFindByIdRoundTripsEveryField() {
+        ColumnarTaskRepository repository = new ColumnarTaskRepository();
+        Task task = Task.builder()
+                .title("Größe prüfen ✓")
+                .description("")
+                .dueDate(TODAY)
+                .status(TaskStatus.IN_PROGRESS)
+                .parentId(UUID.randomUUID())
+                .version(7)
+                .build();
+        Task undated = Task.builder().title("Undated").build();
+
+        repository.save(task);
+        repository.save(undated);
+
+        assertThat(repository.findById(task.getId())).get()
+                .usingRecursiveComparison()
+                .isEqualTo(task);
+        assertThat(repository.findById(undated.getId())).get()
+                .usingRecursiveComparison()
+                .isEqualTo(undated);
+        assertThat(repository.findById(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    void answersEveryQueryLikeTheInMemoryRepository() {
+        ColumnarTaskRepository columnar = new ColumnarTaskRepository(0, SMALL_TEXT_PAGE);
+        InMemoryTaskRepository reference = new InMemoryTaskRepository();
+        Random random = new Random(42);
+        List<UUID> ids = new ArrayList<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            int operation = random.nextInt(10);
+            if (operation < 5 || ids.isEmpty()) {
+                Task task = randomTask(random, null);
+                ids.add(task.getId());
+                columnar.save(task);
+                reference.save(task);
+            } else if (operation < 8) {
+                Task task = randomTask(random, ids.get(random.nextInt(ids.size())));
+                columnar.save(task);
+                reference.save(task);
+            } else {
+                UUID id = ids.remove(random.nextInt(ids.size()));
+                columnar.deleteById(id);
+                reference.deleteById(id);
+            }
+        }
+
+        assertSameContents(columnar, reference);
+        assertThat(columnar.modificationCount()).isEqualTo(reference.modificationCount());
+        for (TaskStatus status : TaskStatus.values()) {
+            assertThat(columnar.modificationCountByStatus(status))
+                    .isEqualTo(reference.modificationCountByStatus(status));
+        }
+    }
+
+    @Test
+    void loadAllIndexesEveryTaskLikeTheInMemoryRepository() {
+        Random random = new Random(7);
+        List<Task> tasks = Stream.generate(() -> randomTask(random, null)).limit(5_000).toList();
+        ColumnarTaskRepository columnar = new ColumnarTaskRepository();
+        InMemoryTaskRepository reference = new InMemoryTaskRepository();
+
+        columnar.loadAll(tasks);
+        reference.loadAll(tasks);
+
+        assertSameContents(columnar, reference);
+        assertThat(columnar.modificationCount()).isEqualTo(tasks.size());
+        assertThatThrownBy(() -> columnar.loadAll(tasks)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void compareAndUpdateChecksVersionAndDoesNotResurrectDeletedTasks() {
+        ColumnarTaskRepository repository = new ColumnarTaskRepository();
+        Task task = repository.save(Task.builder().title("Versioned").dueDate(TODAY).build());
+
+        Task updated = repository.compareAndUpdate(task.getId(), 0,
+                current -> current.toBuilder().status(TaskStatus.COMPLETED).build()).orElseThrow();
+
+        assertThat(updated.getVersion()).isEqualTo(1);
+        assertThat(repository.findByStatus(TaskStatus.COMPLETED)).containsExactly(updated);
+        assertThat(repository.findByStatus(TaskStatus.PENDING)).isEmpty();
+        assertThatThrownBy(() -> repository.compareAndUpdate(task.getId(), 0,
+                current -> current.toBuilder().status(TaskStatus.PENDING).build()))
+                .isInstanceOf(TaskVersionConflictException.class);
+
+        repository.deleteById(task.getId());
+
+        assertThat(repository.compareAndUpdate(task.getId(), TaskRepository.ANY_VERSION,
+                current -> current)).isEmpty();
+        assertThat(repository.count()).isZero();
+    }
+
+    @Test
+    void listenersSeeEveryWriteAndCanAbortIt() {
+        ColumnarTaskRepository repository = new ColumnarTaskRepository();
+        List<String> writes = new ArrayList<>();
+        repository.addWriteListener((previous, current) -> writes.add(
+                (previous == null ? "-" : previous.getTitle()) + ">"
+                        + (current == null ? "-" : current.getTitle())));
+        Task task = repository.save(Task.builder().title("First").build());
+        repository.save(task.toBuilder().title("Second").build());
+        repository.deleteById(task.getId());
+
+        assertThat(writes).containsExactly("->First", "First>Second", "Second>-");
+
+        repository.addWriteListener((previous, current) -> {
+            throw new IllegalStateException("rejected");
+        });
+
+        assertThatThrownBy(() -> repository.save(task)).isInstanceOf(IllegalStateException.class);
+        assertThat(repository.findById(task.getId())).isEmpty();
+        assertThat(repository.modificationCount()).isEqualTo(3);
+    }
+
+    @Test
+    void streamAllVisitsEveryTaskOnceAcrossBatches() {
+        ColumnarTaskRepository repository = new ColumnarTaskRepository();
+        Random random = new Random(3);
+        List<Task> tasks = Stream.generate(() -> randomTask(random, null)).limit(3_000).toList();
+        repository.saveAll(tasks);
+
+        try (Stream<Task> stream = repository.streamAll()) {
+            assertThat(stream.map(Task::getId)).containsExactlyInAnyOrderElementsOf(
+                    tasks.stream().map(Task::getId).toList());
+        }
+    }
+
+    @Test
+    void replacedTextIsCompactedAway() {
+        ColumnarTaskRepository repository = new ColumnarTaskRepository(0, SMALL_TEXT_PAGE);
+        Task task = repository.save(Task.builder().title("Title").description("Body").build());
+
+        for (int i = 0; i < 10_000; i++) {
+            repository.save(task.toBuilder().description("Revision number " + i).build());
+        }
+
+        assertThat(repository.findById(task.getId())).get()
+                .extracting(Task::getDescription)
+                .isEqualTo("Revision number 9999");
+        assertThat(repository.textCapacity()).isLessThanOrEqualTo(2L * SMALL_TEXT_PAGE);
+    }
+
+    @Test
+    void compactsTextAFewRowsPerWriteWhileEveryTaskStaysReadable() {
+        ColumnarTaskRepository repository = new ColumnarTaskRepository(0, SMALL_TEXT_PAGE);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            tasks.add(repository.save(Task.builder().title("Task " + i).description("Body").build()));
+        }
+        Random random = new Random(13);
+
+        for (int i = 0; i < 20_000; i++) {
+            int index = random.nextInt(tasks.size());
+            if (random.nextInt(50) == 0) {
+                repository.deleteById(tasks.get(index).getId());
+                tasks.set(index, repository.save(Task.builder().title("Task " + index).build()));
+            } else {
+                tasks.set(index, repository.save(tasks.get(index).toBuilder()
+                        .description("Revision " + i).build()));
+            }
+            Task checked = tasks.get(random.nextInt(tasks.size()));
+            assertThat(repository.findById(checked.getId())).contains(checked);
+        }
+
+        assertThat(repository.findAll()).containsExactlyInAnyOrderElementsOf(tasks);
+        assertThat(repository.textCapacity()).isLessThanOrEqualTo(32L * SMALL_TEXT_PAGE);
+    }
+
+    @Test
+    void rejectsValuesTheColumnsCannotHold() {
+        ColumnarTaskRepository repository = new ColumnarTaskRepository(0, SMALL_TEXT_PAGE);
+
+        assertThatThrownBy(() -> repository.save(Task.builder()
+                .title("x".repeat(SMALL_TEXT_PAGE + 1))
+                .build()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> repository.save(Task.builder()
+                .title("Far future")
+                .dueDate(LocalDate.MAX)
+                .build()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(repository.count()).isZero();
+        assertThat(repository.modificationCount()).isZero();
+    }
+
+    @Test
+    void indexesStayConsistentUnderConcurrentWritersAndReaders() throws Exception {
+        ColumnarTaskRepository repository = new ColumnarTaskRepository();
+        List<Task> tasks = Stream.generate(() -> Task.builder().title("Shared").dueDate(TODAY)
+                .build()).limit(500).toList();
+        repository.saveAll(tasks);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 3; thread++) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 5_000; i++) {
+                        Task task = tasks.get(random.nextInt(tasks.size()));
+                        repository.compareAndUpdate(task.getId(), TaskRepository.ANY_VERSION,
+                                current -> current.toBuilder()
+                                        .status(TaskStatus.values()[random.nextInt(3)])
+                                        .dueDate(TODAY.plusDays(random.nextInt(30)))
+                                        .build());
+                    }
+                }));
+            }
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    assertThat(repository.findPage(null, null, null, 1_000)).hasSize(500);
+                }
+            }));
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long total = 0;
+        for (TaskStatus status : TaskStatus.values()) {
+            assertThat(repository.findByStatus(status))
+                    .hasSize((int) repository.countByStatus(status))
+                    .allMatch(task -> task.getStatus() == status);
+            total += repository.countByStatus(status);
+        }
+        assertThat(total).isEqualTo(500);
+    }
+
+    private static void assertSameContents(TaskRepository actual, TaskRepository expected) {
+        assertThat(actual.count()).isEqualTo(expected.count());
+        assertThat(actual.findAll()).containsExactlyInAnyOrderElementsOf(expected.findAll());
+        assertThat(ids(actual.findDueOnOrBefore(TODAY.plusDays(10))))
+                .containsExactlyElementsOf(ids(expected.findDueOnOrBefore(TODAY.plusDays(10))));
+        for (TaskStatus status : TaskStatus.values()) {
+            assertThat(actual.countByStatus(status)).isEqualTo(expected.countByStatus(status));
+            assertThat(ids(actual.findByStatus(status)))
+                    .containsExactlyElementsOf(ids(expected.findByStatus(status)));
+            assertThat(ids(actual.findByStatusAndDueOnOrBefore(status, TODAY.plusDays(20))))
+                    .containsExactlyElementsOf(
+                            ids(expected.findByStatusAndDueOnOrBefore(status, TODAY.plusDays(20))));
+        }
+        assertThat(ids(allPages(actual, null, null)))
+                .containsExactlyElementsOf(ids(allPages(expected, null, null)));
+        assertThat(ids(allPages(actual, TaskStatus.PENDING, TODAY.plusDays(25))))
+                .containsExactlyElementsOf(ids(allPages(expected, TaskStatus.PENDING,
+                        TODAY.plusDays(25))));
+        for (Task task : expected.findAll()) {
+            assertThat(actual.findById(task.getId())).get()
+                    .usingRecursiveComparison()
+                    .isEqualTo(task);
+        }
+    }
+
+    private static List<Task> allPages(TaskRepository repository, TaskStatus status,
+            LocalDate dueOnOrBefore) {
+        List<Task> tasks = new ArrayList<>();
+        TaskCursor cursor = null;
+        List<Task> page;
+        do {
+            page = repository.findPage(status, dueOnOrBefore, cursor, 97);
+            tasks.addAll(page);
+            cursor = page.isEmpty() ? cursor : TaskCursor.of(page.get(page.size() - 1));
+        } while (page.size() == 97);
+        return tasks;
+    }
+
+    private static List<UUID> ids(List<Task> tasks) {
+        return tasks.stream().map(Task::getId).toList();
+    }
+
+    private static Task randomTask(Random random, UUID id) {
+        return Task.builder()
+                .id(id == null ? new UUID(random.nextLong(), random.nextLong()) : id)
+                .title("Task " + random.nextInt(1_000))
+                .description(random.nextBoolean() ? null : "Details " + random.nextInt())
+                .dueDate(random.nextInt(20) == 0 ? null : TODAY.plusDays(random.nextInt(30)))
+                .status(TaskStatus.values()[random.nextInt(3)])
+                .parentId(random.nextInt(4) == 0 ? new UUID(random.nextLong(), random.nextLong()) : null)
+                .version(random.nextInt(5))
+                .build();
+    }
+}
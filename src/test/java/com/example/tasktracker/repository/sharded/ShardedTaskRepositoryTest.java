@@ -0,0 +1,160 @@
+package com.example.tasktracker.repository.sharded;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.InMemoryTaskRepository;
+import com.example.tasktracker.repository.TaskCursor;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.repository.columnar.ColumnarTaskRepository;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class ShardedTaskRepositoryTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 1);
+
+    @Test
+    void answersQueriesInTheSameOrderAsASingleRepository() {
+        ShardedTaskRepository sharded = new ShardedTaskRepository(
+                IntStream.range(0, 8).mapToObj(i -> new InMemoryTaskRepository()).toList());
+        InMemoryTaskRepository reference = new InMemoryTaskRepository();
+        Random random = new Random(11);
+        List<Task> tasks = Stream.generate(() -> randomTask(random)).limit(2_000).toList();
+        sharded.saveAll(tasks);
+        reference.saveAll(tasks);
+        List<UUID> deleted = tasks.subList(0, 300).stream().map(Task::getId).toList();
+        sharded.deleteAllById(deleted);
+        reference.deleteAllById(deleted);
+
+        assertThat(sharded.count()).isEqualTo(reference.count());
+        assertThat(sharded.findAll()).containsExactlyInAnyOrderElementsOf(reference.findAll());
+        try (Stream<Task> all = sharded.streamAll()) {
+            assertThat(all.toList()).containsExactlyInAnyOrderElementsOf(reference.findAll());
+        }
+        assertThat(sharded.findDueOnOrBefore(TODAY.plusDays(5)))
+                .containsExactlyElementsOf(reference.findDueOnOrBefore(TODAY.plusDays(5)));
+        for (TaskStatus status : TaskStatus.values()) {
+            assertThat(sharded.countByStatus(status)).isEqualTo(reference.countByStatus(status));
+            assertThat(sharded.findByStatus(status))
+                    .containsExactlyElementsOf(reference.findByStatus(status));
+            assertThat(sharded.findByStatusAndDueOnOrBefore(status, TODAY.plusDays(10)))
+                    .containsExactlyElementsOf(
+                            reference.findByStatusAndDueOnOrBefore(status, TODAY.plusDays(10)));
+        }
+        assertThat(allPages(sharded, TaskStatus.PENDING))
+                .containsExactlyElementsOf(allPages(reference, TaskStatus.PENDING));
+        assertThat(allPages(sharded, null)).containsExactlyElementsOf(allPages(reference, null));
+    }
+
+    @Test
+    void spreadsTasksOverEveryShard() {
+        List<InMemoryTaskRepository> shards =
+                IntStream.range(0, 16).mapToObj(i -> new InMemoryTaskRepository()).toList();
+        ShardedTaskRepository sharded = new ShardedTaskRepository(shards);
+
+        for (int i = 0; i < 16_000; i++) {
+            Task task = sharded.save(Task.builder().title("Task " + i).build());
+            assertThat(sharded.shardOf(task.getId()).findById(task.getId())).isPresent();
+        }
+
+        assertThat(shards).allSatisfy(shard -> assertThat(shard.count()).isBetween(800L, 1_200L));
+    }
+
+    @Test
+    void modificationCountsAndListenersCoverEveryShard() {
+        ShardedTaskRepository sharded = new ShardedTaskRepository(
+                IntStream.range(0, 4).mapToObj(i -> new ColumnarTaskRepository()).toList());
+        AtomicLong writes = new AtomicLong();
+        sharded.addWriteListener((previous, current) -> writes.incrementAndGet());
+
+        List<Task> tasks = Stream.generate(() -> randomTask(new Random())).limit(100).toList();
+        sharded.saveAll(tasks);
+        long pending = sharded.modificationCountByStatus(TaskStatus.PENDING);
+        Task first = tasks.get(0);
+        sharded.compareAndUpdate(first.getId(), TaskRepository.ANY_VERSION,
+                task -> task.toBuilder().status(TaskStatus.PENDING).build());
+        sharded.deleteById(tasks.get(1).getId());
+
+        assertThat(writes).hasValue(102);
+        assertThat(sharded.modificationCount()).isEqualTo(102);
+        assertThat(sharded.modificationCountByStatus(TaskStatus.PENDING)).isGreaterThan(pending);
+    }
+
+    @Test
+    void concurrentWritersKeepEveryShardConsistent() throws Exception {
+        ShardedTaskRepository sharded = new ShardedTaskRepository(
+                IntStream.range(0, 4).mapToObj(i -> new ColumnarTaskRepository()).toList());
+        List<Task> tasks = Stream.generate(() -> randomTask(new Random())).limit(400).toList();
+        sharded.saveAll(tasks);
+        ConcurrentHashMap<UUID, Long> versions = new ConcurrentHashMap<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 2_000; i++) {
+                        UUID id = tasks.get(random.nextInt(tasks.size())).getId();
+                        sharded.compareAndUpdate(id, TaskRepository.ANY_VERSION,
+                                task -> task.toBuilder()
+                                        .status(TaskStatus.values()[random.nextInt(3)])
+                                        .build());
+                        versions.merge(id, 1L, Long::sum);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (Task task : tasks) {
+            assertThat(sharded.findById(task.getId())).get()
+                    .extracting(Task::getVersion)
+                    .isEqualTo(task.getVersion() + versions.getOrDefault(task.getId(), 0L));
+        }
+        long total = 0;
+        for (TaskStatus status : TaskStatus.values()) {
+            assertThat(sharded.findByStatus(status)).hasSize((int) sharded.countByStatus(status));
+            total += sharded.countByStatus(status);
+        }
+        assertThat(total).isEqualTo(tasks.size());
+    }
+
+    private static List<Task> allPages(TaskRepository repository, TaskStatus status) {
+        List<Task> tasks = new ArrayList<>();
+        TaskCursor cursor = null;
+        List<Task> page;
+        do {
+            page = repository.findPage(status, null, cursor, 50);
+            tasks.addAll(page);
+            cursor = page.isEmpty() ? cursor : TaskCursor.of(page.get(page.size() - 1));
+        } while (page.size() == 50);
+        return tasks;
+    }
+
+    private static Task randomTask(Random random) {
+        return Task.builder()
+                .title("Task " + random.nextInt(1_000))
+                .description("Details")
+                .dueDate(random.nextInt(20) == 0 ? null : TODAY.plusDays(random.nextInt(30)))
+                .status(TaskStatus.values()[random.nextInt(3)])
+                .build();
+    }
+}
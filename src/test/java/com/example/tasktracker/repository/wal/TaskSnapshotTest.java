@@ -0,0 +1,87 @@
+package com.example.tasktracker.repository.wal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TaskSnapshotTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripsEveryFieldAcrossChunks() throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            tasks.add(Task.builder()
+                    .title("Tâche " + i)
+                    .description(i % 10 == 0 ? null : "Description " + i)
+                    .dueDate(i % 7 == 0 ? null : LocalDate.now().plusDays(i))
+                    .status(TaskStatus.values()[i % TaskStatus.values().length])
+                    .parentId(i % 3 == 0 ? null : UUID.randomUUID())
+                    .version(i)
+                    .build());
+        }
+        Path file = directory.resolve("snapshot.bin");
+
+        long written = TaskSnapshot.write(file, tasks.iterator(), 64);
+        Map<UUID, Task> loaded = new ConcurrentHashMap<>();
+        long read = TaskSnapshot.read(file, task -> loaded.put(task.getId(), task));
+
+        assertThat(written).isEqualTo(1_000);
+        assertThat(read).isEqualTo(1_000);
+        for (Task task : tasks) {
+            Task copy = loaded.get(task.getId());
+            assertThat(copy.getTitle()).isEqualTo(task.getTitle());
+            assertThat(copy.getDescription()).isEqualTo(task.getDescription());
+            assertThat(copy.getDueDate()).isEqualTo(task.getDueDate());
+            assertThat(copy.getStatus()).isEqualTo(task.getStatus());
+            assertThat(copy.getParentId()).isEqualTo(task.getParentId());
+            assertThat(copy.getVersion()).isEqualTo(task.getVersion());
+        }
+    }
+
+    @Test
+    void readAllKeepsFileOrder() throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            tasks.add(Task.builder().title("Task " + i).description("Ordered").dueDate(LocalDate.now()).build());
+        }
+        Path file = directory.resolve("snapshot.bin");
+        TaskSnapshot.write(file, tasks.iterator(), 32);
+
+        assertThat(TaskSnapshot.readAll(file)).extracting(Task::getTitle)
+                .containsExactlyElementsOf(tasks.stream().map(Task::getTitle).toList());
+    }
+
+    @Test
+    void rejectsCorruptChunk() throws IOException {
+        Path file = directory.resolve("snapshot.bin");
+        TaskSnapshot.write(file, List.of(Task.builder()
+                .title("Checked")
+                .description("Integrity")
+                .dueDate(LocalDate.now())
+                .build()).iterator());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0x7f}), 12);
+        }
+
+        assertThatThrownBy(() -> TaskSnapshot.read(file, task -> { }))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("corrupt chunk");
+    }
+}
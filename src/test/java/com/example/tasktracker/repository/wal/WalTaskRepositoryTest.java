@@ -0,0 +1,201 @@
+package com.example.tasktracker.repository.wal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.stats.TaskStatistics;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WalTaskRepositoryTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoversSavesAndDeletesFromLog() throws IOException {
+        Task kept = task("Kept");
+        Task deleted = task("Deleted");
+        try (WalTaskRepository repository = open(DurabilityMode.SYNC)) {
+            repository.save(kept);
+            repository.save(deleted);
+            repository.save(kept.toBuilder().status(TaskStatus.COMPLETED).build());
+            repository.deleteById(deleted.getId());
+        }
+
+        try (WalTaskRepository repository = open(DurabilityMode.SYNC)) {
+            assertThat(repository.findAll()).containsExactly(kept);
+            assertThat(repository.findById(kept.getId())).get()
+                    .extracting(Task::getStatus)
+                    .isEqualTo(TaskStatus.COMPLETED);
+            assertThat(repository.findByStatus(TaskStatus.COMPLETED)).containsExactly(kept);
+        }
+    }
+
+    @Test
+    void recoversVersionsOfBatchedConditionalUpdates() throws IOException {
+        Task first = task("First");
+        Task second = task("Second");
+        try (WalTaskRepository repository = open(DurabilityMode.SYNC)) {
+            repository.saveAll(List.of(first, second));
+            repository.inBatch(() -> {
+                repository.compareAndUpdate(first.getId(), 0,
+                        task -> task.toBuilder().status(TaskStatus.IN_PROGRESS).build());
+                return repository.compareAndUpdate(first.getId(), TaskRepository.ANY_VERSION,
+                        task -> task.toBuilder().status(TaskStatus.COMPLETED).build());
+            });
+        }
+
+        try (WalTaskRepository repository = open(DurabilityMode.SYNC)) {
+            Task recovered = repository.findById(first.getId()).orElseThrow();
+            assertThat(recovered.getVersion()).isEqualTo(2);
+            assertThat(recovered.getStatus()).isEqualTo(TaskStatus.COMPLETED);
+            assertThat(repository.findById(second.getId()).orElseThrow().getVersion()).isZero();
+        }
+    }
+
+    @Test
+    void snapshotReplacesOlderLogsAndKeepsLaterWrites() throws IOException {
+        Task before = task("Before snapshot");
+        Task after = task("After snapshot");
+        try (WalTaskRepository repository = open(DurabilityMode.INTERVAL)) {
+            repository.saveAll(List.of(before, task("Removed")));
+            repository.snapshot();
+            repository.save(after);
+            repository.deleteAllById(repository.findAll().stream()
+                    .filter(task -> task.getTitle().equals("Removed"))
+                    .map(Task::getId)
+                    .toList());
+        }
+
+        assertThat(files("snapshot-")).hasSize(1);
+        try (WalTaskRepository repository = open(DurabilityMode.INTERVAL)) {
+            assertThat(repository.findAll()).containsExactlyInAnyOrder(before, after);
+        }
+    }
+
+    @Test
+    void truncatesTornTailOfLog() throws IOException {
+        Task task = task("Survivor");
+        try (WalTaskRepository repository = open(DurabilityMode.OS)) {
+            repository.save(task);
+        }
+        Path log = files("wal-").get(0);
+        Files.write(log, new byte[] {0, 0, 0, 42, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        try (WalTaskRepository repository = open(DurabilityMode.OS)) {
+            assertThat(repository.findAll()).containsExactly(task);
+            repository.save(task("Appended after recovery"));
+        }
+        try (WalTaskRepository repository = open(DurabilityMode.OS)) {
+            assertThat(repository.findAll()).hasSize(2);
+        }
+    }
+
+    @Test
+    void failsRecoveryOnCorruptRecordInOlderLog() throws IOException {
+        try (WalTaskRepository repository = open(DurabilityMode.OS)) {
+            repository.save(task("In the older log"));
+        }
+        try (WalTaskRepository repository = open(DurabilityMode.OS)) {
+            repository.save(task("In the newer log"));
+        }
+        Path older = files("wal-").stream().sorted().findFirst().orElseThrow();
+        Files.write(older, new byte[] {0, 0, 0, 42, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        assertThatThrownBy(() -> open(DurabilityMode.OS))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining(older.getFileName().toString());
+    }
+
+    @Test
+    void writesTheLogFailsToTakeAreUndone() throws IOException {
+        Task kept = task("Kept");
+        WalTaskRepository repository = open(DurabilityMode.SYNC);
+        repository.save(kept);
+        TaskStatistics statistics = new TaskStatistics(Clock.systemDefaultZone());
+        statistics.addAll(repository.streamAll());
+        repository.addWriteListener(statistics);
+        repository.close();
+
+        assertThatThrownBy(() -> repository.save(task("Lost")))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> repository.inBatch(() -> {
+            repository.compareAndUpdate(kept.getId(), TaskRepository.ANY_VERSION,
+                    task -> task.toBuilder().status(TaskStatus.IN_PROGRESS).build());
+            repository.compareAndUpdate(kept.getId(), TaskRepository.ANY_VERSION,
+                    task -> task.toBuilder().status(TaskStatus.COMPLETED).build());
+            repository.deleteById(kept.getId());
+            return repository.saveAll(List.of(task("Also lost")));
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(repository.findAll()).containsExactly(kept);
+        assertThat(repository.findById(kept.getId()).orElseThrow()).isSameAs(kept);
+        assertThat(repository.findByStatus(TaskStatus.PENDING)).containsExactly(kept);
+        assertThat(repository.findByStatus(TaskStatus.COMPLETED)).isEmpty();
+        assertThat(statistics.count(TaskStatus.PENDING)).isOne();
+        assertThat(statistics.count(TaskStatus.COMPLETED)).isZero();
+        try (WalTaskRepository reopened = open(DurabilityMode.SYNC)) {
+            assertThat(reopened.findAll()).containsExactly(kept);
+        }
+    }
+
+    @Test
+    void concurrentWritersShareGroupCommits() throws Exception {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            tasks.add(task("Task " + i));
+        }
+        try (WalTaskRepository repository = open(DurabilityMode.SYNC)) {
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (Task task : tasks) {
+                    futures.add(executor.submit(() -> repository.save(task)));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        try (WalTaskRepository repository = open(DurabilityMode.SYNC)) {
+            assertThat(repository.findAll()).containsExactlyInAnyOrderElementsOf(tasks);
+        }
+    }
+
+    private WalTaskRepository open(DurabilityMode durability) throws IOException {
+        return new WalTaskRepository(directory, durability, Duration.ofMillis(5), Duration.ZERO);
+    }
+
+    private List<Path> files(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(prefix)).toList();
+        }
+    }
+
+    private static Task task(String title) {
+        return Task.builder()
+                .title(title)
+                .description("Persisted")
+                .dueDate(LocalDate.now().plusDays(1))
+                .build();
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.tasktracker.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.InMemoryTaskRepository;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class TaskSearchIndexTest {
+    private static final String[] WORDS = {"alpha", "beta", "gamma", "delta", "epsilon", "zeta",
+        "eta", "theta", "iota", "kappa", "lambda", "mu"};
+
+    @Test
+    void tokenizesCaseFoldsAndMatchesPrefixes() {
+        TaskSearchIndex index = new TaskSearchIndex(16);
+        Task task = Task.builder().title("Fix LOGIN-Bug").description("Größe prüfen, v2.1").build();
+        index.onWrite(null, task);
+
+        assertThat(ids(index, "login bug")).containsExactly(task.getId());
+        assertThat(ids(index, "GRÖSSE")).isEmpty();
+        assertThat(ids(index, "größe PRÜF*")).containsExactly(task.getId());
+        assertThat(ids(index, "v2 1")).containsExactly(task.getId());
+        assertThat(ids(index, "log*")).containsExactly(task.getId());
+        assertThat(ids(index, "log")).isEmpty();
+        assertThat(ids(index, "login missing")).isEmpty();
+    }
+
+    @Test
+    void mergesPrefixesMatchingFewTasksInALargeIndex() {
+        TaskSearchIndex index = new TaskSearchIndex(16);
+        for (int i = 0; i < 1_000; i++) {
+            index.onWrite(null, Task.builder().title("Filler " + i).build());
+        }
+        Task login = Task.builder().title("Login page").description("Logic check").build();
+        Task logic = Task.builder().title("Logic").description("Page").build();
+        index.onWrite(null, login);
+        index.onWrite(null, logic);
+
+        assertThat(ids(index, "logi*")).containsExactly(login.getId(), logic.getId());
+        assertThat(ids(index, "page logi*")).containsExactly(login.getId(), logic.getId());
+        assertThat(ids(index, "fill* 99*")).hasSize(11);
+    }
+
+    @Test
+    void ranksTitleMatchesAndRarerTermsHigher() {
+        TaskSearchIndex index = new TaskSearchIndex(16);
+        Task inTitle = Task.builder().title("Invoice").description("Send it").build();
+        Task inDescription = Task.builder().title("Send").description("The invoice").build();
+        index.onWrite(null, inTitle);
+        index.onWrite(null, inDescription);
+        for (int i = 0; i < 20; i++) {
+            index.onWrite(null, Task.builder().title("Send").description("Reminder " + i).build());
+        }
+
+        List<SearchHit> hits = index.search(SearchQuery.parse("invoice send"), 10);
+
+        assertThat(hits).extracting(SearchHit::taskId)
+                .containsExactly(inTitle.getId(), inDescription.getId());
+        assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+        assertThat(index.search(SearchQuery.parse("send"), 5)).hasSize(5);
+    }
+
+    @Test
+    void followsRepositoryWritesAndSkipsTextlessChanges() {
+        InMemoryTaskRepository repository = new InMemoryTaskRepository();
+        Task existing = repository.save(Task.builder().title("Existing task").build());
+        TaskSearchIndex index = new TaskSearchIndex(16);
+        repository.addWriteListener(index);
+        try (Stream<Task> tasks = repository.streamAll()) {
+            index.indexAll(tasks);
+        }
+
+        Task renamed = repository.save(existing.toBuilder().title("Renamed task").build());
+        repository.save(renamed.toBuilder().status(TaskStatus.COMPLETED).build());
+        Task added = repository.save(Task.builder().title("Added task").build());
+
+        assertThat(ids(index, "existing")).isEmpty();
+        assertThat(ids(index, "renamed")).containsExactly(existing.getId());
+        assertThat(ids(index, "task")).containsExactlyInAnyOrder(existing.getId(), added.getId());
+
+        repository.deleteById(added.getId());
+
+        assertThat(ids(index, "task")).containsExactly(existing.getId());
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void matchesABruteForceScanThroughUpdatesAndCompactions() {
+        TaskSearchIndex index = new TaskSearchIndex(64, Runnable::run);
+        Map<UUID, Task> tasks = new HashMap<>();
+        List<UUID> ids = new ArrayList<>();
+        Random random = new Random(5);
+        for (int i = 0; i < 30_000; i++) {
+            int operation = random.nextInt(10);
+            if (operation < 4 || ids.isEmpty()) {
+                Task task = randomTask(random, UUID.randomUUID());
+                ids.add(task.getId());
+                index.onWrite(tasks.put(task.getId(), task), task);
+            } else if (operation < 8) {
+                Task task = randomTask(random, ids.get(random.nextInt(ids.size())));
+                index.onWrite(tasks.put(task.getId(), task), task);
+            } else {
+                UUID id = ids.remove(random.nextInt(ids.size()));
+                index.onWrite(tasks.remove(id), null);
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(tasks.size());
+        for (String query : List.of("alpha", "beta gamma", "del*", "e* mu", "kappa lambda mu")) {
+            SearchQuery parsed = SearchQuery.parse(query);
+            List<UUID> expected = tasks.values().stream()
+                    .filter(task -> matches(task, parsed))
+                    .map(Task::getId)
+                    .toList();
+            assertThat(index.search(parsed, Math.max(1, expected.size())))
+                    .extracting(SearchHit::taskId)
+                    .containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    @Test
+    void estimatesMemoryAndReleasesItOnCompactionOutsideTheWrite() {
+        Queue<Runnable> compactions = new ArrayDeque<>();
+        TaskSearchIndex index = new TaskSearchIndex(16, compactions::add);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            Task task = Task.builder().title("Task " + i).description("Shared words").build();
+            tasks.add(task);
+            index.onWrite(null, task);
+        }
+        long full = index.estimatedBytes();
+
+        tasks.subList(0, 9_000).forEach(task -> index.onWrite(task, null));
+
+        assertThat(index.estimatedBytes()).isEqualTo(full);
+        assertThat(index.search(SearchQuery.parse("shared"), 2_000)).hasSize(1_000);
+        assertThat(compactions).hasSize(1);
+        compactions.remove().run();
+        assertThat(index.termCount()).isLessThan(1_300);
+        assertThat(index.estimatedBytes()).isLessThan(full / 4);
+        assertThat(index.search(SearchQuery.parse("shared"), 2_000)).hasSize(1_000);
+    }
+
+    private static List<UUID> ids(TaskSearchIndex index, String query) {
+        return index.search(SearchQuery.parse(query), 100).stream().map(SearchHit::taskId).toList();
+    }
+
+    private static boolean matches(Task task, SearchQuery query) {
+        List<String> words = new ArrayList<>();
+        for (String word : (task.getTitle() + " " + task.getDescription()).split(" ")) {
+            words.add(word.toLowerCase(Locale.ROOT));
+        }
+        return query.terms().stream().allMatch(term -> words.stream().anyMatch(word -> term.prefix()
+                ? word.startsWith(term.text()) : word.equals(term.text())));
+    }
+
+    private static Task randomTask(Random random, UUID id) {
+        return Task.builder()
+                .id(id)
+                .title(WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)])
+                .description(WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(4)])
+                .build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.tasktracker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.tasktracker.dto.TaskResponse;
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.InMemoryTaskRepository;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.service.TaskJsonCache.TaskJson;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TaskJsonCacheTest {
+    private final ObjectMapper mapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private InMemoryTaskRepository repository;
+    private TaskJsonCache cache;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryTaskRepository();
+        cache = new TaskJsonCache(repository, mapper, 100);
+        task = repository.save(Task.builder()
+                .title("Cache me")
+                .description("Read often")
+                .dueDate(LocalDate.now())
+                .build());
+    }
+
+    @Test
+    void getSerializesOnceAndThenServesTheSameBytes() throws Exception {
+        TaskJson first = cache.get(task.getId());
+        TaskJson second = cache.get(task.getId());
+
+        assertThat(first.json()).isEqualTo(mapper.writeValueAsBytes(TaskService.toResponse(task)));
+        assertThat(second.json()).isSameAs(first.json());
+        assertThat(cache.cache().stats().missCount()).isEqualTo(1);
+        assertThat(cache.cache().stats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void writesInvalidateTheReplacedVersion() throws Exception {
+        cache.get(task.getId());
+        repository.compareAndUpdate(task.getId(), TaskRepository.ANY_VERSION,
+                current -> current.toBuilder().status(TaskStatus.COMPLETED).build());
+
+        TaskJson updated = cache.get(task.getId());
+
+        assertThat(updated.version()).isEqualTo(1);
+        assertThat(mapper.readValue(updated.json(), TaskResponse.class).status())
+                .isEqualTo(TaskStatus.COMPLETED);
+        assertThat(cache.cache().asMap()).hasSize(1);
+    }
+
+    @Test
+    void savesThatKeepTheVersionAreNotServedStale() throws Exception {
+        cache.get(task.getId());
+        // Reads the task while the save is in flight and still sees the old one, like a request
+        // racing with the write.
+        repository.addWriteListener((previous, current) -> cache.get(task.getId()));
+
+        repository.save(task.toBuilder().title("Renamed").build());
+        TaskJson renamed = cache.get(task.getId());
+
+        assertThat(renamed.version()).isEqualTo(task.getVersion());
+        assertThat(mapper.readValue(renamed.json(), TaskResponse.class).title()).isEqualTo("Renamed");
+    }
+
+    @Test
+    void deletedTaskIsNotFound() {
+        cache.get(task.getId());
+        repository.deleteById(task.getId());
+
+        assertThatThrownBy(() -> cache.get(task.getId())).isInstanceOf(TaskServiceException.class);
+        assertThat(cache.cache().asMap()).isEmpty();
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.tasktracker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.tasktracker.json.TaskJsonWriter;
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.InMemoryTaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TaskListCoalescerTest {
+    private final ObjectMapper mapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private InMemoryTaskRepository repository;
+    private BlockingTaskService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryTaskRepository();
+        service = new BlockingTaskService(repository);
+        for (int i = 0; i < 3; i++) {
+            repository.save(Task.builder()
+                    .title("Board " + i)
+                    .description("Shown on the status board")
+                    .dueDate(LocalDate.now().plusDays(i))
+                    .build());
+        }
+    }
+
+    @Test
+    void concurrentIdenticalQueriesShareOneComputation() throws Exception {
+        TaskListCoalescer coalescer = new TaskListCoalescer(service, new TaskJsonWriter(), 100);
+        long count = service.modificationCount(TaskStatus.PENDING);
+        service.block();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CompletableFuture<byte[]> first;
+        CompletableFuture<byte[]> second;
+        try {
+            first = CompletableFuture.supplyAsync(
+                    () -> coalescer.findTasksJson(TaskStatus.PENDING, null, count).orElseThrow(),
+                    executor);
+            assertThat(service.entered.await(10, TimeUnit.SECONDS)).isTrue();
+            second = CompletableFuture.supplyAsync(
+                    () -> coalescer.findTasksJson(TaskStatus.PENDING, null, count).orElseThrow(),
+                    executor);
+            while (coalescer.sharedCount() == 0 && !second.isDone()) {
+                Thread.onSpinWait();
+            }
+            service.release.countDown();
+
+            assertThat(second.get(10, TimeUnit.SECONDS))
+                    .isSameAs(first.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(service.queries).hasValue(1);
+        assertThat(coalescer.computedCount()).isEqualTo(1);
+        assertThat(coalescer.sharedCount()).isEqualTo(1);
+        assertThat(new String(first.get(), StandardCharsets.UTF_8))
+                .isEqualTo(mapper.writeValueAsString(service.getTasks(TaskStatus.PENDING, null)));
+    }
+
+    @Test
+    void queriesAfterAWriteOrWithOtherFiltersComputeTheirOwn() {
+        TaskListCoalescer coalescer = new TaskListCoalescer(service, new TaskJsonWriter(), 100);
+        long before = service.modificationCount(null);
+        byte[] all = coalescer.findTasksJson(null, null, before).orElseThrow();
+        repository.save(Task.builder().title("Late").description("After the first list").build());
+
+        byte[] again = coalescer.findTasksJson(null, null, service.modificationCount(null))
+                .orElseThrow();
+        byte[] pending = coalescer.findTasksJson(TaskStatus.PENDING, LocalDate.now(),
+                service.modificationCount(TaskStatus.PENDING)).orElseThrow();
+
+        assertThat(new String(again, StandardCharsets.UTF_8)).contains("Late");
+        assertThat(new String(all, StandardCharsets.UTF_8)).doesNotContain("Late");
+        assertThat(new String(pending, StandardCharsets.UTF_8)).contains("Board 0")
+                .doesNotContain("Board 1");
+        assertThat(coalescer.computedCount()).isEqualTo(3);
+        assertThat(coalescer.sharedCount()).isZero();
+    }
+
+    @Test
+    void leavesListsLargerThanTheLimitToTheCaller() {
+        TaskListCoalescer coalescer = new TaskListCoalescer(service, new TaskJsonWriter(), 2);
+
+        assertThat(coalescer.findTasksJson(null, null, service.modificationCount(null))).isEmpty();
+        assertThat(service.queries).hasValue(0);
+    }
+
+    @Test
+    void failuresReachEveryCallerAndAreNotKept() throws Exception {
+        TaskListCoalescer coalescer = new TaskListCoalescer(service, new TaskJsonWriter(), 100);
+        long count = service.modificationCount(null);
+        service.failure = new IllegalStateException("Store unavailable");
+
+        assertThatThrownBy(() -> coalescer.findTasksJson(null, null, count))
+                .isSameAs(service.failure);
+
+        service.failure = null;
+        assertThat(coalescer.findTasksJson(null, null, count)).get()
+                .satisfies(json -> assertThat(json).isNotEmpty());
+    }
+
+    /**
+     * Counts queries and can hold them until released, to keep one in flight.
+     */
+    private static final class BlockingTaskService extends TaskService {
+        final AtomicInteger queries = new AtomicInteger();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile boolean blocking;
+        volatile RuntimeException failure;
+
+        BlockingTaskService(InMemoryTaskRepository repository) {
+            super(repository);
+        }
+
+        void block() {
+            blocking = true;
+        }
+
+        @Override
+        public List<Task> findTasks(TaskStatus status, LocalDate dueBefore) {
+            queries.incrementAndGet();
+            if (failure != null) {
+                throw failure;
+            }
+            if (blocking) {
+                entered.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return super.findTasks(status, dueBefore);
+        }
+    }
+}
@@ -3,9 +3,14 @@ package com.example.tasktracker.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.example.tasktracker.dto.BulkItemResult;
+import com.example.tasktracker.dto.BulkStatusUpdate;
+import com.example.tasktracker.dto.TaskPage;
 import com.example.tasktracker.dto.TaskRequest;
+import com.example.tasktracker.dto.TaskResponse;
 import com.example.tasktracker.model.TaskStatus;
 import com.example.tasktracker.repository.InMemoryTaskRepository;
+import com.example.tasktracker.repository.TaskVersionConflictException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
@@ -33,6 +38,22 @@ class TaskServiceTest {
         assertThat(taskService.getTask(response.id()).id()).isEqualTo(response.id());
     }
 
+    @Test
+    void createTaskLinksSubtasksToExistingParentsOnly() {
+        var parent = taskService.createTask(new TaskRequest("Release", "Ship 2.0", LocalDate.now()));
+
+        var subtask = taskService.createTask(
+                new TaskRequest("Changelog", "List the changes", LocalDate.now(), parent.id()));
+
+        assertThat(subtask.parentId()).isEqualTo(parent.id());
+        assertThat(taskService.getTask(subtask.id()).parentId()).isEqualTo(parent.id());
+        UUID missing = UUID.randomUUID();
+        assertThatThrownBy(() -> taskService.createTask(
+                new TaskRequest("Orphan", "No parent", LocalDate.now(), missing)))
+                .isInstanceOf(InvalidTaskQueryException.class)
+                .hasMessageContaining(missing.toString());
+    }
+
     @Test
     void getTasksFiltersByStatus() {
         TaskRequest first = new TaskRequest("Task 1", "Pending task", LocalDate.now());
@@ -60,6 +81,50 @@ class TaskServiceTest {
         assertThat(dueSoon).hasSize(1);
     }
 
+    @Test
+    void getTasksCombinesStatusAndDueDateFilters() {
+        var soonPending = taskService.createTask(new TaskRequest("Soon", "Pending", LocalDate.now().plusDays(1)));
+        taskService.createTask(new TaskRequest("Later", "Pending", LocalDate.now().plusDays(10)));
+        var soonActive = taskService.createTask(new TaskRequest("Active", "Started", LocalDate.now()));
+        taskService.updateStatus(soonActive.id(), TaskStatus.IN_PROGRESS);
+
+        List<TaskResponse> tasks = taskService.getTasks(TaskStatus.PENDING, LocalDate.now().plusDays(2));
+        TaskPage page = taskService.getTaskPage(TaskStatus.PENDING, LocalDate.now().plusDays(2), null, 10);
+
+        assertThat(tasks).extracting(TaskResponse::id).containsExactly(soonPending.id());
+        assertThat(page.items()).extracting(TaskResponse::id).containsExactly(soonPending.id());
+    }
+
+    @Test
+    void bulkOperationsApplyEveryItem() {
+        List<TaskResponse> created = taskService.createTasks(List.of(
+                new TaskRequest("Bulk 1", "First", LocalDate.now()),
+                new TaskRequest("Bulk 2", "Second", LocalDate.now())));
+        UUID missing = UUID.randomUUID();
+
+        List<BulkItemResult> updates = taskService.updateStatuses(List.of(
+                new BulkStatusUpdate(created.get(0).id(), TaskStatus.COMPLETED),
+                new BulkStatusUpdate(missing, TaskStatus.COMPLETED)));
+        taskService.deleteTasks(List.of(created.get(1).id()));
+
+        assertThat(updates).extracting(BulkItemResult::status).containsExactly(200, 404);
+        assertThat(taskService.getTask(created.get(0).id()).status()).isEqualTo(TaskStatus.COMPLETED);
+        assertThatThrownBy(() -> taskService.getTask(created.get(1).id()))
+                .isInstanceOf(TaskServiceException.class);
+    }
+
+    @Test
+    void updateStatusRejectsStaleVersion() {
+        var created = taskService.createTask(new TaskRequest("Versioned", "Edited twice", LocalDate.now()));
+
+        var updated = taskService.updateStatus(created.id(), TaskStatus.IN_PROGRESS, created.version());
+
+        assertThat(updated.version()).isEqualTo(created.version() + 1);
+        assertThatThrownBy(() -> taskService.updateStatus(created.id(), TaskStatus.COMPLETED, created.version()))
+                .isInstanceOf(TaskVersionConflictException.class);
+        assertThat(taskService.getTask(created.id()).status()).isEqualTo(TaskStatus.IN_PROGRESS);
+    }
+
     @Test
     void updateStatusThrowsWhenTaskMissing() {
         UUID randomId = UUID.randomUUID();
@@ -81,4 +146,28 @@ class TaskServiceTest {
                 .isInstanceOf(TaskServiceException.class)
                 .hasMessageContaining("not found");
     }
+
+    @Test
+    void getTaskPageWalksAllTasksInDueDateOrder() {
+        for (int i = 0; i < 5; i++) {
+            taskService.createTask(new TaskRequest("Task " + i, "Paged", LocalDate.now().plusDays(5 - i)));
+        }
+
+        TaskPage first = taskService.getTaskPage(null, null, null, 2);
+        TaskPage second = taskService.getTaskPage(null, null, first.nextCursor(), 2);
+        TaskPage last = taskService.getTaskPage(null, null, second.nextCursor(), 2);
+
+        assertThat(first.items()).extracting(TaskResponse::title).containsExactly("Task 4", "Task 3");
+        assertThat(second.items()).extracting(TaskResponse::title).containsExactly("Task 2", "Task 1");
+        assertThat(last.items()).extracting(TaskResponse::title).containsExactly("Task 0");
+        assertThat(last.nextCursor()).isNull();
+    }
+
+    @Test
+    void getTaskPageRejectsInvalidCursorAndLimit() {
+        assertThatThrownBy(() -> taskService.getTaskPage(null, null, "not-a-cursor", 10))
+                .isInstanceOf(InvalidTaskQueryException.class);
+        assertThatThrownBy(() -> taskService.getTaskPage(null, null, null, 0))
+                .isInstanceOf(InvalidTaskQueryException.class);
+    }
 }
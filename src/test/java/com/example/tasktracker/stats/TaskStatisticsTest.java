@@ -0,0 +1,257 @@
+package com.example.tasktracker.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.InMemoryTaskRepository;
+import com.example.tasktracker.repository.TaskRepository;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class TaskStatisticsTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 7);
+
+    @Test
+    void matchesCountsComputedFromTheRepository() {
+        InMemoryTaskRepository repository = new InMemoryTaskRepository();
+        Random random = new Random(3);
+        repository.saveAll(Stream.generate(() -> randomTask(random, null)).limit(500).toList());
+        TaskStatistics statistics = new TaskStatistics(new MutableClock(TODAY));
+        try (Stream<Task> tasks = repository.streamAll()) {
+            statistics.addAll(tasks);
+        }
+        repository.addWriteListener(statistics);
+        List<UUID> ids = new ArrayList<>(repository.findAll().stream().map(Task::getId).toList());
+
+        for (int i = 0; i < 5_000; i++) {
+            int operation = random.nextInt(10);
+            if (operation < 3) {
+                ids.add(repository.save(randomTask(random, null)).getId());
+            } else if (operation < 8) {
+                repository.save(randomTask(random, ids.get(random.nextInt(ids.size()))));
+            } else {
+                repository.deleteById(ids.remove(random.nextInt(ids.size())));
+            }
+        }
+
+        assertMatches(statistics, repository);
+    }
+
+    @Test
+    void groupsDueDatesIntoWeeksStartingOnMonday() {
+        TaskStatistics statistics = new TaskStatistics(new MutableClock(TODAY));
+        // 2026-01-07 is a Wednesday.
+        statistics.onWrite(null, task(TODAY, TaskStatus.PENDING));
+        statistics.onWrite(null, task(TODAY.plusDays(4), TaskStatus.COMPLETED));
+        statistics.onWrite(null, task(TODAY.plusDays(5), TaskStatus.PENDING));
+        statistics.onWrite(null, task(TODAY.plusDays(20), TaskStatus.IN_PROGRESS));
+
+        long[][] weeks = statistics.histogram(TODAY, TODAY.plusDays(13), HistogramInterval.WEEK);
+
+        assertThat(weeks).hasNumberOfRows(3);
+        assertThat(weeks[0]).containsExactly(1, 0, 1);
+        assertThat(weeks[1]).containsExactly(1, 0, 0);
+        assertThat(weeks[2]).containsExactly(0, 0, 0);
+    }
+
+    @Test
+    void overdueCountFollowsWritesAndTheDayAskedAbout() {
+        InMemoryTaskRepository repository = new InMemoryTaskRepository();
+        TaskStatistics statistics = new TaskStatistics(new MutableClock(TODAY));
+        repository.addWriteListener(statistics);
+        Random random = new Random(11);
+        List<UUID> ids = new ArrayList<>();
+
+        for (int i = 0; i < 2_000; i++) {
+            if (ids.isEmpty() || random.nextInt(3) == 0) {
+                ids.add(repository.save(randomTask(random, null)).getId());
+            } else {
+                repository.save(randomTask(random, ids.get(random.nextInt(ids.size()))));
+            }
+            if (i % 100 == 0) {
+                LocalDate today = TODAY.plusDays(random.nextInt(40) - 20);
+                assertThat(statistics.countOverdue(today)).isEqualTo(countOverdue(repository, today));
+            }
+        }
+
+        assertThat(statistics.countOverdue(TODAY.plusDays(30))).isEqualTo(
+                countOverdue(repository, TODAY.plusDays(30)));
+        assertThat(statistics.countOverdue(TODAY.minusDays(30))).isZero();
+    }
+
+    @Test
+    void overdueCounterMovesWithTheClockOnly() {
+        InMemoryTaskRepository repository = new InMemoryTaskRepository();
+        MutableClock clock = new MutableClock(TODAY);
+        TaskStatistics statistics = new TaskStatistics(clock);
+        repository.addWriteListener(statistics);
+        Random random = new Random(5);
+        List<UUID> ids = new ArrayList<>();
+
+        for (int i = 0; i < 2_000; i++) {
+            if (ids.isEmpty() || random.nextInt(3) == 0) {
+                ids.add(repository.save(randomTask(random, null)).getId());
+            } else {
+                repository.save(randomTask(random, ids.get(random.nextInt(ids.size()))));
+            }
+            if (i % 100 == 0) {
+                clock.today = clock.today.plusDays(random.nextInt(5) - 2);
+                if (random.nextBoolean()) {
+                    statistics.rollOver();
+                }
+                LocalDate asOf = TODAY.plusDays(random.nextInt(40) - 20);
+                assertThat(statistics.countOverdue(asOf)).isEqualTo(countOverdue(repository, asOf));
+                assertThat(statistics.countOverdue(clock.today))
+                        .isEqualTo(countOverdue(repository, clock.today));
+            }
+        }
+
+        statistics.rollOver();
+        assertThat(statistics.today()).isEqualTo(clock.today);
+        assertThat(statistics.countOverdue(clock.today)).isEqualTo(countOverdue(repository, clock.today));
+    }
+
+    @Test
+    void concurrentWritersKeepCountsExact() throws Exception {
+        InMemoryTaskRepository repository = new InMemoryTaskRepository();
+        TaskStatistics statistics = new TaskStatistics(new MutableClock(TODAY));
+        repository.addWriteListener(statistics);
+        List<Task> tasks = Stream.generate(() -> randomTask(new Random(), null)).limit(200).toList();
+        repository.saveAll(tasks);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 5_000; i++) {
+                        repository.compareAndUpdate(tasks.get(random.nextInt(tasks.size())).getId(),
+                                TaskRepository.ANY_VERSION, task -> task.toBuilder()
+                                        .status(TaskStatus.values()[random.nextInt(3)])
+                                        .dueDate(TODAY.plusDays(random.nextInt(10)))
+                                        .build());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertMatches(statistics, repository);
+    }
+
+    @Test
+    void writesDuringTheFillAreNeitherLostNorCountedTwice() throws Exception {
+        InMemoryTaskRepository repository = new InMemoryTaskRepository();
+        List<Task> tasks = Stream.generate(() -> randomTask(new Random(), null)).limit(20_000).toList();
+        repository.saveAll(tasks);
+        TaskStatistics statistics = new TaskStatistics(new MutableClock(TODAY));
+        repository.addWriteListener(statistics);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> writer = executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 20_000; i++) {
+                    Task task = tasks.get(random.nextInt(tasks.size()));
+                    if (random.nextInt(10) == 0) {
+                        repository.deleteById(task.getId());
+                    } else {
+                        repository.save(randomTask(new Random(random.nextLong()), task.getId()));
+                    }
+                }
+            });
+            try (Stream<Task> existing = repository.streamAll()) {
+                statistics.addAll(existing);
+            }
+            writer.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertMatches(statistics, repository);
+    }
+
+    private static void assertMatches(TaskStatistics statistics, TaskRepository repository) {
+        List<Task> tasks = repository.findAll();
+        for (TaskStatus status : TaskStatus.values()) {
+            assertThat(statistics.count(status))
+                    .isEqualTo(tasks.stream().filter(task -> task.getStatus() == status).count());
+            assertThat(statistics.countUndated(status)).isEqualTo(tasks.stream()
+                    .filter(task -> task.getStatus() == status && task.getDueDate() == null)
+                    .count());
+        }
+        assertThat(statistics.countOverdue(TODAY)).isEqualTo(countOverdue(repository, TODAY));
+        long[][] days = statistics.histogram(TODAY.minusDays(15), TODAY.plusDays(15),
+                HistogramInterval.DAY);
+        for (int day = 0; day < days.length; day++) {
+            LocalDate date = TODAY.minusDays(15).plusDays(day);
+            for (TaskStatus status : TaskStatus.values()) {
+                assertThat(days[day][status.ordinal()]).isEqualTo(tasks.stream()
+                        .filter(task -> date.equals(task.getDueDate()) && task.getStatus() == status)
+                        .count());
+                assertThat(statistics.countDueOn(date, status)).isEqualTo(days[day][status.ordinal()]);
+            }
+        }
+    }
+
+    private static long countOverdue(TaskRepository repository, LocalDate today) {
+        return repository.findAll().stream()
+                .filter(task -> task.getStatus() != TaskStatus.COMPLETED)
+                .filter(task -> task.getDueDate() != null && task.getDueDate().isBefore(today))
+                .count();
+    }
+
+    private static Task task(LocalDate dueDate, TaskStatus status) {
+        return Task.builder().title("Counted").dueDate(dueDate).status(status).build();
+    }
+
+    private static Task randomTask(Random random, UUID id) {
+        Task.Builder builder = Task.builder()
+                .title("Task")
+                .dueDate(random.nextInt(10) == 0 ? null : TODAY.plusDays(random.nextInt(30) - 15))
+                .status(TaskStatus.values()[random.nextInt(3)]);
+        return id == null ? builder.build() : builder.id(id).build();
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile LocalDate today;
+
+        MutableClock(LocalDate today) {
+            this.today = today;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return today.atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.tasktracker.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.tasktracker.model.Task;
+import com.example.tasktracker.model.TaskStatus;
+import com.example.tasktracker.repository.InMemoryTaskRepository;
+import com.example.tasktracker.repository.TaskReplay;
+import com.example.tasktracker.repository.TaskRepository;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class TaskTreeTest {
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    @Test
+    void matchesCountsComputedFromTheRepository() {
+        InMemoryTaskRepository repository = new InMemoryTaskRepository();
+        TaskTree tree = new TaskTree();
+        repository.addWriteListener(tree);
+        Random random = new Random(5);
+        List<UUID> ids = new ArrayList<>();
+
+        for (int i = 0; i < 5_000; i++) {
+            int operation = random.nextInt(10);
+            if (operation < 4 || ids.isEmpty()) {
+                UUID parent = ids.isEmpty() || random.nextInt(4) == 0
+                        ? null : ids.get(random.nextInt(ids.size()));
+                ids.add(repository.save(task(parent, TaskStatus.PENDING)).getId());
+            } else if (operation < 8) {
+                TaskStatus status = STATUSES[random.nextInt(STATUSES.length)];
+                repository.compareAndUpdate(ids.get(random.nextInt(ids.size())),
+                        TaskRepository.ANY_VERSION, task -> task.toBuilder().status(status).build());
+            } else if (operation < 9) {
+                UUID parent = random.nextInt(3) == 0 ? null : ids.get(random.nextInt(ids.size()));
+                try {
+                    repository.compareAndUpdate(ids.get(random.nextInt(ids.size())),
+                            TaskRepository.ANY_VERSION, task -> task.toBuilder().parentId(parent).build());
+                } catch (IllegalArgumentException ex) {
+                    // Moving a task under its own subtree is rejected, which the assertions cover.
+                }
+            } else {
+                repository.deleteById(ids.remove(random.nextInt(ids.size())));
+            }
+        }
+
+        assertMatches(tree, repository);
+        List<Task> shuffled = new ArrayList<>(repository.findAll());
+        Collections.shuffle(shuffled, random);
+        TaskTree filled = new TaskTree();
+        filled.addAll(shuffled.stream());
+        assertMatches(filled, repository);
+    }
+
+    @Test
+    void statusChangesRollUpToEveryAncestor() {
+        TaskTree tree = new TaskTree();
+        Task project = task(null, TaskStatus.PENDING);
+        Task milestone = task(project.getId(), TaskStatus.PENDING);
+        Task step = task(milestone.getId(), TaskStatus.PENDING);
+        tree.beforeWrite(null, project);
+        tree.beforeWrite(null, milestone);
+        tree.beforeWrite(null, step);
+
+        tree.beforeWrite(step, step.toBuilder().status(TaskStatus.COMPLETED).build());
+
+        assertThat(tree.descendantCounts(project.getId())).containsExactly(1, 0, 1);
+        assertThat(tree.descendantCounts(milestone.getId())).containsExactly(0, 0, 1);
+        assertThat(tree.descendantCounts(step.getId())).containsExactly(0, 0, 0);
+        assertThat(tree.children(project.getId())).containsExactly(milestone.getId());
+    }
+
+    @Test
+    void rejectsMovingATaskIntoItsOwnSubtreeBeforeAnyListenerSeesIt() {
+        InMemoryTaskRepository repository = new InMemoryTaskRepository();
+        List<Task> written = new ArrayList<>();
+        repository.addWriteListener((previous, current) -> written.add(current));
+        TaskTree tree = new TaskTree();
+        repository.addWriteListener(tree);
+        Task project = repository.save(task(null, TaskStatus.PENDING));
+        Task milestone = repository.save(task(project.getId(), TaskStatus.PENDING));
+        written.clear();
+
+        assertThatThrownBy(() -> repository.compareAndUpdate(project.getId(),
+                TaskRepository.ANY_VERSION,
+                task -> task.toBuilder().parentId(milestone.getId()).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> repository.save(
+                milestone.toBuilder().parentId(milestone.getId()).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(written).isEmpty();
+        assertThat(repository.findById(project.getId())).contains(project);
+        assertThat(repository.findById(milestone.getId())).contains(milestone);
+        assertThat(tree.descendantCounts(project.getId())).containsExactly(1, 0, 0);
+    }
+
+    @Test
+    void concurrentOpposingMovesNeverCommitACycle() throws Exception {
+        InMemoryTaskRepository repository = new InMemoryTaskRepository();
+        repository.addWriteListener(new TaskTree());
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 500; i++) {
+                Task first = repository.save(task(null, TaskStatus.PENDING));
+                Task second = repository.save(task(null, TaskStatus.PENDING));
+                CyclicBarrier start = new CyclicBarrier(2);
+                Future<?> moveFirst = executor.submit(() -> move(repository, start, first, second));
+                Future<?> moveSecond = executor.submit(() -> move(repository, start, second, first));
+                moveFirst.get();
+                moveSecond.get();
+
+                boolean firstUnderSecond = second.getId().equals(
+                        repository.findById(first.getId()).orElseThrow().getParentId());
+                boolean secondUnderFirst = first.getId().equals(
+                        repository.findById(second.getId()).orElseThrow().getParentId());
+                assertThat(firstUnderSecond && secondUnderFirst).isFalse();
+                assertThat(firstUnderSecond || secondUnderFirst).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void acceptsReplayedCyclesAndLeavesThemOutOfTheTree() {
+        InMemoryTaskRepository repository = new InMemoryTaskRepository();
+        TaskTree tree = new TaskTree();
+        repository.addWriteListener(tree);
+        UUID projectId = UUID.randomUUID();
+        UUID milestoneId = UUID.randomUUID();
+        Task project = task(milestoneId, TaskStatus.PENDING).toBuilder().id(projectId).build();
+        Task milestone = task(projectId, TaskStatus.PENDING).toBuilder().id(milestoneId).build();
+
+        TaskReplay.run(() -> repository.saveAll(List.of(project, milestone)));
+
+        assertThat(repository.findAll()).hasSize(2);
+        assertThat(tree.children(milestoneId)).containsExactly(projectId);
+        assertThat(tree.children(projectId)).isEmpty();
+        // The replay that follows moves the project out, which lets the milestone in.
+        TaskReplay.run(() -> repository.save(project.toBuilder().parentId(null).build()));
+        repository.save(milestone.toBuilder().status(TaskStatus.COMPLETED).build());
+        assertThat(tree.children(milestoneId)).isEmpty();
+        assertThat(tree.children(projectId)).containsExactly(milestoneId);
+        assertThat(tree.descendantCounts(projectId)).containsExactly(0, 0, 1);
+    }
+
+    @Test
+    void leavesTasksThatWouldCloseACycleOutOfTheTree() {
+        UUID projectId = UUID.randomUUID();
+        UUID milestoneId = UUID.randomUUID();
+        Task project = task(milestoneId, TaskStatus.PENDING).toBuilder().id(projectId).build();
+        Task milestone = task(projectId, TaskStatus.PENDING).toBuilder().id(milestoneId).build();
+        TaskTree tree = new TaskTree();
+
+        tree.addAll(Stream.of(project, milestone));
+        tree.beforeWrite(milestone, milestone.toBuilder().status(TaskStatus.COMPLETED).build());
+
+        assertThat(tree.children(milestoneId)).containsExactly(projectId);
+        assertThat(tree.children(projectId)).isEmpty();
+        assertThat(tree.descendantCounts(milestoneId)).containsExactly(1, 0, 0);
+        assertThat(tree.descendantCounts(projectId)).containsExactly(0, 0, 0);
+
+        tree.beforeWrite(project, null);
+
+        assertThat(tree.children(milestoneId)).isEmpty();
+        assertThat(tree.descendantCounts(milestoneId)).containsExactly(0, 0, 0);
+    }
+
+    @Test
+    void deletedTasksDetachTheirSubtreeAndReleaseTheirNodes() {
+        TaskTree tree = new TaskTree();
+        Task project = task(null, TaskStatus.PENDING);
+        Task milestone = task(project.getId(), TaskStatus.PENDING);
+        Task step = task(milestone.getId(), TaskStatus.IN_PROGRESS);
+        tree.beforeWrite(null, project);
+        tree.beforeWrite(null, milestone);
+        tree.beforeWrite(null, step);
+
+        tree.beforeWrite(milestone, null);
+
+        assertThat(tree.descendantCounts(project.getId())).containsExactly(0, 0, 0);
+        assertThat(tree.children(project.getId())).isEmpty();
+        assertThat(tree.children(milestone.getId())).containsExactly(step.getId());
+
+        tree.beforeWrite(step, null);
+
+        assertThat(tree.nodeCount()).isZero();
+    }
+
+    private static Void move(TaskRepository repository, CyclicBarrier start, Task task, Task parent)
+            throws Exception {
+        start.await();
+        try {
+            repository.compareAndUpdate(task.getId(), TaskRepository.ANY_VERSION,
+                    current -> current.toBuilder().parentId(parent.getId()).build());
+        } catch (IllegalArgumentException ex) {
+            // The other move went first.
+        }
+        return null;
+    }
+
+    private static void assertMatches(TaskTree tree, TaskRepository repository) {
+        Map<UUID, List<Task>> children = new HashMap<>();
+        for (Task task : repository.findAll()) {
+            if (task.getParentId() != null) {
+                children.computeIfAbsent(task.getParentId(), id -> new ArrayList<>()).add(task);
+            }
+        }
+        for (Task task : repository.findAll()) {
+            assertThat(tree.descendantCounts(task.getId()))
+                    .as("descendants of %s", task.getId())
+                    .containsExactly(countDescendants(task.getId(), children));
+            assertThat(tree.children(task.getId())).containsExactlyInAnyOrderElementsOf(
+                    children.getOrDefault(task.getId(), List.of()).stream().map(Task::getId).toList());
+        }
+    }
+
+    private static long[] countDescendants(UUID id, Map<UUID, List<Task>> children) {
+        long[] counts = new long[STATUSES.length];
+        for (Task child : children.getOrDefault(id, List.of())) {
+            counts[child.getStatus().ordinal()]++;
+            long[] below = countDescendants(child.getId(), children);
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += below[i];
+            }
+        }
+        return counts;
+    }
+
+    private static Task task(UUID parentId, TaskStatus status) {
+        return Task.builder().title("Planned").description("Part of a project").parentId(parentId)
+                .status(status).build();
+    }
+}